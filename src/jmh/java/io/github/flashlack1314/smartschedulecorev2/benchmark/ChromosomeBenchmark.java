@@ -0,0 +1,30 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 染色体复制基准测试：完整编码与紧凑编码
+ *
+ * @author flash
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChromosomeBenchmark {
+
+    @Benchmark
+    public Chromosome copyChromosome(ScheduleBenchmarkState state) {
+        return state.chromosome.copy();
+    }
+
+    @Benchmark
+    public CompactChromosome copyCompactChromosome(ScheduleBenchmarkState state) {
+        return state.compact.copy();
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ConflictReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConflictDetector 基准测试：完整冲突报告与紧凑编码冲突计数
+ *
+ * @author flash
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictDetectorBenchmark {
+
+    @Benchmark
+    public ConflictReport detectConflicts(ScheduleBenchmarkState state) {
+        return state.conflictDetector.detectConflicts(state.chromosome, state.context);
+    }
+
+    @Benchmark
+    public int[] countConflicts(ScheduleBenchmarkState state) {
+        return state.conflictDetector.countConflicts(state.compact, state.index);
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FitnessCalculator 基准测试：紧凑编码完整评估与单次移动的增量评估
+ *
+ * @author flash
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitnessCalculatorBenchmark {
+
+    @Benchmark
+    public double calculateCompactFitness(ScheduleBenchmarkState state) {
+        state.fitnessCalculator.calculateFitness(state.compact, state.index);
+        return state.compact.getFitness();
+    }
+
+    @Benchmark
+    public double applyMove(ScheduleBenchmarkState state) {
+        int[] move = state.randomMove();
+        CompactChromosome compact = state.compact;
+        state.fitnessCalculator.applyMove(compact, state.index, move[0], move[1], move[2]);
+        return compact.getFitness();
+    }
+}
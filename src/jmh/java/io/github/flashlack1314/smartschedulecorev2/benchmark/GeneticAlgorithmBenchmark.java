@@ -0,0 +1,69 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.ConflictDetector;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.FitnessCalculator;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.GeneticAlgorithm;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.HoursCalculator;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeneticAlgorithm 基准测试：固定种子下完整运行指定代数（含索引构建与种群初始化）
+ *
+ * @author flash
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {
+
+    @Param({"20"})
+    public int teachingClasses;
+
+    @Param({"30"})
+    public int rooms;
+
+    @Param({"30"})
+    public int teachers;
+
+    @Param({"16"})
+    public int weeks;
+
+    @Param({"0"})
+    public int existingSchedules;
+
+    @Param({"20"})
+    public int generations;
+
+    @Param({"1"})
+    public int parallelism;
+
+    @Param({"1"})
+    public int islandCount;
+
+    private ScheduleContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SyntheticScheduleContexts.build(teachingClasses, rooms, teachers, weeks, existingSchedules, 42L);
+    }
+
+    @Benchmark
+    public Chromosome schedule() {
+        ConflictDetector conflictDetector = new ConflictDetector();
+        GeneticAlgorithm algorithm = new GeneticAlgorithm(context, new FitnessCalculator(conflictDetector),
+                conflictDetector, new TimeSlotGenerator(), new HoursCalculator());
+        algorithm.setMaxGenerations(generations);
+        algorithm.setParallelism(parallelism);
+        algorithm.setIslandCount(islandCount);
+        algorithm.setSeed(42L);
+        return algorithm.schedule();
+    }
+}
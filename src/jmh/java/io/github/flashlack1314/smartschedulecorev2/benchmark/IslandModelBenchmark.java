@@ -0,0 +1,118 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.ConflictDetector;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.FitnessCalculator;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.GeneticAlgorithm;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.HoursCalculator;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 岛屿模型基准测试：相同墙钟时间预算内，单一种群（islandCount=1）与岛屿模型得到的最优解
+ * <p>
+ * 每次调用运行到时间预算耗尽（通过 {@link ScheduleRunControl} 取消）或触发早停为止，
+ * 最优适应度、硬冲突数与执行代数作为辅助计数器写入结果文件。每轮测量使用不同的种子，各配置的种子序列相同。
+ * 默认规模在时间预算内通常无法消除全部硬冲突，适应度不会饱和，便于比较；
+ * 规模较小时各配置都能达到适应度 1.0，无法区分。
+ * 需在多核机器上运行，parallelism 取机器核数，例如：
+ * {@code java -jar target/benchmarks.jar IslandModelBenchmark -p parallelism=8 -rf json}
+ *
+ * @author flash
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IslandModelBenchmark {
+
+    @Param({"400"})
+    public int teachingClasses;
+
+    @Param({"20"})
+    public int rooms;
+
+    @Param({"30"})
+    public int teachers;
+
+    @Param({"100"})
+    public int existingSchedules;
+
+    @Param({"4"})
+    public int parallelism;
+
+    @Param({"1", "2", "4"})
+    public int islandCount;
+
+    @Param({"2000"})
+    public long budgetMillis;
+
+    private ScheduleContext context;
+    private ScheduledExecutorService timer;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SyntheticScheduleContexts.build(teachingClasses, rooms, teachers, 16, existingSchedules, 42L);
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "island-benchmark-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Setup(Level.Iteration)
+    public void nextSeed() {
+        seed++;
+    }
+
+    /**
+     * 单次运行的结果（辅助计数器）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RunResult {
+        public double bestFitness;
+        public long hardViolations;
+        public long generations;
+    }
+
+    @Benchmark
+    public Chromosome scheduleWithinBudget(RunResult result) {
+        ConflictDetector conflictDetector = new ConflictDetector();
+        GeneticAlgorithm algorithm = new GeneticAlgorithm(context, new FitnessCalculator(conflictDetector),
+                conflictDetector, new TimeSlotGenerator(), new HoursCalculator());
+        algorithm.setMaxGenerations(Integer.MAX_VALUE);
+        algorithm.setParallelism(parallelism);
+        algorithm.setIslandCount(islandCount);
+        algorithm.setSeed(seed);
+        ScheduleRunControl control = new ScheduleRunControl();
+        algorithm.setRunControl(control);
+
+        ScheduledFuture<?> stop = timer.schedule(control::cancel, budgetMillis, TimeUnit.MILLISECONDS);
+        Chromosome best;
+        try {
+            best = algorithm.schedule();
+        } finally {
+            stop.cancel(false);
+        }
+        result.bestFitness = best.getFitness();
+        result.hardViolations = best.getHardConstraintViolations();
+        result.generations = algorithm.getExecutedGenerations();
+        return best;
+    }
+}
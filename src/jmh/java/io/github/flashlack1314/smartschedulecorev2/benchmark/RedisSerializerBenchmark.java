@@ -0,0 +1,109 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.config.RedisConfig;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.CompactRedisSerializer;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.SchedulePreviewCodec;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.TokenInfoCodec;
+import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
+import io.github.flashlack1314.smartschedulecorev2.mcp.dto.SchedulePreviewDTO;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.TokenInfoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis值序列化基准测试：Token信息与调课预览在 JSON（带类型信息）和二进制格式下的编码、解码耗时
+ * 编码后的字节数作为编码基准的辅助计数器 encodedBytes 输出，与耗时一起写入结果文件
+ *
+ * @author flash
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "compact"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private TokenInfoDTO token;
+    private SchedulePreviewDTO preview;
+    private byte[] tokenBytes;
+    private byte[] previewBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = "json".equals(codec)
+                ? RedisConfig.jsonRedisSerializer()
+                : new CompactRedisSerializer(List.of(new TokenInfoCodec(), new SchedulePreviewCodec()),
+                RedisConfig.jsonRedisSerializer());
+
+        LocalDateTime now = LocalDateTime.of(2026, 9, 1, 8, 0);
+        token = new TokenInfoDTO("3f6c1a2b9d8e4f70a1b2c3d4e5f60718", UserType.TEACHER, now, now.plusHours(12));
+        preview = new SchedulePreviewDTO()
+                .setPreviewId("9a8b7c6d5e4f30211a2b3c4d5e6f7081")
+                .setSemesterUuid("5d4c3b2a19f8e7d6c5b4a39281706f5e")
+                .setOriginalScheduleUuid("0f1e2d3c4b5a69788796a5b4c3d2e1f0")
+                .setOriginalSchedule(scheduleInfo(1, 1, 2, "101"))
+                .setNewSchedule(scheduleInfo(3, 5, 6, "205"))
+                .setConflictResult(new SchedulePreviewDTO.ConflictResult()
+                        .setHasConflict(true)
+                        .setConflictTypes(List.of("教室冲突"))
+                        .setConflictDescription("教室[教学楼A-205]在第3周星期三第5-6节已被[数据结构]占用"))
+                .setCreatedAt(now);
+
+        tokenBytes = serializer.serialize(token);
+        previewBytes = serializer.serialize(preview);
+    }
+
+    /**
+     * 编码后的字节数（辅助计数器，每次编码时赋值，不随调用次数累加）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long encodedBytes;
+    }
+
+    private static SchedulePreviewDTO.ScheduleInfo scheduleInfo(int day, int start, int end, String room) {
+        return new SchedulePreviewDTO.ScheduleInfo()
+                .setCourseName("数据结构")
+                .setTeacherName("张老师")
+                .setClassroomName("教学楼A-" + room)
+                .setDayOfWeek(day)
+                .setDayOfWeekStr("星期" + "一二三四五六日".charAt(day - 1))
+                .setSectionStart(start)
+                .setSectionEnd(end)
+                .setWeeksJson("[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16]");
+    }
+
+    @Benchmark
+    public byte[] encodeToken(EncodedSize size) {
+        byte[] bytes = serializer.serialize(token);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodeToken() {
+        return serializer.deserialize(tokenBytes);
+    }
+
+    @Benchmark
+    public byte[] encodePreview(EncodedSize size) {
+        byte[] bytes = serializer.serialize(preview);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decodePreview() {
+        return serializer.deserialize(previewBytes);
+    }
+}
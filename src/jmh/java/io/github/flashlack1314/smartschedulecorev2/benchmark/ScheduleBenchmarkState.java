@@ -0,0 +1,81 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.ConflictDetector;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.core.FitnessCalculator;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 基准测试共享状态：按规模参数构建上下文、排课索引以及一个随机排课方案（紧凑与完整两种编码）
+ *
+ * @author flash
+ */
+@State(Scope.Benchmark)
+public class ScheduleBenchmarkState {
+
+    @Param({"100", "500"})
+    public int teachingClasses;
+
+    @Param({"60"})
+    public int rooms;
+
+    @Param({"80"})
+    public int teachers;
+
+    @Param({"16"})
+    public int weeks;
+
+    @Param({"50"})
+    public int existingSchedules;
+
+    public final ConflictDetector conflictDetector = new ConflictDetector();
+    public final FitnessCalculator fitnessCalculator = new FitnessCalculator(conflictDetector);
+
+    public ScheduleContext context;
+    public ScheduleIndex index;
+    public CompactChromosome compact;
+    public Chromosome chromosome;
+    public SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SyntheticScheduleContexts.build(teachingClasses, rooms, teachers, weeks, existingSchedules, 42L);
+        index = new ScheduleIndex(context, new TimeSlotGenerator().generateAllTimeSlots(5, 12,
+                IntStream.rangeClosed(1, weeks).boxed().collect(Collectors.toList())));
+
+        random = new SplittableRandom(42L);
+        compact = new CompactChromosome(index.getSessionCount());
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            int[] candidates = index.getTcCandidateRooms()[index.getSessionTc()[session]];
+            if (candidates.length > 0) {
+                compact.setGene(session, random.nextInt(index.getSlotCount()),
+                        candidates[random.nextInt(candidates.length)]);
+            }
+        }
+        fitnessCalculator.calculateFitness(compact, index);
+        chromosome = index.decode(compact);
+    }
+
+    /**
+     * 随机选择一个课次的移动（时间槽与候选教室），用于增量评估基准
+     *
+     * @return {课次, 时间槽, 教室}
+     */
+    public int[] randomMove() {
+        int session = random.nextInt(index.getSessionCount());
+        int[] candidates = index.getTcCandidateRooms()[index.getSessionTc()[session]];
+        if (candidates.length == 0) {
+            // 没有可选教室的课次保持未安排
+            return new int[]{session, compact.getSlot(session), compact.getRoom(session)};
+        }
+        return new int[]{session, random.nextInt(index.getSlotCount()), candidates[random.nextInt(candidates.length)]};
+    }
+}
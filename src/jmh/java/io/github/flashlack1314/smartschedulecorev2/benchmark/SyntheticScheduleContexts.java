@@ -0,0 +1,119 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 基准测试用的合成排课上下文
+ * <p>
+ * 按指定规模随机生成教室、教学班、教师与已有排课，相同参数与种子生成的上下文完全一致。
+ *
+ * @author flash
+ */
+public final class SyntheticScheduleContexts {
+
+    private static final String LECTURE = "lecture";
+    private static final String LAB = "lab";
+
+    private SyntheticScheduleContexts() {
+    }
+
+    /**
+     * 生成排课上下文
+     *
+     * @param teachingClasses   教学班数量
+     * @param rooms             教室数量（普通教室与实验室各半）
+     * @param teachers          教师数量
+     * @param weeks             学期周数
+     * @param existingSchedules 已有正式排课数量
+     * @param seed              随机种子
+     * @return 排课上下文
+     */
+    public static ScheduleContext build(int teachingClasses, int rooms, int teachers, int weeks,
+                                        int existingSchedules, long seed) {
+        Random random = new Random(seed);
+        int classes = Math.max(1, teachingClasses / 3);
+        List<Integer> allWeeks = IntStream.rangeClosed(1, weeks).boxed().collect(Collectors.toList());
+
+        ScheduleContext context = new ScheduleContext();
+        context.setSemesterUuid("semester");
+        context.setSemesterWeeks(weeks);
+
+        // 教室：偶数编号为普通教室，奇数编号为实验室
+        Map<String, List<ScheduleContext.ClassroomInfo>> classrooms = new HashMap<>();
+        for (int i = 0; i < rooms; i++) {
+            ScheduleContext.ClassroomInfo room = new ScheduleContext.ClassroomInfo();
+            room.setClassroomUuid("room" + i);
+            room.setClassroomName("教室" + i);
+            room.setCapacity(40 + random.nextInt(120));
+            room.setClassroomTypeUuid(i % 2 == 0 ? LECTURE : LAB);
+            classrooms.computeIfAbsent(room.getClassroomTypeUuid(), k -> new ArrayList<>()).add(room);
+        }
+        context.setAvailableClassrooms(classrooms);
+        context.setCourseTypeToClassroomTypes(Map.of(LECTURE, List.of(LECTURE), LAB, List.of(LAB)));
+
+        // 教学班：每四个中有一个实验课，关联1-2个行政班
+        List<ScheduleContext.TeachingClassInfo> teachingClassList = new ArrayList<>();
+        Map<String, List<String>> qualifications = new HashMap<>();
+        Map<String, Integer> teacherMaxHours = new HashMap<>();
+        Map<String, List<TimeSlot>> teacherPreferences = new HashMap<>();
+        for (int i = 0; i < teachingClasses; i++) {
+            String courseUuid = "course" + (i % (teachingClasses / 2 + 1));
+            String teacherUuid = "teacher" + random.nextInt(teachers);
+            List<String> classUuids = new ArrayList<>();
+            int classCount = 1 + random.nextInt(2);
+            for (int j = 0; j < classCount; j++) {
+                classUuids.add("class" + random.nextInt(classes));
+            }
+            int courseHours = 32 + 16 * random.nextInt(3);
+            int weeklySessions = 1 + random.nextInt(2);
+
+            ScheduleContext.TeachingClassInfo info = new ScheduleContext.TeachingClassInfo();
+            info.setTeachingClassUuid("tc" + i);
+            info.setTeachingClassName("教学班" + i);
+            info.setCourseUuid(courseUuid);
+            info.setCourseName(courseUuid);
+            info.setCourseTypeUuid(i % 4 == 0 ? LAB : LECTURE);
+            info.setCourseTotalHours(courseHours);
+            info.setTeacherUuid(teacherUuid);
+            info.setTeacherName(teacherUuid);
+            info.setClassUuids(classUuids);
+            info.setTotalStudents(30 * classCount);
+            info.setWeeklySessions(weeklySessions);
+            info.setSectionsPerSession(2);
+            info.setRequiredSessions(weeklySessions);
+            info.setRequiredWeeks(Math.min(weeks, (courseHours + weeklySessions * 2 - 1) / (weeklySessions * 2)));
+            teachingClassList.add(info);
+
+            qualifications.computeIfAbsent(courseUuid, k -> new ArrayList<>()).add(teacherUuid);
+            teacherMaxHours.put(teacherUuid, 400);
+            if (random.nextInt(3) == 0) {
+                teacherPreferences.put(teacherUuid, List.of(TimeSlot.of(1 + random.nextInt(5), 1, 2, List.of())));
+            }
+        }
+        context.setTeachingClassList(teachingClassList);
+        context.setCourseTeacherQualifications(qualifications);
+        context.setTeacherMaxHours(teacherMaxHours);
+        context.setTeacherTimePreferences(teacherPreferences);
+
+        // 已有正式排课：随机占用教师、教室与行政班的整学期时间
+        List<ScheduleContext.ExistingSchedule> existing = new ArrayList<>();
+        for (int i = 0; i < existingSchedules; i++) {
+            int sectionStart = 1 + 2 * random.nextInt(6);
+            ScheduleContext.ExistingSchedule schedule = new ScheduleContext.ExistingSchedule();
+            schedule.setScheduleUuid("existing" + i);
+            schedule.setTeachingClassUuid("existing-tc" + i);
+            schedule.setTeacherUuid("teacher" + random.nextInt(teachers));
+            schedule.setClassroomUuid("room" + random.nextInt(rooms));
+            schedule.setClassUuids(List.of("class" + random.nextInt(classes)));
+            schedule.setTimeSlot(TimeSlot.of(1 + random.nextInt(5), sectionStart, sectionStart + 1, allWeeks));
+            existing.add(schedule);
+        }
+        context.setExistingSchedules(existing);
+        return context;
+    }
+}
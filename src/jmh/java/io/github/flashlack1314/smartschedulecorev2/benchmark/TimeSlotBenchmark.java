@@ -0,0 +1,67 @@
+package io.github.flashlack1314.smartschedulecorev2.benchmark;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * TimeSlot 基准测试：isOverlap（周次重叠与不重叠两种情况）及作为基因 Map Key 的查找
+ *
+ * @author flash
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSlotBenchmark {
+
+    @Param({"16"})
+    public int weeks;
+
+    private TimeSlot fullTerm;
+    private TimeSlot secondHalf;
+    private TimeSlot oddWeeks;
+    private TimeSlot evenWeeks;
+    private Map<TimeSlot, Integer> genes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fullTerm = TimeSlot.of(1, 1, 2, weekRange(1, weeks, 1));
+        secondHalf = TimeSlot.of(1, 1, 2, weekRange(weeks / 2 + 1, weeks, 1));
+        oddWeeks = TimeSlot.of(1, 1, 2, weekRange(1, weeks, 2));
+        evenWeeks = TimeSlot.of(1, 1, 2, weekRange(2, weeks, 2));
+        genes = new HashMap<>();
+        for (int day = 1; day <= 5; day++) {
+            for (int section = 1; section <= 11; section += 2) {
+                genes.put(TimeSlot.of(day, section, section + 1, weekRange(1, weeks, 1)), day * 100 + section);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean overlapping() {
+        return fullTerm.isOverlap(secondHalf);
+    }
+
+    @Benchmark
+    public boolean disjointWeeks() {
+        return oddWeeks.isOverlap(evenWeeks);
+    }
+
+    @Benchmark
+    public Integer genesLookup() {
+        return genes.get(fullTerm);
+    }
+
+    private static List<Integer> weekRange(int from, int to, int step) {
+        return IntStream.iterate(from, w -> w <= to, w -> w + step).boxed().collect(Collectors.toList());
+    }
+}
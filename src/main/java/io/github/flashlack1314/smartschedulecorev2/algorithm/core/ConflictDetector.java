@@ -3,8 +3,11 @@ package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ConflictReport;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.SlotOccupancy;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -39,6 +42,379 @@ public class ConflictDetector {
         return report;
     }
 
+    /**
+     * 占用位图缓冲区（每个线程一份，用完清零后复用）
+     */
+    private final ThreadLocal<OccupancyBuffers> occupancyBuffers = new ThreadLocal<>();
+
+    /**
+     * 统计紧凑染色体中各类型硬约束冲突的数量（计数规则与 detectConflicts 一致）
+     * <p>
+     * 遗传算法迭代期间使用，不生成 Conflict 对象。教师、教室、行政班各有一张占用位图，
+     * 每个 (资源, 时间槽) 对应一个 long，按位记录已占用的周次。依次放入课次时先与位图求交：
+     * 无交集（绝大多数情况）直接跳过；有交集时只沿该 (资源, 时间槽) 的占用链核对已放入的课次，
+     * 因此计数结果与两两比较完全一致，而总代价与课次数加冲突数成线性关系。
+     *
+     * @param chromosome 紧凑染色体
+     * @param index      排课索引
+     * @return 按 Conflict.ConflictType 序号存放的冲突数量
+     */
+    public int[] countConflicts(CompactChromosome chromosome, ScheduleIndex index) {
+        int[] counts = new int[Conflict.ConflictType.values().length];
+        countConflicts(chromosome, index, counts);
+        return counts;
+    }
+
+    /**
+     * 统计紧凑染色体中各类型硬约束冲突的数量，写入调用方提供的数组（先清零，可复用）
+     *
+     * @param chromosome 紧凑染色体
+     * @param index      排课索引
+     * @param counts     按 Conflict.ConflictType 序号存放的冲突数量
+     */
+    public void countConflicts(CompactChromosome chromosome, ScheduleIndex index, int[] counts) {
+        Arrays.fill(counts, 0);
+        int sessionCount = index.getSessionCount();
+        int slotCount = index.getSlotCount();
+        int[] sessionTc = index.getSessionTc();
+        int[] tcTeacher = index.getTcTeacher();
+        int[][] tcClasses = index.getTcClasses();
+        long[] tcWeekMask = index.getTcWeekMask();
+        int[] sessionClassOffset = index.getSessionClassOffset();
+        int[] roomCapacity = index.getRoomCapacity();
+        int[] tcStudents = index.getTcStudents();
+        OccupancyBuffers buffers = occupancyBuffers(index);
+
+        // 1. 依次放入课次，检测内部时间冲突、与已有排课的冲突、容量、教室类型、教师资格
+        for (int session = 0; session < sessionCount; session++) {
+            int slot = chromosome.getSlot(session);
+            if (slot < 0) {
+                continue;
+            }
+            int tc = sessionTc[session];
+            int room = chromosome.getRoom(session);
+            int teacher = tcTeacher[tc];
+            long weeks = tcWeekMask[tc];
+
+            // 教师
+            if (teacher >= 0) {
+                int cell = teacher * slotCount + slot;
+                if ((buffers.teacherWeeks[cell] & weeks) != 0) {
+                    for (int other = buffers.teacherHead[cell]; other >= 0; other = buffers.teacherNext[other]) {
+                        if (isTimeConflict(index, tc, sessionTc[other])) {
+                            counts[Conflict.ConflictType.TEACHER_TIME_CONFLICT.ordinal()]++;
+                        }
+                    }
+                }
+                buffers.teacherWeeks[cell] |= weeks;
+                buffers.teacherNext[session] = buffers.teacherHead[cell];
+                buffers.teacherHead[cell] = session;
+            }
+
+            // 教室
+            int roomCell = room * slotCount + slot;
+            if ((buffers.roomWeeks[roomCell] & weeks) != 0) {
+                for (int other = buffers.roomHead[roomCell]; other >= 0; other = buffers.roomNext[other]) {
+                    if (isTimeConflict(index, tc, sessionTc[other])) {
+                        counts[Conflict.ConflictType.CLASSROOM_TIME_CONFLICT.ordinal()]++;
+                    }
+                }
+            }
+            buffers.roomWeeks[roomCell] |= weeks;
+            buffers.roomNext[session] = buffers.roomHead[roomCell];
+            buffers.roomHead[roomCell] = session;
+
+            // 行政班：占用链以 (课次, 行政班) 为节点，共用多个行政班的一对课次只在第一个共用行政班上计数
+            int[] classes = tcClasses[tc];
+            for (int k = 0; k < classes.length; k++) {
+                int cell = classes[k] * slotCount + slot;
+                if ((buffers.classWeeks[cell] & weeks) != 0) {
+                    for (int node = buffers.classHead[cell]; node >= 0; node = buffers.classNext[node]) {
+                        int otherTc = sessionTc[buffers.classNodeSession[node]];
+                        if (isTimeConflict(index, tc, otherTc)
+                                && firstSharedClass(classes, tcClasses[otherTc]) == classes[k]) {
+                            counts[Conflict.ConflictType.CLASS_TIME_CONFLICT.ordinal()]++;
+                        }
+                    }
+                }
+                int node = sessionClassOffset[session] + k;
+                buffers.classWeeks[cell] |= weeks;
+                buffers.classNodeSession[node] = session;
+                buffers.classNext[node] = buffers.classHead[cell];
+                buffers.classHead[cell] = node;
+            }
+
+            counts[Conflict.ConflictType.EXISTING_SCHEDULE_CONFLICT.ordinal()] +=
+                    countExistingConflicts(index, slot, tc, room);
+            if (roomCapacity[room] >= 0 && tcStudents[tc] >= 0 && roomCapacity[room] < tcStudents[tc]) {
+                counts[Conflict.ConflictType.CAPACITY_INSUFFICIENT.ordinal()]++;
+            }
+            boolean[] typeAllowed = index.getTcRoomTypeAllowed()[tc];
+            if (typeAllowed != null && !typeAllowed[room]) {
+                counts[Conflict.ConflictType.CLASSROOM_TYPE_MISMATCH.ordinal()]++;
+            }
+            counts[Conflict.ConflictType.TEACHER_QUALIFICATION_MISMATCH.ordinal()] +=
+                    index.getTcQualificationViolations()[tc];
+        }
+
+        // 2. 复位本次用到的位图单元与链表头，供下次复用
+        for (int session = 0; session < sessionCount; session++) {
+            int slot = chromosome.getSlot(session);
+            if (slot < 0) {
+                continue;
+            }
+            int tc = sessionTc[session];
+            if (tcTeacher[tc] >= 0) {
+                buffers.reset(buffers.teacherWeeks, buffers.teacherHead, tcTeacher[tc] * slotCount + slot);
+            }
+            buffers.reset(buffers.roomWeeks, buffers.roomHead, chromosome.getRoom(session) * slotCount + slot);
+            for (int k : tcClasses[tc]) {
+                buffers.reset(buffers.classWeeks, buffers.classHead, k * slotCount + slot);
+            }
+        }
+
+        // 3. 合班上课约束：tc1 的每次课都需在 tc2 中找到相同时间（含周次）的课
+        int[] pairs = index.getCombinedPairs();
+        for (int p = 0; p < pairs.length; p += 2) {
+            counts[Conflict.ConflictType.COMBINED_CLASS_TIME_CONFLICT.ordinal()] +=
+                    countCombinedPairConflicts(chromosome, index, pairs[p], pairs[p + 1]);
+        }
+    }
+
+    /**
+     * 累加单个课次放在指定位置时涉及的冲突（增量评估使用，计数规则与 countConflicts 一致）
+     * <p>
+     * 包括与同一时间槽内其他课次的教师/教室/行政班冲突、与已有排课的冲突、容量与教室类型。
+     * 教师资格只与是否安排有关，合班约束由调用方通过 {@link #countCombinedConflicts} 重算。
+     * 同一时间槽的课次沿染色体的占用索引遍历，代价与该时间槽的课次数成正比。
+     *
+     * @param chromosome 紧凑染色体（其余课次的当前安排）
+     * @param index      排课索引
+     * @param session    课次编号
+     * @param slot       时间槽编号
+     * @param room       教室编号
+     * @param counts     按 Conflict.ConflictType 序号存放的冲突数量
+     * @param sign       1 表示计入该位置的冲突，-1 表示扣除
+     */
+    public void accumulateSessionConflicts(CompactChromosome chromosome, ScheduleIndex index,
+                                           int session, int slot, int room, int[] counts, int sign) {
+        int[] sessionTc = index.getSessionTc();
+        int[] tcTeacher = index.getTcTeacher();
+        int tc = sessionTc[session];
+        int teacher = tcTeacher[tc];
+        int[] classes = index.getTcClasses()[tc];
+
+        int teacherConflicts = 0;
+        int roomConflicts = 0;
+        int classConflicts = 0;
+        SlotOccupancy occupancy = chromosome.occupancy(index.getSlotCount(), index.getRoomCount());
+        for (int other = occupancy.first(slot); other >= 0; other = occupancy.next(other)) {
+            if (other == session) {
+                continue;
+            }
+            int otherTc = sessionTc[other];
+            if (!isTimeConflict(index, tc, otherTc)) {
+                continue;
+            }
+            if (teacher >= 0 && teacher == tcTeacher[otherTc]) {
+                teacherConflicts++;
+            }
+            if (room == chromosome.getRoom(other)) {
+                roomConflicts++;
+            }
+            if (ScheduleIndex.intersects(classes, index.getTcClasses()[otherTc])) {
+                classConflicts++;
+            }
+        }
+        counts[Conflict.ConflictType.TEACHER_TIME_CONFLICT.ordinal()] += sign * teacherConflicts;
+        counts[Conflict.ConflictType.CLASSROOM_TIME_CONFLICT.ordinal()] += sign * roomConflicts;
+        counts[Conflict.ConflictType.CLASS_TIME_CONFLICT.ordinal()] += sign * classConflicts;
+        counts[Conflict.ConflictType.EXISTING_SCHEDULE_CONFLICT.ordinal()] +=
+                sign * countExistingConflicts(index, slot, tc, room);
+
+        int capacity = index.getRoomCapacity()[room];
+        int students = index.getTcStudents()[tc];
+        if (capacity >= 0 && students >= 0 && capacity < students) {
+            counts[Conflict.ConflictType.CAPACITY_INSUFFICIENT.ordinal()] += sign;
+        }
+        boolean[] typeAllowed = index.getTcRoomTypeAllowed()[tc];
+        if (typeAllowed != null && !typeAllowed[room]) {
+            counts[Conflict.ConflictType.CLASSROOM_TYPE_MISMATCH.ordinal()] += sign;
+        }
+    }
+
+    /**
+     * 统计指定教学班所在合班组合的合班冲突数
+     *
+     * @param chromosome 紧凑染色体
+     * @param index      排课索引
+     * @param tc         教学班编号
+     * @return 涉及该教学班的合班冲突数
+     */
+    public int countCombinedConflicts(CompactChromosome chromosome, ScheduleIndex index, int tc) {
+        int[] pairs = index.getCombinedPairs();
+        int count = 0;
+        for (int p : index.getTcCombinedPairs()[tc]) {
+            count += countCombinedPairConflicts(chromosome, index, pairs[p], pairs[p + 1]);
+        }
+        return count;
+    }
+
+    /**
+     * 统计一对合班教学班的冲突数：tc1 的每次课都需在 tc2 中找到相同时间（含周次）的课
+     */
+    private int countCombinedPairConflicts(CompactChromosome chromosome, ScheduleIndex index, int tc1, int tc2) {
+        int[] tcFirstSession = index.getTcFirstSession();
+        if (!hasScheduledSession(chromosome, tcFirstSession, tc1)
+                || !hasScheduledSession(chromosome, tcFirstSession, tc2)) {
+            return 0;
+        }
+        long[] tcWeekMask = index.getTcWeekMask();
+        int count = 0;
+        for (int a = tcFirstSession[tc1]; a < tcFirstSession[tc1 + 1]; a++) {
+            int slot = chromosome.getSlot(a);
+            if (slot < 0) {
+                continue;
+            }
+            boolean matched = false;
+            if (tcWeekMask[tc1] == tcWeekMask[tc2]) {
+                for (int b = tcFirstSession[tc2]; b < tcFirstSession[tc2 + 1] && !matched; b++) {
+                    matched = chromosome.getSlot(b) == slot;
+                }
+            }
+            if (!matched) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 两个教学班的课次在同一时间槽时是否冲突：不同教学班且周次有交集
+     */
+    private static boolean isTimeConflict(ScheduleIndex index, int tc1, int tc2) {
+        return tc1 != tc2 && (index.getTcWeekMask()[tc1] & index.getTcWeekMask()[tc2]) != 0;
+    }
+
+    /**
+     * 两个升序行政班编号数组的最小公共元素，无交集时返回 -1
+     */
+    private static int firstSharedClass(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                return a[i];
+            }
+            if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 统计课次与已有排课的冲突数：先与已有排课占用位图求交，有交集时再逐条核对
+     */
+    private int countExistingConflicts(ScheduleIndex index, int slot, int tc, int room) {
+        int slotCount = index.getSlotCount();
+        long weeks = index.getTcWeekMask()[tc];
+        int teacher = index.getTcTeacher()[tc];
+        boolean collision = (index.getExistingRoomWeeks()[room * slotCount + slot] & weeks) != 0
+                || (teacher >= 0 && (index.getExistingTeacherWeeks()[teacher * slotCount + slot] & weeks) != 0);
+        for (int k : index.getTcClasses()[tc]) {
+            collision |= (index.getExistingClassWeeks()[k * slotCount + slot] & weeks) != 0;
+        }
+        if (!collision) {
+            return 0;
+        }
+        int count = 0;
+        for (int e : index.getExistingBySlot()[slot]) {
+            if ((weeks & index.getExistingWeekMask()[e]) == 0) {
+                continue;
+            }
+            if (teacher >= 0 && teacher == index.getExistingTeacher()[e]) {
+                count++;
+            }
+            if (room == index.getExistingRoom()[e]) {
+                count++;
+            }
+            if (ScheduleIndex.intersects(index.getTcClasses()[tc], index.getExistingClasses()[e])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private OccupancyBuffers occupancyBuffers(ScheduleIndex index) {
+        OccupancyBuffers buffers = occupancyBuffers.get();
+        if (buffers == null || !buffers.fits(index)) {
+            buffers = new OccupancyBuffers(index);
+            occupancyBuffers.set(buffers);
+        }
+        return buffers;
+    }
+
+    /**
+     * 占用位图缓冲区：位图按 资源编号 × slotCount + 时间槽编号 寻址，链表头为 -1 表示空，
+     * 调用结束时所有用到的单元都已复位
+     */
+    private static class OccupancyBuffers {
+        final long[] teacherWeeks;
+        final long[] roomWeeks;
+        final long[] classWeeks;
+        final int[] teacherHead;
+        final int[] roomHead;
+        final int[] classHead;
+        final int[] teacherNext;
+        final int[] roomNext;
+        final int[] classNext;
+        final int[] classNodeSession;
+
+        OccupancyBuffers(ScheduleIndex index) {
+            int slots = index.getSlotCount();
+            int classNodes = index.getSessionClassOffset()[index.getSessionCount()];
+            this.teacherWeeks = new long[index.getTeacherCount() * slots];
+            this.roomWeeks = new long[index.getRoomCount() * slots];
+            this.classWeeks = new long[index.getClassCount() * slots];
+            this.teacherHead = new int[teacherWeeks.length];
+            this.roomHead = new int[roomWeeks.length];
+            this.classHead = new int[classWeeks.length];
+            this.teacherNext = new int[index.getSessionCount()];
+            this.roomNext = new int[index.getSessionCount()];
+            this.classNext = new int[classNodes];
+            this.classNodeSession = new int[classNodes];
+            Arrays.fill(teacherHead, -1);
+            Arrays.fill(roomHead, -1);
+            Arrays.fill(classHead, -1);
+        }
+
+        boolean fits(ScheduleIndex index) {
+            int slots = index.getSlotCount();
+            return teacherWeeks.length >= index.getTeacherCount() * slots
+                    && roomWeeks.length >= index.getRoomCount() * slots
+                    && classWeeks.length >= index.getClassCount() * slots
+                    && teacherNext.length >= index.getSessionCount()
+                    && classNext.length >= index.getSessionClassOffset()[index.getSessionCount()];
+        }
+
+        void reset(long[] weeks, int[] head, int cell) {
+            weeks[cell] = 0;
+            head[cell] = -1;
+        }
+    }
+
+    private boolean hasScheduledSession(CompactChromosome chromosome, int[] tcFirstSession, int tc) {
+        for (int session = tcFirstSession[tc]; session < tcFirstSession[tc + 1]; session++) {
+            if (chromosome.getSlot(session) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 检测与已有正式排课（status=1）的冲突
      */
@@ -74,18 +450,13 @@ public class ConflictDetector {
                         }
 
                         // 检查班级冲突
-                        if (newAppt.getClassUuids() != null && existing.getClassUuids() != null) {
-                            Set<String> newClasses = new HashSet<>(newAppt.getClassUuids());
-                            Set<String> existingClasses = new HashSet<>(existing.getClassUuids());
-                            newClasses.retainAll(existingClasses);
-
-                            if (!newClasses.isEmpty()) {
-                                report.addHardConflict(createConflict(
-                                        Conflict.ConflictType.EXISTING_SCHEDULE_CONFLICT,
-                                        "班级在已有排课中该时间段有课",
-                                        newAppt, Conflict.ConflictSeverity.HARD
-                                ));
-                            }
+                        if (newAppt.getClassUuids() != null && existing.getClassUuids() != null
+                                && !Collections.disjoint(newAppt.getClassUuids(), existing.getClassUuids())) {
+                            report.addHardConflict(createConflict(
+                                    Conflict.ConflictType.EXISTING_SCHEDULE_CONFLICT,
+                                    "班级在已有排课中该时间段有课",
+                                    newAppt, Conflict.ConflictSeverity.HARD
+                            ));
                         }
                     }
                 }
@@ -101,68 +472,133 @@ public class ConflictDetector {
                 .flatMap(List::stream)
                 .toList();
 
-        // 两两比较检测冲突
-        for (int i = 0; i < allAppointments.size(); i++) {
-            for (int j = i + 1; j < allAppointments.size(); j++) {
-                CourseAppointment appt1 = allAppointments.get(i);
-                CourseAppointment appt2 = allAppointments.get(j);
+        // 基于占用位图检测时间冲突
+        detectTimeConflicts(allAppointments, report);
 
-                // 跳过同一教学班的不同次排课
-                if (appt1.getTeachingClassUuid().equals(appt2.getTeachingClassUuid())) {
-                    continue;
-                }
+        // 检测容量约束
+        detectCapacityConflicts(allAppointments, report);
 
-                TimeSlot slot1 = appt1.getTimeSlot();
-                TimeSlot slot2 = appt2.getTimeSlot();
+        // 检测教室类型匹配
+        detectClassroomTypeConflicts(allAppointments, context, report);
 
-                if (slot1.isOverlap(slot2)) {
-                    // 检测教师冲突
-                    if (appt1.getTeacherUuid().equals(appt2.getTeacherUuid())) {
-                        report.addHardConflict(createConflict(
-                                Conflict.ConflictType.TEACHER_TIME_CONFLICT,
-                                "教师[" + appt1.getTeacherName() + "]同一时间有多门课程",
-                                appt1, Conflict.ConflictSeverity.HARD
-                        ));
-                    }
+        // 检测教师资格约束
+        detectQualificationConflicts(allAppointments, context, report);
 
-                    // 检测教室冲突
-                    if (appt1.getClassroomUuid().equals(appt2.getClassroomUuid())) {
+        // 检测合班上课约束
+        detectCombinedClassConflicts(chromosome, context, report);
+    }
+
+    /**
+     * 基于占用位图检测教师、教室、班级时间冲突
+     * <p>
+     * 每个资源按 (星期, 节次) 记录一个 long，按位表示已占用的周次。依次放入课程安排时先与位图求交，
+     * 只有存在交集时才与占用同一资源的已放入安排逐一核对，结果与两两比较一致（冲突记在先放入的安排上）。
+     */
+    private void detectTimeConflicts(List<CourseAppointment> appointments, ConflictReport report) {
+        ResourceOccupancy teachers = new ResourceOccupancy();
+        ResourceOccupancy classrooms = new ResourceOccupancy();
+        ResourceOccupancy classes = new ResourceOccupancy();
+
+        for (int j = 0; j < appointments.size(); j++) {
+            CourseAppointment appt2 = appointments.get(j);
+            TimeSlot slot2 = appt2.getTimeSlot();
+            long weeks = slot2.getWeekMask();
+
+            // 检测教师冲突
+            for (int i : teachers.collisions(appt2.getTeacherUuid(), slot2, weeks)) {
+                CourseAppointment appt1 = appointments.get(i);
+                if (isTimeConflict(appt1, appt2)) {
+                    report.addHardConflict(createConflict(
+                            Conflict.ConflictType.TEACHER_TIME_CONFLICT,
+                            "教师[" + appt1.getTeacherName() + "]同一时间有多门课程",
+                            appt1, Conflict.ConflictSeverity.HARD
+                    ));
+                }
+            }
+            teachers.occupy(appt2.getTeacherUuid(), slot2, weeks, j);
+
+            // 检测教室冲突
+            for (int i : classrooms.collisions(appt2.getClassroomUuid(), slot2, weeks)) {
+                CourseAppointment appt1 = appointments.get(i);
+                if (isTimeConflict(appt1, appt2)) {
+                    report.addHardConflict(createConflict(
+                            Conflict.ConflictType.CLASSROOM_TIME_CONFLICT,
+                            "教室[" + appt1.getClassroomName() + "]同一时间被多个课程占用",
+                            appt1, Conflict.ConflictSeverity.HARD
+                    ));
+                }
+            }
+            classrooms.occupy(appt2.getClassroomUuid(), slot2, weeks, j);
+
+            // 检测班级冲突（共用多个行政班的一对安排只记一次）
+            if (appt2.getClassUuids() != null) {
+                SortedSet<Integer> candidates = new TreeSet<>();
+                for (String classUuid : appt2.getClassUuids()) {
+                    candidates.addAll(classes.collisions(classUuid, slot2, weeks));
+                }
+                for (int i : candidates) {
+                    CourseAppointment appt1 = appointments.get(i);
+                    if (isTimeConflict(appt1, appt2)) {
                         report.addHardConflict(createConflict(
-                                Conflict.ConflictType.CLASSROOM_TIME_CONFLICT,
-                                "教室[" + appt1.getClassroomName() + "]同一时间被多个课程占用",
+                                Conflict.ConflictType.CLASS_TIME_CONFLICT,
+                                "班级同一时间有多门课程",
                                 appt1, Conflict.ConflictSeverity.HARD
                         ));
                     }
-
-                    // 检测班级冲突
-                    if (appt1.getClassUuids() != null && appt2.getClassUuids() != null) {
-                        Set<String> classes1 = new HashSet<>(appt1.getClassUuids());
-                        Set<String> classes2 = new HashSet<>(appt2.getClassUuids());
-                        classes1.retainAll(classes2);
-
-                        if (!classes1.isEmpty()) {
-                            report.addHardConflict(createConflict(
-                                    Conflict.ConflictType.CLASS_TIME_CONFLICT,
-                                    "班级同一时间有多门课程",
-                                    appt1, Conflict.ConflictSeverity.HARD
-                            ));
-                        }
-                    }
+                }
+                for (String classUuid : new HashSet<>(appt2.getClassUuids())) {
+                    classes.occupy(classUuid, slot2, weeks, j);
                 }
             }
         }
+    }
 
-        // 检测容量约束
-        detectCapacityConflicts(allAppointments, report);
+    /**
+     * 两个不同教学班的安排时间是否重叠
+     */
+    private boolean isTimeConflict(CourseAppointment appt1, CourseAppointment appt2) {
+        return !appt1.getTeachingClassUuid().equals(appt2.getTeachingClassUuid())
+                && appt1.getTimeSlot().isOverlap(appt2.getTimeSlot());
+    }
 
-        // 检测教室类型匹配
-        detectClassroomTypeConflicts(allAppointments, context, report);
+    /**
+     * 资源占用位图：资源UUID -> (星期, 节次) -> 已占用周次
+     */
+    private static class ResourceOccupancy {
+        private final Map<String, Map<Integer, Long>> weeksByCell = new HashMap<>();
+        private final Map<String, List<Integer>> appointmentsByResource = new HashMap<>();
+
+        /**
+         * 与位图有交集时返回占用该资源的已放入安排，否则返回空列表
+         */
+        List<Integer> collisions(String resource, TimeSlot slot, long weeks) {
+            Map<Integer, Long> cells = resource != null ? weeksByCell.get(resource) : null;
+            if (cells == null) {
+                return List.of();
+            }
+            for (int section = slot.getSectionStart(); section <= slot.getSectionEnd(); section++) {
+                Long occupied = cells.get(cell(slot.getDayOfWeek(), section));
+                if (occupied != null && (occupied & weeks) != 0) {
+                    return appointmentsByResource.get(resource);
+                }
+            }
+            return List.of();
+        }
 
-        // 检测教师资格约束
-        detectQualificationConflicts(allAppointments, context, report);
+        void occupy(String resource, TimeSlot slot, long weeks, int appointment) {
+            if (resource == null) {
+                return;
+            }
+            Map<Integer, Long> cells = weeksByCell.computeIfAbsent(resource, k -> new HashMap<>());
+            for (int section = slot.getSectionStart(); section <= slot.getSectionEnd(); section++) {
+                cells.merge(cell(slot.getDayOfWeek(), section), weeks, (a, b) -> a | b);
+            }
+            appointmentsByResource.computeIfAbsent(resource, k -> new ArrayList<>()).add(appointment);
+        }
 
-        // 检测合班上课约束
-        detectCombinedClassConflicts(chromosome, context, report);
+        private static int cell(int dayOfWeek, int section) {
+            return dayOfWeek * 1000 + section;
+        }
     }
 
     /**
@@ -270,90 +706,6 @@ public class ConflictDetector {
         }
     }
 
-    /**
-     * 检测单个课程安排是否与染色体中已有安排冲突
-     *
-     * @param chromosome 染色体
-     * @param appointment 新的课程安排
-     * @param context 排课上下文
-     * @return 是否存在冲突
-     */
-    public boolean hasConflict(Chromosome chromosome, CourseAppointment appointment, ScheduleContext context) {
-        TimeSlot newSlot = appointment.getTimeSlot();
-
-        // 检查教室类型是否匹配
-        if (appointment.getCourseTypeUuid() != null && appointment.getClassroomTypeUuid() != null) {
-            List<String> allowedTypes = context.getCourseTypeToClassroomTypes()
-                    .get(appointment.getCourseTypeUuid());
-            if (allowedTypes != null && !allowedTypes.isEmpty()) {
-                if (!allowedTypes.contains(appointment.getClassroomTypeUuid())) {
-                    log.debug("教室类型不匹配: 课程类型 {} 需要教室类型 {}, 但选择了 {}",
-                            appointment.getCourseTypeUuid(), allowedTypes, appointment.getClassroomTypeUuid());
-                    return true; // 教室类型不匹配视为冲突
-                }
-            }
-        }
-
-        // 检查与已有排课的冲突
-        if (context.getExistingSchedules() != null) {
-            for (ScheduleContext.ExistingSchedule existing : context.getExistingSchedules()) {
-                if (newSlot.isOverlap(existing.getTimeSlot())) {
-                    // 教师冲突
-                    if (appointment.getTeacherUuid().equals(existing.getTeacherUuid())) {
-                        return true;
-                    }
-                    // 教室冲突
-                    if (appointment.getClassroomUuid().equals(existing.getClassroomUuid())) {
-                        return true;
-                    }
-                    // 班级冲突
-                    if (appointment.getClassUuids() != null && existing.getClassUuids() != null) {
-                        Set<String> newClasses = new HashSet<>(appointment.getClassUuids());
-                        Set<String> existingClasses = new HashSet<>(existing.getClassUuids());
-                        newClasses.retainAll(existingClasses);
-                        if (!newClasses.isEmpty()) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-
-        // 检查与染色体内部已有安排的冲突
-        for (Map.Entry<TimeSlot, List<CourseAppointment>> entry : chromosome.getGenes().entrySet()) {
-            TimeSlot existingSlot = entry.getKey();
-
-            if (newSlot.isOverlap(existingSlot)) {
-                for (CourseAppointment existingAppt : entry.getValue()) {
-                    // 同一教学班跳过
-                    if (appointment.getTeachingClassUuid().equals(existingAppt.getTeachingClassUuid())) {
-                        continue;
-                    }
-
-                    // 教师冲突
-                    if (appointment.getTeacherUuid().equals(existingAppt.getTeacherUuid())) {
-                        return true;
-                    }
-                    // 教室冲突
-                    if (appointment.getClassroomUuid().equals(existingAppt.getClassroomUuid())) {
-                        return true;
-                    }
-                    // 班级冲突
-                    if (appointment.getClassUuids() != null && existingAppt.getClassUuids() != null) {
-                        Set<String> newClasses = new HashSet<>(appointment.getClassUuids());
-                        Set<String> existingClasses = new HashSet<>(existingAppt.getClassUuids());
-                        newClasses.retainAll(existingClasses);
-                        if (!newClasses.isEmpty()) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-
-        return false;
-    }
-
     /**
      * 创建冲突对象
      */
@@ -0,0 +1,209 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * 构造式初始解生成器：为遗传算法生成初始种群
+ * <p>
+ * 教学班按约束程度从高到低依次安排：可选教室越少越先安排，可选教室数相同时，
+ * 教师与行政班的总课次越多越先安排。每个课次放入当前代价最小的 (时间槽, 教室)，代价依次为：
+ * 硬约束冲突（教师、教室、行政班与已放入课次或已有排课的周次重叠）、
+ * 同一教学班同一天多次上课、不在教师偏好时间。候选时间槽取自教学班的可选时间槽，
+ * 教室优先选择容量最贴合且未被占用的。
+ * 占用情况按 (资源, 时间槽) 的周次位图增量维护，评估一个候选位置只需几次位运算。
+ * <p>
+ * 约束程度相同的教学班、代价相同的候选位置均随机选择，同一种群中的个体各不相同；
+ * 随机性全部来自调用方传入的生成器，相同的生成器得到相同的个体。
+ *
+ * @author flash
+ */
+public class ConstructiveInitializer {
+
+    private static final int HARD_COST = 100;
+    private static final int SAME_DAY_COST = 10;
+    private static final int NON_PREFERRED_COST = 1;
+
+    private final ScheduleIndex index;
+
+    /**
+     * 按约束程度从高到低排列的教学班编号
+     */
+    private final int[] order;
+
+    /**
+     * 教学班的约束程度键（越小越先安排），键相同的教学班在每次生成时随机排列
+     */
+    private final long[] orderKey;
+
+    public ConstructiveInitializer(ScheduleIndex index) {
+        this.index = index;
+        int tcCount = index.getTeachingClassCount();
+        int[] tcFirstSession = index.getTcFirstSession();
+
+        // 每个教师、行政班需安排的总课次
+        int[] teacherLoad = new int[index.getTeacherCount()];
+        int[] classLoad = new int[index.getClassCount()];
+        for (int tc = 0; tc < tcCount; tc++) {
+            int sessions = tcFirstSession[tc + 1] - tcFirstSession[tc];
+            if (index.getTcTeacher()[tc] >= 0) {
+                teacherLoad[index.getTcTeacher()[tc]] += sessions;
+            }
+            for (int k : index.getTcClasses()[tc]) {
+                classLoad[k] += sessions;
+            }
+        }
+
+        this.orderKey = new long[tcCount];
+        for (int tc = 0; tc < tcCount; tc++) {
+            long load = index.getTcTeacher()[tc] >= 0 ? teacherLoad[index.getTcTeacher()[tc]] : 0;
+            for (int k : index.getTcClasses()[tc]) {
+                load += classLoad[k];
+            }
+            orderKey[tc] = ((long) index.getTcCandidateRooms()[tc].length << 32) - load;
+        }
+        this.order = IntStream.range(0, tcCount).boxed()
+                .sorted(Comparator.comparingLong(tc -> orderKey[tc]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * 生成一个个体
+     *
+     * @param random 随机数生成器
+     * @return 未评估的紧凑染色体，没有可选教室的教学班保持未安排
+     */
+    public CompactChromosome build(SplittableRandom random) {
+        int slotCount = index.getSlotCount();
+        CompactChromosome chromosome = new CompactChromosome(index.getSessionCount());
+        if (slotCount == 0) {
+            return chromosome;
+        }
+
+        // 占用位图以已有排课为初始状态
+        long[] teacherWeeks = index.getExistingTeacherWeeks().clone();
+        long[] roomWeeks = index.getExistingRoomWeeks().clone();
+        long[] classWeeks = index.getExistingClassWeeks().clone();
+
+        for (int tc : shuffledOrder(random)) {
+            int[] rooms = index.getTcCandidateRooms()[tc];
+            if (rooms.length == 0) {
+                continue;
+            }
+            int teacher = index.getTcTeacher()[tc];
+            int[] classes = index.getTcClasses()[tc];
+            long weeks = index.getTcWeekMask()[tc];
+
+            for (int session = index.getTcFirstSession()[tc]; session < index.getTcFirstSession()[tc + 1]; session++) {
+                int bestSlot = -1;
+                int bestRoom = -1;
+                int bestCost = Integer.MAX_VALUE;
+                int ties = 0;
+                int fallbackRoom = rooms[random.nextInt(rooms.length)];
+
+                for (int slot : index.getTcCandidateSlots()[tc]) {
+                    int cost = slotCost(chromosome, tc, session, slot, teacherWeeks, classWeeks);
+                    if (cost > bestCost) {
+                        continue;
+                    }
+                    // 按容量贴合程度查找该时间槽上周次不重叠的教室，都重叠时取随机教室
+                    int room = fallbackRoom;
+                    int roomCost = HARD_COST;
+                    for (int candidate : rooms) {
+                        if ((roomWeeks[candidate * slotCount + slot] & weeks) == 0) {
+                            room = candidate;
+                            roomCost = 0;
+                            break;
+                        }
+                    }
+                    cost += roomCost;
+
+                    // 代价相同的候选位置等概率选择
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestSlot = slot;
+                        bestRoom = room;
+                        ties = 1;
+                    } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                        bestSlot = slot;
+                        bestRoom = room;
+                    }
+                }
+
+                chromosome.setGene(session, bestSlot, bestRoom);
+                if (teacher >= 0) {
+                    teacherWeeks[teacher * slotCount + bestSlot] |= weeks;
+                }
+                roomWeeks[bestRoom * slotCount + bestSlot] |= weeks;
+                for (int k : classes) {
+                    classWeeks[k * slotCount + bestSlot] |= weeks;
+                }
+            }
+        }
+        return chromosome;
+    }
+
+    /**
+     * 课次放在指定时间槽的代价（不含教室）
+     */
+    private int slotCost(CompactChromosome chromosome, int tc, int session, int slot,
+                         long[] teacherWeeks, long[] classWeeks) {
+        int slotCount = index.getSlotCount();
+        long weeks = index.getTcWeekMask()[tc];
+        int teacher = index.getTcTeacher()[tc];
+        int cost = 0;
+
+        if (teacher >= 0 && (teacherWeeks[teacher * slotCount + slot] & weeks) != 0) {
+            cost += HARD_COST;
+        }
+        for (int k : index.getTcClasses()[tc]) {
+            if ((classWeeks[k * slotCount + slot] & weeks) != 0) {
+                cost += HARD_COST;
+            }
+        }
+
+        // 同一教学班已安排的课次尽量不在同一天
+        int day = index.getSlotDay()[slot];
+        for (int s = index.getTcFirstSession()[tc]; s < session; s++) {
+            if (index.getSlotDay()[chromosome.getSlot(s)] == day) {
+                cost += SAME_DAY_COST;
+            }
+        }
+
+        if (teacher >= 0 && index.isTeacherPreferenceEnabled()) {
+            boolean[] preferred = index.getTeacherPreferredSlots()[teacher];
+            if (preferred != null && !preferred[slot]) {
+                cost += NON_PREFERRED_COST;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * 约束程度相同的教学班随机排列后的安排顺序
+     */
+    private int[] shuffledOrder(SplittableRandom random) {
+        int[] shuffled = Arrays.copyOf(order, order.length);
+        int start = 0;
+        while (start < shuffled.length) {
+            int end = start + 1;
+            while (end < shuffled.length && orderKey[shuffled[end]] == orderKey[shuffled[start]]) {
+                end++;
+            }
+            for (int i = end - 1; i > start; i--) {
+                int j = start + random.nextInt(i - start + 1);
+                int tmp = shuffled[i];
+                shuffled[i] = shuffled[j];
+                shuffled[j] = tmp;
+            }
+            start = end;
+        }
+        return shuffled;
+    }
+}
@@ -1,24 +1,20 @@
 package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
 
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ConflictReport;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.SlotOccupancy;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 适应度计算器：计算排课方案的适应度
  *
  * @author flash
  */
-@Slf4j
 @Component
 @RequiredArgsConstructor
 public class FitnessCalculator {
@@ -48,65 +44,132 @@ public class FitnessCalculator {
     private static final double SOFT_CONSTRAINT_WEIGHT = 0.2;
 
     /**
-     * 计算染色体适应度
+     * 计算紧凑染色体适应度
+     * <p>
+     * 完整评估，同时刷新染色体上的冲突计数与软约束分项缓存。
+     * 适应度 = 0.8·H + 0.2·S，H 为硬约束满足度（已满足数 / 总数），S 为软约束奖励在奖励与硬约束惩罚之和中的占比。
      *
-     * @param chromosome 染色体
-     * @param context    排课上下文
+     * @param chromosome 紧凑染色体
+     * @param index      排课索引
      */
-    public void calculateFitness(Chromosome chromosome, ScheduleContext context) {
-        ConflictReport report = conflictDetector.detectConflicts(chromosome, context);
+    public void calculateFitness(CompactChromosome chromosome, ScheduleIndex index) {
+        // 复用染色体上的计数数组（copy 时已克隆，不与其他染色体共享）
+        int[] counts = chromosome.getConflictCounts();
+        if (counts == null) {
+            counts = new int[Conflict.ConflictType.values().length];
+        }
+        conflictDetector.countConflicts(chromosome, index, counts);
+        chromosome.setConflictCounts(counts);
+        chromosome.setUnscheduledCount(countUnscheduledTeachingClasses(chromosome, index));
+
+        chromosome.setTeacherPreferenceScore(calculateTeacherPreferenceScore(chromosome, index));
+        chromosome.setWorkloadBalanceScore(calculateWorkloadBalanceScore(chromosome, index));
+        int[] dayCounts = countSessionsPerDay(chromosome, index);
+        chromosome.setDayCounts(dayCounts);
+        chromosome.setCourseDistributionScore(calculateCourseDistributionScore(dayCounts));
+        SlotOccupancy occupancy = chromosome.occupancy(index.getSlotCount(), index.getRoomCount());
+        chromosome.setClassroomContinuityScore(calculateClassroomContinuityScore(occupancy, index));
+
+        applyCachedScores(chromosome);
+    }
 
-        // 硬约束惩罚（负分）
-        double hardPenalty = 0;
-        for (Conflict conflict : report.getHardConflicts()) {
-            hardPenalty += getPenalty(conflict.getType());
+    /**
+     * 移动一个课次到新的时间槽与教室，并增量更新适应度
+     * <p>
+     * 只重算被移动课次在原位置与新位置上涉及的冲突、所在合班组合、偏好分、
+     * 每日课次分布以及受影响的 (教室, 天) 连续使用分；教师工作量与未完成数只取决于
+     * 课次是否安排，移动前后不变。结果与对移动后的染色体做完整评估一致。
+     * 冲突与连续使用分通过染色体的时间槽占用索引计算，只访问同一时间槽的课次与受影响的 (教室, 天)。
+     * <p>
+     * 染色体尚未评估，或移动会改变课次是否安排时，只修改基因，留待下次完整评估。
+     *
+     * @param chromosome 紧凑染色体
+     * @param index      排课索引
+     * @param session    课次编号
+     * @param slot       新时间槽编号
+     * @param room       新教室编号
+     */
+    public void applyMove(CompactChromosome chromosome, ScheduleIndex index, int session, int slot, int room) {
+        int oldSlot = chromosome.getSlot(session);
+        int oldRoom = chromosome.getRoom(session);
+        if (oldSlot == slot && oldRoom == room) {
+            return;
+        }
+        if (!chromosome.isEvaluated() || oldSlot < 0 || slot < 0 || room < 0) {
+            chromosome.setGene(session, slot, room);
+            return;
         }
 
-        // 添加详细日志（使用 DEBUG 级别以便调试）
-        if (!report.getHardConflicts().isEmpty()) {
-            Map<Conflict.ConflictType, Long> conflictCounts = report.getHardConflicts().stream()
-                    .collect(Collectors.groupingBy(Conflict::getType, Collectors.counting()));
-            log.debug("检测到 {} 个硬约束冲突，按类型统计: {}", report.getHardConflicts().size(), conflictCounts);
-
-            // 输出每个冲突的详细信息（最多显示前5个）
-            int shown = 0;
-            for (Conflict conflict : report.getHardConflicts()) {
-                if (shown++ >= 5) {
-                    log.debug("... 还有 {} 个冲突未显示", report.getHardConflicts().size() - 5);
-                    break;
-                }
-                log.debug("  冲突详情: {} - {}", conflict.getType(), conflict.getDescription());
-            }
+        int tc = index.getSessionTc()[session];
+        int[] counts = chromosome.getConflictCounts();
+        int combined = Conflict.ConflictType.COMBINED_CLASS_TIME_CONFLICT.ordinal();
+        int oldDay = index.getSlotDay()[oldSlot];
+        int newDay = index.getSlotDay()[slot];
+        boolean sameRoomDay = oldRoom == room && oldDay == newDay;
+        int[] roomSlotCounts = chromosome.occupancy(index.getSlotCount(), index.getRoomCount()).getRoomSlotCounts();
+
+        // 扣除原位置的贡献
+        conflictDetector.accumulateSessionConflicts(chromosome, index, session, oldSlot, oldRoom, counts, -1);
+        counts[combined] -= conflictDetector.countCombinedConflicts(chromosome, index, tc);
+        double continuityBefore = calculateRoomDayContinuity(roomSlotCounts, index, oldRoom, oldDay)
+                + (sameRoomDay ? 0 : calculateRoomDayContinuity(roomSlotCounts, index, room, newDay));
+        double preferenceBefore = teacherPreferenceReward(index, tc, oldSlot);
+
+        chromosome.setGene(session, slot, room);
+
+        // 计入新位置的贡献
+        conflictDetector.accumulateSessionConflicts(chromosome, index, session, slot, room, counts, 1);
+        counts[combined] += conflictDetector.countCombinedConflicts(chromosome, index, tc);
+        double continuityAfter = calculateRoomDayContinuity(roomSlotCounts, index, oldRoom, oldDay)
+                + (sameRoomDay ? 0 : calculateRoomDayContinuity(roomSlotCounts, index, room, newDay));
+
+        chromosome.setTeacherPreferenceScore(chromosome.getTeacherPreferenceScore()
+                - preferenceBefore + teacherPreferenceReward(index, tc, slot));
+        int[] dayCounts = chromosome.getDayCounts();
+        dayCounts[oldDay]--;
+        dayCounts[newDay]++;
+        chromosome.setCourseDistributionScore(calculateCourseDistributionScore(dayCounts));
+        chromosome.setClassroomContinuityScore(chromosome.getClassroomContinuityScore()
+                - continuityBefore + continuityAfter);
+
+        applyCachedScores(chromosome);
+    }
+
+    /**
+     * 由缓存的冲突计数与软约束分项计算适应度
+     */
+    private void applyCachedScores(CompactChromosome chromosome) {
+        int[] conflictCounts = chromosome.getConflictCounts();
+
+        // 硬约束惩罚（负分）
+        double hardPenalty = 0;
+        int hardConstraintCount = 0;
+        for (Conflict.ConflictType type : Conflict.ConflictType.values()) {
+            int count = conflictCounts[type.ordinal()];
+            hardPenalty += (double) count * getPenalty(type);
+            hardConstraintCount += count;
         }
 
         // 未完成排课惩罚
-        hardPenalty += chromosome.getUnscheduledTeachingClasses().size() * INCOMPLETE_SCHEDULE_PENALTY;
+        int unscheduled = chromosome.getUnscheduledCount();
+        hardPenalty += (double) unscheduled * INCOMPLETE_SCHEDULE_PENALTY;
 
         // 软约束奖励（正分）
         double softReward = 0;
-        softReward += calculateTeacherPreferenceScore(chromosome, context);
-        softReward += calculateWorkloadBalanceScore(chromosome, context);
-        softReward += calculateCourseDistributionScore(chromosome, context);
-        softReward += calculateClassroomContinuityScore(chromosome, context);
-
-        // H = 已满足硬约束数 / 总硬约束数（趋近于1才可用）
-        // S = 软约束加权得分
-        double hardConstraintCount = report.getHardConflicts().size();
-        double totalHardConstraints = hardConstraintCount + chromosome.getUnscheduledTeachingClasses().size();
-        // 硬约束满足度 H = 已满足数 / 总数（1表示全部满足，0表示全部违反）
+        softReward += chromosome.getTeacherPreferenceScore();
+        softReward += chromosome.getWorkloadBalanceScore();
+        softReward += chromosome.getCourseDistributionScore();
+        softReward += chromosome.getClassroomContinuityScore();
+
+        double totalHardConstraints = hardConstraintCount + unscheduled;
         double H = totalHardConstraints > 0
                 ? 1.0 - (hardConstraintCount / totalHardConstraints)
                 : 1.0;
-
-        // 软约束满足度 S = 加权得分（归一化到0-1范围）
         double S = softReward / Math.max(softReward + hardPenalty, 1.0);
 
-        // 总适应度 = w1·H + w2·S
-        double fitness = HARD_CONSTRAINT_WEIGHT * H + SOFT_CONSTRAINT_WEIGHT * S;
-
-        chromosome.setFitness(fitness);
-        chromosome.setHardConstraintViolations((int) hardConstraintCount);
-        chromosome.setSoftConstraintViolations(report.getSoftConflicts().size());
+        chromosome.setFitness(HARD_CONSTRAINT_WEIGHT * H + SOFT_CONSTRAINT_WEIGHT * S);
+        chromosome.setHardConstraintViolations(hardConstraintCount);
+        chromosome.setEvaluated(true);
     }
 
     /**
@@ -126,185 +189,189 @@ public class FitnessCalculator {
     }
 
     /**
-     * 计算教师时间偏好匹配分数
+     * 统计未完成排课的教学班数量（已安排课次少于每周要求次数）
      */
-    private double calculateTeacherPreferenceScore(Chromosome chromosome, ScheduleContext context) {
-        if (context.getTeacherTimePreferences() == null || context.getTeacherTimePreferences().isEmpty()) {
-            return 0;
+    private int countUnscheduledTeachingClasses(CompactChromosome chromosome, ScheduleIndex index) {
+        int[] tcFirstSession = index.getTcFirstSession();
+        int[] tcWeeklySessions = index.getTcWeeklySessions();
+        int unscheduled = 0;
+        for (int tc = 0; tc < index.getTeachingClassCount(); tc++) {
+            int scheduled = 0;
+            for (int session = tcFirstSession[tc]; session < tcFirstSession[tc + 1]; session++) {
+                if (chromosome.getSlot(session) >= 0) {
+                    scheduled++;
+                }
+            }
+            if (scheduled < tcWeeklySessions[tc]) {
+                unscheduled++;
+            }
         }
+        return unscheduled;
+    }
 
+    /**
+     * 计算教师时间偏好匹配分数（紧凑编码）
+     */
+    private double calculateTeacherPreferenceScore(CompactChromosome chromosome, ScheduleIndex index) {
         double score = 0;
-
-        for (Map.Entry<TimeSlot, List<CourseAppointment>> entry : chromosome.getGenes().entrySet()) {
-            TimeSlot slot = entry.getKey();
-
-            for (CourseAppointment appt : entry.getValue()) {
-                String teacherUuid = appt.getTeacherUuid();
-                List<TimeSlot> preferences = context.getTeacherTimePreferences().get(teacherUuid);
-
-                if (preferences != null) {
-                    // 检查时间槽是否匹配教师偏好
-                    for (TimeSlot preference : preferences) {
-                        if (isTimeSlotMatch(slot, preference)) {
-                            score += TEACHER_PREFERENCE_REWARD;
-                            break;
-                        }
-                    }
-                }
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            int slot = chromosome.getSlot(session);
+            if (slot >= 0) {
+                score += teacherPreferenceReward(index, index.getSessionTc()[session], slot);
             }
         }
-
         return score;
     }
 
     /**
-     * 计算教师工作量均衡分数
+     * 教学班的一次课安排在指定时间槽时获得的偏好奖励
      */
-    private double calculateWorkloadBalanceScore(Chromosome chromosome, ScheduleContext context) {
-        if (context.getTeacherMaxHours() == null || context.getTeacherMaxHours().isEmpty()) {
+    private double teacherPreferenceReward(ScheduleIndex index, int tc, int slot) {
+        int teacher = index.getTcTeacher()[tc];
+        if (!index.isTeacherPreferenceEnabled() || teacher < 0) {
             return 0;
         }
+        boolean[] preferred = index.getTeacherPreferredSlots()[teacher];
+        return preferred != null && preferred[slot] ? TEACHER_PREFERENCE_REWARD : 0;
+    }
 
-        // 统计每个教师的工作量
-        Map<String, Integer> teacherWorkload = new HashMap<>();
-
-        for (List<CourseAppointment> appointments : chromosome.getGenes().values()) {
-            for (CourseAppointment appt : appointments) {
-                String teacherUuid = appt.getTeacherUuid();
-                int hours = appt.getTimeSlot().getTotalHours();
-                teacherWorkload.merge(teacherUuid, hours, Integer::sum);
+    /**
+     * 计算教师工作量均衡分数（紧凑编码）
+     */
+    private double calculateWorkloadBalanceScore(CompactChromosome chromosome, ScheduleIndex index) {
+        if (!index.isWorkloadBalanceEnabled()) {
+            return 0;
+        }
+        int[] workload = new int[index.getTeacherCount()];
+        boolean[] teaching = new boolean[index.getTeacherCount()];
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            int tc = index.getSessionTc()[session];
+            int teacher = index.getTcTeacher()[tc];
+            if (chromosome.getSlot(session) >= 0 && teacher >= 0) {
+                workload[teacher] += index.getTcWeekCount()[tc] * TimeSlot.HOURS_PER_SESSION;
+                teaching[teacher] = true;
             }
         }
-
-        // 计算均衡分数：教师工作量越接近上限，分数越低
         double score = 0;
-        for (Map.Entry<String, Integer> entry : teacherWorkload.entrySet()) {
-            String teacherUuid = entry.getKey();
-            Integer workload = entry.getValue();
-            Integer maxHours = context.getTeacherMaxHours().get(teacherUuid);
-
-            if (maxHours != null && maxHours > 0) {
-                double ratio = (double) workload / maxHours;
-                // 工作量在合理范围内（< 80%）给奖励
+        for (int teacher = 0; teacher < workload.length; teacher++) {
+            int maxHours = index.getTeacherMaxHours()[teacher];
+            if (teaching[teacher] && maxHours > 0) {
+                double ratio = (double) workload[teacher] / maxHours;
                 if (ratio < 0.8) {
                     score += WORKLOAD_BALANCE_REWARD;
                 } else if (ratio <= 1.0) {
-                    // 80%-100% 给部分奖励
                     score += WORKLOAD_BALANCE_REWARD * (1.0 - ratio);
                 }
-                // 超过上限不奖励
             }
         }
-
         return score;
     }
 
     /**
-     * 计算课程分布均匀分数
+     * 统计每天已安排的课次数
      */
-    private double calculateCourseDistributionScore(Chromosome chromosome, ScheduleContext context) {
-        // 统计每天的上课次数
-        Map<Integer, Integer> dayDistribution = new HashMap<>();
-
-        for (TimeSlot slot : chromosome.getGenes().keySet()) {
-            int day = slot.getDayOfWeek();
-            int count = chromosome.getGenes().get(slot).size();
-            dayDistribution.merge(day, count, Integer::sum);
+    private int[] countSessionsPerDay(CompactChromosome chromosome, ScheduleIndex index) {
+        int[] dayCounts = new int[index.getDaySlots().length];
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            int slot = chromosome.getSlot(session);
+            if (slot >= 0) {
+                dayCounts[index.getSlotDay()[slot]]++;
+            }
         }
+        return dayCounts;
+    }
 
-        // 计算分布均匀度
-        if (dayDistribution.isEmpty()) {
+    /**
+     * 计算课程分布均匀分数（紧凑编码）
+     *
+     * @param dayCounts 每天已安排的课次数
+     */
+    private double calculateCourseDistributionScore(int[] dayCounts) {
+        int days = 0;
+        int total = 0;
+        for (int count : dayCounts) {
+            if (count > 0) {
+                days++;
+                total += count;
+            }
+        }
+        if (days == 0) {
             return 0;
         }
-
-        double avgPerDay = dayDistribution.values().stream()
-                .mapToInt(Integer::intValue)
-                .average()
-                .orElse(0);
-
-        // 计算标准差，越小说明分布越均匀
+        double avgPerDay = (double) total / days;
         double variance = 0;
-        for (Integer count : dayDistribution.values()) {
-            variance += Math.pow(count - avgPerDay, 2);
+        for (int count : dayCounts) {
+            if (count > 0) {
+                variance += Math.pow(count - avgPerDay, 2);
+            }
         }
-        variance /= dayDistribution.size();
-        double stdDev = Math.sqrt(variance);
+        variance /= days;
+        return Math.max(0, COURSE_DISTRIBUTION_REWARD - Math.sqrt(variance) * 100);
+    }
 
-        // 标准差越小，分数越高
-        return Math.max(0, COURSE_DISTRIBUTION_REWARD - stdDev * 100);
+    /**
+     * 计算教室连续使用分数（紧凑编码）
+     * 软约束：同一教室同一天内连续使用（起始节次紧接上一次课的结束节次）得到奖励，
+     * 按 (教室, 天) 统计连续使用段，奖励 = 课次数 / 连续段数
+     */
+    private double calculateClassroomContinuityScore(SlotOccupancy occupancy, ScheduleIndex index) {
+        int[] roomSlotCounts = occupancy.getRoomSlotCounts();
+        double totalScore = 0;
+        for (int room = 0; room < index.getRoomCount(); room++) {
+            for (int day = 0; day < index.getDaySlots().length; day++) {
+                totalScore += calculateRoomDayContinuity(roomSlotCounts, index, room, day);
+            }
+        }
+        return totalScore;
     }
 
     /**
-     * 判断两个时间槽是否匹配（时间相同，不考虑周次）
+     * 计算单个 (教室, 天) 的连续使用分数
+     *
+     * @param roomSlotCounts (教室, 时间槽) 占用次数，见 {@link SlotOccupancy#getRoomSlotCounts()}
      */
-    private boolean isTimeSlotMatch(TimeSlot slot1, TimeSlot slot2) {
-        return slot1.getDayOfWeek().equals(slot2.getDayOfWeek()) &&
-                slot1.getSectionStart().equals(slot2.getSectionStart()) &&
-                slot1.getSectionEnd().equals(slot2.getSectionEnd());
+    private double calculateRoomDayContinuity(int[] roomSlotCounts, ScheduleIndex index, int room, int day) {
+        return calculateRoomDayContinuity(roomSlotCounts, room * index.getSlotCount(), index.getDaySlots()[day], index);
     }
 
     /**
-     * 计算教室连续使用分数
-     * 软约束：同一教室连续使用（中间不间断）应该得到奖励
-     * 衡量方式：统计每个教室的"连续使用段"数量，连续使用越多分数越高
+     * 计算一间教室一天内的连续使用分数
+     *
+     * @param occupancy 时间槽占用次数，按 base + 时间槽编号 寻址
+     * @param base      该教室在 occupancy 中的起始下标
+     * @param slots     当天的时间槽编号
      */
-    private double calculateClassroomContinuityScore(Chromosome chromosome, ScheduleContext context) {
-        // 按教室分组的所有课程安排
-        Map<String, List<CourseAppointment>> appointmentsByClassroom = new HashMap<>();
-
-        for (List<CourseAppointment> appointments : chromosome.getGenes().values()) {
-            for (CourseAppointment appt : appointments) {
-                String classroomUuid = appt.getClassroomUuid();
-                if (classroomUuid != null) {
-                    appointmentsByClassroom.computeIfAbsent(classroomUuid, k -> new ArrayList<>()).add(appt);
+    private double calculateRoomDayContinuity(int[] occupancy, int base, int[] slots, ScheduleIndex index) {
+        int appointments = 0;
+        int continuitySegments = 0;
+        int prevEnd = Integer.MIN_VALUE;
+        for (int slot : slotsBySectionStart(slots, index)) {
+            for (int k = 0; k < occupancy[base + slot]; k++) {
+                // 当前段的起始节次紧接上一段的结束节次视为连续，否则开始新的一段
+                if (appointments == 0 || index.getSlotSectionStart()[slot] != prevEnd) {
+                    continuitySegments++;
                 }
+                prevEnd = index.getSlotSectionEnd()[slot];
+                appointments++;
             }
         }
+        return continuitySegments > 0
+                ? CLASSROOM_CONTINUITY_REWARD * ((double) appointments / continuitySegments)
+                : 0;
+    }
 
-        double totalScore = 0;
-
-        for (Map.Entry<String, List<CourseAppointment>> entry : appointmentsByClassroom.entrySet()) {
-            List<CourseAppointment> classroomAppts = entry.getValue();
-
-            // 按天分组
-            Map<Integer, List<CourseAppointment>> byDay = classroomAppts.stream()
-                    .collect(Collectors.groupingBy(appt -> appt.getTimeSlot().getDayOfWeek()));
-
-            for (Map.Entry<Integer, List<CourseAppointment>> dayEntry : byDay.entrySet()) {
-                List<CourseAppointment> dayAppts = dayEntry.getValue();
-
-                // 按节次排序
-                dayAppts.sort(Comparator.comparingInt(appt -> appt.getTimeSlot().getSectionStart()));
-
-                // 统计连续使用段
-                int continuitySegments = 0;
-                for (int i = 0; i < dayAppts.size(); i++) {
-                    if (i == 0) {
-                        continuitySegments++;
-                    } else {
-                        int prevEnd = dayAppts.get(i - 1).getTimeSlot().getSectionEnd();
-                        int currStart = dayAppts.get(i).getTimeSlot().getSectionStart();
-                        // 如果当前段的起始节次紧接上一段的结束节次（不间隔），视为连续
-                        if (currStart == prevEnd) {
-                            // 连续，不需要额外加分
-                        } else {
-                            // 不连续，开始新的一段
-                            continuitySegments++;
-                        }
-                    }
-                }
-
-                // 每增加一个连续段，给奖励
-                // 场景：一个教室一天用3次课（1-2节、3-4节、5-6节），全部连续 = 1段，奖励高
-                // 场景：一个教室一天用3次课（1-2节、5-6节、7-8节），中间有间隔 = 3段，奖励低
-                if (continuitySegments > 0) {
-                    // 连续段越少越好，所以用 (1/段数) 作为奖励系数
-                    double segmentReward = (double) dayAppts.size() / continuitySegments;
-                    totalScore += CLASSROOM_CONTINUITY_REWARD * segmentReward;
-                }
+    /**
+     * 时间槽按起始节次排序（生成器按节次递增生成，通常已有序）
+     */
+    private int[] slotsBySectionStart(int[] slots, ScheduleIndex index) {
+        for (int i = 1; i < slots.length; i++) {
+            if (index.getSlotSectionStart()[slots[i]] < index.getSlotSectionStart()[slots[i - 1]]) {
+                return Arrays.stream(slots).boxed()
+                        .sorted(Comparator.comparingInt(s -> index.getSlotSectionStart()[s]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
             }
         }
-
-        return totalScore;
+        return slots;
     }
 }
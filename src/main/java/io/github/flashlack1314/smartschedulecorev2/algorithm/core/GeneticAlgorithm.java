@@ -1,9 +1,11 @@
 package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
 
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
-import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ProgressThrottle;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -11,18 +13,39 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * 遗传算法主类：执行自动排课
+ * <p>
+ * 迭代过程使用 {@link CompactChromosome} 紧凑编码（课次 -> 时间槽编号/教室编号），
+ * 只在运行结束时将最优解解码为 {@link Chromosome}。
+ * <p>
+ * 适应度评估以及每对后代的交叉、变异在专用的 ForkJoinPool 上并行执行（线程数由 parallelism 指定）。
+ * 每对后代使用从主随机数生成器拆分出的独立 SplittableRandom，拆分在主线程按固定顺序进行，
+ * 因此结果与线程调度无关；设置 seed 后相同输入的运行结果完全可复现。
+ * <p>
+ * 岛屿模型（islandCount > 1）：初始种群轮流分配到各岛，各岛使用独立的随机数生成器、
+ * 按自身种群统计量计算自适应交叉/变异概率，每代在不同线程上独立进化；
+ * 每 migrationInterval 代按环形拓扑将各岛最优的 migrationSize 个个体迁移到下一个岛，替换其中最差的个体。
+ * 岛屿模型默认关闭（islandCount = 1）：同等墙钟时间内的最优解尚未证实优于单一种群，
+ * 对比方法见 IslandModelBenchmark。
+ * <p>
+ * 模因局部搜索（localSearchSteps > 0）：每代评估后对各岛精英执行 {@link LocalSearch}，
+ * 运行结束时再对全局最优解执行一次（步数与时间预算为每代的 {@value #FINAL_LOCAL_SEARCH_FACTOR} 倍）。
+ * 局部搜索受时间预算限制，因预算提前结束时结果与运行速度有关。
  *
  * @author flash
  */
 @Slf4j
 @Data
 @RequiredArgsConstructor
-public class GeneticAlgorithm {
+public class GeneticAlgorithm implements ScheduleSolver {
 
     private final ScheduleContext context;
     private final FitnessCalculator fitnessCalculator;
@@ -36,22 +59,60 @@ public class GeneticAlgorithm {
     private double crossoverRate = 0.8;
     private double mutationRate = 0.2;
     private int eliteSize = 10;
-    private double geneProtectionRate = 0.3;
 
     // 锦标赛选择参数
     private int tournamentSize = 5;
     private int tournamentRepeats = 100;
 
+    // 岛屿模型参数：岛屿数量（1 表示单一种群）、迁移间隔（代）、每次迁移个体数
+    private int islandCount = 1;
+    private int migrationInterval = 10;
+    private int migrationSize = 2;
+
+    // 模因局部搜索参数：每个精英每代的最大改进步数（0 表示关闭）、每代时间预算（毫秒）
+    private int localSearchSteps = 0;
+    private long localSearchBudgetMillis = 50;
+
+    /**
+     * 结束时对全局最优解执行局部搜索的步数与时间预算倍数
+     */
+    private static final int FINAL_LOCAL_SEARCH_FACTOR = 10;
+
     // 自适应交叉变异参数
     private static final double P_CMAX = 0.9;  // 最大交叉概率
     private static final double P_CMIN = 0.6;  // 最小交叉概率
     private static final double P_MMAX = 0.1;  // 最大变异概率
     private static final double P_MMIN = 0.01; // 最小变异概率
 
-    // 可用时间槽缓存
-    private List<TimeSlot> allTimeSlots;
-    private final Random random = new Random();
-    private SseEmitter sseEmitter;
+    // 排课索引与局部搜索（每次运行时构建）
+    private ScheduleIndex index;
+    private LocalSearch localSearch;
+    private SplittableRandom random;
+
+    /**
+     * 随机种子，未设置时在运行开始时随机生成，运行后可读取实际使用的种子
+     */
+    private Long seed;
+
+    /**
+     * 并行工作线程数，1 表示在调用线程上顺序执行
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool workerPool;
+
+    /**
+     * SSE进度推送间隔（毫秒），0 表示每代推送
+     */
+    private long progressIntervalMillis = ProgressThrottle.DEFAULT_INTERVAL_MILLIS;
+
+    /**
+     * 运行控制（可为null）：每代更新进度，被取消时在当前代结束后停止并返回已找到的最优解
+     */
+    private ScheduleRunControl runControl;
+
+    // 最近一次运行的统计
+    private int executedGenerations;
+    private long elapsedMillis;
 
     /**
      * 执行自动排课
@@ -68,51 +129,87 @@ public class GeneticAlgorithm {
      * @param emitter SSE emitter，可为null
      * @return 最佳排课方案
      */
+    @Override
     public Chromosome schedule(SseEmitter emitter) {
-        this.sseEmitter = emitter;
+        // 所有随机性都来自同一个由种子确定的生成器
+        if (seed == null) {
+            seed = new SplittableRandom().nextLong();
+        }
+        random = new SplittableRandom(seed);
+        log.info("遗传算法随机种子: {}", seed);
 
-        // 生成所有可能的时间槽
-        allTimeSlots = timeSlotGenerator.generateAllTimeSlots(
+        // 生成所有可能的时间槽并编译排课索引
+        index = new ScheduleIndex(context, timeSlotGenerator.generateAllTimeSlots(
                 context.getDaysPerWeek(),
                 context.getSectionsPerDay(),
                 generateWeeksList()
-        );
+        ));
 
-        // 阶段1：初始化种群
-        List<Chromosome> population = initializePopulation();
+        localSearch = localSearchSteps > 0 ? new LocalSearch(fitnessCalculator, conflictDetector, index) : null;
 
-        Chromosome globalBest = null;
+        workerPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            return evolve(emitter);
+        } finally {
+            if (workerPool != null) {
+                workerPool.shutdown();
+                workerPool = null;
+            }
+        }
+    }
+
+    /**
+     * 初始化种群并执行进化迭代
+     */
+    private Chromosome evolve(SseEmitter emitter) {
+        // 阶段1：初始化种群并划分岛屿
+        List<CompactChromosome> population = initializePopulation();
+        if (population.isEmpty()) {
+            throw new IllegalStateException("初始化种群失败：未能生成满足硬约束的个体");
+        }
+        List<Island> islands = createIslands(population);
+
+        CompactChromosome globalBest = null;
         int stagnantGenerations = 0;
 
-        // 阶段2：进化迭代
+        // 阶段2：进化迭代（全速运行，进度推送由节流器按时间间隔控制）
+        ProgressThrottle progress = new ProgressThrottle(emitter, progressIntervalMillis);
+        long startNanos = System.nanoTime();
+        int generationsRun = 0;
         for (int generation = 0; generation < maxGenerations; generation++) {
-            int totalTeachingClasses = context.getTeachingClassList() != null ? context.getTeachingClassList().size() : 0;
-            int totalAdminClasses = context.getTeachingClassList() != null
-                    ? context.getTeachingClassList().stream().mapToInt(
-                            tc -> tc.getClassUuids() != null ? tc.getClassUuids().size() : 0).sum()
-                    : 0;
-            int sleepTime = (totalTeachingClasses + totalAdminClasses) < 10 ? 300 : 1000;
-            if (sleepTime > 0) {
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("遗传算法迭代被中断");
+            generationsRun = generation + 1;
+
+            // 评估适应度，按适应度降序排序（启用局部搜索时改进各岛精英后重新排序）
+            long localSearchDeadline = System.nanoTime() + localSearchBudgetMillis * 1_000_000L;
+            runIslands(islands, island -> {
+                this.evaluatePopulation(island.population);
+                Collections.sort(island.population);
+                if (localSearch != null) {
+                    improveElites(island, localSearchDeadline);
+                    Collections.sort(island.population);
+                }
+            });
+            // 记录当前代最优解（各岛最优中取最大，按岛屿顺序决胜）
+            CompactChromosome currentBest = islands.get(0).population.get(0);
+            for (Island island : islands) {
+                if (island.population.get(0).getFitness() > currentBest.getFitness()) {
+                    currentBest = island.population.get(0);
                 }
             }
-
-            // 评估适应度
-            this.evaluatePopulation(population);
-            // 排序并记录当前代最优解
-            population.sort(Collections.reverseOrder());
-            Chromosome currentBest = population.get(0).copy();
             // 更新全局最优
             if (globalBest == null || currentBest.getFitness() > globalBest.getFitness()) {
-                globalBest = currentBest;
+                globalBest = currentBest.copy();
                 stagnantGenerations = 0;
             } else {
                 stagnantGenerations++;
             }
+            if (runControl != null) {
+                runControl.onGeneration(generationsRun, maxGenerations, globalBest.getFitness());
+                if (runControl.isCancelled()) {
+                    log.info("收到取消请求，终止于第{}代", generation);
+                    break;
+                }
+            }
             if (stagnantGenerations >= 20) {
                 if (random.nextDouble() < 0.30) {
                     log.info("连续{}代无改进，触发早停，终止于第{}代", stagnantGenerations, generation);
@@ -121,413 +218,334 @@ public class GeneticAlgorithm {
                 stagnantGenerations = 0; // 重置计数，继续迭代
             }
 
-            // 【精英保留策略】保留精英个体
-            List<Chromosome> elites = preserveElites(population, eliteSize);
-
-            // 【突变基因保留】识别并保护优质基因片段
-            Map<String, List<GeneFragment>> protectedGenes = identifyValuableGenes(population);
-
-            // 选择
-            List<Chromosome> selected = selection(population);
-
-            // 交叉（保护优质基因），传入population用于计算自适应概率
-            List<Chromosome> offspring = crossover(selected, protectedGenes, population);
-
-            // 变异
-            mutate(offspring);
+            // 岛间迁移
+            if (islands.size() > 1 && migrationInterval > 0 && generationsRun % migrationInterval == 0) {
+                migrate(islands);
+            }
 
-            // 构建新一代：精英 + 后代
-            population = new ArrayList<>();
-            population.addAll(elites);
-            population.addAll(offspring);
+            // 精英保留 + 选择 + 交叉变异，构建新一代
+            runIslands(islands, island -> island.population = nextGeneration(island));
 
-            log.info("第 {} 代，最优适应度: {}, 硬冲突数: {}, 未完成数: {}",
+            log.debug("第 {} 代，最优适应度: {}, 硬冲突数: {}, 未完成数: {}",
                     generation, globalBest.getFitness(),
                     globalBest.getHardConstraintViolations(),
-                    globalBest.getUnscheduledTeachingClasses().size());
-
-            // SSE进度推送（每10代或最后一代）
-            if (sseEmitter != null && (generation >= 9 && generation % 10 == 9 || generation == maxGenerations - 1)) {
-                try {
-                    sseEmitter.send(SseEmitter.event()
-                            .name("progress")
-                            .data(String.format("第 %d/%d 代，适应度: %.2f",
-                                    generation + 1, maxGenerations, globalBest.getFitness())));
-                } catch (Exception ignored) {
-                    sseEmitter = null;
-                }
+                    globalBest.getUnscheduledCount());
+
+            // SSE进度推送（按时间间隔节流）
+            progress.onGeneration(generation, maxGenerations, globalBest.getFitness());
+        }
+
+        // 对全局最优解再执行一次局部搜索
+        if (localSearch != null) {
+            CompactChromosome polished = globalBest.copy();
+            int moves = localSearch.improve(polished, random.split(), localSearchSteps * FINAL_LOCAL_SEARCH_FACTOR,
+                    System.nanoTime() + localSearchBudgetMillis * FINAL_LOCAL_SEARCH_FACTOR * 1_000_000L);
+            log.info("最优解局部搜索：改进移动 {} 次，适应度 {} -> {}, 硬冲突数 {} -> {}", moves,
+                    globalBest.getFitness(), polished.getFitness(),
+                    globalBest.getHardConstraintViolations(), polished.getHardConstraintViolations());
+            if (polished.getFitness() > globalBest.getFitness()) {
+                globalBest = polished;
             }
         }
 
-        log.info("算法结束，最优适应度: {}, 硬冲突数: {}, 未完成数: {}",
+        // 记录运行耗时与吞吐量
+        elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        executedGenerations = generationsRun;
+        progress.finish(generationsRun, maxGenerations, globalBest.getFitness());
+
+        log.info("算法结束，共 {} 代，耗时 {} ms（{} 代/秒），最优适应度: {}, 硬冲突数: {}, 未完成数: {}",
+                generationsRun, elapsedMillis, String.format("%.2f", getGenerationsPerSecond()),
                 globalBest.getFitness(),
                 globalBest.getHardConstraintViolations(),
-                globalBest.getUnscheduledTeachingClasses().size());
+                globalBest.getUnscheduledCount());
 
-        return globalBest;
+        // 阶段3：解码最优解
+        return index.decode(globalBest);
     }
 
     /**
-     * 初始化种群：生成合法的初始解
-     * 论文要求：检查初始解的可行性，过滤掉严重违反硬约束的个体
+     * 将初始种群轮流分配到各岛
+     * <p>
+     * 单岛时直接使用主随机数生成器与原有参数；多岛时精英数与锦标赛次数按岛数均分，
+     * 每个岛的随机数生成器在主线程按岛屿顺序拆分。
      */
-    private List<Chromosome> initializePopulation() {
-        List<Chromosome> population = new ArrayList<>();
-
-        // 诊断日志：显示课程类型-教室类型映射
-        if (context.getCourseTypeToClassroomTypes() != null) {
-            log.info("课程类型-教室类型映射配置: {} 条", context.getCourseTypeToClassroomTypes().size());
-            for (Map.Entry<String, List<String>> entry : context.getCourseTypeToClassroomTypes().entrySet()) {
-                log.info("  课程类型 {} -> 教室类型: {}", entry.getKey(), entry.getValue());
-            }
-        } else {
-            log.warn("没有配置课程类型-教室类型映射！这可能导致教室类型不匹配");
+    private List<Island> createIslands(List<CompactChromosome> population) {
+        int count = Math.max(1, Math.min(islandCount, population.size()));
+        if (count == 1) {
+            return List.of(new Island(new ArrayList<>(population), random, eliteSize, tournamentRepeats));
         }
 
-        // 诊断日志：显示教学班信息
-        for (ScheduleContext.TeachingClassInfo tc : context.getTeachingClassList()) {
-            List<String> allowedTypes = context.getCourseTypeToClassroomTypes() != null
-                    ? context.getCourseTypeToClassroomTypes().get(tc.getCourseTypeUuid())
-                    : null;
-            log.info("教学班[{}] 课程类型: {}, 允许的教室类型: {}, 学生数: {}, 每周{}次, 需要{}周",
-                    tc.getTeachingClassName(), tc.getCourseTypeUuid(), allowedTypes,
-                    tc.getTotalStudents(), tc.getWeeklySessions(), tc.getRequiredWeeks());
+        int islandElites = eliteSize > 0 ? Math.max(1, eliteSize / count) : 0;
+        int islandRepeats = Math.max(2, tournamentRepeats / count);
+        List<Island> islands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            islands.add(new Island(new ArrayList<>(), random.split(), islandElites, islandRepeats));
         }
-
-        // 硬约束冲突阈值：超过此值则过滤掉该个体
-        int hardConflictThreshold = 0;
-        int maxAttemptsPerChromosome = 20; // 每个染色体最大生成尝试次数
-        int totalAttempts = 0;
-        int maxTotalAttempts = populationSize * maxAttemptsPerChromosome * 2;
-
-        while (population.size() < populationSize && totalAttempts < maxTotalAttempts) {
-            totalAttempts++;
-            Chromosome chromosome = new Chromosome();
-
-            // 为每个教学班生成排课安排
-            for (ScheduleContext.TeachingClassInfo tc : context.getTeachingClassList()) {
-                // 使用新的均匀分布时间槽生成逻辑
-                int weeklySessions = tc.getWeeklySessions() != null ? tc.getWeeklySessions() : 1;
-                int requiredWeeks = tc.getRequiredWeeks() != null ? tc.getRequiredWeeks() : 16;
-
-                // 生成均匀分布的周几
-                int daysPerWeek = context.getDaysPerWeek() != null ? context.getDaysPerWeek() : 5;
-                int[] distributedDays = calculateDistributedDays(weeklySessions, daysPerWeek);
-
-                // 为每个时间槽安排课程
-                int scheduledSessions = 0;
-                for (int dayOfWeek : distributedDays) {
-                    // 尝试多次找到合适的时间槽
-                    boolean scheduled = false;
-                    int maxAttempts = 10;
-                    for (int attempt = 0; attempt < maxAttempts && !scheduled; attempt++) {
-                        // 生成该周几的时间槽（随机节次）
-                        TimeSlot timeSlot = generateTimeSlotForDay(dayOfWeek, requiredWeeks);
-
-                        // 随机选择合适教室
-                        String classroomUuid = selectSuitableClassroom(tc, timeSlot);
-
-                        if (classroomUuid == null) {
-                            continue;
-                        }
-
-                        // 创建课程安排
-                        CourseAppointment appointment = buildAppointment(tc, classroomUuid, timeSlot);
-
-                        // 总是添加到染色体，即使可能有冲突（冲突会在后续检测中被标记）
-                        chromosome.getGenes()
-                                .computeIfAbsent(timeSlot, k -> new ArrayList<>())
-                                .add(appointment);
-                        scheduledSessions++;
-                        scheduled = true;
-
-                        // 即使有冲突也继续安排，记录冲突但不跳过
-                        if (conflictDetector.hasConflict(chromosome, appointment, context)) {
-                            log.debug("教学班 {} 在时间槽 {} 存在冲突，但仍添加到安排中",
-                                    tc.getTeachingClassName(), timeSlot.getUniqueId());
-                        }
-                    }
-                }
-
-                // 如果未能完成所有排课，记录到未完成列表
-                if (scheduledSessions < weeklySessions) {
-                    chromosome.getUnscheduledTeachingClasses().add(tc.getTeachingClassUuid());
-                    log.debug("教学班 {} 仅安排了 {}/{} 次课程",
-                            tc.getTeachingClassName(), scheduledSessions, weeklySessions);
-                }
-            }
-
-            // 【过滤】检查初始解的可行性，过滤掉严重违反硬约束的个体
-            fitnessCalculator.calculateFitness(chromosome, context);
-            int hardViolations = chromosome.getHardConstraintViolations();
-
-            if (hardViolations > hardConflictThreshold) {
-                // 硬约束冲突超过阈值，过滤该个体
-                log.debug("过滤染色体: 硬约束冲突数 {} 超过阈值 {}",
-                        hardViolations, hardConflictThreshold);
-                continue;
-            }
-
-            population.add(chromosome);
+        for (int i = 0; i < population.size(); i++) {
+            islands.get(i % count).population.add(population.get(i));
         }
-
-        log.info("初始化种群完成，种群大小: {}, 总尝试次数: {}", population.size(), totalAttempts);
-        return population;
+        log.info("岛屿模型：{} 个岛，每岛精英 {} 个、后代 {} 个，每 {} 代迁移 {} 个个体",
+                count, islandElites, islandRepeats, migrationInterval, migrationSize);
+        return islands;
     }
 
     /**
-     * 生成均匀分布的时间槽组合
-     * 确保课程在一周内均匀分布（如周一、周四各一次）
-     *
-     * @param weeklySessions 每周上课次数
-     * @param requiredWeeks  需要的周数
-     * @return 均匀分布的时间槽列表
+     * 对岛内精英（已按适应度降序排序的前 eliteSize 个个体，至少1个）执行局部搜索，各精英并行执行
      */
-    private List<TimeSlot> generateDistributedTimeSlots(int weeklySessions, int requiredWeeks) {
-        List<TimeSlot> slots = new ArrayList<>();
-        if (weeklySessions <= 0) {
-            return slots;
+    private void improveElites(Island island, long deadlineNanos) {
+        int count = Math.min(Math.max(1, island.eliteSize), island.population.size());
+        SplittableRandom[] eliteRandoms = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            eliteRandoms[i] = island.random.split();
         }
+        runParallel(count, i -> localSearch.improve(island.population.get(i), eliteRandoms[i],
+                localSearchSteps, deadlineNanos));
+    }
 
-        int daysPerWeek = context.getDaysPerWeek() != null ? context.getDaysPerWeek() : 5;
-
-        // 计算均匀分布的周几
-        int[] distributedDays = calculateDistributedDays(weeklySessions, daysPerWeek);
+    /**
+     * 对每个岛执行一步操作：单岛时在当前线程执行（岛内并行），多岛时各岛并行执行
+     */
+    private void runIslands(List<Island> islands, Consumer<Island> step) {
+        if (islands.size() == 1) {
+            step.accept(islands.get(0));
+            return;
+        }
+        runParallel(islands.size(), i -> step.accept(islands.get(i)));
+    }
 
-        // 为每个周几生成时间槽
-        for (int dayOfWeek : distributedDays) {
-            TimeSlot slot = generateTimeSlotForDay(dayOfWeek, requiredWeeks);
-            if (slot != null) {
-                slots.add(slot);
+    /**
+     * 环形迁移：各岛最优的 migrationSize 个个体（副本）迁入下一个岛，替换其中最差的个体
+     * <p>
+     * 调用前各岛种群已按适应度降序排序，迁移后保持有序。
+     */
+    private void migrate(List<Island> islands) {
+        List<List<CompactChromosome>> emigrants = new ArrayList<>(islands.size());
+        for (Island island : islands) {
+            int count = Math.min(migrationSize, island.population.size());
+            List<CompactChromosome> copies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                copies.add(island.population.get(i).copy());
             }
+            emigrants.add(copies);
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            List<CompactChromosome> target = islands.get((i + 1) % islands.size()).population;
+            int size = target.size();
+            target.addAll(emigrants.get(i));
+            Collections.sort(target);
+            target.subList(size, target.size()).clear();
         }
-
-        return slots;
     }
 
     /**
-     * 为指定的周几生成时间槽（随机节次）
-     *
-     * @param dayOfWeek     周几（1-5）
-     * @param requiredWeeks 需要的周数
-     * @return 时间槽
+     * 生成岛屿的下一代：精英 + 后代
      */
-    private TimeSlot generateTimeSlotForDay(int dayOfWeek, int requiredWeeks) {
-        int sectionsPerDay = context.getSectionsPerDay() != null ? context.getSectionsPerDay() : 12;
-        int semesterWeeks = context.getSemesterWeeks() != null ? context.getSemesterWeeks() : 16;
-
-        // 限制 requiredWeeks 不超过学期周数
-        int actualWeeks = Math.min(requiredWeeks, semesterWeeks);
+    private List<CompactChromosome> nextGeneration(Island island) {
+        // 【精英保留策略】保留精英个体
+        List<CompactChromosome> elites = preserveElites(island.population, island.eliteSize);
 
-        TimeSlot slot = new TimeSlot();
-        slot.setDayOfWeek(dayOfWeek);
+        // 选择
+        List<CompactChromosome> selected = selection(island.population, island.tournamentRepeats, island.random);
 
-        // 随机选择节次（每次2节，从奇数节开始）
-        // 可选的起始节次：1, 3, 5, 7, 9, 11（如果每天12节）
-        Random random = new Random();
-        int maxSectionStart = sectionsPerDay - 1; // 确保有2节可用
-        int sectionStart = (random.nextInt(maxSectionStart / 2) * 2) + 1; // 1, 3, 5, 7, 9, 11
-        slot.setSectionStart(sectionStart);
-        slot.setSectionEnd(sectionStart + 1);
+        // 交叉与变异（每对后代相互独立，并行生成）
+        List<CompactChromosome> offspring = reproduce(selected, island.population, island.random);
 
-        // 生成完整的周次列表 [1, 2, ..., actualWeeks]
-        List<Integer> fullWeeks = IntStream.rangeClosed(1, actualWeeks).boxed().collect(Collectors.toList());
-        slot.setWeeks(fullWeeks);
-
-        // 注意：总学时由 TimeSlot.getTotalHours() 自动计算 (周次数 × 2)
+        List<CompactChromosome> next = new ArrayList<>(elites.size() + offspring.size());
+        next.addAll(elites);
+        next.addAll(offspring);
+        return next;
+    }
 
-        return slot;
+    /**
+     * 最近一次运行的迭代吞吐量（代/秒）
+     */
+    public double getGenerationsPerSecond() {
+        return elapsedMillis > 0 ? executedGenerations * 1000.0 / elapsedMillis : executedGenerations;
     }
 
     /**
-     * 计算均匀分布的周几
-     * 例如: 2次/周 → [1, 4] (周一、周四)
-     *       3次/周 → [1, 3, 5] (周一、周三、周五)
-     *       1次/周 → [1, 2, 3, 4, 5] 中随机选一天
-     *
-     * @param weeklySessions 每周上课次数
-     * @param daysPerWeek    每周上课天数
-     * @return 均匀分布的周几数组（1-5）
+     * 初始化种群：由 {@link ConstructiveInitializer} 按约束程度依次放置课次，直接生成完整种群
+     * <p>
+     * 不再随机生成后按硬约束过滤（实际规模下几乎所有随机个体都会被过滤，评估大量个体后种群仍可能不足）。
      */
-    private int[] calculateDistributedDays(int weeklySessions, int daysPerWeek) {
-        if (weeklySessions <= 0) {
-            return new int[0];
-        }
+    private List<CompactChromosome> initializePopulation() {
+        List<CompactChromosome> population = new ArrayList<>();
 
-        // 确保上课次数不超过天数
-        int sessions = Math.min(weeklySessions, daysPerWeek);
-
-        int[] days = new int[sessions];
-        Random random = new Random();
-
-        if (sessions == 1) {
-            // 1次课：随机选一天
-            days[0] = random.nextInt(daysPerWeek) + 1;
-        } else if (sessions == 2) {
-            // 2次课：分布在周一和周四（间隔2-3天）
-            // 随机选择一个起始点，保持间隔
-            int baseDay = random.nextInt(3) + 1; // 1, 2, 3
-            days[0] = baseDay;
-            days[1] = Math.min(baseDay + 3, daysPerWeek); // 间隔3天
-            if (days[1] == days[0]) {
-                days[1] = Math.min(days[0] + 2, daysPerWeek);
+        // 诊断日志：显示课程类型-教室类型映射
+        if (context.getCourseTypeToClassroomTypes() != null) {
+            log.info("课程类型-教室类型映射配置: {} 条", context.getCourseTypeToClassroomTypes().size());
+            for (Map.Entry<String, List<String>> entry : context.getCourseTypeToClassroomTypes().entrySet()) {
+                log.info("  课程类型 {} -> 教室类型: {}", entry.getKey(), entry.getValue());
             }
-        } else if (sessions == 3) {
-            // 3次课：周一、周三、周五（间隔1-2天）
-            days[0] = 1;
-            days[1] = 3;
-            days[2] = 5;
-        } else if (sessions == 4) {
-            // 4次课：周一、周二、周四、周五
-            days[0] = 1;
-            days[1] = 2;
-            days[2] = 4;
-            days[3] = 5;
         } else {
-            // 5次课或更多：周一到周五均匀分布
-            for (int i = 0; i < sessions; i++) {
-                days[i] = (i % daysPerWeek) + 1;
+            log.warn("没有配置课程类型-教室类型映射！这可能导致教室类型不匹配");
+        }
+
+        // 诊断日志：显示教学班信息
+        for (int tc = 0; tc < index.getTeachingClassCount(); tc++) {
+            ScheduleContext.TeachingClassInfo info = index.getTeachingClasses().get(tc);
+            List<String> allowedTypes = context.getCourseTypeToClassroomTypes() != null
+                    ? context.getCourseTypeToClassroomTypes().get(info.getCourseTypeUuid())
+                    : null;
+            log.info("教学班[{}] 课程类型: {}, 允许的教室类型: {}, 学生数: {}, 每周{}次, 需要{}周, 可选教室{}间",
+                    info.getTeachingClassName(), info.getCourseTypeUuid(), allowedTypes,
+                    info.getTotalStudents(), info.getWeeklySessions(), info.getRequiredWeeks(),
+                    index.getTcCandidateRooms()[tc].length);
+            if (index.getTcCandidateRooms()[tc].length == 0) {
+                log.warn("课程[{}]的类型[{}]找不到任何可用教室", info.getCourseName(), info.getCourseTypeUuid());
             }
         }
 
-        return days;
+        // 构造式生成：每个个体只生成、评估一次（并行执行，随机数生成器在主线程按顺序拆分）
+        long startNanos = System.nanoTime();
+        ConstructiveInitializer initializer = new ConstructiveInitializer(index);
+        SplittableRandom[] candidateRandoms = new SplittableRandom[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            candidateRandoms[i] = random.split();
+        }
+        CompactChromosome[] candidates = new CompactChromosome[populationSize];
+        runParallel(populationSize, i -> {
+            candidates[i] = initializer.build(candidateRandoms[i]);
+            fitnessCalculator.calculateFitness(candidates[i], index);
+        });
+        population.addAll(Arrays.asList(candidates));
+
+        int feasible = 0;
+        for (CompactChromosome chromosome : population) {
+            if (chromosome.getHardConstraintViolations() == 0 && chromosome.getUnscheduledCount() == 0) {
+                feasible++;
+            }
+        }
+        log.info("初始化种群完成，种群大小: {}, 无硬约束冲突的个体: {}, 耗时: {} ms",
+                population.size(), feasible, (System.nanoTime() - startNanos) / 1_000_000L);
+        return population;
     }
 
     /**
      * 评估种群中所有个体的适应度
+     * 精英、未发生交叉的子代以及只经过变异（已增量更新）的个体无需重新评估
      */
-    private void evaluatePopulation(List<Chromosome> population) {
-        for (Chromosome chromosome : population) {
-            fitnessCalculator.calculateFitness(chromosome, context);
-        }
+    private void evaluatePopulation(List<CompactChromosome> population) {
+        runParallel(population.size(), i -> {
+            CompactChromosome chromosome = population.get(i);
+            if (!chromosome.isEvaluated()) {
+                fitnessCalculator.calculateFitness(chromosome, index);
+            }
+        });
     }
 
     /**
      * 精英保留策略：保留适应度最高的N个个体
      */
-    private List<Chromosome> preserveElites(List<Chromosome> population, int eliteSize) {
-        List<Chromosome> elites = new ArrayList<>();
+    private List<CompactChromosome> preserveElites(List<CompactChromosome> population, int eliteSize) {
+        List<CompactChromosome> elites = new ArrayList<>();
         for (int i = 0; i < Math.min(eliteSize, population.size()); i++) {
             elites.add(population.get(i).copy());
         }
         return elites;
     }
 
-    /**
-     * 检查是否满足终止条件
-     */
-    private boolean isTerminationConditionMet(Chromosome solution) {
-        return solution.getHardConstraintViolations() == 0 &&
-                solution.getUnscheduledTeachingClasses().isEmpty() &&
-                solution.getFitness() >= 0;
-    }
-
     /**
      * 选择算子：锦标赛选择法
      * ① 随机选择K个个体
      * ② 选择其中适应度最高的个体进入下一代
      * ③ 重复M次，得到N个个体
+     * <p>
+     * 返回的是种群中个体的引用，由交叉算子负责复制
      */
-    private List<Chromosome> selection(List<Chromosome> population) {
-        List<Chromosome> selected = new ArrayList<>();
-        Random random = new Random();
+    private List<CompactChromosome> selection(List<CompactChromosome> population, int tournamentRepeats,
+                                              SplittableRandom random) {
+        List<CompactChromosome> selected = new ArrayList<>(tournamentRepeats);
 
         // 重复M次，得到N个个体
         for (int i = 0; i < tournamentRepeats; i++) {
-            // ① 随机选择K个个体
-            List<Chromosome> tournament = new ArrayList<>();
+            // ① 随机选择K个个体，② 保留适应度最高的个体
+            CompactChromosome winner = null;
             for (int j = 0; j < tournamentSize; j++) {
-                int idx = random.nextInt(population.size());
-                tournament.add(population.get(idx));
+                CompactChromosome candidate = population.get(random.nextInt(population.size()));
+                if (winner == null || candidate.getFitness() > winner.getFitness()) {
+                    winner = candidate;
+                }
             }
+            selected.add(winner);
+        }
 
-            // ② 选择适应度最高的个体
-            Chromosome winner = tournament.stream()
-                    .max(Comparator.comparingDouble(Chromosome::getFitness))
-                    .orElse(tournament.get(0));
+        return selected;
+    }
 
-            selected.add(winner.copy());
+    /**
+     * 生成后代：每对父代依次交叉、变异，不同父代对之间并行执行
+     */
+    private List<CompactChromosome> reproduce(List<CompactChromosome> parents,
+                                              List<CompactChromosome> population,
+                                              SplittableRandom random) {
+        int pairs = parents.size() / 2;
+
+        // 交叉概率按当前种群计算（论文公式5-2）
+        double crossoverMax = maxFitness(population);
+        double crossoverAvg = averageFitness(population);
+        // 变异概率按变异前的后代计算（论文公式5-3）；后代复制自父代，其适应度即参与配对的父代适应度
+        List<CompactChromosome> paired = parents.subList(0, pairs * 2);
+        double mutationMax = maxFitness(paired);
+        double mutationAvg = averageFitness(paired);
+
+        // 在主线程按顺序为每对后代拆分随机数生成器，保证结果可复现
+        SplittableRandom[] pairRandoms = new SplittableRandom[pairs];
+        for (int i = 0; i < pairs; i++) {
+            pairRandoms[i] = random.split();
         }
 
-        return selected;
+        CompactChromosome[] offspring = new CompactChromosome[pairs * 2];
+        runParallel(pairs, i -> {
+            SplittableRandom pairRandom = pairRandoms[i];
+            CompactChromosome child1 = parents.get(2 * i).copy();
+            CompactChromosome child2 = parents.get(2 * i + 1).copy();
+            crossover(child1, child2, crossoverMax, crossoverAvg, pairRandom);
+            mutate(child1, mutationMax, mutationAvg, pairRandom);
+            mutate(child2, mutationMax, mutationAvg, pairRandom);
+            offspring[2 * i] = child1;
+            offspring[2 * i + 1] = child2;
+        });
+        return new ArrayList<>(Arrays.asList(offspring));
     }
 
     /**
-     * 交叉算子：顺序交叉（OX）变体（论文描述）
+     * 交叉算子：时间点交叉（论文描述）
      * ① 随机选择一个时间点作为交叉点
-     * ② 保留父代1的时间槽分配
-     * ③ 将父代2中未使用的时间槽补充到子代中
+     * ② 父代1中安排在交叉点之前的课次保留各自父代的安排
+     * ③ 安排在交叉点及之后的课次在两个子代之间交换
      *
      * 自适应交叉概率（论文公式5-2）:
      * Pc = Pcmax - (Pcmax - Pcmin) * (f' - f_avg) / (f_max - f_avg)
+     *
+     * @param child1 父代1的副本，原地修改
+     * @param child2 父代2的副本，原地修改
      */
-    private List<Chromosome> crossover(List<Chromosome> parents,
-                                       Map<String, List<GeneFragment>> protectedGenes,
-                                       List<Chromosome> population) {
-        List<Chromosome> offspring = new ArrayList<>();
-        Random random = new Random();
-
-        // 计算自适应交叉概率（论文公式5-2）
-        double fMax = population.stream()
-                .mapToDouble(Chromosome::getFitness)
-                .max()
-                .orElse(1.0);
-        double fAvg = population.stream()
-                .mapToDouble(Chromosome::getFitness)
-                .average()
-                .orElse(0.0);
-
-        for (int i = 0; i < parents.size(); i += 2) {
-            if (i + 1 >= parents.size()) break;
-
-            Chromosome parent1 = parents.get(i);
-            Chromosome parent2 = parents.get(i + 1);
-
-            // 计算个体适应度用于自适应概率
-            double fPrime = Math.max(parent1.getFitness(), parent2.getFitness());
-
-            // 论文公式(5-2): Pc = Pcmax - (Pcmax - Pcmin) * (f' - f_avg) / (f_max - f_avg)
-            double pc;
-            if (fMax > fAvg) {
-                pc = P_CMAX - (P_CMAX - P_CMIN) * (fPrime - fAvg) / (fMax - fAvg);
-            } else {
-                pc = P_CMAX;
-            }
-            pc = Math.max(P_CMIN, Math.min(P_CMAX, pc)); // 限制在[Pcmin, Pcmax]
-
-            if (random.nextDouble() < pc) {
-                Chromosome child1 = parent1.copy();
-                Chromosome child2 = parent2.copy();
-
-                // ① 随机选择一个时间点作为交叉点
-                List<TimeSlot> allSlots = new ArrayList<>(child1.getGenes().keySet());
-                if (!allSlots.isEmpty()) {
-                    int crossoverPoint = random.nextInt(allSlots.size());
-
-                    // ② ③ 执行顺序交叉（OX）变体
-                    // 保留父代1的时间槽分配，将父代2中未使用的时间槽补充到子代
-                    for (int j = 0; j < allSlots.size(); j++) {
-                        TimeSlot slot = allSlots.get(j);
-                        if (j < crossoverPoint) {
-                            // 交叉点之前的部分保留父代1
-                            continue;
-                        }
-                        // 交叉点之后的部分交换
-                        List<CourseAppointment> temp = child1.getGenes().get(slot);
-                        child1.getGenes().put(slot, child2.getGenes().getOrDefault(slot, new ArrayList<>()));
-                        child2.getGenes().put(slot, temp != null ? temp : new ArrayList<>());
-                    }
-                }
+    private void crossover(CompactChromosome child1, CompactChromosome child2,
+                           double fMax, double fAvg, SplittableRandom random) {
+        // 计算个体适应度用于自适应概率
+        double fPrime = Math.max(child1.getFitness(), child2.getFitness());
+
+        // 论文公式(5-2): Pc = Pcmax - (Pcmax - Pcmin) * (f' - f_avg) / (f_max - f_avg)
+        double pc;
+        if (fMax > fAvg) {
+            pc = P_CMAX - (P_CMAX - P_CMIN) * (fPrime - fAvg) / (fMax - fAvg);
+        } else {
+            pc = P_CMAX;
+        }
+        pc = Math.max(P_CMIN, Math.min(P_CMAX, pc)); // 限制在[Pcmin, Pcmax]
 
-                offspring.add(child1);
-                offspring.add(child2);
-            } else {
-                offspring.add(parent1.copy());
-                offspring.add(parent2.copy());
+        if (random.nextDouble() < pc) {
+            // ① 随机选择一个时间点作为交叉点
+            int crossoverPoint = random.nextInt(index.getSlotCount());
+
+            // ② ③ 交叉点及之后的课次交换
+            for (int session = 0; session < index.getSessionCount(); session++) {
+                if (child1.getSlot(session) >= crossoverPoint) {
+                    child1.swapGene(child2, session);
+                }
             }
         }
-
-        return offspring;
     }
 
     /**
@@ -535,182 +553,54 @@ public class GeneticAlgorithm {
      * ① 时间变异：以一定概率重新分配教学班的时间槽
      * ② 空间变异：以一定概率更换教室
      * ③ 组合变异：以一定概率同时变更时间和教室
+     * 变异通过 FitnessCalculator#applyMove 执行，已评估的个体增量更新适应度
      *
      * 自适应变异概率（论文公式5-3）:
      * Pm = Pmmax - (Pmmax - Pmmin) * (f - f_avg) / (f_max - f_avg),  f >= f_avg
      * Pm = Pmmax,  f < f_avg
      */
-    private void mutate(List<Chromosome> population) {
-        Random random = new Random();
-
-        // 计算自适应变异概率参数（论文公式5-3）
-        double fMax = population.stream()
-                .mapToDouble(Chromosome::getFitness)
-                .max()
-                .orElse(1.0);
-        double fAvg = population.stream()
-                .mapToDouble(Chromosome::getFitness)
-                .average()
-                .orElse(0.0);
-
-        for (Chromosome chromosome : population) {
-            // 计算当前个体的自适应变异概率
-            double f = chromosome.getFitness();
-            double pm;
-            if (f >= fAvg) {
-                // 论文公式(5-3): Pm = Pmmax - (Pmmax - Pmmin) * (f - f_avg) / (f_max - f_avg)
-                if (fMax > fAvg) {
-                    pm = P_MMAX - (P_MMAX - P_MMIN) * (f - fAvg) / (fMax - fAvg);
-                } else {
-                    pm = P_MMAX;
-                }
+    private void mutate(CompactChromosome chromosome, double fMax, double fAvg, SplittableRandom random) {
+        // 计算当前个体的自适应变异概率
+        double f = chromosome.getFitness();
+        double pm;
+        if (f >= fAvg) {
+            // 论文公式(5-3): Pm = Pmmax - (Pmmax - Pmmin) * (f - f_avg) / (f_max - f_avg)
+            if (fMax > fAvg) {
+                pm = P_MMAX - (P_MMAX - P_MMIN) * (f - fAvg) / (fMax - fAvg);
             } else {
                 pm = P_MMAX;
             }
-            pm = Math.max(P_MMIN, Math.min(P_MMAX, pm)); // 限制在[Pmmin, Pmmax]
-
-            if (random.nextDouble() > pm) continue;
-
-            List<TimeSlot> timeSlots = new ArrayList<>(chromosome.getGenes().keySet());
-            if (timeSlots.isEmpty()) continue;
-
-            // 随机选择一个时间槽
-            TimeSlot targetSlot = timeSlots.get(random.nextInt(timeSlots.size()));
-            List<CourseAppointment> appointments = chromosome.getGenes().get(targetSlot);
-
-            if (appointments == null || appointments.isEmpty()) continue;
-
-            CourseAppointment target = appointments.get(random.nextInt(appointments.size()));
-
-            // 三态变异
-            double mutationType = random.nextDouble();
-
-            if (mutationType < 0.5) {
-                // ① 时间变异：以一定概率重新分配教学班的时间槽
-                TimeSlot newSlot = selectRandomTimeSlot();
-                if (newSlot != null) {
-                    appointments.remove(target);
-                    CourseAppointment newAppointment = target.copy();
-                    newAppointment.setTimeSlot(newSlot);
-                    chromosome.getGenes()
-                            .computeIfAbsent(newSlot, k -> new ArrayList<>())
-                            .add(newAppointment);
-                }
-            } else if (mutationType < 0.8) {
-                // ② 空间变异：以一定概率更换教室
-                ScheduleContext.TeachingClassInfo tcInfo = findTeachingClassInfo(target.getTeachingClassUuid());
-                if (tcInfo != null) {
-                    String newClassroom = selectSuitableClassroom(tcInfo, target.getTimeSlot());
-                    if (newClassroom != null) {
-                        target.setClassroomUuid(newClassroom);
-                        // 同步更新 classroomTypeUuid，避免类型不匹配的硬约束冲突
-                        updateClassroomTypeInfo(target, newClassroom);
-                    }
-                }
-            } else {
-                // ③ 组合变异：以一定概率同时变更时间和教室
-                ScheduleContext.TeachingClassInfo tcInfo = findTeachingClassInfo(target.getTeachingClassUuid());
-                if (tcInfo != null) {
-                    TimeSlot newSlot = selectRandomTimeSlot();
-                    String newClassroom = selectSuitableClassroom(tcInfo, newSlot);
-                    if (newSlot != null && newClassroom != null) {
-                        appointments.remove(target);
-                        target.setClassroomUuid(newClassroom);
-                        target.setTimeSlot(newSlot);
-                        updateClassroomTypeInfo(target, newClassroom);
-                    }
-                }
-            }
+        } else {
+            pm = P_MMAX;
         }
-    }
+        pm = Math.max(P_MMIN, Math.min(P_MMAX, pm)); // 限制在[Pmmin, Pmmax]
 
-    /**
-     * 基因片段：用于保护优质基因
-     */
-    @Data
-    private static class GeneFragment {
-        private String teachingClassUuid;
-        private TimeSlot timeSlot;
-        private String classroomUuid;
-        private double qualityScore;
-
-        public GeneFragment(String teachingClassUuid, TimeSlot timeSlot, String classroomUuid, double qualityScore) {
-            this.teachingClassUuid = teachingClassUuid;
-            this.timeSlot = timeSlot;
-            this.classroomUuid = classroomUuid;
-            this.qualityScore = qualityScore;
+        if (random.nextDouble() > pm || index.getSessionCount() == 0) {
+            return;
         }
-    }
-
-    /**
-     * 识别优质基因片段
-     */
-    private Map<String, List<GeneFragment>> identifyValuableGenes(List<Chromosome> population) {
-        Map<String, List<GeneFragment>> valuableGenes = new HashMap<>();
-
-        // 统计每个教学班的基因片段出现频率
-        Map<String, Map<String, GeneStats>> geneStatistics = new HashMap<>();
-
-        // 遍历种群前50%的优秀个体
-        int topCount = (int) (population.size() * 0.5);
-        for (int i = 0; i < topCount && i < population.size(); i++) {
-            Chromosome chromosome = population.get(i);
 
-            for (Map.Entry<TimeSlot, List<CourseAppointment>> entry : chromosome.getGenes().entrySet()) {
-                TimeSlot slot = entry.getKey();
-
-                for (CourseAppointment appointment : entry.getValue()) {
-                    String tcUuid = appointment.getTeachingClassUuid();
-                    String geneKey = tcUuid + "|" + slot.getUniqueId() + "|" + appointment.getClassroomUuid();
-
-                    geneStatistics
-                            .computeIfAbsent(tcUuid, k -> new HashMap<>())
-                            .computeIfAbsent(geneKey, k -> new GeneStats())
-                            .increment(chromosome.getFitness());
-                }
-            }
-        }
-
-        // 筛选优质基因
-        for (Map.Entry<String, Map<String, GeneStats>> entry : geneStatistics.entrySet()) {
-            String tcUuid = entry.getKey();
-            List<GeneFragment> fragments = new ArrayList<>();
-
-            for (Map.Entry<String, GeneStats> statsEntry : entry.getValue().entrySet()) {
-                GeneStats stats = statsEntry.getValue();
-                double qualityScore = (double) stats.count / topCount * (stats.fitnessSum / stats.count);
-
-                if (qualityScore > geneProtectionRate) {
-                    String[] parts = statsEntry.getKey().split("\\|");
-                    if (parts.length >= 3) {
-                        String slotId = parts[1];
-                        String classroomUuid = parts[2];
-                        TimeSlot slot = parseTimeSlotFromId(slotId);
-                        if (slot != null) {
-                            fragments.add(new GeneFragment(tcUuid, slot, classroomUuid, qualityScore));
-                        }
-                    }
-                }
-            }
-
-            if (!fragments.isEmpty()) {
-                valuableGenes.put(tcUuid, fragments);
-            }
+        // 随机选择一个已安排的课次
+        int session = random.nextInt(index.getSessionCount());
+        int slot = chromosome.getSlot(session);
+        if (slot < 0) {
+            return;
         }
-
-        return valuableGenes;
-    }
-
-    /**
-     * 基因统计信息
-     */
-    private static class GeneStats {
-        int count = 0;
-        double fitnessSum = 0;
-
-        void increment(double fitness) {
-            this.count++;
-            this.fitnessSum += fitness;
+        int tc = index.getSessionTc()[session];
+
+        // 三态变异
+        double mutationType = random.nextDouble();
+
+        if (mutationType < 0.5) {
+            // ① 时间变异：以一定概率重新分配教学班的时间槽
+            fitnessCalculator.applyMove(chromosome, index, session,
+                    randomCandidateSlot(tc, random), chromosome.getRoom(session));
+        } else if (mutationType < 0.8) {
+            // ② 空间变异：以一定概率更换教室
+            fitnessCalculator.applyMove(chromosome, index, session, slot, randomCandidateRoom(tc, random));
+        } else {
+            // ③ 组合变异：以一定概率同时变更时间和教室
+            fitnessCalculator.applyMove(chromosome, index, session,
+                    randomCandidateSlot(tc, random), randomCandidateRoom(tc, random));
         }
     }
 
@@ -725,204 +615,72 @@ public class GeneticAlgorithm {
     }
 
     /**
-     * 随机选择时间槽（用于变异操作）
-     * 生成包含完整学期周次的时间槽
+     * 随机选择教学班的一个可选时间槽
      */
-    private TimeSlot selectRandomTimeSlot() {
-        if (allTimeSlots == null || allTimeSlots.isEmpty()) {
-            return null;
-        }
-        Random random = new Random();
-        TimeSlot baseSlot = allTimeSlots.get(random.nextInt(allTimeSlots.size()));
-
-        // 复制时间槽
-        TimeSlot slot = new TimeSlot();
-        slot.setDayOfWeek(baseSlot.getDayOfWeek());
-        slot.setSectionStart(baseSlot.getSectionStart());
-        slot.setSectionEnd(baseSlot.getSectionEnd());
-
-        // 生成完整的学期周次列表（而非随机1-5周）
-        int semesterWeeks = context.getSemesterWeeks() != null ? context.getSemesterWeeks() : 16;
-        List<Integer> fullWeeks = IntStream.rangeClosed(1, semesterWeeks).boxed().collect(Collectors.toList());
-        slot.setWeeks(fullWeeks);
-
-        // 注意：总学时由 TimeSlot.getTotalHours() 自动计算 (周次数 × 2)
-
-        return slot;
+    private int randomCandidateSlot(int tc, SplittableRandom random) {
+        int[] candidates = index.getTcCandidateSlots()[tc];
+        return candidates[random.nextInt(candidates.length)];
     }
 
     /**
-     * 选择合适的教室
-     * 根据课程类型-教室类型映射选择合适类型的教室
+     * 随机选择教学班的一个可选教室
+     *
+     * @return 教室编号，没有可选教室时返回 -1
      */
-    private String selectSuitableClassroom(ScheduleContext.TeachingClassInfo tc, TimeSlot timeSlot) {
-        if (context.getAvailableClassrooms() == null || context.getAvailableClassrooms().isEmpty()) {
-            log.warn("没有可用的教室数据");
-            return null;
-        }
-
-        // 1. 获取该课程类型对应的教室类型列表
-        List<String> allowedClassroomTypes = context.getCourseTypeToClassroomTypes() != null
-                ? context.getCourseTypeToClassroomTypes().get(tc.getCourseTypeUuid())
-                : null;
-
-        // 诊断日志
-        if (allowedClassroomTypes == null || allowedClassroomTypes.isEmpty()) {
-            log.warn("课程[{}]的类型[{}]没有配置教室类型映射，将使用所有可用教室（可能导致类型不匹配）",
-                    tc.getCourseName(), tc.getCourseTypeUuid());
-        }
-
-        // 2. 收集这些教室类型下的所有教室
-        List<ScheduleContext.ClassroomInfo> classrooms = new ArrayList<>();
-        if (allowedClassroomTypes != null && !allowedClassroomTypes.isEmpty()) {
-            for (String classroomTypeUuid : allowedClassroomTypes) {
-                List<ScheduleContext.ClassroomInfo> typeRooms = context.getAvailableClassrooms()
-                        .get(classroomTypeUuid);
-                if (typeRooms != null) {
-                    classrooms.addAll(typeRooms);
-                }
-            }
-            log.debug("课程类型 {} 找到 {} 个匹配类型的教室",
-                    tc.getCourseTypeUuid(), classrooms.size());
-        } else {
-            log.debug("课程类型 {} 没有配置教室类型映射，使用所有可用教室",
-                    tc.getCourseTypeUuid());
-            // 向后兼容：只有当没有配置映射时才使用所有教室
-            classrooms = context.getAvailableClassrooms().values().stream()
-                    .flatMap(List::stream)
-                    .collect(Collectors.toList());
-        }
-
-        // 3. 如果仍然没有教室，记录警告并返回null
-        if (classrooms.isEmpty()) {
-            log.warn("课程类型 {} 找不到任何可用教室", tc.getCourseTypeUuid());
-            return null;
-        }
-
-        // 4. 过滤容量足够的教室
-        List<ScheduleContext.ClassroomInfo> suitableClassrooms = classrooms.stream()
-                .filter(c -> c.getCapacity() >= tc.getTotalStudents())
-                .collect(Collectors.toList());
-
-        if (suitableClassrooms.isEmpty()) {
-            log.debug("课程 {} 需要 {} 个座位，但没有足够容量的教室，使用所有可用教室",
-                    tc.getCourseName(), tc.getTotalStudents());
-            suitableClassrooms = classrooms; // 如果没有足够容量的，使用所有教室
-        }
-
-        if (suitableClassrooms.isEmpty()) {
-            log.warn("课程 {} 无法找到任何合适的教室", tc.getCourseName());
-            return null;
-        }
-
-        // 5. 随机选择一个
-        Random random = new Random();
-        ScheduleContext.ClassroomInfo selected = suitableClassrooms.get(random.nextInt(suitableClassrooms.size()));
-        log.trace("为课程 {} 选择教室: {}", tc.getCourseName(), selected.getClassroomName());
-        return selected.getClassroomUuid();
+    private int randomCandidateRoom(int tc, SplittableRandom random) {
+        int[] candidates = index.getTcCandidateRooms()[tc];
+        return candidates.length > 0 ? candidates[random.nextInt(candidates.length)] : -1;
     }
 
     /**
-     * 构建课程安排对象
+     * 在工作线程池上并行执行 task(0..count-1)，未启用并行时在当前线程顺序执行
+     * <p>
+     * 已在工作线程中（如岛屿任务内部）时直接拆分到当前线程池，由空闲线程窃取执行
      */
-    private CourseAppointment buildAppointment(ScheduleContext.TeachingClassInfo tc, String classroomUuid, TimeSlot timeSlot) {
-        CourseAppointment appointment = new CourseAppointment();
-        appointment.setTeachingClassUuid(tc.getTeachingClassUuid());
-        appointment.setTeachingClassName(tc.getTeachingClassName());
-        appointment.setCourseUuid(tc.getCourseUuid());
-        appointment.setCourseName(tc.getCourseName());
-        appointment.setCourseTotalHours(tc.getCourseTotalHours());
-        appointment.setTeacherUuid(tc.getTeacherUuid());
-        appointment.setTeacherName(tc.getTeacherName());
-        appointment.setClassroomUuid(classroomUuid);
-        appointment.setCourseTypeUuid(tc.getCourseTypeUuid());
-        appointment.setClassUuids(tc.getClassUuids());
-        appointment.setTotalStudents(tc.getTotalStudents());
-        appointment.setTimeSlot(timeSlot);
-
-        // 设置教室名称和容量
-        if (context.getAvailableClassrooms() != null) {
-            for (List<ScheduleContext.ClassroomInfo> classrooms : context.getAvailableClassrooms().values()) {
-                for (ScheduleContext.ClassroomInfo info : classrooms) {
-                    if (info.getClassroomUuid().equals(classroomUuid)) {
-                        appointment.setClassroomName(info.getClassroomName());
-                        appointment.setClassroomCapacity(info.getCapacity());
-                        appointment.setClassroomTypeUuid(info.getClassroomTypeUuid());
-
-                        // 验证教室类型是否匹配
-                        List<String> allowedTypes = context.getCourseTypeToClassroomTypes() != null
-                                ? context.getCourseTypeToClassroomTypes().get(tc.getCourseTypeUuid())
-                                : null;
-                        if (allowedTypes != null && !allowedTypes.isEmpty()
-                                && !allowedTypes.contains(info.getClassroomTypeUuid())) {
-                            log.warn("构建课程安排时教室类型不匹配: 课程[{}]类型[{}]需要教室类型{}, 但选择了教室[{}]类型[{}]",
-                                    tc.getCourseName(), tc.getCourseTypeUuid(), allowedTypes,
-                                    info.getClassroomName(), info.getClassroomTypeUuid());
-                        }
-                        break;
-                    }
-                }
+    private void runParallel(int count, IntConsumer task) {
+        if (workerPool == null || count <= 1) {
+            for (int i = 0; i < count; i++) {
+                task.accept(i);
             }
+            return;
         }
-
-        return appointment;
+        if (ForkJoinTask.getPool() == workerPool) {
+            IntStream.range(0, count).parallel().forEach(task);
+            return;
+        }
+        workerPool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).join();
     }
 
-    /**
-     * 查找教学班信息
-     */
-    private ScheduleContext.TeachingClassInfo findTeachingClassInfo(String teachingClassUuid) {
-        if (context.getTeachingClassList() == null) {
-            return null;
+    private static double maxFitness(List<CompactChromosome> population) {
+        double max = population.isEmpty() ? 1.0 : Double.NEGATIVE_INFINITY;
+        for (CompactChromosome chromosome : population) {
+            max = Math.max(max, chromosome.getFitness());
         }
-        return context.getTeachingClassList().stream()
-                .filter(tc -> tc.getTeachingClassUuid().equals(teachingClassUuid))
-                .findFirst()
-                .orElse(null);
+        return max;
     }
 
-    /**
-     * 更新课程安排的教室类型信息
-     * 在教室变异后调用，确保 classroomTypeUuid 与新教室同步
-     *
-     * @param appointment   课程安排对象
-     * @param classroomUuid 新教室的 UUID
-     */
-    private void updateClassroomTypeInfo(CourseAppointment appointment, String classroomUuid) {
-        if (context.getAvailableClassrooms() != null) {
-            for (List<ScheduleContext.ClassroomInfo> classrooms : context.getAvailableClassrooms().values()) {
-                for (ScheduleContext.ClassroomInfo info : classrooms) {
-                    if (info.getClassroomUuid().equals(classroomUuid)) {
-                        appointment.setClassroomTypeUuid(info.getClassroomTypeUuid());
-                        appointment.setClassroomName(info.getClassroomName());
-                        appointment.setClassroomCapacity(info.getCapacity());
-                        return;
-                    }
-                }
-            }
+    private static double averageFitness(List<CompactChromosome> population) {
+        double sum = 0;
+        for (CompactChromosome chromosome : population) {
+            sum += chromosome.getFitness();
         }
-        log.warn("无法找到教室 {} 的类型信息，classroomTypeUuid 可能不一致", classroomUuid);
+        return population.isEmpty() ? 0.0 : sum / population.size();
     }
 
     /**
-     * 从ID解析时间槽
+     * 岛屿（子种群）：拥有独立的种群与随机数生成器
      */
-    private TimeSlot parseTimeSlotFromId(String slotId) {
-        try {
-            // 格式: day-sectionStart-sectionEnd-[weeks]
-            String[] parts = slotId.split("-");
-            if (parts.length >= 3) {
-                TimeSlot slot = new TimeSlot();
-                slot.setDayOfWeek(Integer.parseInt(parts[0]));
-                slot.setSectionStart(Integer.parseInt(parts[1]));
-                slot.setSectionEnd(Integer.parseInt(parts[2]));
-                // 周次暂时设为空列表
-                slot.setWeeks(new ArrayList<>());
-                return slot;
-            }
-        } catch (Exception e) {
-            log.warn("解析时间槽ID失败: {}", slotId);
+    private static class Island {
+        private final SplittableRandom random;
+        private final int eliteSize;
+        private final int tournamentRepeats;
+        private List<CompactChromosome> population;
+
+        Island(List<CompactChromosome> population, SplittableRandom random, int eliteSize, int tournamentRepeats) {
+            this.population = population;
+            this.random = random;
+            this.eliteSize = eliteSize;
+            this.tournamentRepeats = tournamentRepeats;
         }
-        return null;
     }
 }
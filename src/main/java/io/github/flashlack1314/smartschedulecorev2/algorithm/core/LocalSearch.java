@@ -0,0 +1,234 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 局部搜索：模因算法中对精英个体执行的冲突驱动最速下降（带禁忌表）
+ * <p>
+ * 每一步从随机位置起最多抽查 {@value #CONFLICT_SCAN} 个课次，选出第一个存在冲突且不在禁忌期内的课次，
+ * 评估以下邻域后执行适应度提升最大的移动：
+ * ① 迁移：移到教学班的至多 {@value #SLOT_SAMPLES} 个随机可选时间槽（保持原教室，或换一间随机可选教室）；
+ * ② 换教室：同一时间槽内换成至多 {@value #ROOM_SAMPLES} 间随机可选教室；
+ * ③ 交换：与若干随机课次交换时间槽（各自保持原教室）。
+ * 每个候选移动通过 {@link FitnessCalculator#applyMove} 增量评估后撤销，邻域大小有上限，
+ * 因此每一步的代价与课次总数无关，时间预算能及时生效。
+ * 没有可提升的移动时，该课次在接下来的若干步内不再被选中。
+ * 达到步数上限、时间预算或硬约束冲突清零时结束，结束时做一次完整评估以消除增量累计误差。
+ *
+ * @author flash
+ */
+public class LocalSearch {
+
+    /**
+     * 无改进课次的禁忌步数
+     */
+    private static final int TABU_TENURE = 7;
+
+    /**
+     * 每步评估的交换候选课次数
+     */
+    private static final int SWAP_CANDIDATES = 8;
+
+    /**
+     * 每步评估的迁移目标时间槽数
+     */
+    private static final int SLOT_SAMPLES = 16;
+
+    /**
+     * 每步评估的换教室候选数
+     */
+    private static final int ROOM_SAMPLES = 8;
+
+    /**
+     * 每步查找冲突课次时最多抽查的课次数
+     */
+    private static final int CONFLICT_SCAN = 64;
+
+    private static final double EPSILON = 1e-12;
+
+    private final FitnessCalculator fitnessCalculator;
+    private final ConflictDetector conflictDetector;
+    private final ScheduleIndex index;
+
+    public LocalSearch(FitnessCalculator fitnessCalculator, ConflictDetector conflictDetector, ScheduleIndex index) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.conflictDetector = conflictDetector;
+        this.index = index;
+    }
+
+    /**
+     * 改进个体
+     *
+     * @param chromosome    已评估的紧凑染色体，原地修改
+     * @param random        随机数生成器
+     * @param maxSteps      最大步数
+     * @param deadlineNanos 截止时间（System.nanoTime()）
+     * @return 执行的改进移动数
+     */
+    public int improve(CompactChromosome chromosome, SplittableRandom random, int maxSteps, long deadlineNanos) {
+        if (!chromosome.isEvaluated() || index.getSessionCount() == 0) {
+            return 0;
+        }
+        int[] tabuUntil = new int[index.getSessionCount()];
+        int[] counts = new int[Conflict.ConflictType.values().length];
+        int improved = 0;
+        for (int step = 0; step < maxSteps && System.nanoTime() < deadlineNanos; step++) {
+            if (chromosome.getHardConstraintViolations() == 0) {
+                break;
+            }
+            int session = pickConflictingSession(chromosome, random, tabuUntil, step, counts);
+            if (session < 0) {
+                continue;
+            }
+            if (applyBestMove(chromosome, session, random)) {
+                improved++;
+            } else {
+                tabuUntil[session] = step + TABU_TENURE;
+            }
+        }
+        if (improved > 0) {
+            fitnessCalculator.calculateFitness(chromosome, index);
+        }
+        return improved;
+    }
+
+    /**
+     * 从随机位置开始，在至多 {@value #CONFLICT_SCAN} 个课次中查找第一个存在冲突且不在禁忌期内的课次
+     *
+     * @return 课次编号，抽查范围内没有时返回 -1
+     */
+    private int pickConflictingSession(CompactChromosome chromosome, SplittableRandom random,
+                                       int[] tabuUntil, int step, int[] counts) {
+        int sessionCount = index.getSessionCount();
+        int start = random.nextInt(sessionCount);
+        for (int i = 0; i < Math.min(sessionCount, CONFLICT_SCAN); i++) {
+            int session = (start + i) % sessionCount;
+            int slot = chromosome.getSlot(session);
+            if (slot < 0 || tabuUntil[session] > step) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            conflictDetector.accumulateSessionConflicts(chromosome, index, session, slot,
+                    chromosome.getRoom(session), counts, 1);
+            for (int count : counts) {
+                if (count > 0) {
+                    return session;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 评估课次的邻域并执行适应度提升最大的移动
+     *
+     * @return 是否找到并执行了提升适应度的移动
+     */
+    private boolean applyBestMove(CompactChromosome chromosome, int session, SplittableRandom random) {
+        int oldSlot = chromosome.getSlot(session);
+        int oldRoom = chromosome.getRoom(session);
+        int[] rooms = index.getTcCandidateRooms()[index.getSessionTc()[session]];
+
+        double bestFitness = chromosome.getFitness() + EPSILON;
+        int bestSlot = -1;
+        int bestRoom = -1;
+        int bestSwap = -1;
+
+        // ① 迁移
+        int[] slots = index.getTcCandidateSlots()[index.getSessionTc()[session]];
+        for (int k = 0; k < Math.min(slots.length, SLOT_SAMPLES); k++) {
+            int slot = slots.length <= SLOT_SAMPLES ? slots[k] : slots[random.nextInt(slots.length)];
+            if (slot != oldSlot) {
+                double fitness = evaluateMove(chromosome, session, slot, oldRoom);
+                if (fitness > bestFitness) {
+                    bestFitness = fitness;
+                    bestSlot = slot;
+                    bestRoom = oldRoom;
+                }
+            }
+            if (rooms.length > 0) {
+                int room = rooms[random.nextInt(rooms.length)];
+                if (slot != oldSlot || room != oldRoom) {
+                    double fitness = evaluateMove(chromosome, session, slot, room);
+                    if (fitness > bestFitness) {
+                        bestFitness = fitness;
+                        bestSlot = slot;
+                        bestRoom = room;
+                    }
+                }
+            }
+        }
+
+        // ② 换教室
+        for (int k = 0; k < Math.min(rooms.length, ROOM_SAMPLES); k++) {
+            int room = rooms.length <= ROOM_SAMPLES ? rooms[k] : rooms[random.nextInt(rooms.length)];
+            if (room != oldRoom) {
+                double fitness = evaluateMove(chromosome, session, oldSlot, room);
+                if (fitness > bestFitness) {
+                    bestFitness = fitness;
+                    bestSlot = oldSlot;
+                    bestRoom = room;
+                }
+            }
+        }
+
+        // ③ 交换时间槽
+        int tc = index.getSessionTc()[session];
+        for (int k = 0; k < SWAP_CANDIDATES; k++) {
+            int other = random.nextInt(index.getSessionCount());
+            int otherSlot = chromosome.getSlot(other);
+            if (otherSlot < 0 || otherSlot == oldSlot || index.getSessionTc()[other] == tc) {
+                continue;
+            }
+            double fitness = evaluateSwap(chromosome, session, other);
+            if (fitness > bestFitness) {
+                bestFitness = fitness;
+                bestSwap = other;
+            }
+        }
+
+        if (bestSwap >= 0) {
+            swapSlots(chromosome, session, bestSwap);
+            return true;
+        }
+        if (bestSlot >= 0) {
+            fitnessCalculator.applyMove(chromosome, index, session, bestSlot, bestRoom);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 试探移动后的适应度（评估后撤销）
+     */
+    private double evaluateMove(CompactChromosome chromosome, int session, int slot, int room) {
+        int oldSlot = chromosome.getSlot(session);
+        int oldRoom = chromosome.getRoom(session);
+        fitnessCalculator.applyMove(chromosome, index, session, slot, room);
+        double fitness = chromosome.getFitness();
+        fitnessCalculator.applyMove(chromosome, index, session, oldSlot, oldRoom);
+        return fitness;
+    }
+
+    /**
+     * 试探交换两个课次时间槽后的适应度（评估后撤销）
+     */
+    private double evaluateSwap(CompactChromosome chromosome, int a, int b) {
+        swapSlots(chromosome, a, b);
+        double fitness = chromosome.getFitness();
+        swapSlots(chromosome, a, b);
+        return fitness;
+    }
+
+    private void swapSlots(CompactChromosome chromosome, int a, int b) {
+        int slotA = chromosome.getSlot(a);
+        int slotB = chromosome.getSlot(b);
+        fitnessCalculator.applyMove(chromosome, index, a, slotB, chromosome.getRoom(a));
+        fitnessCalculator.applyMove(chromosome, index, b, slotA, chromosome.getRoom(b));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 排课求解器：由排课上下文求出最优排课方案
+ * <p>
+ * 实现类在构造时接收 {@link io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext}，
+ * 运行过程中通过 SSE 推送进度、通过 {@link ScheduleRunControl} 上报进度并响应取消。
+ * 目前有遗传算法 {@link GeneticAlgorithm} 与模拟退火 {@link SimulatedAnnealingSolver} 两种实现。
+ *
+ * @author flash
+ */
+public interface ScheduleSolver {
+
+    /**
+     * 执行自动排课
+     *
+     * @param emitter SSE emitter，可为null
+     * @return 最佳排课方案
+     */
+    Chromosome schedule(SseEmitter emitter);
+
+    /**
+     * 设置随机种子，为 null 时在运行开始时随机生成
+     */
+    void setSeed(Long seed);
+
+    /**
+     * 实际使用的随机种子（运行后可读取）
+     */
+    Long getSeed();
+
+    /**
+     * 设置SSE进度推送间隔（毫秒），0 表示每轮迭代都推送
+     */
+    void setProgressIntervalMillis(long progressIntervalMillis);
+
+    /**
+     * 设置运行控制（可为null）
+     */
+    void setRunControl(ScheduleRunControl runControl);
+
+    /**
+     * 最近一次运行的算法耗时（毫秒）
+     */
+    long getElapsedMillis();
+}
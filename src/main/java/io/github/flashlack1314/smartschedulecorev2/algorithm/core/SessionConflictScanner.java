@@ -0,0 +1,206 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 排课时间冲突扫描器：确认排课方案时检测预览课次之间、预览课次与已有正式课次之间的时间冲突
+ * <p>
+ * 所有课次按 (星期, 节次) 分桶，每个课次放入其覆盖的每一节对应的桶中。两个课次时间重叠
+ * 当且仅当它们共享某个桶，且只在首个共享节次（双方起始节次的较大者）的桶中处理，避免重复。
+ * 桶内再按教师、教室、行政班分组，只比较同组课次的周次位图，因此比较次数与
+ * 共享资源的同时段课次数成正比，而不是与课次总数的平方成正比。
+ * 结果与逐对比较一致：预览课次之间跳过同一教学班，已有正式课次之间不检测。
+ *
+ * @author flash
+ */
+@Component
+public class SessionConflictScanner {
+
+    /**
+     * 扫描时间冲突
+     *
+     * @param previews 预览课次
+     * @param existing 已有正式课次
+     * @return 扫描结果（冲突按资源类型分别记录，同一对课次可能同时有教师、教室、班级冲突）
+     */
+    public ScanResult scan(List<CourseAppointment> previews, List<ScheduleContext.ExistingSchedule> existing) {
+        int previewCount = previews.size();
+        int total = previewCount + existing.size();
+        Session[] sessions = new Session[total];
+        for (int i = 0; i < previewCount; i++) {
+            CourseAppointment appt = previews.get(i);
+            sessions[i] = new Session(appt.getTeachingClassUuid(), appt.getTeacherUuid(),
+                    appt.getClassroomUuid(), appt.getClassUuids(), appt.getTimeSlot());
+        }
+        for (int i = 0; i < existing.size(); i++) {
+            ScheduleContext.ExistingSchedule es = existing.get(i);
+            sessions[previewCount + i] = new Session(es.getTeachingClassUuid(), es.getTeacherUuid(),
+                    es.getClassroomUuid(), es.getClassUuids(), es.getTimeSlot());
+        }
+
+        // 1. 按 (星期, 节次) 分桶
+        Map<Integer, List<Integer>> buckets = new TreeMap<>();
+        for (int i = 0; i < total; i++) {
+            TimeSlot slot = sessions[i].slot;
+            if (slot == null) {
+                continue;
+            }
+            for (int section = slot.getSectionStart(); section <= slot.getSectionEnd(); section++) {
+                buckets.computeIfAbsent(slot.getDayOfWeek() << 8 | section, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 2. 逐桶扫描，同一资源分组内比较周次位图
+        ScanResult result = new ScanResult();
+        result.setExamined(total);
+        for (Map.Entry<Integer, List<Integer>> bucket : buckets.entrySet()) {
+            List<Integer> members = bucket.getValue();
+            if (members.size() < 2) {
+                continue;
+            }
+            int section = bucket.getKey() & 0xFF;
+            Map<String, List<Integer>> byTeacher = new HashMap<>();
+            Map<String, List<Integer>> byClassroom = new HashMap<>();
+            Map<String, List<Integer>> byClass = new HashMap<>();
+            for (int i : members) {
+                Session s = sessions[i];
+                group(byTeacher, s.teacherUuid, i);
+                group(byClassroom, s.classroomUuid, i);
+                if (s.classUuids != null) {
+                    for (String classUuid : new HashSet<>(s.classUuids)) {
+                        group(byClass, classUuid, i);
+                    }
+                }
+            }
+            compareGroups(byTeacher, Conflict.ConflictType.TEACHER_TIME_CONFLICT, null,
+                    sessions, previewCount, section, result);
+            compareGroups(byClassroom, Conflict.ConflictType.CLASSROOM_TIME_CONFLICT, null,
+                    sessions, previewCount, section, result);
+            // 共享多个行政班的两个课次只记录一次班级冲突
+            compareGroups(byClass, Conflict.ConflictType.CLASS_TIME_CONFLICT, new HashSet<>(),
+                    sessions, previewCount, section, result);
+        }
+        return result;
+    }
+
+    private static void group(Map<String, List<Integer>> groups, String key, int session) {
+        if (key != null) {
+            groups.computeIfAbsent(key, k -> new ArrayList<>(2)).add(session);
+        }
+    }
+
+    /**
+     * 比较同一资源分组内的课次
+     *
+     * @param reported 已记录的课次对（为 null 时不去重）
+     */
+    private static void compareGroups(Map<String, List<Integer>> groups, Conflict.ConflictType type,
+                                      Set<Long> reported, Session[] sessions, int previewCount,
+                                      int section, ScanResult result) {
+        for (List<Integer> group : groups.values()) {
+            int size = group.size();
+            for (int x = 0; x < size; x++) {
+                for (int y = x + 1; y < size; y++) {
+                    int a = Math.min(group.get(x), group.get(y));
+                    int b = Math.max(group.get(x), group.get(y));
+                    if (a >= previewCount) {
+                        // 已有正式课次之间不检测
+                        continue;
+                    }
+                    Session first = sessions[a];
+                    Session second = sessions[b];
+                    // 只在首个共享节次处理，其余共享节次跳过
+                    if (Math.max(first.slot.getSectionStart(), second.slot.getSectionStart()) != section) {
+                        continue;
+                    }
+                    boolean withExisting = b >= previewCount;
+                    if (!withExisting && Objects.equals(first.teachingClassUuid, second.teachingClassUuid)) {
+                        continue;
+                    }
+                    result.compared++;
+                    if ((first.slot.getWeekMask() & second.slot.getWeekMask()) == 0) {
+                        continue;
+                    }
+                    if (reported != null && !reported.add((long) a * sessions.length + b)) {
+                        continue;
+                    }
+                    result.conflicts.add(new TimeConflict(a, withExisting ? b - previewCount : b, withExisting, type));
+                }
+            }
+        }
+    }
+
+    /**
+     * 参与扫描的课次
+     */
+    private static class Session {
+        private final String teachingClassUuid;
+        private final String teacherUuid;
+        private final String classroomUuid;
+        private final List<String> classUuids;
+        private final TimeSlot slot;
+
+        Session(String teachingClassUuid, String teacherUuid, String classroomUuid,
+                List<String> classUuids, TimeSlot slot) {
+            this.teachingClassUuid = teachingClassUuid;
+            this.teacherUuid = teacherUuid;
+            this.classroomUuid = classroomUuid;
+            this.classUuids = classUuids;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * 一条时间冲突
+     */
+    @Data
+    public static class TimeConflict {
+        /**
+         * 预览课次下标
+         */
+        private final int preview;
+
+        /**
+         * 另一方下标：withExisting 为 true 时是已有正式课次下标，否则是预览课次下标（大于 preview）
+         */
+        private final int other;
+
+        /**
+         * 另一方是否为已有正式课次
+         */
+        private final boolean withExisting;
+
+        /**
+         * 冲突资源：TEACHER_TIME_CONFLICT / CLASSROOM_TIME_CONFLICT / CLASS_TIME_CONFLICT
+         */
+        private final Conflict.ConflictType type;
+    }
+
+    /**
+     * 扫描结果
+     */
+    @Data
+    public static class ScanResult {
+        /**
+         * 检查的课次数（预览 + 已有正式）
+         */
+        private int examined;
+
+        /**
+         * 实际比较周次的课次对数
+         */
+        private long compared;
+
+        /**
+         * 检测到的时间冲突
+         */
+        private List<TimeConflict> conflicts = new ArrayList<>();
+    }
+}
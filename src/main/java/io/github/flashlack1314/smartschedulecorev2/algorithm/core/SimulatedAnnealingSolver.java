@@ -0,0 +1,311 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ProgressThrottle;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 模拟退火求解器：单轨迹搜索，只维护当前解与最优解两条紧凑染色体
+ * <p>
+ * 初始解由 {@link ConstructiveInitializer} 生成。每次随机执行一个移动：
+ * 迁移（换到教学班的随机可选时间槽，一半概率同时换一间随机可选教室）或与另一课次交换时间槽。
+ * 存在硬约束冲突时，一半的移动优先作用于抽查到的冲突课次。
+ * 移动通过 {@link FitnessCalculator#applyMove} 增量评估（代价只与同一时间槽的课次数有关），
+ * 按 Metropolis 准则接受，拒绝时撤销。
+ * <p>
+ * 每 {@value #ROUND_LENGTH} 次移动为一轮：轮末按几何降温、上报进度并检查取消。
+ * 降温系数使温度在 maxIterations 次移动内降到初始温度的 {@value #FINAL_TEMPERATURE_RATIO} 倍；
+ * 未指定初始温度时，按随机移动的平均恶化量标定，使初始接受概率约为 {@value #INITIAL_ACCEPTANCE}。
+ * 连续 {@value #STAGNANT_ROUNDS} 轮最优解没有提升时提前结束。
+ * 所有随机性来自种子确定的生成器，设置 seed 后相同输入的运行结果完全可复现。
+ *
+ * @author flash
+ */
+@Slf4j
+@Data
+@RequiredArgsConstructor
+public class SimulatedAnnealingSolver implements ScheduleSolver {
+
+    /**
+     * 每轮移动次数
+     */
+    private static final int ROUND_LENGTH = 1000;
+
+    /**
+     * 终止温度与初始温度之比
+     */
+    private static final double FINAL_TEMPERATURE_RATIO = 1e-4;
+
+    /**
+     * 自动标定初始温度时的目标接受概率
+     */
+    private static final double INITIAL_ACCEPTANCE = 0.5;
+
+    /**
+     * 自动标定初始温度时试探的移动数
+     */
+    private static final int CALIBRATION_SAMPLES = 200;
+
+    /**
+     * 查找冲突课次时最多抽查的课次数
+     */
+    private static final int CONFLICT_SAMPLES = 16;
+
+    /**
+     * 交换时间槽移动的概率
+     */
+    private static final double SWAP_PROBABILITY = 0.3;
+
+    /**
+     * 最优解连续无提升即提前结束的轮数
+     */
+    private static final int STAGNANT_ROUNDS = 50;
+
+    private static final double MIN_TEMPERATURE = 1e-9;
+    private static final double EPSILON = 1e-12;
+
+    private final ScheduleContext context;
+    private final FitnessCalculator fitnessCalculator;
+    private final ConflictDetector conflictDetector;
+    private final TimeSlotGenerator timeSlotGenerator;
+
+    // 退火参数：最大移动次数、初始温度（为 null 时自动标定）
+    private int maxIterations = 200_000;
+    private Double initialTemperature;
+
+    // 排课索引（每次运行时构建）
+    private ScheduleIndex index;
+    private SplittableRandom random;
+
+    /**
+     * 随机种子，未设置时在运行开始时随机生成，运行后可读取实际使用的种子
+     */
+    private Long seed;
+
+    /**
+     * SSE进度推送间隔（毫秒），0 表示每轮推送
+     */
+    private long progressIntervalMillis = ProgressThrottle.DEFAULT_INTERVAL_MILLIS;
+
+    /**
+     * 运行控制（可为null）：每轮更新进度，被取消时在当前轮结束后停止并返回已找到的最优解
+     */
+    private ScheduleRunControl runControl;
+
+    // 最近一次运行的统计
+    private int executedIterations;
+    private int acceptedMoves;
+    private long elapsedMillis;
+
+    /**
+     * 执行自动排课
+     *
+     * @return 最佳排课方案
+     */
+    public Chromosome schedule() {
+        return schedule(null);
+    }
+
+    @Override
+    public Chromosome schedule(SseEmitter emitter) {
+        if (seed == null) {
+            seed = new SplittableRandom().nextLong();
+        }
+        random = new SplittableRandom(seed);
+        log.info("模拟退火随机种子: {}", seed);
+
+        int semesterWeeks = context.getSemesterWeeks() != null ? context.getSemesterWeeks() : 16;
+        index = new ScheduleIndex(context, timeSlotGenerator.generateAllTimeSlots(
+                context.getDaysPerWeek(),
+                context.getSectionsPerDay(),
+                IntStream.rangeClosed(1, semesterWeeks).boxed().collect(Collectors.toList())
+        ));
+
+        long startNanos = System.nanoTime();
+        CompactChromosome current = new ConstructiveInitializer(index).build(random.split());
+        fitnessCalculator.calculateFitness(current, index);
+        CompactChromosome best = current.copy();
+        log.info("模拟退火初始解：适应度 {}, 硬冲突数 {}, 未完成数 {}",
+                current.getFitness(), current.getHardConstraintViolations(), current.getUnscheduledCount());
+
+        // 只有已安排且有可选教室的课次参与移动（没有可选教室的课次由构造式初始化保持未安排）
+        int[] movable = IntStream.range(0, index.getSessionCount())
+                .filter(session -> current.getSlot(session) >= 0
+                        && index.getTcCandidateRooms()[index.getSessionTc()[session]].length > 0)
+                .toArray();
+
+        ProgressThrottle progress = new ProgressThrottle(emitter, progressIntervalMillis);
+        int maxRounds = Math.max(1, (maxIterations + ROUND_LENGTH - 1) / ROUND_LENGTH);
+        int roundsRun = 0;
+        int iterations = 0;
+        int accepted = 0;
+        if (movable.length > 0) {
+            double temperature = initialTemperature != null
+                    ? initialTemperature
+                    : calibrateTemperature(current, movable);
+            double cooling = Math.pow(FINAL_TEMPERATURE_RATIO, 1.0 / maxRounds);
+            log.info("模拟退火初始温度: {}, 每轮降温系数: {}", temperature, cooling);
+
+            int[] counts = new int[Conflict.ConflictType.values().length];
+            int lastImprovedRound = 0;
+            for (int round = 0; round < maxRounds; round++) {
+                roundsRun = round + 1;
+                int roundEnd = Math.min(maxIterations, iterations + ROUND_LENGTH);
+                for (; iterations < roundEnd; iterations++) {
+                    if (step(current, movable, temperature, counts)) {
+                        accepted++;
+                        if (current.getFitness() > best.getFitness() + EPSILON) {
+                            best = current.copy();
+                            lastImprovedRound = round;
+                        }
+                    }
+                }
+                temperature = Math.max(temperature * cooling, MIN_TEMPERATURE);
+
+                if (runControl != null) {
+                    runControl.onGeneration(roundsRun, maxRounds, best.getFitness());
+                    if (runControl.isCancelled()) {
+                        log.info("收到取消请求，终止于第{}轮", round);
+                        break;
+                    }
+                }
+                if (round - lastImprovedRound >= STAGNANT_ROUNDS) {
+                    log.info("连续{}轮无改进，提前结束于第{}轮", round - lastImprovedRound, round);
+                    break;
+                }
+                progress.onGeneration(round, maxRounds, best.getFitness());
+            }
+        }
+
+        // 完整评估一次，消除增量更新的累计误差
+        fitnessCalculator.calculateFitness(best, index);
+
+        elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        executedIterations = iterations;
+        acceptedMoves = accepted;
+        progress.finish(roundsRun, maxRounds, best.getFitness());
+
+        log.info("模拟退火结束，共 {} 次移动（接受 {} 次），耗时 {} ms，最优适应度: {}, 硬冲突数: {}, 未完成数: {}",
+                iterations, accepted, elapsedMillis, best.getFitness(),
+                best.getHardConstraintViolations(), best.getUnscheduledCount());
+
+        return index.decode(best);
+    }
+
+    /**
+     * 执行一次随机移动，按 Metropolis 准则决定是否接受，拒绝时撤销
+     *
+     * @return 是否接受
+     */
+    private boolean step(CompactChromosome current, int[] movable, double temperature, int[] counts) {
+        double before = current.getFitness();
+        int session = pickSession(current, movable, counts);
+        int oldSlot = current.getSlot(session);
+        int oldRoom = current.getRoom(session);
+
+        int other = -1;
+        if (random.nextDouble() < SWAP_PROBABILITY) {
+            int candidate = movable[random.nextInt(movable.length)];
+            if (current.getSlot(candidate) != oldSlot
+                    && index.getSessionTc()[candidate] != index.getSessionTc()[session]) {
+                other = candidate;
+            }
+        }
+        if (other >= 0) {
+            swapSlots(current, session, other);
+        } else {
+            relocate(current, session);
+        }
+
+        double delta = current.getFitness() - before;
+        if (delta >= 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+            return true;
+        }
+        if (other >= 0) {
+            swapSlots(current, session, other);
+        } else {
+            fitnessCalculator.applyMove(current, index, session, oldSlot, oldRoom);
+        }
+        return false;
+    }
+
+    /**
+     * 选择移动的课次：存在硬约束冲突时一半概率抽查若干课次，取第一个有冲突的
+     */
+    private int pickSession(CompactChromosome current, int[] movable, int[] counts) {
+        if (current.getHardConstraintViolations() > 0 && random.nextBoolean()) {
+            for (int i = 0; i < CONFLICT_SAMPLES; i++) {
+                int session = movable[random.nextInt(movable.length)];
+                Arrays.fill(counts, 0);
+                conflictDetector.accumulateSessionConflicts(current, index, session,
+                        current.getSlot(session), current.getRoom(session), counts, 1);
+                for (int count : counts) {
+                    if (count > 0) {
+                        return session;
+                    }
+                }
+            }
+        }
+        return movable[random.nextInt(movable.length)];
+    }
+
+    /**
+     * 将课次迁移到随机可选时间槽，一半概率同时换一间随机可选教室（没有可选教室时保持原教室）
+     */
+    private void relocate(CompactChromosome current, int session) {
+        int tc = index.getSessionTc()[session];
+        int[] slots = index.getTcCandidateSlots()[tc];
+        int[] rooms = index.getTcCandidateRooms()[tc];
+        int room = current.getRoom(session);
+        if (rooms.length > 0 && random.nextBoolean()) {
+            room = rooms[random.nextInt(rooms.length)];
+        }
+        fitnessCalculator.applyMove(current, index, session, slots[random.nextInt(slots.length)], room);
+    }
+
+    private void swapSlots(CompactChromosome chromosome, int a, int b) {
+        int slotA = chromosome.getSlot(a);
+        int slotB = chromosome.getSlot(b);
+        fitnessCalculator.applyMove(chromosome, index, a, slotB, chromosome.getRoom(a));
+        fitnessCalculator.applyMove(chromosome, index, b, slotA, chromosome.getRoom(b));
+    }
+
+    /**
+     * 按随机迁移的平均恶化量标定初始温度（试探后撤销，不改变当前解）
+     */
+    private double calibrateTemperature(CompactChromosome current, int[] movable) {
+        double worsening = 0;
+        int worse = 0;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            int session = movable[random.nextInt(movable.length)];
+            int oldSlot = current.getSlot(session);
+            int oldRoom = current.getRoom(session);
+            double before = current.getFitness();
+            relocate(current, session);
+            double delta = current.getFitness() - before;
+            fitnessCalculator.applyMove(current, index, session, oldSlot, oldRoom);
+            if (delta < 0) {
+                worsening -= delta;
+                worse++;
+            }
+        }
+        if (worse == 0) {
+            return MIN_TEMPERATURE;
+        }
+        return Math.max(worsening / worse / -Math.log(INITIAL_ACCEPTANCE), MIN_TEMPERATURE);
+    }
+}
@@ -19,6 +19,11 @@ public class AutoScheduleResult {
      */
     private String semesterUuid;
 
+    /**
+     * 本次排课使用的随机种子，传入相同种子可复现该结果
+     */
+    private Long seed;
+
     /**
      * 排课方案：时间槽 -> 该时间段的所有课程安排
      */
@@ -72,5 +77,13 @@ public class AutoScheduleResult {
         private int totalSessions;
         private int totalHours;
         private double averageFitness;
+        /**
+         * 排课上下文构建耗时（毫秒，加载教学班、教室、教师等数据）
+         */
+        private long contextBuildMillis;
+        /**
+         * 遗传算法迭代耗时（毫秒）
+         */
+        private long algorithmMillis;
     }
 }
@@ -0,0 +1,583 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.dto;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 排课索引：将 ScheduleContext 编译为稠密整数编号的只读结构
+ * <p>
+ * 教师、教室、行政班分别映射为 0..n-1 的编号，每个教学班按每周上课次数展开为连续的若干课次，
+ * 时间槽按生成顺序编号，周次以 long 位图表示（第 w 周对应第 w-1 位）。
+ * 算法迭代期间只使用这些数组，不再访问 UUID 字符串。
+ *
+ * @author flash
+ */
+@Slf4j
+@Getter
+public class ScheduleIndex {
+
+    /**
+     * 周次位图支持的最大周数
+     */
+    public static final int MAX_WEEKS = WeekMaskUtils.MAX_WEEKS;
+
+    private final ScheduleContext context;
+
+    // ==================== 时间槽 ====================
+
+    private final int slotCount;
+    private final int[] slotDay;
+    private final int[] slotSectionStart;
+    private final int[] slotSectionEnd;
+    /**
+     * 星期几 -> 该天的时间槽编号
+     */
+    private final int[][] daySlots;
+
+    // ==================== 教室 ====================
+
+    private final int roomCount;
+    private final List<ScheduleContext.ClassroomInfo> rooms;
+    /**
+     * 教室容量，-1 表示未知
+     */
+    private final int[] roomCapacity;
+
+    // ==================== 教师 / 行政班 ====================
+
+    private final int teacherCount;
+    private final int classCount;
+    /**
+     * 教师每周最大课时，0 表示未配置
+     */
+    private final int[] teacherMaxHours;
+    /**
+     * 教师偏好时间槽，null 表示无偏好
+     */
+    private final boolean[][] teacherPreferredSlots;
+    private final boolean teacherPreferenceEnabled;
+    private final boolean workloadBalanceEnabled;
+
+    // ==================== 教学班 ====================
+
+    private final int teachingClassCount;
+    private final List<ScheduleContext.TeachingClassInfo> teachingClasses;
+    /**
+     * 教学班的教师编号，-1 表示无
+     */
+    private final int[] tcTeacher;
+    /**
+     * 教学班的行政班编号（升序）
+     */
+    private final int[][] tcClasses;
+    private final int[] tcStudents;
+    private final long[] tcWeekMask;
+    private final int[] tcWeekCount;
+    /**
+     * 教学班要求的每周上课次数（用于判定是否完成排课）
+     */
+    private final int[] tcWeeklySessions;
+    /**
+     * 教学班的第一个课次编号，长度为 teachingClassCount + 1
+     */
+    private final int[] tcFirstSession;
+    /**
+     * 教学班可选教室（类型匹配且容量足够，没有容量足够的则放宽容量），按容量与学生数的差距升序排列
+     */
+    private final int[][] tcCandidateRooms;
+    /**
+     * 教学班可选时间槽（升序）：排除教师或行政班已被已有排课占用、或可选教室全部被已有排课占用的时间槽，
+     * 全部被排除时保留所有时间槽
+     */
+    private final int[][] tcCandidateSlots;
+    /**
+     * 教学班允许的教室（按教室编号），null 表示不检查教室类型
+     */
+    private final boolean[][] tcRoomTypeAllowed;
+    /**
+     * 教学班每个课次的教师资格冲突数（0 或 1）
+     */
+    private final int[] tcQualificationViolations;
+
+    // ==================== 课次 ====================
+
+    private final int sessionCount;
+    private final int[] sessionTc;
+    /**
+     * 课次的 (课次, 行政班) 节点起始编号，长度 sessionCount+1，供冲突检测的行政班占用链使用
+     */
+    private final int[] sessionClassOffset;
+
+    // ==================== 已有排课 ====================
+
+    private final int existingCount;
+    private final int[] existingTeacher;
+    private final int[] existingRoom;
+    private final int[][] existingClasses;
+    private final long[] existingWeekMask;
+    /**
+     * 时间槽编号 -> 与之节次重叠的已有排课编号
+     */
+    private final int[][] existingBySlot;
+    /**
+     * 已有排课占用位图：下标为 资源编号 × slotCount + 时间槽编号，值为被占用的周次
+     */
+    private final long[] existingTeacherWeeks;
+    private final long[] existingRoomWeeks;
+    private final long[] existingClassWeeks;
+
+    // ==================== 合班约束 ====================
+
+    /**
+     * 需保持同一时间上课的教学班对，扁平存放 (tc1, tc2)
+     */
+    private final int[] combinedPairs;
+    /**
+     * 教学班编号 -> 涉及该教学班的合班对在 combinedPairs 中的起始下标
+     */
+    private final int[][] tcCombinedPairs;
+
+    /**
+     * 编译排课索引
+     *
+     * @param context   排课上下文
+     * @param baseSlots 所有可用时间槽（周次忽略，仅使用星期与节次）
+     */
+    public ScheduleIndex(ScheduleContext context, List<TimeSlot> baseSlots) {
+        this.context = context;
+
+        // 时间槽
+        this.slotCount = baseSlots.size();
+        this.slotDay = new int[slotCount];
+        this.slotSectionStart = new int[slotCount];
+        this.slotSectionEnd = new int[slotCount];
+        int maxDay = 0;
+        for (int s = 0; s < slotCount; s++) {
+            TimeSlot slot = baseSlots.get(s);
+            slotDay[s] = slot.getDayOfWeek();
+            slotSectionStart[s] = slot.getSectionStart();
+            slotSectionEnd[s] = slot.getSectionEnd();
+            maxDay = Math.max(maxDay, slotDay[s]);
+        }
+        this.daySlots = new int[maxDay + 1][];
+        for (int day = 0; day <= maxDay; day++) {
+            int finalDay = day;
+            daySlots[day] = IntStream.range(0, slotCount)
+                    .filter(s -> slotDay[s] == finalDay)
+                    .toArray();
+        }
+
+        // 教室
+        Map<String, Integer> roomIds = new HashMap<>();
+        this.rooms = new ArrayList<>();
+        if (context.getAvailableClassrooms() != null) {
+            for (List<ScheduleContext.ClassroomInfo> typeRooms : context.getAvailableClassrooms().values()) {
+                for (ScheduleContext.ClassroomInfo room : typeRooms) {
+                    if (roomIds.putIfAbsent(room.getClassroomUuid(), rooms.size()) == null) {
+                        rooms.add(room);
+                    }
+                }
+            }
+        }
+        this.roomCount = rooms.size();
+        this.roomCapacity = new int[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            Integer capacity = rooms.get(r).getCapacity();
+            roomCapacity[r] = capacity != null ? capacity : -1;
+        }
+
+        // 教学班
+        this.teachingClasses = context.getTeachingClassList() != null
+                ? context.getTeachingClassList()
+                : List.of();
+        this.teachingClassCount = teachingClasses.size();
+        Map<String, Integer> teacherIds = new HashMap<>();
+        Map<String, Integer> classIds = new HashMap<>();
+        int semesterWeeks = context.getSemesterWeeks() != null ? context.getSemesterWeeks() : 16;
+        int daysPerWeek = context.getDaysPerWeek() != null ? context.getDaysPerWeek() : 5;
+        if (semesterWeeks > MAX_WEEKS) {
+            log.warn("学期周数 {} 超过周次位图上限 {}，超出部分将被忽略", semesterWeeks, MAX_WEEKS);
+        }
+
+        this.tcTeacher = new int[teachingClassCount];
+        this.tcClasses = new int[teachingClassCount][];
+        this.tcStudents = new int[teachingClassCount];
+        this.tcWeekMask = new long[teachingClassCount];
+        this.tcWeekCount = new int[teachingClassCount];
+        this.tcWeeklySessions = new int[teachingClassCount];
+        this.tcFirstSession = new int[teachingClassCount + 1];
+        this.tcCandidateRooms = new int[teachingClassCount][];
+        this.tcRoomTypeAllowed = new boolean[teachingClassCount][];
+        this.tcQualificationViolations = new int[teachingClassCount];
+        Map<String, boolean[]> roomTypeAllowedByCourseType = new HashMap<>();
+
+        int sessions = 0;
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            ScheduleContext.TeachingClassInfo info = teachingClasses.get(tc);
+            tcTeacher[tc] = intern(teacherIds, info.getTeacherUuid());
+            tcClasses[tc] = internAll(classIds, info.getClassUuids());
+            tcStudents[tc] = info.getTotalStudents() != null ? info.getTotalStudents() : -1;
+
+            int requiredWeeks = info.getRequiredWeeks() != null ? info.getRequiredWeeks() : 16;
+            int actualWeeks = Math.min(Math.min(requiredWeeks, semesterWeeks), MAX_WEEKS);
+            tcWeekCount[tc] = Math.max(actualWeeks, 0);
+            tcWeekMask[tc] = WeekMaskUtils.firstWeeks(actualWeeks);
+
+            int weeklySessions = info.getWeeklySessions() != null ? info.getWeeklySessions() : 1;
+            tcWeeklySessions[tc] = weeklySessions;
+            tcFirstSession[tc] = sessions;
+            sessions += weeklySessions > 0 ? Math.min(weeklySessions, daysPerWeek) : 0;
+
+            List<String> allowedTypes = context.getCourseTypeToClassroomTypes() != null
+                    ? context.getCourseTypeToClassroomTypes().get(info.getCourseTypeUuid())
+                    : null;
+            tcCandidateRooms[tc] = buildCandidateRooms(allowedTypes, tcStudents[tc], roomIds);
+            if (allowedTypes != null && !allowedTypes.isEmpty()) {
+                tcRoomTypeAllowed[tc] = roomTypeAllowedByCourseType.computeIfAbsent(
+                        info.getCourseTypeUuid(), k -> buildRoomTypeAllowed(allowedTypes));
+            }
+            tcQualificationViolations[tc] = isQualificationViolated(info) ? 1 : 0;
+        }
+        tcFirstSession[teachingClassCount] = sessions;
+        this.sessionCount = sessions;
+        this.sessionTc = new int[sessions];
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            Arrays.fill(sessionTc, tcFirstSession[tc], tcFirstSession[tc + 1], tc);
+        }
+        this.sessionClassOffset = new int[sessions + 1];
+        for (int session = 0; session < sessions; session++) {
+            sessionClassOffset[session + 1] = sessionClassOffset[session] + tcClasses[sessionTc[session]].length;
+        }
+
+        // 已有排课
+        List<ScheduleContext.ExistingSchedule> existingSchedules = context.getExistingSchedules() != null
+                ? context.getExistingSchedules().stream().filter(e -> e.getTimeSlot() != null).toList()
+                : List.of();
+        this.existingCount = existingSchedules.size();
+        this.existingTeacher = new int[existingCount];
+        this.existingRoom = new int[existingCount];
+        this.existingClasses = new int[existingCount][];
+        this.existingWeekMask = new long[existingCount];
+        List<List<Integer>> existingSlotLists = new ArrayList<>();
+        for (int s = 0; s < slotCount; s++) {
+            existingSlotLists.add(new ArrayList<>());
+        }
+        for (int e = 0; e < existingCount; e++) {
+            ScheduleContext.ExistingSchedule existing = existingSchedules.get(e);
+            existingTeacher[e] = intern(teacherIds, existing.getTeacherUuid());
+            Integer roomId = existing.getClassroomUuid() != null ? roomIds.get(existing.getClassroomUuid()) : null;
+            existingRoom[e] = roomId != null ? roomId : -1;
+            existingClasses[e] = internAll(classIds, existing.getClassUuids());
+            TimeSlot slot = existing.getTimeSlot();
+            existingWeekMask[e] = slot.getWeekMask();
+            for (int s = 0; s < slotCount; s++) {
+                if (slotDay[s] == slot.getDayOfWeek()
+                        && slotSectionEnd[s] >= slot.getSectionStart()
+                        && slotSectionStart[s] <= slot.getSectionEnd()) {
+                    existingSlotLists.get(s).add(e);
+                }
+            }
+        }
+        this.existingBySlot = new int[slotCount][];
+        for (int s = 0; s < slotCount; s++) {
+            existingBySlot[s] = existingSlotLists.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.teacherCount = teacherIds.size();
+        this.classCount = classIds.size();
+        this.existingTeacherWeeks = new long[teacherCount * slotCount];
+        this.existingRoomWeeks = new long[roomCount * slotCount];
+        this.existingClassWeeks = new long[classCount * slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            for (int e : existingBySlot[slot]) {
+                long weeks = existingWeekMask[e];
+                if (existingTeacher[e] >= 0) {
+                    existingTeacherWeeks[existingTeacher[e] * slotCount + slot] |= weeks;
+                }
+                if (existingRoom[e] >= 0) {
+                    existingRoomWeeks[existingRoom[e] * slotCount + slot] |= weeks;
+                }
+                for (int k : existingClasses[e]) {
+                    existingClassWeeks[k * slotCount + slot] |= weeks;
+                }
+            }
+        }
+
+        // 教师偏好与工作量上限
+        Map<String, List<TimeSlot>> preferences = context.getTeacherTimePreferences();
+        this.teacherPreferenceEnabled = preferences != null && !preferences.isEmpty();
+        this.teacherPreferredSlots = new boolean[teacherCount][];
+        if (teacherPreferenceEnabled) {
+            for (Map.Entry<String, Integer> entry : teacherIds.entrySet()) {
+                List<TimeSlot> preferred = preferences.get(entry.getKey());
+                if (preferred == null) {
+                    continue;
+                }
+                boolean[] matched = new boolean[slotCount];
+                for (int s = 0; s < slotCount; s++) {
+                    for (TimeSlot p : preferred) {
+                        if (p.getDayOfWeek() == slotDay[s]
+                                && p.getSectionStart() == slotSectionStart[s]
+                                && p.getSectionEnd() == slotSectionEnd[s]) {
+                            matched[s] = true;
+                            break;
+                        }
+                    }
+                }
+                teacherPreferredSlots[entry.getValue()] = matched;
+            }
+        }
+        Map<String, Integer> maxHours = context.getTeacherMaxHours();
+        this.workloadBalanceEnabled = maxHours != null && !maxHours.isEmpty();
+        this.teacherMaxHours = new int[teacherCount];
+        if (workloadBalanceEnabled) {
+            for (Map.Entry<String, Integer> entry : teacherIds.entrySet()) {
+                Integer hours = maxHours.get(entry.getKey());
+                teacherMaxHours[entry.getValue()] = hours != null && hours > 0 ? hours : 0;
+            }
+        }
+
+        // 可选时间槽依赖已有排课占用位图，最后计算
+        this.tcCandidateSlots = new int[teachingClassCount][];
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            tcCandidateSlots[tc] = buildCandidateSlots(tc);
+        }
+
+        this.combinedPairs = buildCombinedPairs();
+        this.tcCombinedPairs = buildTcCombinedPairs();
+
+        log.debug("排课索引构建完成: 时间槽 {}, 教室 {}, 教师 {}, 行政班 {}, 教学班 {}, 课次 {}, 已有排课 {}",
+                slotCount, roomCount, teacherCount, classCount, teachingClassCount, sessionCount, existingCount);
+    }
+
+    /**
+     * 两个升序编号数组是否有交集
+     */
+    public static boolean intersects(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                return true;
+            }
+            if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 将紧凑染色体解码为完整的排课方案
+     *
+     * @param compact 紧凑染色体
+     * @return 排课方案（适应度等统计字段从紧凑染色体复制）
+     */
+    public Chromosome decode(CompactChromosome compact) {
+        Chromosome chromosome = new Chromosome();
+        int[] scheduled = new int[teachingClassCount];
+        for (int session = 0; session < sessionCount; session++) {
+            int slot = compact.getSlot(session);
+            if (slot < 0) {
+                continue;
+            }
+            int tc = sessionTc[session];
+            scheduled[tc]++;
+
+            TimeSlot timeSlot = TimeSlot.of(slotDay[slot], slotSectionStart[slot], slotSectionEnd[slot], tcWeekMask[tc]);
+            chromosome.getGenes()
+                    .computeIfAbsent(timeSlot, k -> new ArrayList<>())
+                    .add(buildAppointment(teachingClasses.get(tc), rooms.get(compact.getRoom(session)), timeSlot));
+        }
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            if (scheduled[tc] < tcWeeklySessions[tc]) {
+                chromosome.getUnscheduledTeachingClasses().add(teachingClasses.get(tc).getTeachingClassUuid());
+            }
+        }
+        chromosome.setFitness(compact.getFitness());
+        chromosome.setHardConstraintViolations(compact.getHardConstraintViolations());
+        return chromosome;
+    }
+
+    /**
+     * 构建课程安排对象
+     */
+    private CourseAppointment buildAppointment(ScheduleContext.TeachingClassInfo tc,
+                                               ScheduleContext.ClassroomInfo room, TimeSlot timeSlot) {
+        CourseAppointment appointment = new CourseAppointment();
+        appointment.setTeachingClassUuid(tc.getTeachingClassUuid());
+        appointment.setTeachingClassName(tc.getTeachingClassName());
+        appointment.setCourseUuid(tc.getCourseUuid());
+        appointment.setCourseName(tc.getCourseName());
+        appointment.setCourseTotalHours(tc.getCourseTotalHours());
+        appointment.setTeacherUuid(tc.getTeacherUuid());
+        appointment.setTeacherName(tc.getTeacherName());
+        appointment.setClassroomUuid(room.getClassroomUuid());
+        appointment.setClassroomName(room.getClassroomName());
+        appointment.setClassroomCapacity(room.getCapacity());
+        appointment.setClassroomTypeUuid(room.getClassroomTypeUuid());
+        appointment.setCourseTypeUuid(tc.getCourseTypeUuid());
+        appointment.setClassUuids(tc.getClassUuids());
+        appointment.setTotalStudents(tc.getTotalStudents());
+        appointment.setTimeSlot(timeSlot);
+        return appointment;
+    }
+
+    /**
+     * 计算教学班可选教室：与原 selectSuitableClassroom 规则一致
+     * 有类型映射时只取允许类型的教室，否则取全部教室；优先容量足够的教室，没有则放宽容量。
+     * 结果按容量与学生数的差距升序排列（容量未知的排在最后），靠前的教室最贴合教学班规模
+     */
+    private int[] buildCandidateRooms(List<String> allowedTypes, int students, Map<String, Integer> roomIds) {
+        Set<Integer> typed = new LinkedHashSet<>();
+        if (allowedTypes != null && !allowedTypes.isEmpty()) {
+            for (String classroomTypeUuid : allowedTypes) {
+                List<ScheduleContext.ClassroomInfo> typeRooms = context.getAvailableClassrooms() != null
+                        ? context.getAvailableClassrooms().get(classroomTypeUuid)
+                        : null;
+                if (typeRooms != null) {
+                    for (ScheduleContext.ClassroomInfo room : typeRooms) {
+                        typed.add(roomIds.get(room.getClassroomUuid()));
+                    }
+                }
+            }
+        } else {
+            for (int r = 0; r < roomCount; r++) {
+                typed.add(r);
+            }
+        }
+        List<Integer> candidates = typed.stream()
+                .filter(r -> roomCapacity[r] >= students)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (candidates.isEmpty()) {
+            candidates.addAll(typed);
+        }
+        int demand = Math.max(students, 0);
+        candidates.sort(Comparator.comparingInt(
+                r -> roomCapacity[r] < 0 ? Integer.MAX_VALUE : Math.abs(roomCapacity[r] - demand)));
+        return candidates.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 计算教学班可选时间槽：教师、行政班在该时间槽与已有排课周次不重叠，且至少一间可选教室未被已有排课占用
+     */
+    private int[] buildCandidateSlots(int tc) {
+        long weeks = tcWeekMask[tc];
+        int teacher = tcTeacher[tc];
+        int[] candidates = IntStream.range(0, slotCount)
+                .filter(slot -> teacher < 0 || (existingTeacherWeeks[teacher * slotCount + slot] & weeks) == 0)
+                .filter(slot -> Arrays.stream(tcClasses[tc])
+                        .allMatch(k -> (existingClassWeeks[k * slotCount + slot] & weeks) == 0))
+                .filter(slot -> tcCandidateRooms[tc].length == 0 || Arrays.stream(tcCandidateRooms[tc])
+                        .anyMatch(r -> (existingRoomWeeks[r * slotCount + slot] & weeks) == 0))
+                .toArray();
+        if (candidates.length == 0 && slotCount > 0) {
+            log.warn("教学班[{}]的所有时间槽都与已有排课冲突，保留全部时间槽",
+                    teachingClasses.get(tc).getTeachingClassName());
+            return IntStream.range(0, slotCount).toArray();
+        }
+        return candidates;
+    }
+
+    /**
+     * 计算教室类型是否允许（未知类型的教室视为允许）
+     */
+    private boolean[] buildRoomTypeAllowed(List<String> allowedTypes) {
+        boolean[] allowed = new boolean[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            String type = rooms.get(r).getClassroomTypeUuid();
+            allowed[r] = type == null || allowedTypes.contains(type);
+        }
+        return allowed;
+    }
+
+    /**
+     * 教师资格是否违反约束（与 ConflictDetector 规则一致）
+     */
+    private boolean isQualificationViolated(ScheduleContext.TeachingClassInfo info) {
+        Map<String, List<String>> qualifications = context.getCourseTeacherQualifications();
+        if (qualifications == null || qualifications.isEmpty()
+                || info.getCourseUuid() == null || info.getTeacherUuid() == null) {
+            return false;
+        }
+        List<String> qualifiedTeachers = qualifications.get(info.getCourseUuid());
+        return qualifiedTeachers == null || qualifiedTeachers.isEmpty()
+                || !qualifiedTeachers.contains(info.getTeacherUuid());
+    }
+
+    /**
+     * 合班约束：同一课程下行政班组合完全相同的不同教学班需在同一时间上课
+     */
+    private int[] buildCombinedPairs() {
+        Map<String, List<String>> courseClassMapping = context.getCourseClassMapping();
+        if (courseClassMapping == null || courseClassMapping.isEmpty()) {
+            return new int[0];
+        }
+        Map<String, List<Integer>> tcsByCourse = new HashMap<>();
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            String courseUuid = teachingClasses.get(tc).getCourseUuid();
+            if (courseClassMapping.containsKey(courseUuid)) {
+                tcsByCourse.computeIfAbsent(courseUuid, k -> new ArrayList<>()).add(tc);
+            }
+        }
+        List<Integer> pairs = new ArrayList<>();
+        for (List<Integer> tcs : tcsByCourse.values()) {
+            for (int i = 0; i < tcs.size(); i++) {
+                for (int j = i + 1; j < tcs.size(); j++) {
+                    if (Arrays.equals(tcClasses[tcs.get(i)], tcClasses[tcs.get(j)])) {
+                        pairs.add(tcs.get(i));
+                        pairs.add(tcs.get(j));
+                    }
+                }
+            }
+        }
+        return pairs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 按教学班归集合班对，增量评估移动一个课次时只重算其所在的合班对
+     */
+    private int[][] buildTcCombinedPairs() {
+        List<List<Integer>> byTc = new ArrayList<>(teachingClassCount);
+        for (int tc = 0; tc < teachingClassCount; tc++) {
+            byTc.add(new ArrayList<>());
+        }
+        for (int p = 0; p < combinedPairs.length; p += 2) {
+            byTc.get(combinedPairs[p]).add(p);
+            byTc.get(combinedPairs[p + 1]).add(p);
+        }
+        return byTc.stream()
+                .map(pairs -> pairs.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    private static int intern(Map<String, Integer> ids, String uuid) {
+        if (uuid == null) {
+            return -1;
+        }
+        return ids.computeIfAbsent(uuid, k -> ids.size());
+    }
+
+    private static int[] internAll(Map<String, Integer> ids, List<String> uuids) {
+        if (uuids == null) {
+            return new int[0];
+        }
+        return uuids.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(uuid -> intern(ids, uuid))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+}
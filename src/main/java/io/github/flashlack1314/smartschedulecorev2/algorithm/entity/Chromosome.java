@@ -53,14 +53,8 @@ public class Chromosome implements Comparable<Chromosome> {
             for (CourseAppointment appt : entry.getValue()) {
                 appointments.add(appt.copy());
             }
-            // 深度复制时间槽
-            TimeSlot originalSlot = entry.getKey();
-            TimeSlot copiedSlot = new TimeSlot();
-            copiedSlot.setDayOfWeek(originalSlot.getDayOfWeek());
-            copiedSlot.setSectionStart(originalSlot.getSectionStart());
-            copiedSlot.setSectionEnd(originalSlot.getSectionEnd());
-            copiedSlot.setWeeks(originalSlot.getWeeks() != null ? List.copyOf(originalSlot.getWeeks()) : null);
-            copiedGenes.put(copiedSlot, appointments);
+            // 时间槽不可变，直接共享
+            copiedGenes.put(entry.getKey(), appointments);
         }
         copy.setGenes(copiedGenes);
         copy.setFitness(this.fitness);
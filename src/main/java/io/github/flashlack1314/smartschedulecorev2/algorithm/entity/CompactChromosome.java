@@ -0,0 +1,158 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.entity;
+
+import lombok.Data;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑染色体：遗传算法迭代过程中使用的排课方案编码
+ * <p>
+ * 每个教学班按每周上课次数展开为若干课次（session），课次编号由 ScheduleIndex 分配。
+ * 第 i 个课次的安排存放在 genes[2i]（时间槽编号）与 genes[2i+1]（教室编号）中，-1 表示未安排。
+ * 复制染色体只需克隆一个 int 数组，最终结果再解码为 {@link Chromosome}。
+ * <p>
+ * 评估后染色体缓存各类冲突数与软约束分项，变异只移动少量课次时可据此增量更新适应度
+ * （见 FitnessCalculator#applyMove）；任何直接修改基因的操作都会使缓存失效。
+ * 时间槽占用索引 {@link SlotOccupancy} 建立后随基因修改同步更新，不会失效。
+ *
+ * @author flash
+ */
+@Data
+public class CompactChromosome implements Comparable<CompactChromosome> {
+
+    /**
+     * 未安排标记
+     */
+    public static final int UNSCHEDULED = -1;
+
+    /**
+     * 基因：[时间槽编号, 教室编号] 交错存放
+     */
+    private final int[] genes;
+    /**
+     * 适应度分数 (越大越好)
+     */
+    private double fitness;
+    /**
+     * 硬约束违反次数
+     */
+    private int hardConstraintViolations;
+    /**
+     * 未完成排课的教学班数量
+     */
+    private int unscheduledCount;
+
+    // ==================== 评估缓存 ====================
+
+    /**
+     * 适应度与下列缓存是否与当前基因一致
+     */
+    private boolean evaluated;
+    /**
+     * 按 Conflict.ConflictType 序号存放的冲突数量
+     */
+    private int[] conflictCounts;
+    /**
+     * 每天已安排的课次数
+     */
+    private int[] dayCounts;
+    private double teacherPreferenceScore;
+    private double workloadBalanceScore;
+    private double courseDistributionScore;
+    private double classroomContinuityScore;
+    /**
+     * 时间槽占用索引（首次完整评估时建立，为 null 表示尚未建立）
+     */
+    private SlotOccupancy occupancy;
+
+    public CompactChromosome(int sessionCount) {
+        this.genes = new int[sessionCount * 2];
+        Arrays.fill(this.genes, UNSCHEDULED);
+    }
+
+    private CompactChromosome(int[] genes) {
+        this.genes = genes;
+    }
+
+    /**
+     * 课次数量
+     */
+    public int getSessionCount() {
+        return genes.length / 2;
+    }
+
+    /**
+     * 获取课次的时间槽编号
+     */
+    public int getSlot(int session) {
+        return genes[session * 2];
+    }
+
+    /**
+     * 获取课次的教室编号
+     */
+    public int getRoom(int session) {
+        return genes[session * 2 + 1];
+    }
+
+    /**
+     * 设置课次的时间槽与教室
+     */
+    public void setGene(int session, int slot, int room) {
+        if (occupancy != null) {
+            occupancy.remove(session, genes[session * 2], genes[session * 2 + 1]);
+            occupancy.add(session, slot, room);
+        }
+        genes[session * 2] = slot;
+        genes[session * 2 + 1] = room;
+        evaluated = false;
+    }
+
+    /**
+     * 与另一条染色体交换指定课次的基因
+     */
+    public void swapGene(CompactChromosome other, int session) {
+        int offset = session * 2;
+        int slot = genes[offset];
+        int room = genes[offset + 1];
+        setGene(session, other.genes[offset], other.genes[offset + 1]);
+        other.setGene(session, slot, room);
+    }
+
+    /**
+     * 获取时间槽占用索引，尚未建立或尺寸不符时按当前基因建立
+     *
+     * @param slotCount 时间槽数量
+     * @param roomCount 教室数量
+     */
+    public SlotOccupancy occupancy(int slotCount, int roomCount) {
+        if (occupancy == null || !occupancy.fits(slotCount, roomCount)) {
+            occupancy = new SlotOccupancy(this, slotCount, roomCount);
+        }
+        return occupancy;
+    }
+
+    /**
+     * 复制染色体（数组克隆，评估缓存与占用索引一并复制）
+     */
+    public CompactChromosome copy() {
+        CompactChromosome copy = new CompactChromosome(genes.clone());
+        copy.setFitness(this.fitness);
+        copy.setHardConstraintViolations(this.hardConstraintViolations);
+        copy.setUnscheduledCount(this.unscheduledCount);
+        copy.setEvaluated(this.evaluated);
+        copy.setConflictCounts(this.conflictCounts != null ? this.conflictCounts.clone() : null);
+        copy.setDayCounts(this.dayCounts != null ? this.dayCounts.clone() : null);
+        copy.setTeacherPreferenceScore(this.teacherPreferenceScore);
+        copy.setWorkloadBalanceScore(this.workloadBalanceScore);
+        copy.setCourseDistributionScore(this.courseDistributionScore);
+        copy.setClassroomContinuityScore(this.classroomContinuityScore);
+        copy.setOccupancy(this.occupancy != null ? this.occupancy.copy() : null);
+        return copy;
+    }
+
+    @Override
+    public int compareTo(CompactChromosome other) {
+        return Double.compare(other.fitness, this.fitness);
+    }
+}
@@ -110,15 +110,8 @@ public class CourseAppointment {
         copy.setClassUuids(this.classUuids != null ? List.copyOf(this.classUuids) : null);
         copy.setTotalStudents(this.totalStudents);
 
-        // 深度复制时间槽
-        if (this.timeSlot != null) {
-            TimeSlot copiedSlot = new TimeSlot();
-            copiedSlot.setDayOfWeek(this.timeSlot.getDayOfWeek());
-            copiedSlot.setSectionStart(this.timeSlot.getSectionStart());
-            copiedSlot.setSectionEnd(this.timeSlot.getSectionEnd());
-            copiedSlot.setWeeks(this.timeSlot.getWeeks() != null ? List.copyOf(this.timeSlot.getWeeks()) : null);
-            copy.setTimeSlot(copiedSlot);
-        }
+        // 时间槽不可变，直接共享
+        copy.setTimeSlot(this.timeSlot);
 
         return copy;
     }
@@ -0,0 +1,124 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.entity;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑染色体的时间槽占用索引：按时间槽串联已安排课次的双向链表，以及 (教室, 时间槽) 的占用次数
+ * <p>
+ * 增量评估移动一个课次时，只需访问同一时间槽内的课次与同一 (教室, 天) 的占用，
+ * 不必扫描整条染色体。索引在完整评估时建立，此后随 {@link CompactChromosome#setGene} 同步更新。
+ *
+ * @author flash
+ */
+public class SlotOccupancy {
+
+    private final int slotCount;
+    /**
+     * 时间槽编号 -> 链表中第一个课次，-1 表示该时间槽没有课次
+     */
+    private final int[] slotHead;
+    /**
+     * 课次编号 -> 同一时间槽的下一个 / 上一个课次，-1 表示链尾 / 链首
+     */
+    private final int[] next;
+    private final int[] prev;
+    /**
+     * (教室, 时间槽) 占用次数，按 教室编号 × slotCount + 时间槽编号 寻址
+     */
+    private final int[] roomSlotCounts;
+
+    /**
+     * 按染色体当前基因建立索引
+     *
+     * @param chromosome 紧凑染色体
+     * @param slotCount  时间槽数量
+     * @param roomCount  教室数量
+     */
+    public SlotOccupancy(CompactChromosome chromosome, int slotCount, int roomCount) {
+        int sessionCount = chromosome.getSessionCount();
+        this.slotCount = slotCount;
+        this.slotHead = new int[slotCount];
+        this.next = new int[sessionCount];
+        this.prev = new int[sessionCount];
+        this.roomSlotCounts = new int[roomCount * slotCount];
+        Arrays.fill(slotHead, -1);
+        for (int session = 0; session < sessionCount; session++) {
+            add(session, chromosome.getSlot(session), chromosome.getRoom(session));
+        }
+    }
+
+    private SlotOccupancy(SlotOccupancy other) {
+        this.slotCount = other.slotCount;
+        this.slotHead = other.slotHead.clone();
+        this.next = other.next.clone();
+        this.prev = other.prev.clone();
+        this.roomSlotCounts = other.roomSlotCounts.clone();
+    }
+
+    /**
+     * 索引的尺寸是否与排课规模一致
+     */
+    public boolean fits(int slotCount, int roomCount) {
+        return this.slotCount == slotCount && roomSlotCounts.length == roomCount * slotCount;
+    }
+
+    /**
+     * 时间槽中的第一个课次，-1 表示没有课次
+     */
+    public int first(int slot) {
+        return slotHead[slot];
+    }
+
+    /**
+     * 同一时间槽中的下一个课次，-1 表示没有更多课次
+     */
+    public int next(int session) {
+        return next[session];
+    }
+
+    /**
+     * (教室, 时间槽) 占用次数，按 教室编号 × 时间槽数量 + 时间槽编号 寻址（只读）
+     */
+    public int[] getRoomSlotCounts() {
+        return roomSlotCounts;
+    }
+
+    /**
+     * 将课次加入索引，时间槽为负（未安排）时忽略
+     */
+    void add(int session, int slot, int room) {
+        if (slot < 0) {
+            return;
+        }
+        int head = slotHead[slot];
+        next[session] = head;
+        prev[session] = -1;
+        if (head >= 0) {
+            prev[head] = session;
+        }
+        slotHead[slot] = session;
+        roomSlotCounts[room * slotCount + slot]++;
+    }
+
+    /**
+     * 将课次移出索引，时间槽为负（未安排）时忽略
+     */
+    void remove(int session, int slot, int room) {
+        if (slot < 0) {
+            return;
+        }
+        if (prev[session] >= 0) {
+            next[prev[session]] = next[session];
+        } else {
+            slotHead[slot] = next[session];
+        }
+        if (next[session] >= 0) {
+            prev[next[session]] = prev[session];
+        }
+        roomSlotCounts[room * slotCount + slot]--;
+    }
+
+    SlotOccupancy copy() {
+        return new SlotOccupancy(this);
+    }
+}
@@ -1,51 +1,142 @@
 package io.github.flashlack1314.smartschedulecorev2.algorithm.entity;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 时间槽：全局唯一的时间索引
  * 固定2节连上的时间表示
+ * <p>
+ * 不可变对象：星期与节次打包为一个 int，周次为64位位图，哈希值在构造时计算，
+ * 作为 {@link Chromosome} 基因 Map 的 Key 时比较和哈希均不分配内存。
+ * 通过 {@link #of} 创建的实例会被复用（相同时间与周次返回同一对象）。
  *
  * @author flash
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class TimeSlot {
+public final class TimeSlot {
+
+    /**
+     * 单次学时 (固定为2节)
+     */
+    public static final int HOURS_PER_SESSION = 2;
+
+    /**
+     * 复用实例的数量上限，超出后不再缓存新实例（不影响正确性）
+     */
+    private static final int MAX_INTERNED = 1 << 16;
+
+    private static final Map<TimeSlot, TimeSlot> INTERNED = new ConcurrentHashMap<>();
+
+    /**
+     * 星期几(bit 16-23)、起始节次(bit 8-15)、结束节次(bit 0-7)
+     */
+    private final int time;
+
+    /**
+     * 上课周次位图 (第n周对应第n-1位)
+     */
+    private final long weekMask;
+
+    private final int hash;
+
+    /**
+     * 周次列表视图（首次访问时生成）
+     */
+    private volatile List<Integer> weeks;
+
+    private TimeSlot(int dayOfWeek, int sectionStart, int sectionEnd, long weekMask) {
+        if ((dayOfWeek | sectionStart | sectionEnd) < 0 || dayOfWeek > 0xFF || sectionStart > 0xFF || sectionEnd > 0xFF) {
+            throw new IllegalArgumentException("时间槽参数超出范围: " + dayOfWeek + "-" + sectionStart + "-" + sectionEnd);
+        }
+        this.time = dayOfWeek << 16 | sectionStart << 8 | sectionEnd;
+        this.weekMask = weekMask;
+        this.hash = 31 * time + Long.hashCode(weekMask);
+    }
+
+    /**
+     * 获取时间槽
+     *
+     * @param dayOfWeek    星期几 (1-7)
+     * @param sectionStart 起始节次
+     * @param sectionEnd   结束节次
+     * @param weekMask     上课周次位图
+     * @return 时间槽（相同参数返回同一实例）
+     */
+    public static TimeSlot of(int dayOfWeek, int sectionStart, int sectionEnd, long weekMask) {
+        TimeSlot slot = new TimeSlot(dayOfWeek, sectionStart, sectionEnd, weekMask);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            TimeSlot interned = INTERNED.get(slot);
+            return interned != null ? interned : slot;
+        }
+        TimeSlot interned = INTERNED.putIfAbsent(slot, slot);
+        return interned != null ? interned : slot;
+    }
+
+    /**
+     * 获取时间槽
+     *
+     * @param weeks 上课周次列表（超出 1-64 的周次被忽略）
+     */
+    public static TimeSlot of(int dayOfWeek, int sectionStart, int sectionEnd, List<Integer> weeks) {
+        return of(dayOfWeek, sectionStart, sectionEnd, WeekMaskUtils.toMask(weeks));
+    }
+
     /**
      * 星期几 (1-7)
      */
-    private Integer dayOfWeek;
+    public int getDayOfWeek() {
+        return time >>> 16;
+    }
 
     /**
      * 起始节次 (固定为单数: 1,3,5,7,9,11)
      */
-    private Integer sectionStart;
+    public int getSectionStart() {
+        return (time >>> 8) & 0xFF;
+    }
 
     /**
      * 结束节次 (固定为sectionStart+1)
      */
-    private Integer sectionEnd;
+    public int getSectionEnd() {
+        return time & 0xFF;
+    }
 
     /**
-     * 上课周次列表 (如 [1,2,3,4,5])
+     * 周次位图（第 n 周对应第 n-1 位），与 sc_schedule.week_mask 一致
      */
-    private List<Integer> weeks;
+    public long getWeekMask() {
+        return weekMask;
+    }
 
     /**
-     * 单次学时 (固定为2节)
+     * 上课周次列表 (如 [1,2,3,4,5])，只读视图，供DTO与持久化层使用
      */
-    public static final int HOURS_PER_SESSION = 2;
+    public List<Integer> getWeeks() {
+        List<Integer> view = weeks;
+        if (view == null) {
+            view = Collections.unmodifiableList(WeekMaskUtils.toWeeks(weekMask));
+            weeks = view;
+        }
+        return view;
+    }
 
     /**
      * 时间槽唯一标识
      */
     public String getUniqueId() {
-        return dayOfWeek + "-" + sectionStart + "-" + sectionEnd + "-" + weeks.toString();
+        return getDayOfWeek() + "-" + getSectionStart() + "-" + getSectionEnd() + "-" + getWeeks();
+    }
+
+    /**
+     * 是否为同一时间（星期、节次相同，不考虑周次）
+     */
+    public boolean isSameTime(TimeSlot other) {
+        return this.time == other.time;
     }
 
     /**
@@ -55,22 +146,43 @@ public class TimeSlot {
      * @return 是否重叠
      */
     public boolean isOverlap(TimeSlot other) {
-        if (!this.dayOfWeek.equals(other.dayOfWeek)) {
+        if ((this.time >>> 16) != (other.time >>> 16)) {
             return false;
         }
         // 检查节次重叠
-        boolean sectionOverlap = !(this.sectionEnd < other.sectionStart || this.sectionStart > other.sectionEnd);
-        if (!sectionOverlap) {
+        if (this.getSectionEnd() < other.getSectionStart() || this.getSectionStart() > other.getSectionEnd()) {
             return false;
         }
         // 检查周次重叠
-        return this.weeks.stream().anyMatch(other.weeks::contains);
+        return (this.weekMask & other.weekMask) != 0;
     }
 
     /**
      * 计算本时间槽的总学时 (周次数 × 2)
      */
     public int getTotalHours() {
-        return weeks.size() * HOURS_PER_SESSION;
+        return Long.bitCount(weekMask) * HOURS_PER_SESSION;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeSlot other)) {
+            return false;
+        }
+        return time == other.time && weekMask == other.weekMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlot(dayOfWeek=" + getDayOfWeek() + ", sectionStart=" + getSectionStart()
+                + ", sectionEnd=" + getSectionEnd() + ", weeks=" + getWeeks() + ")";
     }
 }
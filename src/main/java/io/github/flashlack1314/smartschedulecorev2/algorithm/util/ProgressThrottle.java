@@ -0,0 +1,80 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 进度推送节流器：按墙钟时间间隔推送SSE进度，与迭代代数解耦
+ * <p>
+ * 算法本身全速运行，只有距离上次推送超过 intervalMillis 时才发送一次 progress 事件；
+ * 运行结束时调用 {@link #finish} 发送最终事件。
+ *
+ * @author flash
+ */
+@Slf4j
+public class ProgressThrottle {
+
+    /**
+     * 默认推送间隔（毫秒）
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000L;
+
+    private SseEmitter emitter;
+    private final long intervalNanos;
+    private long lastEmitNanos;
+
+    /**
+     * @param emitter        SSE emitter，可为null（不推送）
+     * @param intervalMillis 推送间隔（毫秒），0 表示每代都推送
+     */
+    public ProgressThrottle(SseEmitter emitter, long intervalMillis) {
+        this.emitter = emitter;
+        this.intervalNanos = Math.max(0L, intervalMillis) * 1_000_000L;
+        this.lastEmitNanos = System.nanoTime();
+    }
+
+    /**
+     * 每代结束时调用，到达时间间隔才真正推送
+     *
+     * @param generation     当前代（从0开始）
+     * @param maxGenerations 最大代数
+     * @param bestFitness    当前全局最优适应度
+     */
+    public void onGeneration(int generation, int maxGenerations, double bestFitness) {
+        if (emitter == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastEmitNanos < intervalNanos) {
+            return;
+        }
+        lastEmitNanos = now;
+        send(String.format("第 %d/%d 代，适应度: %.2f", generation + 1, maxGenerations, bestFitness));
+    }
+
+    /**
+     * 运行结束时推送最终进度事件
+     *
+     * @param generationsRun 实际执行的代数
+     * @param maxGenerations 最大代数
+     * @param bestFitness    最终最优适应度
+     */
+    public void finish(int generationsRun, int maxGenerations, double bestFitness) {
+        if (emitter == null) {
+            return;
+        }
+        send(String.format("第 %d/%d 代，适应度: %.2f（迭代结束）", generationsRun, maxGenerations, bestFitness));
+    }
+
+    private void send(String message) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(message));
+        } catch (Exception e) {
+            // 客户端已断开，后续不再推送
+            log.debug("SSE进度推送失败，停止推送: {}", e.getMessage());
+            emitter = null;
+        }
+    }
+}
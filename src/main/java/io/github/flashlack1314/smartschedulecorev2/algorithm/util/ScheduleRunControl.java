@@ -0,0 +1,56 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.util;
+
+/**
+ * 排课运行控制：在算法线程与外部（任务管理、状态查询）之间共享取消标记与实时进度
+ * <p>
+ * 算法每代结束时调用 {@link #onGeneration} 更新进度，并检查 {@link #isCancelled()}；
+ * 被取消时算法在当前代结束后停止，返回已找到的最优解。
+ *
+ * @author flash
+ */
+public class ScheduleRunControl {
+
+    private volatile boolean cancelled;
+    private volatile int generation;
+    private volatile int maxGenerations;
+    private volatile double bestFitness = Double.NaN;
+
+    /**
+     * 请求取消运行
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 记录一代的进度
+     *
+     * @param generation     已完成的代数
+     * @param maxGenerations 最大代数
+     * @param bestFitness    当前全局最优适应度
+     */
+    public void onGeneration(int generation, int maxGenerations, double bestFitness) {
+        this.generation = generation;
+        this.maxGenerations = maxGenerations;
+        this.bestFitness = bestFitness;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getMaxGenerations() {
+        return maxGenerations;
+    }
+
+    /**
+     * 当前全局最优适应度，尚未完成第一代时为 NaN
+     */
+    public double getBestFitness() {
+        return bestFitness;
+    }
+}
@@ -1,11 +1,12 @@
 package io.github.flashlack1314.smartschedulecorev2.algorithm.util;
 
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * 时间槽生成器：生成所有可能的时间槽
@@ -15,8 +16,6 @@ import java.util.Random;
 @Component
 public class TimeSlotGenerator {
 
-    private final Random random = new Random();
-
     /**
      * 生成所有可能的时间槽
      * 固定2节连上：1-2, 3-4, 5-6, 7-8, 9-10, 11-12
@@ -39,17 +38,13 @@ public class TimeSlotGenerator {
         if (weeks == null || weeks.isEmpty()) {
             weeks = List.of(1);
         }
+        long weekMask = WeekMaskUtils.toMask(weeks);
 
         // 每周上课天数
         for (int day = 1; day <= daysPerWeek; day++) {
             // 每天 sectionsPerDay / 2 个时段（每个时段2节）
             for (int section = 1; section <= sectionsPerDay; section += 2) {
-                TimeSlot slot = new TimeSlot();
-                slot.setDayOfWeek(day);
-                slot.setSectionStart(section);
-                slot.setSectionEnd(section + 1);
-                slot.setWeeks(new ArrayList<>(weeks));
-                timeSlots.add(slot);
+                timeSlots.add(TimeSlot.of(day, section, section + 1, weekMask));
             }
         }
 
@@ -60,9 +55,10 @@ public class TimeSlotGenerator {
      * 生成单个随机时间槽
      *
      * @param availableSlots 可用时间槽列表
+     * @param random         随机数生成器（由调用方的种子决定）
      * @return 随机选择的时间槽，如果列表为空则返回null
      */
-    public TimeSlot generateRandomTimeSlot(List<TimeSlot> availableSlots) {
+    public TimeSlot generateRandomTimeSlot(List<TimeSlot> availableSlots, SplittableRandom random) {
         if (availableSlots == null || availableSlots.isEmpty()) {
             return null;
         }
@@ -91,8 +87,6 @@ public class TimeSlotGenerator {
      * 判断两个时间槽是否是同一个时间槽（时间相同，不考虑周次）
      */
     private boolean isSameSlot(TimeSlot slot1, TimeSlot slot2) {
-        return slot1.getDayOfWeek().equals(slot2.getDayOfWeek()) &&
-                slot1.getSectionStart().equals(slot2.getSectionStart()) &&
-                slot1.getSectionEnd().equals(slot2.getSectionEnd());
+        return slot1.isSameTime(slot2);
     }
 }
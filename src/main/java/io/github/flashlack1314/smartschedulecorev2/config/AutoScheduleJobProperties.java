@@ -0,0 +1,33 @@
+package io.github.flashlack1314.smartschedulecorev2.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 后台排课任务配置属性
+ *
+ * @author flash
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auto-schedule.job")
+public class AutoScheduleJobProperties {
+
+    /**
+     * 同时执行的排课任务数（默认2）
+     */
+    private Integer maxConcurrentJobs = 2;
+
+    /**
+     * 等待执行的任务队列容量（默认10），队列已满时拒绝提交
+     */
+    private Integer queueCapacity = 10;
+
+    /**
+     * 已结束任务的保留时长（默认1小时），超时后不可再查询
+     */
+    private Duration retention = Duration.ofHours(1);
+}
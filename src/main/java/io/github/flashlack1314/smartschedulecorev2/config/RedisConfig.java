@@ -6,16 +6,23 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.CompactRedisSerializer;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.RedisCodecProperties;
+import io.github.flashlack1314.smartschedulecorev2.config.redis.RedisValueCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * Redis配置类
- * 配置RedisTemplate的序列化方式
+ * 配置RedisTemplate的序列化方式：Token、调课预览等热点类型使用二进制编解码器，其余类型使用JSON
  *
  * @author flash
  */
@@ -23,17 +30,48 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 public class RedisConfig {
 
     /**
-     * 配置RedisTemplate，使用Jackson序列化
+     * 配置RedisTemplate，热点类型使用二进制编解码器，其余类型使用Jackson序列化
      *
      * @param connectionFactory Redis连接工厂
+     * @param codecs            二进制编解码器
+     * @param codecProperties   序列化配置
      * @return RedisTemplate实例
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       List<RedisValueCodec<?>> codecs,
+                                                       RedisCodecProperties codecProperties) {
 
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
+        // 热点类型使用二进制格式，其余类型及旧的JSON数据交给Jackson
+        RedisSerializer<Object> valueSerializer = new CompactRedisSerializer(
+                Boolean.TRUE.equals(codecProperties.getCompactEnabled()) ? codecs : List.of(),
+                jsonRedisSerializer());
+
+        // 使用StringRedisSerializer来序列化和反序列化redis的key值
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+
+        // key采用String的序列化方式
+        template.setKeySerializer(stringRedisSerializer);
+        // hash的key也采用String的序列化方式
+        template.setHashKeySerializer(stringRedisSerializer);
+        // value序列化方式采用二进制/jackson
+        template.setValueSerializer(valueSerializer);
+        // hash的value序列化方式采用二进制/jackson
+        template.setHashValueSerializer(valueSerializer);
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 创建JSON序列化器（带类型信息，未注册二进制编解码器的类型使用）
+     *
+     * @return JSON序列化器
+     */
+    public static Jackson2JsonRedisSerializer<Object> jsonRedisSerializer() {
         // 配置ObjectMapper
         ObjectMapper objectMapper = new ObjectMapper();
 
@@ -52,22 +90,19 @@ public class RedisConfig {
 
         // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
         // 直接在构造函数中传入ObjectMapper（Spring 3.0+推荐方式）
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer =
-                new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
-
-        // 使用StringRedisSerializer来序列化和反序列化redis的key值
-        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
-
-        // key采用String的序列化方式
-        template.setKeySerializer(stringRedisSerializer);
-        // hash的key也采用String的序列化方式
-        template.setHashKeySerializer(stringRedisSerializer);
-        // value序列化方式采用jackson
-        template.setValueSerializer(jackson2JsonRedisSerializer);
-        // hash的value序列化方式采用jackson
-        template.setHashValueSerializer(jackson2JsonRedisSerializer);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    }
 
-        template.afterPropertiesSet();
-        return template;
+    /**
+     * Redis消息监听容器，用于接收缓存失效广播
+     *
+     * @param connectionFactory Redis连接工厂
+     * @return 消息监听容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
     }
-}
\ No newline at end of file
+}
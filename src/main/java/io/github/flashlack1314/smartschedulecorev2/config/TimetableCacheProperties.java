@@ -0,0 +1,54 @@
+package io.github.flashlack1314.smartschedulecorev2.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 课表缓存配置属性
+ *
+ * @author flash
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "timetable.cache")
+public class TimetableCacheProperties {
+
+    /**
+     * 是否启用课表缓存（默认启用）
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Redis缓存有效期（默认30分钟）
+     */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /**
+     * 本地缓存有效期（默认1分钟），不超过Redis缓存有效期；
+     * 失效广播丢失时，其他节点最多在此时间内读到旧课表
+     */
+    private Duration localTtl = Duration.ofMinutes(1);
+
+    /**
+     * 学期版本号的本地刷新间隔（默认2秒），间隔内读取课表不访问Redis获取版本号
+     */
+    private Duration versionRefreshInterval = Duration.ofSeconds(2);
+
+    /**
+     * 本地缓存最大条目数（默认5000），超出时淘汰最久未访问的条目
+     */
+    private Integer localMaxEntries = 5000;
+
+    /**
+     * Redis Key前缀
+     */
+    private String redisKeyPrefix = "timetable:";
+
+    /**
+     * 课表缓存失效广播频道，排课变更时通知所有节点清除本地缓存
+     */
+    private String invalidationChannel = "timetable:cache:invalidate";
+}
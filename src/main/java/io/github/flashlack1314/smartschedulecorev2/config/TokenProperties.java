@@ -17,7 +17,7 @@ import java.time.Duration;
 public class TokenProperties {
 
     /**
-     * Token有效期（默认12小时）
+     * Token有效期（默认12小时），写入Redis时作为Key的过期时间
      */
     private Duration expiration = Duration.ofHours(12);
 
@@ -45,4 +45,44 @@ public class TokenProperties {
      * 用户Token索引Key前缀
      */
     private String userTokensPrefix = "auth:user_tokens:";
-}
\ No newline at end of file
+
+    /**
+     * 是否启用本地Token缓存（默认启用），命中时不访问Redis
+     */
+    private Boolean localCacheEnabled = true;
+
+    /**
+     * 本地Token缓存有效期（默认30秒），同时不超过Token自身的过期时间
+     */
+    private Duration localCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * 本地Token缓存最大条目数（默认10000），超出时淘汰最久未访问的条目
+     */
+    private Integer localCacheMaxEntries = 10000;
+
+    /**
+     * Token失效广播频道，删除Token时通知所有节点清除本地缓存
+     */
+    private String invalidationChannel = "auth:token:invalidate";
+
+    /**
+     * 是否启用滑动会话（默认启用）：读取Token时在同一次Redis调用中续期
+     */
+    private Boolean slidingEnabled = true;
+
+    /**
+     * 滑动续期最小间隔（默认1分钟）：距上次续期不足该间隔时不再续期，避免每次请求都写Redis
+     */
+    private Duration slidingInterval = Duration.ofMinutes(1);
+
+    /**
+     * 是否启用用户Token索引清理任务（默认启用）
+     */
+    private Boolean sweepEnabled = true;
+
+    /**
+     * 用户Token索引清理间隔（默认10分钟），清理时移除已过期的Token
+     */
+    private Duration sweepInterval = Duration.ofMinutes(10);
+}
@@ -67,6 +67,16 @@ public class DatabaseInitProperties {
      */
     private List<String> sqlFiles = new ArrayList<>();
 
+    /**
+     * 表结构迁移SQL文件（每次启动执行，不受 enabled 控制；初始化时在建表后、维护索引前再执行一次，留空则不执行迁移）
+     */
+    private String migrationSqlFile = "classpath:sql/sc_migrations.sql";
+
+    /**
+     * 业务查询索引SQL文件（表结构检查后执行，留空则不维护索引）
+     */
+    private String indexSqlFile = "classpath:sql/sc_indexes.sql";
+
     @PostConstruct
     public void init() {
         // 如果配置为空，使用默认的表依赖顺序
@@ -80,6 +90,8 @@ public class DatabaseInitProperties {
         log.info("  dropAllOnMissing: {}", dropAllOnMissing);
         log.info("  failFast: {}", failFast);
         log.info("  表数量: {}", tables.size());
+        log.info("  migrationSqlFile: {}", migrationSqlFile);
+        log.info("  indexSqlFile: {}", indexSqlFile);
     }
 
     /**
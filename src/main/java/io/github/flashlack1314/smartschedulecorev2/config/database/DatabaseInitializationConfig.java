@@ -6,21 +6,15 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
 
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 数据库初始化配置类
- * 系统启动时检查表结构是否完整
+ * 系统启动时检查表结构是否完整（表结构迁移不受此开关控制，见 {@link SchemaMigrator}）
  *
  * @author flash
  */
@@ -32,6 +26,7 @@ public class DatabaseInitializationConfig {
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseInitProperties properties;
     private final InitializeDatabase initializeDatabase;
+    private final SchemaMigrator schemaMigrator;
 
     @Bean
     @Order(1)
@@ -45,12 +40,14 @@ public class DatabaseInitializationConfig {
             log.info("开始检查数据库表结构...");
             try {
                 // 检查表是否完整
-                List<String> missingTables = this.checkTables();
+                List<String> missingTables = schemaMigrator.checkTables();
                 // 场景1: 配置强制重建
                 if (properties.isDropAndCreate()) {
                     log.warn("强制重新创建模式：将删除所有表后重新创建");
                     this.dropAllTables();
                     this.createAllTables();
+                    schemaMigrator.applyMigrations();
+                    this.applyIndexes();
                     log.info("强制重新创建模式完成");
                     log.info("初始化数据库数据");
                     initializeDatabase.initializeDatabase(properties.getMode());
@@ -59,6 +56,8 @@ public class DatabaseInitializationConfig {
                 // 场景2: 表都存在
                 if (missingTables.isEmpty()) {
                     log.info("数据库表结构检查通过，所有必需的表都存在");
+                    // 表结构迁移已在启动时由 SchemaMigrator 执行
+                    this.applyIndexes();
                     log.info("========================================");
                     return;
                 }
@@ -72,6 +71,8 @@ public class DatabaseInitializationConfig {
                 } else {
                     this.createMissingTables(missingTables);
                 }
+                schemaMigrator.applyMigrations();
+                this.applyIndexes();
                 log.info("表结构修复完成");
                 log.info("========================================");
 
@@ -86,32 +87,6 @@ public class DatabaseInitializationConfig {
         };
     }
 
-    /**
-     * 检查必需的表是否存在
-     */
-    private List<String> checkTables() throws Exception {
-        List<String> missingTables = new ArrayList<>();
-
-        if (jdbcTemplate.getDataSource() != null) {
-            try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
-                DatabaseMetaData metaData = connection.getMetaData();
-
-                for (String tableName : properties.getTables()) {
-                    try (ResultSet tables = metaData.getTables(null, "public", tableName, new String[]{"TABLE"})) {
-                        if (!tables.next()) {
-                            missingTables.add(tableName);
-                            log.warn("表 {} 不存在", tableName);
-                        } else {
-                            log.debug("表 {} 已存在", tableName);
-                        }
-                    }
-                }
-            }
-        }
-
-        return missingTables;
-    }
-
     /**
      * 删除所有配置的表（按反向顺序删除以避免外键约束）
      */
@@ -152,7 +127,7 @@ public class DatabaseInitializationConfig {
             String sqlFile = properties.getSqlFiles().get(i);
 
             log.info("正在创建表: {} ({}/{})", tableName, i + 1, properties.getTables().size());
-            this.executeSqlFile(sqlFile);
+            schemaMigrator.executeSqlFile(sqlFile);
             log.info("✓ 创建表成功: {}", tableName);
         }
         log.info("所有表创建完成");
@@ -169,7 +144,7 @@ public class DatabaseInitializationConfig {
 
             if (missingTables.contains(tableName)) {
                 log.info("正在创建缺失的表: {}", tableName);
-                this.executeSqlFile(sqlFile);
+                schemaMigrator.executeSqlFile(sqlFile);
                 log.info("✓ 创建表成功: {}", tableName);
             }
         }
@@ -177,72 +152,14 @@ public class DatabaseInitializationConfig {
     }
 
     /**
-     * 执行SQL文件
-     */
-    private void executeSqlFile(String sqlFilePath) throws Exception {
-        log.debug("执行SQL文件: {}", sqlFilePath);
-
-        // 移除 classpath: 前缀
-        String resourcePath = sqlFilePath.replace("classpath:", "");
-        ClassPathResource resource = new ClassPathResource(resourcePath);
-
-        if (!resource.exists()) {
-            throw new RuntimeException("SQL文件不存在: " + sqlFilePath);
-        }
-
-        // 读取SQL文件内容
-        String sqlContent = FileCopyUtils.copyToString(
-                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)
-        );
-
-        // 先移除所有注释行，再分割SQL语句
-        StringBuilder cleanedSql = new StringBuilder();
-        for (String line : sqlContent.split("\n")) {
-            String trimmedLine = line.trim();
-            // 跳过纯注释行
-            if (!trimmedLine.startsWith("--")) {
-                // 移除行尾注释
-                int commentIndex = trimmedLine.indexOf("--");
-                if (commentIndex > 0) {
-                    trimmedLine = trimmedLine.substring(0, commentIndex).trim();
-                }
-                if (!trimmedLine.isEmpty()) {
-                    cleanedSql.append(trimmedLine).append(" ");
-                }
-            }
-        }
-
-        // 分割SQL语句（以分号结尾）
-        String[] sqlStatements = cleanedSql.toString().split(";");
-
-        int statementCount = 0;
-        for (String sql : sqlStatements) {
-            sql = sql.trim();
-
-            // 跳过空语句
-            if (sql.isEmpty()) {
-                continue;
-            }
-
-            this.executeSql(sql);
-            statementCount++;
-        }
-
-        if (statementCount > 0) {
-            log.debug("成功执行 {} 条SQL语句", statementCount);
-        }
-    }
-
-    /**
-     * 执行单条SQL语句
+     * 维护业务查询索引（索引语句均为 if not exists，已存在的索引会被跳过）
      */
-    private void executeSql(String sql) {
-        try {
-            log.debug("执行SQL: {}", sql.substring(0, Math.min(50, sql.length())) + "...");
-            jdbcTemplate.execute(sql);
-        } catch (Exception e) {
-            log.error("执行SQL失败: {}\nSQL: {}", e.getMessage(), sql);
-            throw e;
+    private void applyIndexes() throws Exception {
+        if (!StringUtils.hasText(properties.getIndexSqlFile())) {
+            return;
         }
+        log.info("开始检查业务查询索引: {}", properties.getIndexSqlFile());
+        schemaMigrator.executeSqlFile(properties.getIndexSqlFile());
+        log.info("业务查询索引检查完成");
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.xlf.utility.util.UuidUtil;
 import io.github.flashlack1314.smartschedulecorev2.dao.*;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -489,7 +490,10 @@ public class ScheduleConflictInitializer {
             return false;
         }
 
-        // 4. 周次有重叠
+        // 4. 周次有重叠（位图未回填时为 NULL 或 0，改用周次JSON判断）
+        if (a.getWeekMask() != null && a.getWeekMask() != 0L && b.getWeekMask() != null && b.getWeekMask() != 0L) {
+            return WeekMaskUtils.overlaps(a.getWeekMask(), b.getWeekMask());
+        }
         return hasWeeksOverlap(a.getWeeksJson(), b.getWeeksJson());
     }
 
@@ -6,6 +6,7 @@ import com.xlf.utility.util.UuidUtil;
 import io.github.flashlack1314.smartschedulecorev2.dao.ScheduleDAO;
 import io.github.flashlack1314.smartschedulecorev2.dao.TeachingClassDAO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -69,6 +70,12 @@ public class ScheduleInitializer {
         };
 
         String[] weeksArray = {fullWeeks, weeks1to8, weeks1to16, weeks9to16};
+        long[] weekMaskArray = {
+                WeekMaskUtils.firstWeeks(18),
+                WeekMaskUtils.firstWeeks(8),
+                WeekMaskUtils.firstWeeks(16),
+                WeekMaskUtils.firstWeeks(16) & ~WeekMaskUtils.firstWeeks(8)
+        };
 
         // 为前40个教学班生成排课记录（每个教学班1-2条）
         for (int tcIndex = 0; tcIndex < Math.min(40, teachingClasses.size()); tcIndex++) {
@@ -95,6 +102,7 @@ public class ScheduleInitializer {
                         .setSectionStart(template[1])
                         .setSectionEnd(template[2])
                         .setWeeksJson(weeksArray[template[4]])
+                        .setWeekMask(weekMaskArray[template[4]])
                         .setStatus(1);
 
                 // 计算学时
@@ -132,6 +140,7 @@ public class ScheduleInitializer {
                     .setSectionStart(template[1])
                     .setSectionEnd(template[2])
                     .setWeeksJson(weeksArray[template[4]])
+                    .setWeekMask(weekMaskArray[template[4]])
                     .setStatus(1);
 
             // 计算学时
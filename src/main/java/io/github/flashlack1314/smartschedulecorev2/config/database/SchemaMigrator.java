@@ -0,0 +1,161 @@
+package io.github.flashlack1314.smartschedulecorev2.config.database;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 表结构迁移器
+ * <p>
+ * 实体类映射的字段可能晚于已部署的数据库加入，迁移必须先于任何业务查询完成，
+ * 因此在Bean初始化阶段（Web服务开始接收请求之前）执行，不受 database.init.enabled 控制。
+ * 表不完整时跳过（由数据库初始化流程按最新脚本建表后再执行迁移）；迁移失败时终止应用启动。
+ *
+ * @author flash
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseInitProperties properties;
+
+    @PostConstruct
+    public void migrate() {
+        if (!StringUtils.hasText(properties.getMigrationSqlFile())) {
+            return;
+        }
+        try {
+            List<String> missingTables = this.checkTables();
+            if (!missingTables.isEmpty()) {
+                log.info("表结构不完整，跳过启动时的表结构迁移，缺失的表: {}", missingTables);
+                return;
+            }
+            this.applyMigrations();
+        } catch (Exception e) {
+            throw new RuntimeException("表结构迁移失败", e);
+        }
+    }
+
+    /**
+     * 执行表结构迁移（补齐旧版本缺少的字段并回填数据，语句均可重复执行）
+     */
+    public void applyMigrations() throws Exception {
+        if (!StringUtils.hasText(properties.getMigrationSqlFile())) {
+            return;
+        }
+        log.info("开始执行表结构迁移: {}", properties.getMigrationSqlFile());
+        this.executeSqlFile(properties.getMigrationSqlFile());
+        log.info("表结构迁移完成");
+    }
+
+    /**
+     * 检查必需的表是否存在
+     */
+    public List<String> checkTables() throws Exception {
+        List<String> missingTables = new ArrayList<>();
+
+        if (jdbcTemplate.getDataSource() != null) {
+            try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+                DatabaseMetaData metaData = connection.getMetaData();
+
+                for (String tableName : properties.getTables()) {
+                    try (ResultSet tables = metaData.getTables(null, "public", tableName, new String[]{"TABLE"})) {
+                        if (!tables.next()) {
+                            missingTables.add(tableName);
+                            log.warn("表 {} 不存在", tableName);
+                        } else {
+                            log.debug("表 {} 已存在", tableName);
+                        }
+                    }
+                }
+            }
+        }
+
+        return missingTables;
+    }
+
+    /**
+     * 执行SQL文件
+     */
+    public void executeSqlFile(String sqlFilePath) throws Exception {
+        log.debug("执行SQL文件: {}", sqlFilePath);
+
+        // 移除 classpath: 前缀
+        String resourcePath = sqlFilePath.replace("classpath:", "");
+        ClassPathResource resource = new ClassPathResource(resourcePath);
+
+        if (!resource.exists()) {
+            throw new RuntimeException("SQL文件不存在: " + sqlFilePath);
+        }
+
+        // 读取SQL文件内容
+        String sqlContent = FileCopyUtils.copyToString(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)
+        );
+
+        // 先移除所有注释行，再分割SQL语句
+        StringBuilder cleanedSql = new StringBuilder();
+        for (String line : sqlContent.split("\n")) {
+            String trimmedLine = line.trim();
+            // 跳过纯注释行
+            if (!trimmedLine.startsWith("--")) {
+                // 移除行尾注释
+                int commentIndex = trimmedLine.indexOf("--");
+                if (commentIndex > 0) {
+                    trimmedLine = trimmedLine.substring(0, commentIndex).trim();
+                }
+                if (!trimmedLine.isEmpty()) {
+                    cleanedSql.append(trimmedLine).append(" ");
+                }
+            }
+        }
+
+        // 分割SQL语句（以分号结尾）
+        String[] sqlStatements = cleanedSql.toString().split(";");
+
+        int statementCount = 0;
+        for (String sql : sqlStatements) {
+            sql = sql.trim();
+
+            // 跳过空语句
+            if (sql.isEmpty()) {
+                continue;
+            }
+
+            this.executeSql(sql);
+            statementCount++;
+        }
+
+        if (statementCount > 0) {
+            log.debug("成功执行 {} 条SQL语句", statementCount);
+        }
+    }
+
+    /**
+     * 执行单条SQL语句
+     */
+    private void executeSql(String sql) {
+        try {
+            log.debug("执行SQL: {}", sql.substring(0, Math.min(50, sql.length())) + "...");
+            jdbcTemplate.execute(sql);
+        } catch (Exception e) {
+            log.error("执行SQL失败: {}\nSQL: {}", e.getMessage(), sql);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 二进制编解码工具：变长整数与可为 null 的常用字段
+ * 可为 null 的字段先写一个变长长度/标记，0 表示 null。
+ *
+ * @author flash
+ */
+public final class BinaryCodecs {
+
+    private BinaryCodecs() {
+    }
+
+    /**
+     * 写入非负变长整数（每字节7位）
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("变长整数格式错误");
+    }
+
+    /**
+     * 写入字符串：长度+1（null 写 0）后接 UTF-8 字节
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 写入整数：null 写 0，否则写 ZigZag 编码值+1
+     */
+    public static void writeInteger(DataOutput out, Integer value) throws IOException {
+        writeVarInt(out, value == null ? 0 : ((value << 1) ^ (value >> 31)) + 1);
+    }
+
+    public static Integer readInteger(DataInput in) throws IOException {
+        int raw = readVarInt(in);
+        if (raw == 0) {
+            return null;
+        }
+        int zigzag = raw - 1;
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * 写入布尔值：0 null，1 false，2 true
+     */
+    public static void writeBoolean(DataOutput out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    public static Boolean readBoolean(DataInput in) throws IOException {
+        int b = in.readUnsignedByte();
+        return b == 0 ? null : b == 2;
+    }
+
+    /**
+     * 写入时间：标记字节后接 UTC 秒数与纳秒（按本地时间字段原样保存，不做时区换算）
+     */
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(out, value.getNano());
+    }
+
+    public static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (in.readUnsignedByte() == 0) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        int nano = readVarInt(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * 写入字符串列表：元素数+1（null 写 0）后依次写入元素
+     */
+    public static void writeStringList(DataOutput out, List<String> values) throws IOException {
+        if (values == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, values.size() + 1);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    public static List<String> readStringList(DataInput in) throws IOException {
+        int size = readVarInt(in);
+        if (size == 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size - 1);
+        for (int i = 1; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
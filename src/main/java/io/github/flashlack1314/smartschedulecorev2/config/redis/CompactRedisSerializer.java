@@ -0,0 +1,93 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis值序列化器：已注册编解码器的类型使用二进制格式，其余类型交给JSON序列化器
+ * <p>
+ * 二进制数据格式：魔数(1字节) + 类型标识(1字节) + 版本(1字节) + 字段数据。
+ * 魔数 0xC5 不可能是JSON文本的首字节，因此读取时按首字节区分两种格式，
+ * 启用前写入的JSON数据仍可正常读取。
+ *
+ * @author flash
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 二进制格式魔数
+     */
+    static final byte MAGIC = (byte) 0xC5;
+
+    private final Map<Class<?>, RedisValueCodec<?>> codecsByType = new HashMap<>();
+    private final RedisValueCodec<?>[] codecsById = new RedisValueCodec<?>[256];
+    private final RedisSerializer<Object> fallback;
+
+    /**
+     * @param codecs   二进制编解码器
+     * @param fallback 未注册类型及非二进制数据使用的序列化器
+     */
+    public CompactRedisSerializer(List<RedisValueCodec<?>> codecs, RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+        for (RedisValueCodec<?> codec : codecs) {
+            int id = codec.typeId() & 0xFF;
+            if (codecsById[id] != null) {
+                throw new IllegalStateException("Redis编解码器类型标识重复: " + id + " ("
+                        + codecsById[id].type().getName() + ", " + codec.type().getName() + ")");
+            }
+            codecsById[id] = codec;
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        RedisValueCodec<Object> codec = value == null ? null : (RedisValueCodec<Object>) codecsByType.get(value.getClass());
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(codec.typeId());
+            out.writeByte(codec.version());
+            codec.write(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("Redis值编码失败: " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3) {
+            throw new SerializationException("Redis值数据不完整");
+        }
+        RedisValueCodec<?> codec = codecsById[bytes[1] & 0xFF];
+        if (codec == null) {
+            throw new SerializationException("未知的Redis值类型标识: " + (bytes[1] & 0xFF));
+        }
+        if (bytes[2] != codec.version()) {
+            throw new SerializationException("Redis值版本不匹配: " + codec.type().getSimpleName()
+                    + " 数据版本 " + bytes[2] + "，当前版本 " + codec.version());
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            return codec.read(in);
+        } catch (IOException e) {
+            throw new SerializationException("Redis值解码失败: " + codec.type().getName(), e);
+        }
+    }
+}
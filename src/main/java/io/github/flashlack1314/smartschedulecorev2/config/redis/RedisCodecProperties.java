@@ -0,0 +1,22 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis值序列化配置属性
+ *
+ * @author flash
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.codec")
+public class RedisCodecProperties {
+
+    /**
+     * 是否对已注册编解码器的类型使用二进制格式（默认启用）
+     * 关闭后全部写入JSON；读取时两种格式都能识别，滚动升级期间旧版本节点仍在运行时应先关闭
+     */
+    private Boolean compactEnabled = true;
+}
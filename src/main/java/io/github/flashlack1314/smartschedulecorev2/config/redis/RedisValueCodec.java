@@ -0,0 +1,49 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Redis值的二进制编解码器
+ * 为频繁读写的类型按固定字段顺序编码，不写入类名和字段名；
+ * 声明为 Spring Bean 即注册到 {@link CompactRedisSerializer}，未注册的类型仍使用JSON。
+ *
+ * @param <T> 值类型
+ * @author flash
+ */
+public interface RedisValueCodec<T> {
+
+    /**
+     * 类型标识（全局唯一，写入数据头部，已使用的值不能更换）
+     */
+    byte typeId();
+
+    /**
+     * 编码格式版本，字段变化时递增；读取到其他版本的数据视为无法解析
+     */
+    byte version();
+
+    /**
+     * 值类型（按精确类型匹配，不匹配子类）
+     */
+    Class<T> type();
+
+    /**
+     * 编码
+     *
+     * @param out   输出
+     * @param value 值（非 null）
+     * @throws IOException 写入失败
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * 解码
+     *
+     * @param in 输入
+     * @return 值
+     * @throws IOException 读取失败或数据不完整
+     */
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,101 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import io.github.flashlack1314.smartschedulecorev2.mcp.dto.SchedulePreviewDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static io.github.flashlack1314.smartschedulecorev2.config.redis.BinaryCodecs.*;
+
+/**
+ * 调课预览编解码器
+ * 字段顺序：previewId, semesterUuid, originalScheduleUuid, originalSchedule, newSchedule,
+ * conflictResult, createdAt；嵌套对象前有一个存在标记字节
+ *
+ * @author flash
+ */
+@Component
+public class SchedulePreviewCodec implements RedisValueCodec<SchedulePreviewDTO> {
+
+    @Override
+    public byte typeId() {
+        return 2;
+    }
+
+    @Override
+    public byte version() {
+        return 1;
+    }
+
+    @Override
+    public Class<SchedulePreviewDTO> type() {
+        return SchedulePreviewDTO.class;
+    }
+
+    @Override
+    public void write(DataOutput out, SchedulePreviewDTO value) throws IOException {
+        writeString(out, value.getPreviewId());
+        writeString(out, value.getSemesterUuid());
+        writeString(out, value.getOriginalScheduleUuid());
+        writeScheduleInfo(out, value.getOriginalSchedule());
+        writeScheduleInfo(out, value.getNewSchedule());
+        SchedulePreviewDTO.ConflictResult conflictResult = value.getConflictResult();
+        out.writeBoolean(conflictResult != null);
+        if (conflictResult != null) {
+            writeBoolean(out, conflictResult.getHasConflict());
+            writeStringList(out, conflictResult.getConflictTypes());
+            writeString(out, conflictResult.getConflictDescription());
+        }
+        writeDateTime(out, value.getCreatedAt());
+    }
+
+    @Override
+    public SchedulePreviewDTO read(DataInput in) throws IOException {
+        SchedulePreviewDTO value = new SchedulePreviewDTO()
+                .setPreviewId(readString(in))
+                .setSemesterUuid(readString(in))
+                .setOriginalScheduleUuid(readString(in))
+                .setOriginalSchedule(readScheduleInfo(in))
+                .setNewSchedule(readScheduleInfo(in));
+        if (in.readBoolean()) {
+            value.setConflictResult(new SchedulePreviewDTO.ConflictResult()
+                    .setHasConflict(readBoolean(in))
+                    .setConflictTypes(readStringList(in))
+                    .setConflictDescription(readString(in)));
+        }
+        value.setCreatedAt(readDateTime(in));
+        return value;
+    }
+
+    private static void writeScheduleInfo(DataOutput out, SchedulePreviewDTO.ScheduleInfo info) throws IOException {
+        out.writeBoolean(info != null);
+        if (info == null) {
+            return;
+        }
+        writeString(out, info.getCourseName());
+        writeString(out, info.getTeacherName());
+        writeString(out, info.getClassroomName());
+        writeInteger(out, info.getDayOfWeek());
+        writeString(out, info.getDayOfWeekStr());
+        writeInteger(out, info.getSectionStart());
+        writeInteger(out, info.getSectionEnd());
+        writeString(out, info.getWeeksJson());
+    }
+
+    private static SchedulePreviewDTO.ScheduleInfo readScheduleInfo(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new SchedulePreviewDTO.ScheduleInfo()
+                .setCourseName(readString(in))
+                .setTeacherName(readString(in))
+                .setClassroomName(readString(in))
+                .setDayOfWeek(readInteger(in))
+                .setDayOfWeekStr(readString(in))
+                .setSectionStart(readInteger(in))
+                .setSectionEnd(readInteger(in))
+                .setWeeksJson(readString(in));
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.TokenInfoDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static io.github.flashlack1314.smartschedulecorev2.config.redis.BinaryCodecs.*;
+
+/**
+ * 登录Token信息编解码器（每个需要认证的请求都会读取）
+ * 字段顺序：userUuid, userType(枚举名), loginTime, expireTime
+ *
+ * @author flash
+ */
+@Component
+public class TokenInfoCodec implements RedisValueCodec<TokenInfoDTO> {
+
+    @Override
+    public byte typeId() {
+        return 1;
+    }
+
+    @Override
+    public byte version() {
+        return 1;
+    }
+
+    @Override
+    public Class<TokenInfoDTO> type() {
+        return TokenInfoDTO.class;
+    }
+
+    @Override
+    public void write(DataOutput out, TokenInfoDTO value) throws IOException {
+        writeString(out, value.getUserUuid());
+        writeString(out, value.getUserType() != null ? value.getUserType().name() : null);
+        writeDateTime(out, value.getLoginTime());
+        writeDateTime(out, value.getExpireTime());
+    }
+
+    @Override
+    public TokenInfoDTO read(DataInput in) throws IOException {
+        TokenInfoDTO value = new TokenInfoDTO();
+        value.setUserUuid(readString(in));
+        String userType = readString(in);
+        value.setUserType(userType != null ? UserType.valueOf(userType) : null);
+        value.setLoginTime(readDateTime(in));
+        value.setExpireTime(readDateTime(in));
+        return value;
+    }
+}
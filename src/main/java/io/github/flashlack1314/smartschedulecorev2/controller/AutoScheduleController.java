@@ -6,8 +6,10 @@ import io.github.flashlack1314.smartschedulecorev2.annotation.RequireRole;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.AutoScheduleResult;
 import io.github.flashlack1314.smartschedulecorev2.enums.ActionType;
 import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.AutoScheduleJobDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
 import io.github.flashlack1314.smartschedulecorev2.service.ActivityLogService;
+import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleJobService;
 import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleService;
 import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleService.ConfirmResult;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,7 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class AutoScheduleController {
 
     private final AutoScheduleService autoScheduleService;
+    private final AutoScheduleJobService autoScheduleJobService;
     private final ActivityLogService activityLogService;
 
     /**
@@ -94,6 +97,75 @@ public class AutoScheduleController {
         return emitter;
     }
 
+    /**
+     * 提交后台排课任务（立即返回任务信息，排课在后台线程池中执行）
+     *
+     * @param token          Token
+     * @param autoScheduleVO 排课参数
+     * @return 任务信息
+     */
+    @PostMapping("/jobs")
+    @RequireRole({UserType.SYSTEM_ADMIN, UserType.ACADEMIC_ADMIN})
+    public ResponseEntity<BaseResponse<AutoScheduleJobDTO>> submitJob(
+            @RequestHeader("Authorization") String token,
+            @RequestBody AutoScheduleVO autoScheduleVO
+    ) {
+        log.info("提交排课任务，请求参数: {}", autoScheduleVO);
+        AutoScheduleJobDTO job = autoScheduleJobService.submit(autoScheduleVO);
+        // 记录活动日志
+        activityLogService.logActivity(token, ActionType.AUTO_SCHEDULE);
+        return ResultUtil.success("排课任务已提交", job);
+    }
+
+    /**
+     * 查询排课任务状态与当前最优适应度
+     *
+     * @param token   Token
+     * @param jobUuid 任务UUID
+     * @return 任务信息
+     */
+    @GetMapping("/jobs/{jobUuid}")
+    @RequireRole({UserType.SYSTEM_ADMIN, UserType.ACADEMIC_ADMIN})
+    public ResponseEntity<BaseResponse<AutoScheduleJobDTO>> getJob(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String jobUuid
+    ) {
+        return ResultUtil.success("查询成功", autoScheduleJobService.getJob(jobUuid));
+    }
+
+    /**
+     * 取消排课任务
+     *
+     * @param token   Token
+     * @param jobUuid 任务UUID
+     * @return 任务信息
+     */
+    @PostMapping("/jobs/{jobUuid}/cancel")
+    @RequireRole({UserType.SYSTEM_ADMIN, UserType.ACADEMIC_ADMIN})
+    public ResponseEntity<BaseResponse<AutoScheduleJobDTO>> cancelJob(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String jobUuid
+    ) {
+        log.info("取消排课任务: {}", jobUuid);
+        return ResultUtil.success("已请求取消", autoScheduleJobService.cancel(jobUuid));
+    }
+
+    /**
+     * 获取已完成排课任务的结果
+     *
+     * @param token   Token
+     * @param jobUuid 任务UUID
+     * @return 排课结果
+     */
+    @GetMapping("/jobs/{jobUuid}/result")
+    @RequireRole({UserType.SYSTEM_ADMIN, UserType.ACADEMIC_ADMIN})
+    public ResponseEntity<BaseResponse<AutoScheduleResult>> getJobResult(
+            @RequestHeader("Authorization") String token,
+            @PathVariable String jobUuid
+    ) {
+        return ResultUtil.success("查询成功", autoScheduleJobService.getResult(jobUuid));
+    }
+
     /**
      * 保存排课方案为预览状态
      *
@@ -4,17 +4,23 @@ import com.xlf.utility.BaseResponse;
 import com.xlf.utility.ResultUtil;
 import io.github.flashlack1314.smartschedulecorev2.annotation.RequireRole;
 import io.github.flashlack1314.smartschedulecorev2.enums.ActionType;
+import io.github.flashlack1314.smartschedulecorev2.enums.ExportFormat;
 import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.PageDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddScheduleVO;
 import io.github.flashlack1314.smartschedulecorev2.service.ActivityLogService;
 import io.github.flashlack1314.smartschedulecorev2.service.ScheduleService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -139,6 +145,45 @@ public class ScheduleController {
         return ResultUtil.success("删除排课成功");
     }
 
+    /**
+     * 流式导出学期排课（CSV 或 NDJSON）
+     * 数据库游标逐批读取并直接写入响应流，大学期导出不会占用大量内存
+     *
+     * @param token          Token
+     * @param semesterUuid   学期UUID
+     * @param format         导出格式：csv（默认）或 ndjson
+     * @param status         状态（可选）
+     * @param buildingUuid   教学楼UUID（可选）
+     * @param teacherUuid    教师UUID（可选）
+     * @param departmentUuid 教师所属学院UUID（可选）
+     * @param response       HTTP响应
+     * @throws IOException 写入响应失败
+     */
+    @GetMapping("/export")
+    @RequireRole({UserType.SYSTEM_ADMIN, UserType.ACADEMIC_ADMIN})
+    public void exportSchedules(
+            @RequestHeader("Authorization") String token,
+            @RequestParam("semester_uuid") String semesterUuid,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "status", required = false) Integer status,
+            @RequestParam(value = "building_uuid", required = false) String buildingUuid,
+            @RequestParam(value = "teacher_uuid", required = false) String teacherUuid,
+            @RequestParam(value = "department_uuid", required = false) String departmentUuid,
+            HttpServletResponse response
+    ) throws IOException {
+        // 参数校验在写入响应之前完成，出错时仍按统一格式返回
+        ExportFormat exportFormat = ExportFormat.of(format);
+        String fileName = scheduleService.getExportFileName(semesterUuid, exportFormat);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        scheduleService.exportSchedules(semesterUuid, status, buildingUuid, teacherUuid, departmentUuid,
+                exportFormat, response.getOutputStream());
+    }
+
     // ===== 课表查询 =====
 
     /**
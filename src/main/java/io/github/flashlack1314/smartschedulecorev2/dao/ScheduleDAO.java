@@ -6,11 +6,14 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import io.github.flashlack1314.smartschedulecorev2.mapper.ScheduleMapper;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleExportRowDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleDO;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -154,4 +157,38 @@ public class ScheduleDAO extends ServiceImpl<ScheduleMapper, ScheduleDO>
         queryWrapper.orderByAsc(ScheduleDO::getDayOfWeek, ScheduleDO::getSectionStart);
         return this.list(queryWrapper);
     }
+
+    /**
+     * 按多个教学班查询课表（单次查询）
+     *
+     * @param teachingClassUuids 教学班UUID集合
+     * @param semesterUuid       学期UUID
+     * @return 课表列表，按星期、起始节次排序
+     */
+    public List<ScheduleDO> getTeachingClassesTimetable(Collection<String> teachingClassUuids, String semesterUuid) {
+        if (teachingClassUuids == null || teachingClassUuids.isEmpty()) {
+            return List.of();
+        }
+        LambdaQueryWrapper<ScheduleDO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(ScheduleDO::getTeachingClassUuid, teachingClassUuids);
+        queryWrapper.eq(ScheduleDO::getSemesterUuid, semesterUuid);
+        queryWrapper.orderByAsc(ScheduleDO::getDayOfWeek, ScheduleDO::getSectionStart);
+        return this.list(queryWrapper);
+    }
+
+    /**
+     * 打开学期排课导出游标（按星期、节次排序）
+     * 游标逐批读取，调用方需在只读事务内遍历并关闭
+     *
+     * @param semesterUuid   学期UUID
+     * @param status         状态（可选）
+     * @param buildingUuid   教学楼UUID（可选）
+     * @param teacherUuid    教师UUID（可选）
+     * @param departmentUuid 教师所属学院UUID（可选）
+     * @return 导出行游标
+     */
+    public Cursor<ScheduleExportRowDTO> openExportCursor(String semesterUuid, Integer status, String buildingUuid,
+                                                         String teacherUuid, String departmentUuid) {
+        return this.baseMapper.selectExportRows(semesterUuid, status, buildingUuid, teacherUuid, departmentUuid);
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.flashlack1314.smartschedulecorev2.dao;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
@@ -11,7 +12,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 学生DAO
@@ -68,6 +72,27 @@ public class StudentDAO extends ServiceImpl<StudentMapper, StudentDO>
         return this.count(queryWrapper);
     }
 
+    /**
+     * 批量统计多个班级的学生数量（一次 GROUP BY 查询）
+     *
+     * @param classUuids 班级UUID集合
+     * @return 班级UUID -> 学生数量，没有学生的班级不在结果中
+     */
+    public Map<String, Long> countByClassUuids(Collection<String> classUuids) {
+        Map<String, Long> counts = new HashMap<>();
+        if (classUuids == null || classUuids.isEmpty()) {
+            return counts;
+        }
+        QueryWrapper<StudentDO> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("class_uuid", "COUNT(*) AS student_count")
+                .in("class_uuid", classUuids)
+                .groupBy("class_uuid");
+        for (Map<String, Object> row : this.listMaps(queryWrapper)) {
+            counts.put((String) row.get("class_uuid"), ((Number) row.get("student_count")).longValue());
+        }
+        return counts;
+    }
+
     /**
      * 分页查询学生（支持多级筛选）
      *
@@ -10,6 +10,12 @@ import io.github.flashlack1314.smartschedulecorev2.model.entity.TeachingClassCla
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
  * 教学班-行政班级关联DAO
  *
@@ -44,6 +50,26 @@ public class TeachingClassClassDAO extends ServiceImpl<TeachingClassClassMapper,
         return this.count(queryWrapper);
     }
 
+    /**
+     * 批量查询多个教学班关联的行政班级（一次查询）
+     *
+     * @param teachingClassUuids 教学班UUID集合
+     * @return 教学班UUID -> 行政班级UUID列表，没有关联的教学班不在结果中
+     */
+    public Map<String, List<String>> mapClassUuidsByTeachingClassUuids(Collection<String> teachingClassUuids) {
+        if (teachingClassUuids == null || teachingClassUuids.isEmpty()) {
+            return new HashMap<>();
+        }
+        LambdaQueryWrapper<TeachingClassClassDO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(TeachingClassClassDO::getTeachingClassUuid, TeachingClassClassDO::getClassUuid)
+                .in(TeachingClassClassDO::getTeachingClassUuid, teachingClassUuids);
+        return this.list(queryWrapper).stream()
+                .collect(Collectors.groupingBy(
+                        TeachingClassClassDO::getTeachingClassUuid,
+                        Collectors.mapping(TeachingClassClassDO::getClassUuid, Collectors.toList())
+                ));
+    }
+
     /**
      * 检查行政班级是否被关联表引用
      *
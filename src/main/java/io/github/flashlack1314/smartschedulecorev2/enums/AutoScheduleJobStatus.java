@@ -0,0 +1,51 @@
+package io.github.flashlack1314.smartschedulecorev2.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 后台排课任务状态枚举
+ *
+ * @author flash
+ */
+@Getter
+@AllArgsConstructor
+public enum AutoScheduleJobStatus {
+
+    /**
+     * 已提交，等待执行
+     */
+    QUEUED("排队中"),
+
+    /**
+     * 正在执行
+     */
+    RUNNING("执行中"),
+
+    /**
+     * 执行成功，结果已保存
+     */
+    SUCCEEDED("已完成"),
+
+    /**
+     * 执行失败
+     */
+    FAILED("执行失败"),
+
+    /**
+     * 已取消
+     */
+    CANCELLED("已取消");
+
+    /**
+     * 状态描述
+     */
+    private final String description;
+
+    /**
+     * 是否为终止状态
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.flashlack1314.smartschedulecorev2.enums;
+
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 导出格式枚举
+ *
+ * @author flash
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * CSV（UTF-8 带 BOM，Excel 可直接打开）
+     */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /**
+     * 每行一个 JSON 对象
+     */
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    /**
+     * 响应内容类型
+     */
+    private final String contentType;
+
+    /**
+     * 文件扩展名
+     */
+    private final String extension;
+
+    /**
+     * 按名称解析导出格式（不区分大小写）
+     *
+     * @param format 格式名称
+     * @return 导出格式
+     */
+    public static ExportFormat of(String format) {
+        for (ExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BusinessException("不支持的导出格式: " + format, ErrorCode.PARAMETER_INVALID);
+    }
+}
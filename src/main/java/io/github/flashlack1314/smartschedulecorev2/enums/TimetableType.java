@@ -0,0 +1,51 @@
+package io.github.flashlack1314.smartschedulecorev2.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 课表缓存类型枚举
+ *
+ * @author flash
+ */
+@Getter
+@AllArgsConstructor
+public enum TimetableType {
+
+    /**
+     * 教师学期课表
+     */
+    TEACHER("教师课表"),
+
+    /**
+     * 行政班学期课表（学生课表即所在行政班课表）
+     */
+    CLASS("行政班课表"),
+
+    /**
+     * 教室学期课表
+     */
+    CLASSROOM("教室课表"),
+
+    /**
+     * 教师今日课程（仅正式排课）
+     */
+    TEACHER_TODAY("教师今日课程"),
+
+    /**
+     * 行政班今日课程（仅正式排课）
+     */
+    CLASS_TODAY("行政班今日课程");
+
+    /**
+     * 类型描述
+     */
+    private final String description;
+
+    /**
+     * 是否为按星期缓存的今日课程
+     */
+    public boolean isDaily() {
+        return this == TEACHER_TODAY || this == CLASS_TODAY;
+    }
+}
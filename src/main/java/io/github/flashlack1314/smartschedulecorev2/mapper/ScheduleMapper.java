@@ -1,8 +1,14 @@
 package io.github.flashlack1314.smartschedulecorev2.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleExportRowDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleDO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 排课Mapper
@@ -11,4 +17,46 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ScheduleMapper extends BaseMapper<ScheduleDO> {
+
+    /**
+     * 导出每批从数据库读取的行数
+     */
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * 以游标方式读取学期排课导出行（需在事务内使用并关闭游标）
+     *
+     * @param semesterUuid   学期UUID
+     * @param status         状态（可选）
+     * @param buildingUuid   教学楼UUID（可选）
+     * @param teacherUuid    教师UUID（可选）
+     * @param departmentUuid 教师所属学院UUID（可选）
+     * @return 导出行游标
+     */
+    @Select("""
+            <script>
+            select s.schedule_uuid, tc.teaching_class_name, c.course_num, c.course_name,
+                   t.teacher_num, t.teacher_name, d.department_name, b.building_name, r.classroom_name,
+                   s.day_of_week, s.section_start, s.section_end, s.weeks_json, s.credit_hours, s.status
+            from sc_schedule s
+                     join sc_teaching_class tc on tc.teaching_class_uuid = s.teaching_class_uuid
+                     join sc_course c on c.course_uuid = s.course_uuid
+                     join sc_teacher t on t.teacher_uuid = s.teacher_uuid
+                     left join sc_department d on d.department_uuid = t.department_uuid
+                     join sc_classroom r on r.classroom_uuid = s.classroom_uuid
+                     join sc_building b on b.building_uuid = r.building_uuid
+            where s.semester_uuid = #{semesterUuid}
+            <if test="status != null">and s.status = #{status}</if>
+            <if test="buildingUuid != null and buildingUuid != ''">and r.building_uuid = #{buildingUuid}</if>
+            <if test="teacherUuid != null and teacherUuid != ''">and s.teacher_uuid = #{teacherUuid}</if>
+            <if test="departmentUuid != null and departmentUuid != ''">and t.department_uuid = #{departmentUuid}</if>
+            order by s.day_of_week, s.section_start, s.schedule_uuid
+            </script>
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = EXPORT_FETCH_SIZE)
+    Cursor<ScheduleExportRowDTO> selectExportRows(@Param("semesterUuid") String semesterUuid,
+                                                  @Param("status") Integer status,
+                                                  @Param("buildingUuid") String buildingUuid,
+                                                  @Param("teacherUuid") String teacherUuid,
+                                                  @Param("departmentUuid") String departmentUuid);
 }
@@ -2,16 +2,20 @@ package io.github.flashlack1314.smartschedulecorev2.mcp.tools;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.flashlack1314.smartschedulecorev2.dao.*;
 import io.github.flashlack1314.smartschedulecorev2.mcp.dto.SchedulePreviewDTO;
 import io.github.flashlack1314.smartschedulecorev2.mcp.dto.TeacherScheduleQueryDTO;
 import io.github.flashlack1314.smartschedulecorev2.mcp.dto.TimeSlotCheckDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -39,6 +43,7 @@ public class EduScheduleTool {
     private final ClassroomDAO classroomDAO;
     private final CourseDAO courseDAO;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final TimetableCacheService timetableCacheService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -153,6 +158,7 @@ public class EduScheduleTool {
      * @param classroomName 教室名称（可选，检查教室冲突）
      * @param teacherName   教师名称（可选，检查教师冲突）
      * @param semesterUuid  学期UUID
+     * @param weeks         上课周次JSON数组（可选，不填表示检查所有周次）
      * @return 时间槽可用性检测结果
      */
     @Tool(description = "检查指定时间槽是否可用。可检查教室和教师在指定时间是否有冲突，" +
@@ -163,7 +169,8 @@ public class EduScheduleTool {
             @ToolParam(description = "结束节次") Integer sectionEnd,
             @ToolParam(description = "教室名称，可选。用于检查教室在该时间是否被占用", required = false) String classroomName,
             @ToolParam(description = "教师姓名，可选。用于检查教师在该时间是否被占用", required = false) String teacherName,
-            @ToolParam(description = "学期UUID") String semesterUuid) {
+            @ToolParam(description = "学期UUID") String semesterUuid,
+            @ToolParam(description = "上课周次，可选。JSON数组如 [1,2,3]，只检查这些周次是否冲突；不填表示检查所有周次", required = false) String weeks) {
 
         // 参数校验
         if (dayOfWeek == null || dayOfWeek < 1 || dayOfWeek > 7) {
@@ -182,6 +189,18 @@ public class EduScheduleTool {
                     .setErrorMessage("请提供学期UUID。"));
         }
 
+        Long weekMask = null;
+        if (StringUtils.hasText(weeks)) {
+            try {
+                weekMask = WeekMaskUtils.toMask(objectMapper.readValue(weeks, new TypeReference<List<Integer>>() {
+                }));
+            } catch (JsonProcessingException e) {
+                return toJson(new TimeSlotCheckDTO()
+                        .setSuccess(false)
+                        .setErrorMessage("周次参数格式错误，应为JSON数组，如 [1,2,3]。"));
+            }
+        }
+
         TimeSlotCheckDTO.TimeSlotInfo timeSlot = new TimeSlotCheckDTO.TimeSlotInfo()
                 .setDayOfWeek(dayOfWeek)
                 .setDayOfWeekStr(getDayOfWeekStr(dayOfWeek))
@@ -201,7 +220,7 @@ public class EduScheduleTool {
                         .setName(classroomName)
                         .setFound(false));
             } else {
-                boolean hasConflict = checkClassroomConflict(classroom.getClassroomUuid(), semesterUuid, dayOfWeek, sectionStart, sectionEnd, null);
+                boolean hasConflict = checkClassroomConflict(classroom.getClassroomUuid(), semesterUuid, dayOfWeek, sectionStart, sectionEnd, null, weekMask);
                 TimeSlotCheckDTO.CheckResult checkResult = new TimeSlotCheckDTO.CheckResult()
                         .setCheckType("classroom")
                         .setName(classroom.getClassroomName())
@@ -211,7 +230,7 @@ public class EduScheduleTool {
                 if (hasConflict) {
                     hasAnyConflict = true;
                     conflictTypes.add("教室冲突");
-                    List<ScheduleDO> conflictSchedules = findConflictSchedules(semesterUuid, dayOfWeek, sectionStart, sectionEnd, classroom.getClassroomUuid(), null);
+                    List<ScheduleDO> conflictSchedules = findConflictSchedules(semesterUuid, dayOfWeek, sectionStart, sectionEnd, classroom.getClassroomUuid(), null, weekMask);
                     List<TimeSlotCheckDTO.ConflictItem> conflictItems = new ArrayList<>();
                     for (ScheduleDO s : conflictSchedules) {
                         conflictItems.add(new TimeSlotCheckDTO.ConflictItem()
@@ -233,7 +252,7 @@ public class EduScheduleTool {
                         .setName(teacherName)
                         .setFound(false));
             } else {
-                boolean hasConflict = checkTeacherConflict(teacher.getTeacherUuid(), semesterUuid, dayOfWeek, sectionStart, sectionEnd, null);
+                boolean hasConflict = checkTeacherConflict(teacher.getTeacherUuid(), semesterUuid, dayOfWeek, sectionStart, sectionEnd, null, weekMask);
                 TimeSlotCheckDTO.CheckResult checkResult = new TimeSlotCheckDTO.CheckResult()
                         .setCheckType("teacher")
                         .setName(teacher.getTeacherName())
@@ -243,7 +262,7 @@ public class EduScheduleTool {
                 if (hasConflict) {
                     hasAnyConflict = true;
                     conflictTypes.add("教师冲突");
-                    List<ScheduleDO> conflictSchedules = findConflictSchedules(semesterUuid, dayOfWeek, sectionStart, sectionEnd, null, teacher.getTeacherUuid());
+                    List<ScheduleDO> conflictSchedules = findConflictSchedules(semesterUuid, dayOfWeek, sectionStart, sectionEnd, null, teacher.getTeacherUuid(), weekMask);
                     List<TimeSlotCheckDTO.ConflictItem> conflictItems = new ArrayList<>();
                     for (ScheduleDO s : conflictSchedules) {
                         conflictItems.add(new TimeSlotCheckDTO.ConflictItem()
@@ -337,7 +356,7 @@ public class EduScheduleTool {
         // 5. 冲突检测
         SchedulePreviewDTO.ConflictResult conflictResult = detectConflicts(
                 semesterUuid, newDayOfWeek, newSectionStart, newSectionEnd,
-                newClassroomUuid, originalSchedule.getTeacherUuid(), scheduleUuid);
+                newClassroomUuid, originalSchedule.getTeacherUuid(), scheduleUuid, weekMaskOf(originalSchedule));
 
         // 6. 生成预览ID
         String previewId = UUID.randomUUID().toString().replace("-", "");
@@ -430,7 +449,9 @@ public class EduScheduleTool {
             }
         }
 
-        // 4. 更新排课记录
+        // 4. 更新排课记录（保留原记录用于失效原教室的课表缓存）
+        ScheduleDO previousSchedule = new ScheduleDO();
+        BeanUtils.copyProperties(originalSchedule, previousSchedule);
         originalSchedule.setDayOfWeek(newInfo.getDayOfWeek());
         originalSchedule.setSectionStart(newInfo.getSectionStart());
         originalSchedule.setSectionEnd(newInfo.getSectionEnd());
@@ -443,8 +464,10 @@ public class EduScheduleTool {
             return "【错误】更新排课记录失败。";
         }
 
-        // 5. 删除预览缓存
+        // 5. 删除预览缓存，失效调课前后的课表缓存
         redisTemplate.delete(redisKey);
+        timetableCacheService.evictSchedule(previousSchedule);
+        timetableCacheService.evictSchedule(originalSchedule);
 
         log.info("调课已确认，原排课: {}, 新时间: {} 第{}-{}节",
                 previewDTO.getOriginalScheduleUuid(),
@@ -862,10 +885,12 @@ public class EduScheduleTool {
 
     /**
      * 检查教室时间冲突
+     *
+     * @param weekMask 周次位图，为 null 时不区分周次
      */
     private boolean checkClassroomConflict(String classroomUuid, String semesterUuid,
                                            Integer dayOfWeek, Integer sectionStart, Integer sectionEnd,
-                                           String excludeScheduleUuid) {
+                                           String excludeScheduleUuid, Long weekMask) {
         LambdaQueryWrapper<ScheduleDO> query = new LambdaQueryWrapper<>();
         query.eq(ScheduleDO::getClassroomUuid, classroomUuid);
         query.eq(ScheduleDO::getSemesterUuid, semesterUuid);
@@ -874,6 +899,8 @@ public class EduScheduleTool {
         query.le(ScheduleDO::getSectionStart, sectionEnd);
         query.ge(ScheduleDO::getSectionEnd, sectionStart);
 
+        applyWeekOverlap(query, weekMask);
+
         if (StringUtils.hasText(excludeScheduleUuid)) {
             query.ne(ScheduleDO::getScheduleUuid, excludeScheduleUuid);
         }
@@ -883,10 +910,12 @@ public class EduScheduleTool {
 
     /**
      * 检查教师时间冲突
+     *
+     * @param weekMask 周次位图，为 null 时不区分周次
      */
     private boolean checkTeacherConflict(String teacherUuid, String semesterUuid,
                                          Integer dayOfWeek, Integer sectionStart, Integer sectionEnd,
-                                         String excludeScheduleUuid) {
+                                         String excludeScheduleUuid, Long weekMask) {
         LambdaQueryWrapper<ScheduleDO> query = new LambdaQueryWrapper<>();
         query.eq(ScheduleDO::getTeacherUuid, teacherUuid);
         query.eq(ScheduleDO::getSemesterUuid, semesterUuid);
@@ -895,6 +924,8 @@ public class EduScheduleTool {
         query.le(ScheduleDO::getSectionStart, sectionEnd);
         query.ge(ScheduleDO::getSectionEnd, sectionStart);
 
+        applyWeekOverlap(query, weekMask);
+
         if (StringUtils.hasText(excludeScheduleUuid)) {
             query.ne(ScheduleDO::getScheduleUuid, excludeScheduleUuid);
         }
@@ -907,7 +938,7 @@ public class EduScheduleTool {
      */
     private List<ScheduleDO> findConflictSchedules(String semesterUuid, Integer dayOfWeek,
                                                    Integer sectionStart, Integer sectionEnd,
-                                                   String classroomUuid, String teacherUuid) {
+                                                   String classroomUuid, String teacherUuid, Long weekMask) {
         LambdaQueryWrapper<ScheduleDO> query = new LambdaQueryWrapper<>();
         query.eq(ScheduleDO::getSemesterUuid, semesterUuid);
         query.eq(ScheduleDO::getDayOfWeek, dayOfWeek);
@@ -921,29 +952,60 @@ public class EduScheduleTool {
         if (StringUtils.hasText(teacherUuid)) {
             query.eq(ScheduleDO::getTeacherUuid, teacherUuid);
         }
+        applyWeekOverlap(query, weekMask);
 
         return scheduleDAO.list(query);
     }
 
+    /**
+     * 排课记录的周次位图；未回填（为 NULL 或 0）时解析周次JSON，无法得到周次时返回 null（不区分周次）
+     */
+    private Long weekMaskOf(ScheduleDO schedule) {
+        if (schedule.getWeekMask() != null && schedule.getWeekMask() != 0L) {
+            return schedule.getWeekMask();
+        }
+        if (!StringUtils.hasText(schedule.getWeeksJson())) {
+            return null;
+        }
+        try {
+            long mask = WeekMaskUtils.toMask(objectMapper.readValue(schedule.getWeeksJson(),
+                    new TypeReference<List<Integer>>() {
+                    }));
+            return mask != 0L ? mask : null;
+        } catch (JsonProcessingException e) {
+            log.warn("解析周次JSON失败: {}", schedule.getWeeksJson());
+            return null;
+        }
+    }
+
+    /**
+     * 只保留与指定周次有重叠的排课；周次位图未回填（为 NULL 或 0）的旧记录按全部周次处理
+     */
+    private void applyWeekOverlap(LambdaQueryWrapper<ScheduleDO> query, Long weekMask) {
+        if (weekMask != null) {
+            query.apply("(coalesce(nullif(week_mask, 0), -1) & {0}) <> 0", weekMask);
+        }
+    }
+
     /**
      * 冲突检测综合方法
      */
     private SchedulePreviewDTO.ConflictResult detectConflicts(String semesterUuid, Integer dayOfWeek,
                                                               Integer sectionStart, Integer sectionEnd,
                                                               String classroomUuid, String teacherUuid,
-                                                              String excludeScheduleUuid) {
+                                                              String excludeScheduleUuid, Long weekMask) {
         List<String> conflictTypes = new ArrayList<>();
         StringBuilder description = new StringBuilder();
 
         // 检查教室冲突
-        boolean classroomConflict = checkClassroomConflict(classroomUuid, semesterUuid, dayOfWeek, sectionStart, sectionEnd, excludeScheduleUuid);
+        boolean classroomConflict = checkClassroomConflict(classroomUuid, semesterUuid, dayOfWeek, sectionStart, sectionEnd, excludeScheduleUuid, weekMask);
         if (classroomConflict) {
             conflictTypes.add("教室时间冲突");
             description.append("教室在该时段已有课程安排。");
         }
 
         // 检查教师冲突
-        boolean teacherConflict = checkTeacherConflict(teacherUuid, semesterUuid, dayOfWeek, sectionStart, sectionEnd, excludeScheduleUuid);
+        boolean teacherConflict = checkTeacherConflict(teacherUuid, semesterUuid, dayOfWeek, sectionStart, sectionEnd, excludeScheduleUuid, weekMask);
         if (teacherConflict) {
             conflictTypes.add("教师时间冲突");
             if (!description.isEmpty()) {
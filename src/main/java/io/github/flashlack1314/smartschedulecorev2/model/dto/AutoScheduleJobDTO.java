@@ -0,0 +1,57 @@
+package io.github.flashlack1314.smartschedulecorev2.model.dto;
+
+import io.github.flashlack1314.smartschedulecorev2.enums.AutoScheduleJobStatus;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 后台排课任务状态DTO
+ *
+ * @author flash
+ */
+@Data
+@Accessors(chain = true)
+public class AutoScheduleJobDTO {
+    /**
+     * 任务UUID
+     */
+    private String jobUuid;
+    /**
+     * 学期UUID
+     */
+    private String semesterUuid;
+    /**
+     * 任务状态
+     */
+    private AutoScheduleJobStatus status;
+    /**
+     * 已完成的代数
+     */
+    private Integer generation;
+    /**
+     * 最大代数
+     */
+    private Integer maxGenerations;
+    /**
+     * 当前最优适应度（尚未完成第一代时为null）
+     */
+    private Double bestFitness;
+    /**
+     * 失败原因（仅失败时有值）
+     */
+    private String errorMessage;
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submittedAt;
+    /**
+     * 开始执行时间
+     */
+    private LocalDateTime startedAt;
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
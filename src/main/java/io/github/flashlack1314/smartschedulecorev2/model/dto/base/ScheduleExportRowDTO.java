@@ -0,0 +1,87 @@
+package io.github.flashlack1314.smartschedulecorev2.model.dto.base;
+
+import lombok.Data;
+
+/**
+ * 排课导出行DTO
+ * 由排课表关联课程、教师、学院、教室、教学楼、教学班一次查出，字段均为导出所需的展示值
+ *
+ * @author flash
+ */
+@Data
+public class ScheduleExportRowDTO {
+    /**
+     * 排课UUID
+     */
+    private String scheduleUuid;
+
+    /**
+     * 教学班名称
+     */
+    private String teachingClassName;
+
+    /**
+     * 课程编号
+     */
+    private String courseNum;
+
+    /**
+     * 课程名称
+     */
+    private String courseName;
+
+    /**
+     * 教师工号
+     */
+    private String teacherNum;
+
+    /**
+     * 教师姓名
+     */
+    private String teacherName;
+
+    /**
+     * 教师所属学院名称
+     */
+    private String departmentName;
+
+    /**
+     * 教学楼名称
+     */
+    private String buildingName;
+
+    /**
+     * 教室名称
+     */
+    private String classroomName;
+
+    /**
+     * 星期几 (1-7)
+     */
+    private Integer dayOfWeek;
+
+    /**
+     * 起始节次
+     */
+    private Integer sectionStart;
+
+    /**
+     * 结束节次
+     */
+    private Integer sectionEnd;
+
+    /**
+     * 上课周次 JSON (如 [1,2,3])
+     */
+    private String weeksJson;
+
+    /**
+     * 学时
+     */
+    private Integer creditHours;
+
+    /**
+     * 状态：0-预览，1-正式
+     */
+    private Integer status;
+}
@@ -78,6 +78,12 @@ public class ScheduleDO {
     @TableField("weeks_json")
     private String weeksJson;
 
+    /**
+     * 上课周次位图 (第n周对应第n-1位，与weeks_json同步维护)
+     */
+    @TableField("week_mask")
+    private Long weekMask;
+
     /**
      * 累计学时 (单次学时 × 周次数)
      */
@@ -79,6 +79,15 @@ public class AutoScheduleVO {
 
     // ==================== 算法参数配置（可选）====================
 
+    /**
+     * 求解器（默认 "ga"）
+     * - "ga": 遗传算法，适合整学期的完整排课
+     * - "sa": 模拟退火，单轨迹搜索、内存占用小，适合少量教学班的增量排课
+     *
+     * 种群、交叉变异、岛屿与局部搜索参数仅对 "ga" 生效，退火参数仅对 "sa" 生效
+     */
+    private String solver = "ga";
+
     /**
      * 种群大小（默认100）
      */
@@ -104,6 +113,62 @@ public class AutoScheduleVO {
      */
     private Integer eliteSize = 10;
 
+    /**
+     * SSE进度推送间隔（毫秒，默认1000，0表示每代推送）
+     * 仅控制进度事件的发送频率，不影响算法运行速度
+     */
+    private Long progressIntervalMillis;
+
+    /**
+     * 并行计算线程数（默认为服务器CPU核数，1表示单线程，不能超过服务器CPU核数）
+     * 用于适应度评估以及交叉、变异，结果与线程数无关
+     */
+    private Integer parallelism;
+
+    /**
+     * 岛屿数量（默认1，即单一种群）
+     * 大于1时初始种群划分为多个子种群，各自独立进化并在不同线程上并行执行，定期迁移最优个体；
+     * 尚未证实同等时间内优于单一种群，默认关闭，启用前先在目标机器上运行 IslandModelBenchmark 对比
+     */
+    private Integer islandCount;
+
+    /**
+     * 岛屿间迁移间隔（代，默认10）
+     */
+    private Integer migrationInterval;
+
+    /**
+     * 每次迁移的个体数（默认2）
+     */
+    private Integer migrationSize;
+
+    /**
+     * 模因局部搜索：每代对每个精英个体执行的最大改进步数（默认0，即关闭）
+     * 启用后每代评估后对精英执行冲突驱动的局部搜索，结束时再对最优解执行一次
+     */
+    private Integer localSearchSteps;
+
+    /**
+     * 模因局部搜索每代的时间预算（毫秒，默认50）
+     */
+    private Long localSearchBudgetMillis;
+
+    /**
+     * 模拟退火最大移动次数（默认200000）
+     */
+    private Integer annealingIterations;
+
+    /**
+     * 模拟退火初始温度（可选，不传则按随机移动的平均适应度下降量自动标定）
+     */
+    private Double initialTemperature;
+
+    /**
+     * 随机种子（可选，不传则随机生成）
+     * 相同种子、相同输入的两次排课结果一致（与并行线程数无关），实际使用的种子记录在排课结果中
+     */
+    private Long seed;
+
     /**
      * 验证参数有效性
      *
@@ -142,6 +207,40 @@ public class AutoScheduleVO {
         if (eliteSize != null && eliteSize < 0) {
             throw new IllegalArgumentException("精英保留数量不能小于0");
         }
+        if (progressIntervalMillis != null && progressIntervalMillis < 0) {
+            throw new IllegalArgumentException("进度推送间隔不能小于0");
+        }
+        if (parallelism != null && parallelism <= 0) {
+            throw new IllegalArgumentException("并行线程数必须大于0");
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (parallelism != null && parallelism > processors) {
+            throw new IllegalArgumentException("并行线程数不能超过服务器CPU核数（" + processors + "）");
+        }
+        if (islandCount != null && islandCount <= 0) {
+            throw new IllegalArgumentException("岛屿数量必须大于0");
+        }
+        if (migrationInterval != null && migrationInterval <= 0) {
+            throw new IllegalArgumentException("迁移间隔必须大于0");
+        }
+        if (migrationSize != null && migrationSize < 0) {
+            throw new IllegalArgumentException("迁移个体数不能小于0");
+        }
+        if (localSearchSteps != null && localSearchSteps < 0) {
+            throw new IllegalArgumentException("局部搜索步数不能小于0");
+        }
+        if (localSearchBudgetMillis != null && localSearchBudgetMillis <= 0) {
+            throw new IllegalArgumentException("局部搜索时间预算必须大于0");
+        }
+        if (solver != null && !isValidSolver()) {
+            throw new IllegalArgumentException("无效的求解器，必须是 'ga' 或 'sa'");
+        }
+        if (annealingIterations != null && annealingIterations <= 0) {
+            throw new IllegalArgumentException("模拟退火移动次数必须大于0");
+        }
+        if (initialTemperature != null && initialTemperature <= 0) {
+            throw new IllegalArgumentException("模拟退火初始温度必须大于0");
+        }
     }
 
     /**
@@ -177,4 +276,11 @@ public class AutoScheduleVO {
                "random".equals(teacherSelectionStrategy) ||
                "first".equals(teacherSelectionStrategy);
     }
+
+    /**
+     * 验证求解器是否有效
+     */
+    private boolean isValidSolver() {
+        return "ga".equals(solver) || "sa".equals(solver);
+    }
 }
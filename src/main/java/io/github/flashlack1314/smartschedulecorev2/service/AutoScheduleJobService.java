@@ -0,0 +1,45 @@
+package io.github.flashlack1314.smartschedulecorev2.service;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.AutoScheduleResult;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.AutoScheduleJobDTO;
+import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
+
+/**
+ * 后台排课任务服务接口
+ *
+ * @author flash
+ */
+public interface AutoScheduleJobService {
+
+    /**
+     * 提交排课任务（立即返回，任务在后台线程池中执行）
+     *
+     * @param params 排课参数
+     * @return 任务状态（含任务UUID）
+     */
+    AutoScheduleJobDTO submit(AutoScheduleVO params);
+
+    /**
+     * 查询任务状态与当前最优适应度
+     *
+     * @param jobUuid 任务UUID
+     * @return 任务状态
+     */
+    AutoScheduleJobDTO getJob(String jobUuid);
+
+    /**
+     * 取消任务：排队中的任务直接取消，执行中的任务在当前代结束后停止且不保存结果
+     *
+     * @param jobUuid 任务UUID
+     * @return 任务状态
+     */
+    AutoScheduleJobDTO cancel(String jobUuid);
+
+    /**
+     * 获取已完成任务的排课结果
+     *
+     * @param jobUuid 任务UUID
+     * @return 排课结果
+     */
+    AutoScheduleResult getResult(String jobUuid);
+}
@@ -1,6 +1,7 @@
 package io.github.flashlack1314.smartschedulecorev2.service;
 
 import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.AutoScheduleResult;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -28,6 +29,16 @@ public interface AutoScheduleService {
      */
     AutoScheduleResult executeWithSse(AutoScheduleVO params, SseEmitter emitter);
 
+    /**
+     * 执行自动排课（支持取消与进度查询，供后台任务调用）
+     *
+     * @param params  排课参数
+     * @param emitter SSE emitter，可为 null
+     * @param control 运行控制，可为 null；被取消时抛出 {@link java.util.concurrent.CancellationException}
+     * @return 排课结果
+     */
+    AutoScheduleResult executeWithControl(AutoScheduleVO params, SseEmitter emitter, ScheduleRunControl control);
+
     /**
      * 保存排课方案为预览状态
      *
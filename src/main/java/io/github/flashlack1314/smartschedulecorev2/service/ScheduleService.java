@@ -1,9 +1,12 @@
 package io.github.flashlack1314.smartschedulecorev2.service;
 
+import io.github.flashlack1314.smartschedulecorev2.enums.ExportFormat;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.PageDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddScheduleVO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -95,4 +98,29 @@ public interface ScheduleService {
      * @return 课表列表
      */
     List<ScheduleInfoDTO> getClassroomTimetable(String classroomUuid, String semesterUuid);
+
+    /**
+     * 获取排课导出文件名（同时校验学期是否存在）
+     *
+     * @param semesterUuid 学期UUID
+     * @param format       导出格式
+     * @return 文件名
+     */
+    String getExportFileName(String semesterUuid, ExportFormat format);
+
+    /**
+     * 流式导出学期排课，逐行写入输出流，内存占用与导出行数无关
+     *
+     * @param semesterUuid   学期UUID
+     * @param status         状态（可选）
+     * @param buildingUuid   教学楼UUID（可选）
+     * @param teacherUuid    教师UUID（可选）
+     * @param departmentUuid 教师所属学院UUID（可选）
+     * @param format         导出格式
+     * @param outputStream   输出流（不会被关闭）
+     * @return 导出行数
+     * @throws IOException 写入失败（如客户端断开）
+     */
+    long exportSchedules(String semesterUuid, Integer status, String buildingUuid, String teacherUuid,
+                         String departmentUuid, ExportFormat format, OutputStream outputStream) throws IOException;
 }
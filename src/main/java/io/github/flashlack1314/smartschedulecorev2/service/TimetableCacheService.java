@@ -0,0 +1,67 @@
+package io.github.flashlack1314.smartschedulecorev2.service;
+
+import io.github.flashlack1314.smartschedulecorev2.enums.TimetableType;
+import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleDO;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 课表缓存服务接口
+ * <p>
+ * 两级缓存（本地 + Redis），按（课表类型, 学期, 对象UUID）缓存；
+ * 每个学期维护一个版本号，另有一个全局版本号，版本号变化后旧条目自动失效。
+ *
+ * @author flash
+ */
+public interface TimetableCacheService {
+
+    /**
+     * 不区分学期的缓存分区（今日课程）
+     */
+    String ALL_SEMESTERS = "*";
+
+    /**
+     * 读取课表缓存，未命中时调用 loader 从数据库加载并写入缓存
+     *
+     * @param type         课表类型
+     * @param semesterUuid 学期UUID（今日课程使用 {@link #ALL_SEMESTERS}）
+     * @param ownerUuid    课表所属对象UUID（今日课程为 对象UUID@星期）
+     * @param loader       数据库加载逻辑
+     * @return 课表
+     */
+    <T> List<T> getOrLoad(TimetableType type, String semesterUuid, String ownerUuid, Supplier<List<T>> loader);
+
+    /**
+     * 精确失效一条排课记录涉及的课表：教师、教室、教学班关联的行政班（含今日课程）
+     * 在事务中调用时于提交后执行
+     *
+     * @param schedule 排课记录（修改前或修改后的状态）
+     */
+    void evictSchedule(ScheduleDO schedule);
+
+    /**
+     * 失效整个学期的课表（递增学期版本号），用于批量变更
+     * 在事务中调用时于提交后执行
+     *
+     * @param semesterUuid 学期UUID
+     */
+    void evictSemester(String semesterUuid);
+
+    /**
+     * 失效所有学期的课表（递增全局版本号），用于教师、课程、教室名称等课表中展示的基础数据变更
+     * 在事务中调用时于提交后执行
+     */
+    void evictAll();
+
+    /**
+     * 今日课程的缓存对象标识
+     *
+     * @param ownerUuid 教师或行政班UUID
+     * @param dayOfWeek 星期几（1-7）
+     * @return 对象UUID@星期
+     */
+    static String dailyOwner(String ownerUuid, int dayOfWeek) {
+        return ownerUuid + "@" + dayOfWeek;
+    }
+}
@@ -28,10 +28,10 @@ public interface TokenService {
     boolean validateToken(String token);
 
     /**
-     * 获取Token信息
+     * 获取Token信息（启用滑动会话时同时续期）
      *
      * @param token Token字符串
-     * @return Token信息
+     * @return Token信息，过期时间为Redis中的实际过期时间
      */
     TokenInfoDTO getTokenInfo(String token);
 
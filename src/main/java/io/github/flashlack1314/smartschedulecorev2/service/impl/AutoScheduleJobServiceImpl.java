@@ -0,0 +1,198 @@
+package io.github.flashlack1314.smartschedulecorev2.service.impl;
+
+import com.xlf.utility.ErrorCode;
+import com.xlf.utility.exception.BusinessException;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.AutoScheduleResult;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
+import io.github.flashlack1314.smartschedulecorev2.config.AutoScheduleJobProperties;
+import io.github.flashlack1314.smartschedulecorev2.enums.AutoScheduleJobStatus;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.AutoScheduleJobDTO;
+import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
+import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleJobService;
+import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 后台排课任务服务实现
+ * <p>
+ * 任务在有界线程池中执行（并发数与队列容量见 {@link AutoScheduleJobProperties}），
+ * 不占用请求线程；任务状态保存在内存中，结束后按保留时长清理。
+ *
+ * @author flash
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutoScheduleJobServiceImpl implements AutoScheduleJobService {
+
+    private final AutoScheduleService autoScheduleService;
+    private final AutoScheduleJobProperties jobProperties;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, jobProperties.getMaxConcurrentJobs());
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobProperties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auto-schedule-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("排课任务线程池已启动，并发数: {}, 队列容量: {}", threads, jobProperties.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.control.cancel());
+        executor.shutdownNow();
+    }
+
+    @Override
+    public AutoScheduleJobDTO submit(AutoScheduleVO params) {
+        // 参数错误在提交时直接返回，不进入队列
+        params.validate();
+        removeExpiredJobs();
+
+        Job job = new Job(UUID.randomUUID().toString().replace("-", ""), params.getSemesterUuid());
+        jobs.put(job.jobUuid, job);
+        try {
+            job.future = executor.submit(() -> run(job, params));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobUuid);
+            throw new BusinessException("排课任务队列已满，请稍后再试", ErrorCode.OPERATION_FAILED);
+        }
+        log.info("提交排课任务: {}, 学期UUID: {}", job.jobUuid, job.semesterUuid);
+        return toDTO(job);
+    }
+
+    @Override
+    public AutoScheduleJobDTO getJob(String jobUuid) {
+        return toDTO(findJob(jobUuid));
+    }
+
+    @Override
+    public AutoScheduleJobDTO cancel(String jobUuid) {
+        Job job = findJob(jobUuid);
+        job.control.cancel();
+        synchronized (job) {
+            if (job.status == AutoScheduleJobStatus.QUEUED) {
+                // 尚未开始执行，直接从队列中移除
+                job.future.cancel(false);
+                job.finish(AutoScheduleJobStatus.CANCELLED, null, null);
+            }
+        }
+        log.info("取消排课任务: {}, 当前状态: {}", jobUuid, job.status);
+        return toDTO(job);
+    }
+
+    @Override
+    public AutoScheduleResult getResult(String jobUuid) {
+        Job job = findJob(jobUuid);
+        if (job.status != AutoScheduleJobStatus.SUCCEEDED) {
+            throw new BusinessException("排课任务尚未完成，当前状态: " + job.status.getDescription(),
+                    ErrorCode.OPERATION_FAILED);
+        }
+        return job.result;
+    }
+
+    /**
+     * 在工作线程中执行排课任务
+     */
+    private void run(Job job, AutoScheduleVO params) {
+        synchronized (job) {
+            if (job.status != AutoScheduleJobStatus.QUEUED) {
+                return;
+            }
+            job.status = AutoScheduleJobStatus.RUNNING;
+            job.startedAt = LocalDateTime.now();
+        }
+        try {
+            AutoScheduleResult result = autoScheduleService.executeWithControl(params, null, job.control);
+            job.finish(AutoScheduleJobStatus.SUCCEEDED, result, null);
+            log.info("排课任务完成: {}, 适应度: {}", job.jobUuid, result.getFitness());
+        } catch (Exception e) {
+            if (job.control.isCancelled()) {
+                job.finish(AutoScheduleJobStatus.CANCELLED, null, null);
+                log.info("排课任务已取消: {}", job.jobUuid);
+            } else {
+                job.finish(AutoScheduleJobStatus.FAILED, null, e.getMessage());
+                log.error("排课任务失败: {}", job.jobUuid, e);
+            }
+        }
+    }
+
+    private Job findJob(String jobUuid) {
+        Job job = jobUuid != null ? jobs.get(jobUuid) : null;
+        if (job == null) {
+            throw new BusinessException("排课任务不存在: " + jobUuid, ErrorCode.NOT_EXIST);
+        }
+        return job;
+    }
+
+    /**
+     * 清理超过保留时长的已结束任务
+     */
+    private void removeExpiredJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minus(jobProperties.getRetention());
+        jobs.values().removeIf(job -> job.status.isFinished()
+                && job.finishedAt != null && job.finishedAt.isBefore(expireBefore));
+    }
+
+    private AutoScheduleJobDTO toDTO(Job job) {
+        double bestFitness = job.control.getBestFitness();
+        return new AutoScheduleJobDTO()
+                .setJobUuid(job.jobUuid)
+                .setSemesterUuid(job.semesterUuid)
+                .setStatus(job.status)
+                .setGeneration(job.control.getGeneration())
+                .setMaxGenerations(job.control.getMaxGenerations())
+                .setBestFitness(Double.isNaN(bestFitness) ? null : bestFitness)
+                .setErrorMessage(job.errorMessage)
+                .setSubmittedAt(job.submittedAt)
+                .setStartedAt(job.startedAt)
+                .setFinishedAt(job.finishedAt);
+    }
+
+    /**
+     * 排课任务（内存状态）
+     */
+    private static class Job {
+        private final String jobUuid;
+        private final String semesterUuid;
+        private final ScheduleRunControl control = new ScheduleRunControl();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile AutoScheduleJobStatus status = AutoScheduleJobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile AutoScheduleResult result;
+        private volatile String errorMessage;
+        private volatile Future<?> future;
+
+        Job(String jobUuid, String semesterUuid) {
+            this.jobUuid = jobUuid;
+            this.semesterUuid = semesterUuid;
+        }
+
+        synchronized void finish(AutoScheduleJobStatus status, AutoScheduleResult result, String errorMessage) {
+            this.status = status;
+            this.result = result;
+            this.errorMessage = errorMessage;
+            this.finishedAt = LocalDateTime.now();
+        }
+    }
+}
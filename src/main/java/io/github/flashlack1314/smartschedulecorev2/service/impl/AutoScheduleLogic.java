@@ -11,20 +11,25 @@ import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
 import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
 import io.github.flashlack1314.smartschedulecorev2.dao.*;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
 import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleService;
 import io.github.flashlack1314.smartschedulecorev2.service.ScoreService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
 /**
@@ -50,9 +55,12 @@ public class AutoScheduleLogic implements AutoScheduleService {
     private final StudentDAO studentDAO;
     private final ClassDAO classDAO;
     private final ConflictDetector conflictDetector;
+    private final SessionConflictScanner sessionConflictScanner;
     private final FitnessCalculator fitnessCalculator;
     private final HoursCalculator hoursCalculator;
     private final ScoreService scoreService;
+    private final TransactionTemplate transactionTemplate;
+    private final TimetableCacheService timetableCacheService;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -85,9 +93,8 @@ public class AutoScheduleLogic implements AutoScheduleService {
      * @return 排课结果
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public AutoScheduleResult execute(AutoScheduleVO params) {
-        return executeWithSse(params, null);
+        return executeWithControl(params, null, null);
     }
 
     /**
@@ -98,75 +105,98 @@ public class AutoScheduleLogic implements AutoScheduleService {
      * @return 排课结果
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public AutoScheduleResult executeWithSse(AutoScheduleVO params, SseEmitter emitter) {
+        return executeWithControl(params, emitter, null);
+    }
+
+    /**
+     * 执行自动排课（可取消、可查询进度）
+     * <p>
+     * 算法运行期间不持有数据库事务：教学班创建与最终保存分别在各自的短事务中完成，
+     * 覆盖模式下旧排课的删除与新排课的写入在同一事务中，取消或失败时旧排课保持不变，
+     * 本次新建的教学班由补偿事务删除（复用的已有教学班不受影响）。
+     *
+     * @param params  排课参数
+     * @param emitter SSE emitter，可为 null
+     * @param control 运行控制，可为 null
+     * @return 排课结果
+     */
+    @Override
+    public AutoScheduleResult executeWithControl(AutoScheduleVO params, SseEmitter emitter, ScheduleRunControl control) {
         // 0. 参数验证
         params.validate();
 
-        // 解析并创建教学班
-        List<String> teachingClassUuids = parseAndCreateTeachingClasses(params);
-        log.info("开始执行自动排课，学期UUID: {}, 教学班数量: {}",
-                params.getSemesterUuid(), teachingClassUuids.size());
+        // 随机种子：未指定时生成一个，并记录到结果中以便复现
+        long seed = params.getSeed() != null ? params.getSeed() : new SplittableRandom().nextLong();
+        SplittableRandom random = new SplittableRandom(seed);
+        log.info("自动排课随机种子: {}", seed);
 
-        // 1. 检查是否覆盖已有排课
-        if (Boolean.TRUE.equals(params.getOverwrite())) {
-            log.info("检测到 overwrite=true，删除已有排课记录");
-            scheduleDAO.remove(
-                    new QueryWrapper<ScheduleDO>()
-                            .eq("semester_uuid", params.getSemesterUuid())
-                            .in("teaching_class_uuid", teachingClassUuids)
-            );
+        // 解析并创建教学班（记录本次新建的教学班，取消或失败时删除）
+        SplittableRandom teacherRandom = random.split();
+        List<String> createdTeachingClassUuids = new ArrayList<>();
+        List<String> teachingClassUuids = transactionTemplate.execute(
+                status -> parseAndCreateTeachingClasses(params, teacherRandom, createdTeachingClassUuids));
+        log.info("开始执行自动排课，学期UUID: {}, 教学班数量: {}, 其中新建: {}",
+                params.getSemesterUuid(), teachingClassUuids.size(), createdTeachingClassUuids.size());
+
+        try {
+            return scheduleTeachingClasses(params, emitter, control, seed, teachingClassUuids);
+        } catch (RuntimeException e) {
+            removeCreatedTeachingClasses(createdTeachingClassUuids);
+            throw e;
         }
+    }
+
+    /**
+     * 为已创建的教学班执行排课并保存结果
+     *
+     * @param params             排课参数
+     * @param emitter            SSE emitter，可为 null
+     * @param control            运行控制，可为 null
+     * @param seed               随机种子
+     * @param teachingClassUuids 参与排课的教学班UUID列表
+     * @return 排课结果
+     */
+    private AutoScheduleResult scheduleTeachingClasses(AutoScheduleVO params, SseEmitter emitter,
+                                                       ScheduleRunControl control, long seed,
+                                                       List<String> teachingClassUuids) {
+        // 1. 覆盖模式：旧排课在最终保存时删除，构建上下文时不再视为已有排课
+        boolean overwrite = Boolean.TRUE.equals(params.getOverwrite());
 
         // 2. 构建排课上下文
+        long contextStart = System.currentTimeMillis();
         ScheduleContext context = buildScheduleContext(params, teachingClassUuids);
+        long contextBuildMillis = System.currentTimeMillis() - contextStart;
+        log.info("排课上下文构建完成，耗时 {} ms", contextBuildMillis);
 
-        // 3. 创建遗传算法实例（手动注入依赖）
-        TimeSlotGenerator timeSlotGenerator = new TimeSlotGenerator();
-        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
-                context,
-                fitnessCalculator,
-                conflictDetector,
-                timeSlotGenerator,
-                hoursCalculator
-        );
-
-        // 4. 设置算法参数
-        if (params.getPopulationSize() != null) {
-            geneticAlgorithm.setPopulationSize(params.getPopulationSize());
-        }
-        if (params.getMaxGenerations() != null) {
-            geneticAlgorithm.setMaxGenerations(params.getMaxGenerations());
-        }
-        if (params.getCrossoverRate() != null) {
-            geneticAlgorithm.setCrossoverRate(params.getCrossoverRate());
-        }
-        if (params.getMutationRate() != null) {
-            geneticAlgorithm.setMutationRate(params.getMutationRate());
-        }
-        if (params.getEliteSize() != null) {
-            geneticAlgorithm.setEliteSize(params.getEliteSize());
+        // 3. 创建求解器并设置算法参数
+        ScheduleSolver solver = createSolver(params, context);
+        if (params.getProgressIntervalMillis() != null) {
+            solver.setProgressIntervalMillis(params.getProgressIntervalMillis());
         }
+        solver.setSeed(seed);
+        solver.setRunControl(control);
 
-        // 5. 执行遗传算法（传入SSE emitter）
-        Chromosome bestChromosome = geneticAlgorithm.schedule(emitter);
+        // 4. 执行求解（传入SSE emitter）
+        Chromosome bestChromosome = solver.schedule(emitter);
+        if (control != null && control.isCancelled()) {
+            throw new CancellationException("排课任务已取消");
+        }
 
-        // 6. 转换结果为 AutoScheduleResult
+        // 5. 转换结果为 AutoScheduleResult
         AutoScheduleResult result = new AutoScheduleResult();
         result.setSemesterUuid(params.getSemesterUuid());
+        result.setSeed(seed);
         result.setScheduleMap(bestChromosome.getGenes());
         result.setFitness(bestChromosome.getFitness());
         result.setHardConflicts(bestChromosome.getHardConstraintViolations());
         result.setSoftConflicts(bestChromosome.getSoftConstraintViolations());
         result.setUnscheduledTeachingClasses(bestChromosome.getUnscheduledTeachingClasses());
 
-        // 7. 构建冲突报告
+        // 6. 构建冲突报告
         result.setConflictReport(conflictDetector.detectConflicts(bestChromosome, context));
 
-        // 8. 保存排课记录到数据库
-        saveScheduleRecords(result, params.getScheduleMode(), context);
-
-        // 9. 构建统计信息
+        // 7. 构建统计信息
         AutoScheduleResult.ScheduleStatistics statistics = new AutoScheduleResult.ScheduleStatistics();
         statistics.setTotalTeachingClasses(teachingClassUuids.size());
         statistics.setScheduledTeachingClasses(
@@ -184,14 +214,117 @@ public class AutoScheduleLogic implements AutoScheduleService {
         statistics.setTotalSessions(totalSessions);
         statistics.setTotalHours(totalHours);
         statistics.setAverageFitness(bestChromosome.getFitness());
+        statistics.setContextBuildMillis(contextBuildMillis);
+        statistics.setAlgorithmMillis(solver.getElapsedMillis());
         result.setStatistics(statistics);
 
+        // 8. 保存排课记录到数据库（覆盖模式下先删除旧排课）；放在最后，提交后不会再触发教学班补偿删除
+        transactionTemplate.executeWithoutResult(status -> {
+            if (overwrite) {
+                log.info("检测到 overwrite=true，删除已有排课记录");
+                scheduleDAO.remove(
+                        new QueryWrapper<ScheduleDO>()
+                                .eq("semester_uuid", params.getSemesterUuid())
+                                .in("teaching_class_uuid", teachingClassUuids)
+                );
+            }
+            saveScheduleRecords(result, params.getScheduleMode(), context);
+            timetableCacheService.evictSemester(params.getSemesterUuid());
+        });
+
         log.info("自动排课完成，适应度: {}, 硬约束冲突: {}, 未排课教学班: {}",
                 result.getFitness(), result.getHardConflicts(), result.getUnscheduledTeachingClasses().size());
 
         return result;
     }
 
+    /**
+     * 补偿删除本次新建的教学班及其行政班关联（排课被取消或失败时调用）
+     *
+     * @param createdTeachingClassUuids 本次新建的教学班UUID列表
+     */
+    private void removeCreatedTeachingClasses(List<String> createdTeachingClassUuids) {
+        if (createdTeachingClassUuids.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                teachingClassClassDAO.remove(new QueryWrapper<TeachingClassClassDO>()
+                        .in("teaching_class_uuid", createdTeachingClassUuids));
+                teachingClassDAO.removeByIds(createdTeachingClassUuids);
+            });
+            log.info("排课未完成，已删除本次新建的教学班 {} 个", createdTeachingClassUuids.size());
+        } catch (RuntimeException e) {
+            log.error("删除本次新建的教学班失败: {}", createdTeachingClassUuids, e);
+        }
+    }
+
+    /**
+     * 按请求参数创建求解器（手动注入依赖），参数未指定时使用求解器默认值
+     */
+    private ScheduleSolver createSolver(AutoScheduleVO params, ScheduleContext context) {
+        TimeSlotGenerator timeSlotGenerator = new TimeSlotGenerator();
+        if ("sa".equals(params.getSolver())) {
+            log.info("使用模拟退火求解器");
+            SimulatedAnnealingSolver annealing = new SimulatedAnnealingSolver(
+                    context,
+                    fitnessCalculator,
+                    conflictDetector,
+                    timeSlotGenerator
+            );
+            if (params.getAnnealingIterations() != null) {
+                annealing.setMaxIterations(params.getAnnealingIterations());
+            }
+            if (params.getInitialTemperature() != null) {
+                annealing.setInitialTemperature(params.getInitialTemperature());
+            }
+            return annealing;
+        }
+
+        log.info("使用遗传算法求解器");
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
+                context,
+                fitnessCalculator,
+                conflictDetector,
+                timeSlotGenerator,
+                hoursCalculator
+        );
+        if (params.getPopulationSize() != null) {
+            geneticAlgorithm.setPopulationSize(params.getPopulationSize());
+        }
+        if (params.getMaxGenerations() != null) {
+            geneticAlgorithm.setMaxGenerations(params.getMaxGenerations());
+        }
+        if (params.getCrossoverRate() != null) {
+            geneticAlgorithm.setCrossoverRate(params.getCrossoverRate());
+        }
+        if (params.getMutationRate() != null) {
+            geneticAlgorithm.setMutationRate(params.getMutationRate());
+        }
+        if (params.getEliteSize() != null) {
+            geneticAlgorithm.setEliteSize(params.getEliteSize());
+        }
+        if (params.getParallelism() != null) {
+            geneticAlgorithm.setParallelism(params.getParallelism());
+        }
+        if (params.getIslandCount() != null) {
+            geneticAlgorithm.setIslandCount(params.getIslandCount());
+        }
+        if (params.getMigrationInterval() != null) {
+            geneticAlgorithm.setMigrationInterval(params.getMigrationInterval());
+        }
+        if (params.getMigrationSize() != null) {
+            geneticAlgorithm.setMigrationSize(params.getMigrationSize());
+        }
+        if (params.getLocalSearchSteps() != null) {
+            geneticAlgorithm.setLocalSearchSteps(params.getLocalSearchSteps());
+        }
+        if (params.getLocalSearchBudgetMillis() != null) {
+            geneticAlgorithm.setLocalSearchBudgetMillis(params.getLocalSearchBudgetMillis());
+        }
+        return geneticAlgorithm;
+    }
+
     /**
      * 构建排课上下文
      */
@@ -208,42 +341,49 @@ public class AutoScheduleLogic implements AutoScheduleService {
         context.setStartDate(semester.getStartDate());
         context.setEndDate(semester.getEndDate());
 
-        // 2. 查询教学班信息
+        // 2. 查询教学班信息（课程、教师、行政班关联与学生人数均批量查询）
         List<TeachingClassDO> teachingClasses = teachingClassDAO.listByIds(teachingClassUuids);
+        Set<String> courseUuids = teachingClasses.stream()
+                .map(TeachingClassDO::getCourseUuid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> teachingClassTeacherUuids = teachingClasses.stream()
+                .map(TeachingClassDO::getTeacherUuid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, CourseDO> courseMap = (courseUuids.isEmpty() ? List.<CourseDO>of() : courseDAO.listByIds(courseUuids))
+                .stream()
+                .collect(Collectors.toMap(CourseDO::getCourseUuid, c -> c));
+        Map<String, TeacherDO> teacherMap = (teachingClassTeacherUuids.isEmpty()
+                ? List.<TeacherDO>of() : teacherDAO.listByIds(teachingClassTeacherUuids))
+                .stream()
+                .collect(Collectors.toMap(TeacherDO::getTeacherUuid, t -> t));
+        Map<String, List<String>> classUuidsByTeachingClass = teachingClassClassDAO.mapClassUuidsByTeachingClassUuids(
+                teachingClasses.stream().map(TeachingClassDO::getTeachingClassUuid).toList());
+        Map<String, Long> studentCountByClass = studentDAO.countByClassUuids(classUuidsByTeachingClass.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet()));
         List<ScheduleContext.TeachingClassInfo> teachingClassList = new ArrayList<>();
 
         for (TeachingClassDO tc : teachingClasses) {
-            // 查询课程信息
-            CourseDO course = courseDAO.getById(tc.getCourseUuid());
+            CourseDO course = courseMap.get(tc.getCourseUuid());
             if (course == null) {
                 log.warn("课程不存在: {}, 跳过教学班: {}", tc.getCourseUuid(), tc.getTeachingClassUuid());
                 continue;
             }
 
-            // 查询教师信息
-            TeacherDO teacher = teacherDAO.getById(tc.getTeacherUuid());
+            TeacherDO teacher = teacherMap.get(tc.getTeacherUuid());
             if (teacher == null) {
                 log.warn("教师不存在: {}, 跳过教学班: {}", tc.getTeacherUuid(), tc.getTeachingClassUuid());
                 continue;
             }
 
-            // 查询关联的行政班
-            List<TeachingClassClassDO> teachingClassClasses = teachingClassClassDAO.list(
-                    new QueryWrapper<TeachingClassClassDO>()
-                            .eq("teaching_class_uuid", tc.getTeachingClassUuid())
-            );
-
-            // 计算学生总人数
+            // 关联的行政班与学生总人数
+            List<String> classUuids = new ArrayList<>(
+                    classUuidsByTeachingClass.getOrDefault(tc.getTeachingClassUuid(), List.of()));
             int totalStudents = 0;
-            List<String> classUuids = teachingClassClasses.stream()
-                    .map(TeachingClassClassDO::getClassUuid)
-                    .collect(Collectors.toList());
-
             for (String classUuid : classUuids) {
-                List<StudentDO> students = studentDAO.list(
-                        new QueryWrapper<StudentDO>().eq("class_uuid", classUuid)
-                );
-                totalStudents += students.size();
+                totalStudents += studentCountByClass.getOrDefault(classUuid, 0L).intValue();
             }
 
             // 计算需要的上课次数和周数
@@ -341,7 +481,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 .collect(Collectors.toSet());
 
         for (String teacherUuid : teacherUuids) {
-            TeacherDO teacher = teacherDAO.getById(teacherUuid);
+            TeacherDO teacher = teacherMap.get(teacherUuid);
             if (teacher != null) {
                 teacherMaxHours.put(teacherUuid, teacher.getMaxHoursPerWeek());
 
@@ -358,13 +498,21 @@ public class AutoScheduleLogic implements AutoScheduleService {
         context.setTeacherMaxHours(teacherMaxHours);
 
         // 5. 查询已有的正式排课记录（status=1，用于冲突检测）
-        List<ScheduleDO> existingSchedules = scheduleDAO.list(
-                new QueryWrapper<ScheduleDO>()
-                        .eq("semester_uuid", params.getSemesterUuid())
-                        .eq("status", 1)
-        );
-
-        // 转换为 ExistingSchedule 格式
+        // 覆盖模式下本次教学班的旧排课将被替换，不参与冲突检测
+        QueryWrapper<ScheduleDO> existingQuery = new QueryWrapper<ScheduleDO>()
+                .eq("semester_uuid", params.getSemesterUuid())
+                .eq("status", 1);
+        if (Boolean.TRUE.equals(params.getOverwrite()) && !teachingClassUuids.isEmpty()) {
+            existingQuery.notIn("teaching_class_uuid", teachingClassUuids);
+        }
+        List<ScheduleDO> existingSchedules = scheduleDAO.list(existingQuery);
+
+        // 转换为 ExistingSchedule 格式（关联的行政班批量查询）
+        Map<String, List<String>> existingClassUuids = teachingClassClassDAO.mapClassUuidsByTeachingClassUuids(
+                existingSchedules.stream()
+                        .map(ScheduleDO::getTeachingClassUuid)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()));
         List<ScheduleContext.ExistingSchedule> existingScheduleList = existingSchedules.stream()
                 .map(sc -> {
                     ScheduleContext.ExistingSchedule es = new ScheduleContext.ExistingSchedule();
@@ -372,22 +520,11 @@ public class AutoScheduleLogic implements AutoScheduleService {
                     es.setTeachingClassUuid(sc.getTeachingClassUuid());
                     es.setTeacherUuid(sc.getTeacherUuid());
                     es.setClassroomUuid(sc.getClassroomUuid());
-
-                    // 查询关联的行政班
-                    List<TeachingClassClassDO> tccList = teachingClassClassDAO.list(
-                            new QueryWrapper<TeachingClassClassDO>()
-                                    .eq("teaching_class_uuid", sc.getTeachingClassUuid())
-                    );
-                    es.setClassUuids(tccList.stream()
-                            .map(TeachingClassClassDO::getClassUuid)
-                            .collect(Collectors.toList()));
+                    es.setClassUuids(new ArrayList<>(
+                            existingClassUuids.getOrDefault(sc.getTeachingClassUuid(), List.of())));
 
                     // 构建时间槽
-                    TimeSlot timeSlot = new TimeSlot();
-                    timeSlot.setDayOfWeek(sc.getDayOfWeek());
-                    timeSlot.setSectionStart(sc.getSectionStart());
-                    timeSlot.setSectionEnd(sc.getSectionEnd());
-                    timeSlot.setWeeks(parseWeeksJson(sc.getWeeksJson()));
+                    TimeSlot timeSlot = TimeSlot.of(sc.getDayOfWeek(), sc.getSectionStart(), sc.getSectionEnd(), parseWeekMask(sc));
                     es.setTimeSlot(timeSlot);
 
                     return es;
@@ -421,12 +558,9 @@ public class AutoScheduleLogic implements AutoScheduleService {
             for (String part : parts) {
                 String[] slotParts = part.trim().split("-");
                 if (slotParts.length >= 3) {
-                    TimeSlot slot = new TimeSlot();
-                    slot.setDayOfWeek(Integer.parseInt(slotParts[0]));
-                    slot.setSectionStart(Integer.parseInt(slotParts[1]));
-                    slot.setSectionEnd(Integer.parseInt(slotParts[2]));
-                    slot.setWeeks(new ArrayList<>()); // 偏好不限制周次
-                    preferences.add(slot);
+                    // 偏好不限制周次
+                    preferences.add(TimeSlot.of(Integer.parseInt(slotParts[0]),
+                            Integer.parseInt(slotParts[1]), Integer.parseInt(slotParts[2]), 0L));
                 }
             }
         } catch (Exception e) {
@@ -437,18 +571,22 @@ public class AutoScheduleLogic implements AutoScheduleService {
     }
 
     /**
-     * 解析周次JSON字符串
+     * 读取排课记录的周次位图，未回填位图（为 NULL 或 0）的旧记录解析周次JSON
      */
-    private List<Integer> parseWeeksJson(String weeksJson) {
+    private long parseWeekMask(ScheduleDO schedule) {
+        if (schedule.getWeekMask() != null && schedule.getWeekMask() != 0L) {
+            return schedule.getWeekMask();
+        }
+        String weeksJson = schedule.getWeeksJson();
         if (weeksJson == null || weeksJson.isEmpty()) {
-            return new ArrayList<>();
+            return 0L;
         }
         try {
-            return objectMapper.readValue(weeksJson, new TypeReference<List<Integer>>() {
-            });
+            return WeekMaskUtils.toMask(objectMapper.readValue(weeksJson, new TypeReference<List<Integer>>() {
+            }));
         } catch (JsonProcessingException e) {
             log.error("解析周次JSON失败: {}", weeksJson, e);
-            return new ArrayList<>();
+            return 0L;
         }
     }
 
@@ -486,6 +624,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
                     log.error("序列化周次JSON失败", e);
                     schedule.setWeeksJson("[]");
                 }
+                schedule.setWeekMask(timeSlot.getWeekMask());
 
                 schedule.setCreditHours(timeSlot.getTotalHours());
                 schedule.setUpdatedAt(LocalDateTime.now());
@@ -524,6 +663,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
 
         // 保存新的预览记录（status=0）
         saveScheduleRecords(result, 0, null);
+        timetableCacheService.evictSemester(semesterUuid);
 
         log.info("预览方案保存完成");
     }
@@ -554,6 +694,9 @@ public class AutoScheduleLogic implements AutoScheduleService {
         // 自动初始化成绩：为所有已确认排课的教学班创建学生成绩记录（成绩预设0）
         initScoresForConfirmedSchedules(semesterUuid);
 
+        // 整个学期的课表发生变化，递增课表缓存版本
+        timetableCacheService.evictSemester(semesterUuid);
+
         String message = conflictCount > 0
                 ? "确认成功，但检测到 " + conflictCount + " 个冲突"
                 : "确认排课方案成功";
@@ -613,25 +756,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
     public int detectAndSaveConflicts(String semesterUuid) {
         log.info("检测并保存排课冲突，学期UUID: {}", semesterUuid);
 
-        // 1. 删除该学期的旧冲突记录（仅针对预览状态的排课）
-        List<ScheduleDO> previewScheduleList = scheduleDAO.list(
-                new QueryWrapper<ScheduleDO>()
-                        .eq("semester_uuid", semesterUuid)
-                        .eq("status", 0)
-        );
-        List<String> previewScheduleUuids = previewScheduleList.stream()
-                .map(ScheduleDO::getScheduleUuid)
-                .collect(Collectors.toList());
-
-        if (!previewScheduleUuids.isEmpty()) {
-            scheduleConflictDAO.remove(
-                    new QueryWrapper<ScheduleConflictDO>()
-                            .eq("semester_uuid", semesterUuid)
-                            .in("schedule_uuid_a", previewScheduleUuids)
-            );
-        }
-
-        // 2. 查询预览状态的排课记录（status=0）
+        // 1. 查询预览状态的排课记录（status=0），并删除其旧冲突记录
         List<ScheduleDO> previewSchedules = scheduleDAO.list(
                 new QueryWrapper<ScheduleDO>()
                         .eq("semester_uuid", semesterUuid)
@@ -643,14 +768,22 @@ public class AutoScheduleLogic implements AutoScheduleService {
             return 0;
         }
 
-        // 3. 查询已有正式排课记录（status=1）用于冲突检测
+        scheduleConflictDAO.remove(
+                new QueryWrapper<ScheduleConflictDO>()
+                        .eq("semester_uuid", semesterUuid)
+                        .in("schedule_uuid_a", previewSchedules.stream()
+                                .map(ScheduleDO::getScheduleUuid)
+                                .collect(Collectors.toList()))
+        );
+
+        // 2. 查询已有正式排课记录（status=1）用于冲突检测
         List<ScheduleDO> existingSchedules = scheduleDAO.list(
                 new QueryWrapper<ScheduleDO>()
                         .eq("semester_uuid", semesterUuid)
                         .eq("status", 1)
         );
 
-        // 4. 构建教学班信息映射
+        // 3. 构建教学班信息映射
         Map<String, TeachingClassDO> teachingClassMap = teachingClassDAO.listByIds(
                 previewSchedules.stream().map(ScheduleDO::getTeachingClassUuid).collect(Collectors.toSet())
         ).stream().collect(Collectors.toMap(TeachingClassDO::getTeachingClassUuid, tc -> tc));
@@ -667,18 +800,14 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 previewSchedules.stream().map(ScheduleDO::getClassroomUuid).collect(Collectors.toSet())
         ).stream().collect(Collectors.toMap(ClassroomDO::getClassroomUuid, cr -> cr));
 
-        // 5. 构建行政班信息映射
-        Map<String, List<String>> scheduleClassUuidsMap = new HashMap<>();
-        for (ScheduleDO schedule : previewSchedules) {
-            List<TeachingClassClassDO> tccList = teachingClassClassDAO.list(
-                    new QueryWrapper<TeachingClassClassDO>()
-                            .eq("teaching_class_uuid", schedule.getTeachingClassUuid())
-            );
-            scheduleClassUuidsMap.put(schedule.getScheduleUuid(),
-                    tccList.stream().map(TeachingClassClassDO::getClassUuid).collect(Collectors.toList()));
-        }
+        // 4. 构建行政班信息映射（预览与正式排课涉及的教学班一次查询）
+        Set<String> allTeachingClassUuids = new HashSet<>();
+        previewSchedules.forEach(sc -> allTeachingClassUuids.add(sc.getTeachingClassUuid()));
+        existingSchedules.forEach(sc -> allTeachingClassUuids.add(sc.getTeachingClassUuid()));
+        Map<String, List<String>> teachingClassClassUuidsMap =
+                teachingClassClassDAO.mapClassUuidsByTeachingClassUuids(allTeachingClassUuids);
 
-        // 6. 转换预览记录为 CourseAppointment 格式（同时保留ScheduleDO引用）
+        // 5. 转换预览记录为 CourseAppointment 格式（同时保留ScheduleDO引用）
         List<ScheduleAppointment> previewAppointmentList = previewSchedules.stream().map(sc -> {
             CourseAppointment appt = new CourseAppointment();
             appt.setTeachingClassUuid(sc.getTeachingClassUuid());
@@ -706,14 +835,10 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 appt.setClassroomTypeUuid(classroom.getClassroomTypeUuid());
             }
 
-            appt.setClassUuids(scheduleClassUuidsMap.get(sc.getScheduleUuid()));
+            appt.setClassUuids(teachingClassClassUuidsMap.getOrDefault(sc.getTeachingClassUuid(), List.of()));
 
             // 构建时间槽
-            TimeSlot timeSlot = new TimeSlot();
-            timeSlot.setDayOfWeek(sc.getDayOfWeek());
-            timeSlot.setSectionStart(sc.getSectionStart());
-            timeSlot.setSectionEnd(sc.getSectionEnd());
-            timeSlot.setWeeks(parseWeeksJson(sc.getWeeksJson()));
+            TimeSlot timeSlot = TimeSlot.of(sc.getDayOfWeek(), sc.getSectionStart(), sc.getSectionEnd(), parseWeekMask(sc));
             appt.setTimeSlot(timeSlot);
 
             return new ScheduleAppointment(sc, appt);
@@ -724,7 +849,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 .map(ScheduleAppointment::getAppointment)
                 .collect(Collectors.toList());
 
-        // 7. 转换正式记录为 ExistingSchedule 格式
+        // 6. 转换正式记录为 ExistingSchedule 格式
         List<ScheduleContext.ExistingSchedule> existingScheduleList = existingSchedules.stream().map(sc -> {
             ScheduleContext.ExistingSchedule es = new ScheduleContext.ExistingSchedule();
             es.setScheduleUuid(sc.getScheduleUuid());
@@ -732,23 +857,15 @@ public class AutoScheduleLogic implements AutoScheduleService {
             es.setTeacherUuid(sc.getTeacherUuid());
             es.setClassroomUuid(sc.getClassroomUuid());
 
-            List<TeachingClassClassDO> tccList = teachingClassClassDAO.list(
-                    new QueryWrapper<TeachingClassClassDO>()
-                            .eq("teaching_class_uuid", sc.getTeachingClassUuid())
-            );
-            es.setClassUuids(tccList.stream().map(TeachingClassClassDO::getClassUuid).collect(Collectors.toList()));
+            es.setClassUuids(teachingClassClassUuidsMap.getOrDefault(sc.getTeachingClassUuid(), List.of()));
 
-            TimeSlot timeSlot = new TimeSlot();
-            timeSlot.setDayOfWeek(sc.getDayOfWeek());
-            timeSlot.setSectionStart(sc.getSectionStart());
-            timeSlot.setSectionEnd(sc.getSectionEnd());
-            timeSlot.setWeeks(parseWeeksJson(sc.getWeeksJson()));
+            TimeSlot timeSlot = TimeSlot.of(sc.getDayOfWeek(), sc.getSectionStart(), sc.getSectionEnd(), parseWeekMask(sc));
             es.setTimeSlot(timeSlot);
 
             return es;
         }).collect(Collectors.toList());
 
-        // 8. 构建最小上下文（仅用于冲突检测）
+        // 7. 构建最小上下文（仅用于冲突检测）
         ScheduleContext context = new ScheduleContext();
         context.setSemesterUuid(semesterUuid);
         context.setExistingSchedules(existingScheduleList);
@@ -771,134 +888,53 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 ));
         context.setCourseTeacherQualifications(courseTeacherQualifications);
 
-        // 9. 检测预览记录之间的冲突（内部冲突）
-        int conflictAdded = 0;
-
-        // 检测两两冲突
-        for (int i = 0; i < previewAppointmentList.size(); i++) {
-            for (int j = i + 1; j < previewAppointmentList.size(); j++) {
-                ScheduleAppointment sa1 = previewAppointmentList.get(i);
-                ScheduleAppointment sa2 = previewAppointmentList.get(j);
-                CourseAppointment appt1 = sa1.getAppointment();
-                CourseAppointment appt2 = sa2.getAppointment();
-
-                // 跳过同一教学班的不同次排课
-                if (appt1.getTeachingClassUuid().equals(appt2.getTeachingClassUuid())) {
-                    continue;
-                }
-
-                TimeSlot slot1 = appt1.getTimeSlot();
-                TimeSlot slot2 = appt2.getTimeSlot();
-
-                if (slot1.isOverlap(slot2)) {
-                    // 教师冲突
-                    if (appt1.getTeacherUuid().equals(appt2.getTeacherUuid())) {
-                        addScheduleConflict(semesterUuid, sa1.getScheduleDO().getScheduleUuid(),
-                                sa2.getScheduleDO().getScheduleUuid(), "TEACHER_TIME_CONFLICT",
-                                "教师[" + appt1.getTeacherName() + "]同一时间有多门课程", 1);
-                        conflictAdded++;
-                    }
-
-                    // 教室冲突
-                    if (appt1.getClassroomUuid().equals(appt2.getClassroomUuid())) {
-                        addScheduleConflict(semesterUuid, sa1.getScheduleDO().getScheduleUuid(),
-                                sa2.getScheduleDO().getScheduleUuid(), "CLASSROOM_TIME_CONFLICT",
-                                "教室[" + appt1.getClassroomName() + "]同一时间被多个课程占用", 1);
-                        conflictAdded++;
-                    }
-
-                    // 班级冲突
-                    if (appt1.getClassUuids() != null && appt2.getClassUuids() != null) {
-                        Set<String> classes1 = new HashSet<>(appt1.getClassUuids());
-                        Set<String> classes2 = new HashSet<>(appt2.getClassUuids());
-                        classes1.retainAll(classes2);
-
-                        if (!classes1.isEmpty()) {
-                            addScheduleConflict(semesterUuid, sa1.getScheduleDO().getScheduleUuid(),
-                                    sa2.getScheduleDO().getScheduleUuid(), "CLASS_TIME_CONFLICT",
-                                    "班级同一时间有多门课程", 1);
-                            conflictAdded++;
-                        }
-                    }
-                }
-            }
-        }
-
-        // 10. 检测预览记录与已有正式记录的冲突
-        for (ScheduleAppointment sa : previewAppointmentList) {
-            CourseAppointment newAppt = sa.getAppointment();
-            String newScheduleUuid = sa.getScheduleDO().getScheduleUuid();
-            for (ScheduleContext.ExistingSchedule existing : existingScheduleList) {
-                if (newAppt.getTimeSlot().isOverlap(existing.getTimeSlot())) {
-                    // 教师冲突
-                    if (newAppt.getTeacherUuid().equals(existing.getTeacherUuid())) {
-                        ScheduleDO existingSchedule = existingSchedules.stream()
-                                .filter(sc -> sc.getScheduleUuid().equals(existing.getScheduleUuid()))
-                                .findFirst().orElse(null);
-                        if (existingSchedule != null) {
-                            addScheduleConflictWithExisting(semesterUuid, newScheduleUuid,
-                                    existingSchedule.getScheduleUuid(), "EXISTING_SCHEDULE_CONFLICT",
-                                    "教师[" + newAppt.getTeacherName() + "]在已有排课中该时间段有课", 1);
-                            conflictAdded++;
-                        }
-                    }
-
-                    // 教室冲突
-                    if (newAppt.getClassroomUuid().equals(existing.getClassroomUuid())) {
-                        ScheduleDO existingSchedule = existingSchedules.stream()
-                                .filter(sc -> sc.getScheduleUuid().equals(existing.getScheduleUuid()))
-                                .findFirst().orElse(null);
-                        if (existingSchedule != null) {
-                            addScheduleConflictWithExisting(semesterUuid, newScheduleUuid,
-                                    existingSchedule.getScheduleUuid(), "EXISTING_SCHEDULE_CONFLICT",
-                                    "教室[" + newAppt.getClassroomName() + "]在已有排课中该时间段已被占用", 1);
-                            conflictAdded++;
-                        }
-                    }
-
-                    // 班级冲突
-                    if (newAppt.getClassUuids() != null && existing.getClassUuids() != null) {
-                        Set<String> newClasses = new HashSet<>(newAppt.getClassUuids());
-                        Set<String> existingClasses = new HashSet<>(existing.getClassUuids());
-                        newClasses.retainAll(existingClasses);
-
-                        if (!newClasses.isEmpty()) {
-                            ScheduleDO existingSchedule = existingSchedules.stream()
-                                    .filter(sc -> sc.getScheduleUuid().equals(existing.getScheduleUuid()))
-                                    .findFirst().orElse(null);
-                            if (existingSchedule != null) {
-                                addScheduleConflictWithExisting(semesterUuid, newScheduleUuid,
-                                        existingSchedule.getScheduleUuid(), "EXISTING_SCHEDULE_CONFLICT",
-                                        "班级在已有排课中该时间段有课", 1);
-                                conflictAdded++;
-                            }
-                        }
-                    }
-                }
+        // 8. 检测时间冲突（预览记录之间、预览记录与已有正式记录之间）
+        List<ScheduleConflictDO> conflicts = new ArrayList<>();
+        SessionConflictScanner.ScanResult scanResult =
+                sessionConflictScanner.scan(previewAppointments, existingScheduleList);
+        for (SessionConflictScanner.TimeConflict timeConflict : scanResult.getConflicts()) {
+            ScheduleAppointment sa = previewAppointmentList.get(timeConflict.getPreview());
+            CourseAppointment appt = sa.getAppointment();
+            String scheduleUuidA = sa.getScheduleDO().getScheduleUuid();
+            if (timeConflict.isWithExisting()) {
+                String scheduleUuidB = existingScheduleList.get(timeConflict.getOther()).getScheduleUuid();
+                String description = switch (timeConflict.getType()) {
+                    case TEACHER_TIME_CONFLICT -> "教师[" + appt.getTeacherName() + "]在已有排课中该时间段有课";
+                    case CLASSROOM_TIME_CONFLICT -> "教室[" + appt.getClassroomName() + "]在已有排课中该时间段已被占用";
+                    default -> "班级在已有排课中该时间段有课";
+                };
+                conflicts.add(buildScheduleConflict(semesterUuid, scheduleUuidA, scheduleUuidB,
+                        "EXISTING_SCHEDULE_CONFLICT", description));
+            } else {
+                String scheduleUuidB = previewAppointmentList.get(timeConflict.getOther()).getScheduleDO().getScheduleUuid();
+                String description = switch (timeConflict.getType()) {
+                    case TEACHER_TIME_CONFLICT -> "教师[" + appt.getTeacherName() + "]同一时间有多门课程";
+                    case CLASSROOM_TIME_CONFLICT -> "教室[" + appt.getClassroomName() + "]同一时间被多个课程占用";
+                    default -> "班级同一时间有多门课程";
+                };
+                conflicts.add(buildScheduleConflict(semesterUuid, scheduleUuidA, scheduleUuidB,
+                        timeConflict.getType().name(), description));
             }
         }
+        long pairwiseCount = (long) previewSchedules.size() * (previewSchedules.size() - 1) / 2
+                + (long) previewSchedules.size() * existingSchedules.size();
+        log.info("时间冲突扫描完成：检查 {} 条排课记录，比较 {} 对（逐对比较需 {} 对），发现 {} 条时间冲突",
+                scanResult.getExamined(), scanResult.getCompared(), pairwiseCount, scanResult.getConflicts().size());
 
-        // 11. 检测容量约束
+        // 9. 检测容量约束
         for (ScheduleAppointment sa : previewAppointmentList) {
             CourseAppointment appt = sa.getAppointment();
             if (appt.getClassroomCapacity() != null && appt.getTotalStudents() != null) {
                 if (appt.getClassroomCapacity() < appt.getTotalStudents()) {
                     // 容量不足的冲突也需要记录，但这种是单个排课的问题
-                    ScheduleConflictDO conflict = new ScheduleConflictDO();
-                    conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
-                    conflict.setSemesterUuid(semesterUuid);
-                    conflict.setScheduleUuidA(sa.getScheduleDO().getScheduleUuid());
-                    conflict.setScheduleUuidB(null);
-                    conflict.setConflictType("CAPACITY_INSUFFICIENT");
-                    conflict.setSeverity(1);
-                    conflict.setDescription("教室[" + appt.getClassroomName() + "]容量不足，需要" + appt.getTotalStudents() + "个座位，实际只有" + appt.getClassroomCapacity() + "个");
-                    scheduleConflictDAO.save(conflict);
-                    conflictAdded++;
+                    conflicts.add(buildScheduleConflict(semesterUuid, sa.getScheduleDO().getScheduleUuid(), null,
+                            "CAPACITY_INSUFFICIENT",
+                            "教室[" + appt.getClassroomName() + "]容量不足，需要" + appt.getTotalStudents() + "个座位，实际只有" + appt.getClassroomCapacity() + "个"));
                 }
             }
         }
 
-        // 12. 检测教室类型匹配约束
+        // 10. 检测教室类型匹配约束
         Map<String, List<String>> courseTypeClassroomMap = context.getCourseTypeToClassroomTypes();
         if (courseTypeClassroomMap != null && !courseTypeClassroomMap.isEmpty()) {
             for (ScheduleAppointment sa : previewAppointmentList) {
@@ -909,22 +945,15 @@ public class AutoScheduleLogic implements AutoScheduleService {
                 if (courseTypeUuid != null && classroomTypeUuid != null) {
                     List<String> allowedTypes = courseTypeClassroomMap.get(courseTypeUuid);
                     if (allowedTypes != null && !allowedTypes.isEmpty() && !allowedTypes.contains(classroomTypeUuid)) {
-                        ScheduleConflictDO conflict = new ScheduleConflictDO();
-                        conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
-                        conflict.setSemesterUuid(semesterUuid);
-                        conflict.setScheduleUuidA(sa.getScheduleDO().getScheduleUuid());
-                        conflict.setScheduleUuidB(null);
-                        conflict.setConflictType("CLASSROOM_TYPE_MISMATCH");
-                        conflict.setSeverity(1);
-                        conflict.setDescription("课程[" + appt.getCourseName() + "]需要类型为" + allowedTypes + "的教室，但被安排到了类型不匹配的教室[" + appt.getClassroomName() + "]");
-                        scheduleConflictDAO.save(conflict);
-                        conflictAdded++;
+                        conflicts.add(buildScheduleConflict(semesterUuid, sa.getScheduleDO().getScheduleUuid(), null,
+                                "CLASSROOM_TYPE_MISMATCH",
+                                "课程[" + appt.getCourseName() + "]需要类型为" + allowedTypes + "的教室，但被安排到了类型不匹配的教室[" + appt.getClassroomName() + "]"));
                     }
                 }
             }
         }
 
-        // 13. 检测教师资格约束
+        // 11. 检测教师资格约束
         Map<String, List<String>> courseTeacherQualMap = context.getCourseTeacherQualifications();
         if (courseTeacherQualMap != null && !courseTeacherQualMap.isEmpty()) {
             for (ScheduleAppointment sa : previewAppointmentList) {
@@ -936,67 +965,44 @@ public class AutoScheduleLogic implements AutoScheduleService {
                     List<String> qualifiedTeachers = courseTeacherQualMap.get(courseUuid);
 
                     if (qualifiedTeachers == null || qualifiedTeachers.isEmpty()) {
-                        ScheduleConflictDO conflict = new ScheduleConflictDO();
-                        conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
-                        conflict.setSemesterUuid(semesterUuid);
-                        conflict.setScheduleUuidA(sa.getScheduleDO().getScheduleUuid());
-                        conflict.setScheduleUuidB(null);
-                        conflict.setConflictType("TEACHER_QUALIFICATION_MISMATCH");
-                        conflict.setSeverity(1);
-                        conflict.setDescription("课程[" + appt.getCourseName() + "]没有任何有资格教师，却安排了教师[" + appt.getTeacherName() + "]");
-                        scheduleConflictDAO.save(conflict);
-                        conflictAdded++;
+                        conflicts.add(buildScheduleConflict(semesterUuid, sa.getScheduleDO().getScheduleUuid(), null,
+                                "TEACHER_QUALIFICATION_MISMATCH",
+                                "课程[" + appt.getCourseName() + "]没有任何有资格教师，却安排了教师[" + appt.getTeacherName() + "]"));
                     } else if (!qualifiedTeachers.contains(teacherUuid)) {
-                        ScheduleConflictDO conflict = new ScheduleConflictDO();
-                        conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
-                        conflict.setSemesterUuid(semesterUuid);
-                        conflict.setScheduleUuidA(sa.getScheduleDO().getScheduleUuid());
-                        conflict.setScheduleUuidB(null);
-                        conflict.setConflictType("TEACHER_QUALIFICATION_MISMATCH");
-                        conflict.setSeverity(1);
-                        conflict.setDescription("教师[" + appt.getTeacherName() + "]没有教授课程[" + appt.getCourseName() + "]的资格");
-                        scheduleConflictDAO.save(conflict);
-                        conflictAdded++;
+                        conflicts.add(buildScheduleConflict(semesterUuid, sa.getScheduleDO().getScheduleUuid(), null,
+                                "TEACHER_QUALIFICATION_MISMATCH",
+                                "教师[" + appt.getTeacherName() + "]没有教授课程[" + appt.getCourseName() + "]的资格"));
                     }
                 }
             }
         }
 
-        log.info("检测并保存排课冲突完成，共添加 {} 条冲突记录", conflictAdded);
-        return conflictAdded;
+        // 12. 批量写入冲突记录
+        if (!conflicts.isEmpty()) {
+            scheduleConflictDAO.saveBatch(conflicts);
+        }
+
+        log.info("检测并保存排课冲突完成，共添加 {} 条冲突记录", conflicts.size());
+        return conflicts.size();
     }
 
     /**
-     * 添加排课冲突记录（两个新排课之间的冲突）
+     * 构建排课冲突记录（严重程度均为硬冲突）
+     *
+     * @param scheduleUuidA 预览排课UUID
+     * @param scheduleUuidB 另一方排课UUID（单条排课自身的问题为 null）
      */
-    private void addScheduleConflict(String semesterUuid, String scheduleUuidA, String scheduleUuidB,
-                                      String conflictType, String description, Integer severity) {
+    private ScheduleConflictDO buildScheduleConflict(String semesterUuid, String scheduleUuidA, String scheduleUuidB,
+                                                     String conflictType, String description) {
         ScheduleConflictDO conflict = new ScheduleConflictDO();
         conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
         conflict.setSemesterUuid(semesterUuid);
         conflict.setScheduleUuidA(scheduleUuidA);
         conflict.setScheduleUuidB(scheduleUuidB);
         conflict.setConflictType(conflictType);
-        conflict.setSeverity(severity);
+        conflict.setSeverity(1);
         conflict.setDescription(description);
-        scheduleConflictDAO.save(conflict);
-    }
-
-    /**
-     * 添加排课冲突记录（预览排课与已有正式排课的冲突）
-     */
-    private void addScheduleConflictWithExisting(String semesterUuid, String newScheduleUuid,
-                                                  String existingScheduleUuid, String conflictType,
-                                                  String description, Integer severity) {
-        ScheduleConflictDO conflict = new ScheduleConflictDO();
-        conflict.setConflictUuid(UUID.randomUUID().toString().replace("-", ""));
-        conflict.setSemesterUuid(semesterUuid);
-        conflict.setScheduleUuidA(newScheduleUuid);
-        conflict.setScheduleUuidB(existingScheduleUuid);
-        conflict.setConflictType(conflictType);
-        conflict.setSeverity(severity);
-        conflict.setDescription(description);
-        scheduleConflictDAO.save(conflict);
+        return conflict;
     }
 
     /**
@@ -1016,6 +1022,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
                         .eq("status", 0)
         );
 
+        timetableCacheService.evictSemester(semesterUuid);
         log.info("预览方案清除完成，删除结果: {}", deleted);
     }
 
@@ -1073,9 +1080,12 @@ public class AutoScheduleLogic implements AutoScheduleService {
      * 解析并创建教学班（按行政班级排课模式，按容量自动拆分）
      *
      * @param params 排课参数
+     * @param random 随机数生成器（用于随机选择教师策略）
+     * @param createdUuids 收集本次新建的教学班UUID（复用的已有教学班不加入）
      * @return 教学班UUID列表
      */
-    private List<String> parseAndCreateTeachingClasses(AutoScheduleVO params) {
+    private List<String> parseAndCreateTeachingClasses(AutoScheduleVO params, SplittableRandom random,
+                                                       List<String> createdUuids) {
         List<String> teachingClassUuids = new ArrayList<>();
         String semesterUuid = params.getSemesterUuid();
 
@@ -1086,7 +1096,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
             List<String> classUuids = entry.getValue();
 
             // 1. 选择教师
-            String teacherUuid = selectTeacherForCourse(courseUuid, params);
+            String teacherUuid = selectTeacherForCourse(courseUuid, params, random);
 
             if (teacherUuid == null) {
                 throw new IllegalArgumentException("课程 " + courseUuid + " 没有可用的有资格教师");
@@ -1106,7 +1116,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
 
                 // 为分组创建独立的教学班
                 String teachingClassUuid = findOrBuildTeachingClass(
-                        courseUuid, teacherUuid, semesterUuid, group, groupSuffix);
+                        courseUuid, teacherUuid, semesterUuid, group, groupSuffix, createdUuids);
                 teachingClassUuids.add(teachingClassUuid);
 
                 log.info("课程: {}, 教师: {}, 行政班: {} -> 教学班: {}",
@@ -1129,13 +1139,11 @@ public class AutoScheduleLogic implements AutoScheduleService {
     private List<List<String>> splitClassesByCapacity(List<String> classUuids) {
         List<List<String>> groups = new ArrayList<>();
 
-        // 计算每个行政班的学生人数
+        // 计算每个行政班的学生人数（一次 GROUP BY 查询）
+        Map<String, Long> studentCounts = studentDAO.countByClassUuids(classUuids);
         Map<String, Integer> classStudentCount = new HashMap<>();
         for (String classUuid : classUuids) {
-            List<StudentDO> students = studentDAO.list(
-                    new QueryWrapper<StudentDO>().eq("class_uuid", classUuid)
-            );
-            int count = students.size();
+            int count = studentCounts.getOrDefault(classUuid, 0L).intValue();
             classStudentCount.put(classUuid, count);
             log.debug("行政班 {} 学生人数: {}", classUuid, count);
         }
@@ -1197,9 +1205,10 @@ public class AutoScheduleLogic implements AutoScheduleService {
      *
      * @param courseUuid 课程UUID
      * @param params 排课参数
+     * @param random 随机数生成器
      * @return 教师UUID
      */
-    private String selectTeacherForCourse(String courseUuid, AutoScheduleVO params) {
+    private String selectTeacherForCourse(String courseUuid, AutoScheduleVO params, SplittableRandom random) {
         // 1. 如果指定了教师，验证后返回
         if (params.getTeacherAssignment() != null && params.getTeacherAssignment().containsKey(courseUuid)) {
             String assignedTeacherUuid = params.getTeacherAssignment().get(courseUuid);
@@ -1226,7 +1235,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
         // 3. 根据策略选择教师
         String strategy = params.getTeacherSelectionStrategy();
         if ("random".equals(strategy)) {
-            return selectRandomTeacher(qualifiedTeacherUuids);
+            return selectRandomTeacher(qualifiedTeacherUuids, random);
         } else if ("first".equals(strategy)) {
             return qualifiedTeacherUuids.get(0);
         } else {
@@ -1250,8 +1259,7 @@ public class AutoScheduleLogic implements AutoScheduleService {
     /**
      * 随机选择教师
      */
-    private String selectRandomTeacher(List<String> teacherUuids) {
-        Random random = new Random();
+    private String selectRandomTeacher(List<String> teacherUuids, SplittableRandom random) {
         return teacherUuids.get(random.nextInt(teacherUuids.size()));
     }
 
@@ -1291,10 +1299,11 @@ public class AutoScheduleLogic implements AutoScheduleService {
      * @param semesterUuid 学期UUID
      * @param classUuids 行政班UUID列表
      * @param groupSuffix 分组后缀（如"-1组"，为空则不添加）
+     * @param createdUuids 新建教学班时将其UUID加入此列表
      * @return 教学班UUID
      */
-    private String findOrBuildTeachingClass(String courseUuid, String teacherUuid,
-                                              String semesterUuid, List<String> classUuids, String groupSuffix) {
+    private String findOrBuildTeachingClass(String courseUuid, String teacherUuid, String semesterUuid,
+                                            List<String> classUuids, String groupSuffix, List<String> createdUuids) {
         // 1. 排序行政班UUID列表，便于比较
         List<String> sortedClassUuids = new ArrayList<>(classUuids);
         Collections.sort(sortedClassUuids);
@@ -1327,7 +1336,9 @@ public class AutoScheduleLogic implements AutoScheduleService {
         }
 
         // 4. 未找到匹配的教学班，创建新的
-        return createNewTeachingClass(courseUuid, teacherUuid, semesterUuid, classUuids, groupSuffix);
+        String teachingClassUuid = createNewTeachingClass(courseUuid, teacherUuid, semesterUuid, classUuids, groupSuffix);
+        createdUuids.add(teachingClassUuid);
+        return teachingClassUuid;
     }
 
     /**
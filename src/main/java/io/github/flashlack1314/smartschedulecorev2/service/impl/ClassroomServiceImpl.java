@@ -15,6 +15,7 @@ import io.github.flashlack1314.smartschedulecorev2.model.entity.ClassroomDO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.ClassroomTypeDO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddClassroomVO;
 import io.github.flashlack1314.smartschedulecorev2.service.ClassroomService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,7 @@ public class ClassroomServiceImpl implements ClassroomService {
     private final BuildingDAO buildingDAO;
     private final ClassroomTypeDAO classroomTypeDAO;
     private final ScheduleDAO scheduleDAO;
+    private final TimetableCacheService timetableCacheService;
 
     /**
      * 添加教室信息
@@ -238,6 +240,8 @@ public class ClassroomServiceImpl implements ClassroomService {
         if (!updated) {
             throw new BusinessException("更新教室失败", ErrorCode.OPERATION_FAILED);
         }
+        // 课表中展示教室名称
+        timetableCacheService.evictAll();
 
         log.info("教室更新成功 - UUID: {}, 教学楼UUID: {}, 教室名称: {}, 容量: {}, 类型UUID: {}",
                 classroomUuid, buildingUuid, classroomName, classroomCapacity, classroomTypeUuid);
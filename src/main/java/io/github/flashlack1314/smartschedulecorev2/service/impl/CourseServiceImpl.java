@@ -14,6 +14,7 @@ import io.github.flashlack1314.smartschedulecorev2.model.entity.CourseDO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.CourseTypeDO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddCourseVO;
 import io.github.flashlack1314.smartschedulecorev2.service.CourseService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,7 @@ public class CourseServiceImpl implements CourseService {
     private final CourseTypeDAO courseTypeDAO;
     private final TeachingClassDAO teachingClassDAO;
     private final CourseQualificationDAO courseQualificationDAO;
+    private final TimetableCacheService timetableCacheService;
 
     @Override
     public String addCourse(AddCourseVO addCourseVO) {
@@ -155,6 +157,8 @@ public class CourseServiceImpl implements CourseService {
         if (!updated) {
             throw new BusinessException("更新课程失败", ErrorCode.OPERATION_FAILED);
         }
+        // 课表中展示课程名称
+        timetableCacheService.evictAll();
 
         log.info("课程更新成功 - UUID: {}, 编号: {}, 名称: {}",
                 addCourseVO.getCourseUuid(), addCourseVO.getCourseNum(), addCourseVO.getCourseName());
@@ -3,11 +3,13 @@ package io.github.flashlack1314.smartschedulecorev2.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import io.github.flashlack1314.smartschedulecorev2.dao.*;
 import io.github.flashlack1314.smartschedulecorev2.enums.Priority;
+import io.github.flashlack1314.smartschedulecorev2.enums.TimetableType;
 import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.TokenInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.home.*;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
 import io.github.flashlack1314.smartschedulecorev2.service.HomeService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import io.github.flashlack1314.smartschedulecorev2.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -46,6 +48,7 @@ public class HomeServiceImpl implements HomeService {
     private final CourseDAO courseDAO;
     private final ClassDAO classDAO;
     private final TeachingClassClassDAO teachingClassClassDAO;
+    private final TimetableCacheService timetableCacheService;
 
     @Override
     public DashboardDTO getDashboard(String token) {
@@ -286,42 +289,49 @@ public class HomeServiceImpl implements HomeService {
         }
         String classUuid = student.getClassUuid();
 
-        // 查找包含该班级的教学班
-        LambdaQueryWrapper<TeachingClassClassDO> tccQuery = new LambdaQueryWrapper<>();
-        tccQuery.eq(TeachingClassClassDO::getClassUuid, classUuid);
-        List<TeachingClassClassDO> tccList = teachingClassClassDAO.list(tccQuery);
-
-        if (tccList.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<String> teachingClassUuids = tccList.stream()
-                .map(TeachingClassClassDO::getTeachingClassUuid)
-                .collect(Collectors.toList());
-
-        // 查询今日排课
-        LambdaQueryWrapper<ScheduleDO> scheduleQuery = new LambdaQueryWrapper<>();
-        scheduleQuery.eq(ScheduleDO::getDayOfWeek, dayOfWeek)
-                .eq(ScheduleDO::getStatus, 1)
-                .in(ScheduleDO::getTeachingClassUuid, teachingClassUuids)
-                .orderByAsc(ScheduleDO::getSectionStart);
-
-        List<ScheduleDO> schedules = scheduleDAO.list(scheduleQuery);
-        return this.convertToTodayCourseDTOs(schedules, classUuid);
+        // 同班学生共享行政班今日课程缓存
+        return timetableCacheService.getOrLoad(TimetableType.CLASS_TODAY, TimetableCacheService.ALL_SEMESTERS,
+                TimetableCacheService.dailyOwner(classUuid, dayOfWeek), () -> {
+                    // 查找包含该班级的教学班
+                    LambdaQueryWrapper<TeachingClassClassDO> tccQuery = new LambdaQueryWrapper<>();
+                    tccQuery.eq(TeachingClassClassDO::getClassUuid, classUuid);
+                    List<TeachingClassClassDO> tccList = teachingClassClassDAO.list(tccQuery);
+
+                    if (tccList.isEmpty()) {
+                        return Collections.emptyList();
+                    }
+
+                    List<String> teachingClassUuids = tccList.stream()
+                            .map(TeachingClassClassDO::getTeachingClassUuid)
+                            .collect(Collectors.toList());
+
+                    // 查询今日排课
+                    LambdaQueryWrapper<ScheduleDO> scheduleQuery = new LambdaQueryWrapper<>();
+                    scheduleQuery.eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                            .eq(ScheduleDO::getStatus, 1)
+                            .in(ScheduleDO::getTeachingClassUuid, teachingClassUuids)
+                            .orderByAsc(ScheduleDO::getSectionStart);
+
+                    List<ScheduleDO> schedules = scheduleDAO.list(scheduleQuery);
+                    return this.convertToTodayCourseDTOs(schedules, classUuid);
+                });
     }
 
     /**
      * 获取教师今日课程
      */
     private List<TodayCourseDTO> getTeacherTodayCourses(String teacherUuid, int dayOfWeek) {
-        LambdaQueryWrapper<ScheduleDO> query = new LambdaQueryWrapper<>();
-        query.eq(ScheduleDO::getTeacherUuid, teacherUuid)
-                .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
-                .eq(ScheduleDO::getStatus, 1)
-                .orderByAsc(ScheduleDO::getSectionStart);
-
-        List<ScheduleDO> schedules = scheduleDAO.list(query);
-        return this.convertToTodayCourseDTOs(schedules, null);
+        return timetableCacheService.getOrLoad(TimetableType.TEACHER_TODAY, TimetableCacheService.ALL_SEMESTERS,
+                TimetableCacheService.dailyOwner(teacherUuid, dayOfWeek), () -> {
+                    LambdaQueryWrapper<ScheduleDO> query = new LambdaQueryWrapper<>();
+                    query.eq(ScheduleDO::getTeacherUuid, teacherUuid)
+                            .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                            .eq(ScheduleDO::getStatus, 1)
+                            .orderByAsc(ScheduleDO::getSectionStart);
+
+                    List<ScheduleDO> schedules = scheduleDAO.list(query);
+                    return this.convertToTodayCourseDTOs(schedules, null);
+                });
     }
 
     /**
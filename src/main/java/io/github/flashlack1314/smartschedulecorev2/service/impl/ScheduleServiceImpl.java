@@ -1,6 +1,7 @@
 package io.github.flashlack1314.smartschedulecorev2.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.service.IService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,19 +10,30 @@ import com.xlf.utility.exception.BusinessException;
 import com.xlf.utility.util.UuidUtil;
 import io.github.flashlack1314.smartschedulecorev2.config.database.ScheduleConflictInitializer;
 import io.github.flashlack1314.smartschedulecorev2.dao.*;
+import io.github.flashlack1314.smartschedulecorev2.enums.ExportFormat;
+import io.github.flashlack1314.smartschedulecorev2.enums.TimetableType;
+import io.github.flashlack1314.smartschedulecorev2.mapper.ScheduleMapper;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.PageDTO;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleExportRowDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.base.ScheduleInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddScheduleVO;
 import io.github.flashlack1314.smartschedulecorev2.service.ScheduleService;
 import io.github.flashlack1314.smartschedulecorev2.service.ScoreService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
+import io.github.flashlack1314.smartschedulecorev2.utils.WeekMaskUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,8 +55,17 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final TeachingClassClassDAO teachingClassClassDAO;
     private final ScheduleConflictInitializer scheduleConflictInitializer;
     private final ScoreService scoreService;
+    private final TimetableCacheService timetableCacheService;
+    /**
+     * Spring 配置的 ObjectMapper（SNAKE_CASE），NDJSON 导出与接口返回的字段名一致
+     */
+    private final ObjectMapper objectMapper;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * 导出CSV表头
+     */
+    private static final String EXPORT_CSV_HEADER =
+            "排课UUID,教学班,课程编号,课程名称,教师工号,教师姓名,学院,教学楼,教室,星期,起始节次,结束节次,周次,学时,状态";
 
     @Override
     public String addSchedule(AddScheduleVO getData) {
@@ -82,8 +103,9 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new BusinessException("结束节次必须大于等于起始节次", ErrorCode.OPERATION_FAILED);
         }
 
-        // 验证weeksJson格式并计算周次数
+        // 验证weeksJson格式并计算周次数与周次位图
         int weekCount = 0;
+        long weekMask = 0L;
         if (getData.getWeeksJson() == null || getData.getWeeksJson().trim().isEmpty()) {
             throw new BusinessException("上课周次不能为空", ErrorCode.OPERATION_FAILED);
         }
@@ -93,7 +115,11 @@ public class ScheduleServiceImpl implements ScheduleService {
             int maxWeek = 0;
             for (JsonNode weekNode : weeksNode) {
                 int week = weekNode.asInt();
+                if (!WeekMaskUtils.isValidWeek(week)) {
+                    throw new BusinessException("上课周次必须在1-" + WeekMaskUtils.MAX_WEEKS + "之间", ErrorCode.OPERATION_FAILED);
+                }
                 weekCount++;
+                weekMask |= 1L << (week - 1);
                 if (week > maxWeek) {
                     maxWeek = week;
                 }
@@ -133,6 +159,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         scheduleDO.setSectionStart(getData.getSectionStart());
         scheduleDO.setSectionEnd(getData.getSectionEnd());
         scheduleDO.setWeeksJson(getData.getWeeksJson());
+        scheduleDO.setWeekMask(weekMask);
         scheduleDO.setStatus(getData.getStatus());
         scheduleDO.setUpdatedAt(LocalDateTime.now());
 
@@ -149,6 +176,9 @@ public class ScheduleServiceImpl implements ScheduleService {
         // 更新教学班学时
         updateTeachingClassHours(getData.getTeachingClassUuid());
 
+        // 失效相关课表缓存
+        timetableCacheService.evictSchedule(scheduleDO);
+
         // 重新检测冲突
         scheduleConflictInitializer.reDetectConflictsForSchedule(scheduleDO.getScheduleUuid());
 
@@ -180,9 +210,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 teacherUuid, dayOfWeek, status);
 
         // 转换为 ScheduleInfoDTO
-        List<ScheduleInfoDTO> scheduleInfoList = pageResult.getRecords().stream()
-                .map(this::convertToScheduleInfoDTO)
-                .collect(Collectors.toList());
+        List<ScheduleInfoDTO> scheduleInfoList = convertToScheduleInfoDTOs(pageResult.getRecords());
 
         // 构建返回结果
         PageDTO<ScheduleInfoDTO> result = new PageDTO<>();
@@ -203,7 +231,7 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new BusinessException("排课记录不存在: " + scheduleUuid, ErrorCode.OPERATION_FAILED);
         }
 
-        return convertToScheduleInfoDTO(schedule);
+        return convertToScheduleInfoDTOs(List.of(schedule)).get(0);
     }
 
     @Override
@@ -247,8 +275,9 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new BusinessException("结束节次必须大于等于起始节次", ErrorCode.OPERATION_FAILED);
         }
 
-        // 验证weeksJson格式并计算周次数
+        // 验证weeksJson格式并计算周次数与周次位图
         int weekCount = 0;
+        long weekMask = 0L;
         if (getData.getWeeksJson() == null || getData.getWeeksJson().trim().isEmpty()) {
             throw new BusinessException("上课周次不能为空", ErrorCode.OPERATION_FAILED);
         }
@@ -258,7 +287,11 @@ public class ScheduleServiceImpl implements ScheduleService {
             int maxWeek = 0;
             for (JsonNode weekNode : weeksNode) {
                 int week = weekNode.asInt();
+                if (!WeekMaskUtils.isValidWeek(week)) {
+                    throw new BusinessException("上课周次必须在1-" + WeekMaskUtils.MAX_WEEKS + "之间", ErrorCode.OPERATION_FAILED);
+                }
                 weekCount++;
+                weekMask |= 1L << (week - 1);
                 if (week > maxWeek) {
                     maxWeek = week;
                 }
@@ -277,6 +310,9 @@ public class ScheduleServiceImpl implements ScheduleService {
 
         // 记录原教学班UUID（用于判断是否需要更新原教学班学时）
         String oldTeachingClassUuid = schedule.getTeachingClassUuid();
+        // 记录原排课（更新后失效原教师、教室、行政班的课表缓存）
+        ScheduleDO previous = new ScheduleDO();
+        BeanUtils.copyProperties(schedule, previous);
 
         // 更新排课信息
         schedule.setSemesterUuid(getData.getSemesterUuid());
@@ -288,6 +324,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         schedule.setSectionStart(getData.getSectionStart());
         schedule.setSectionEnd(getData.getSectionEnd());
         schedule.setWeeksJson(getData.getWeeksJson());
+        schedule.setWeekMask(weekMask);
         schedule.setStatus(getData.getStatus());
         schedule.setUpdatedAt(LocalDateTime.now());
 
@@ -308,6 +345,10 @@ public class ScheduleServiceImpl implements ScheduleService {
             updateTeachingClassHours(oldTeachingClassUuid);
         }
 
+        // 失效更新前后相关的课表缓存
+        timetableCacheService.evictSchedule(previous);
+        timetableCacheService.evictSchedule(schedule);
+
         // 重新检测冲突
         scheduleConflictInitializer.reDetectConflictsForSchedule(getData.getScheduleUuid());
 
@@ -344,6 +385,9 @@ public class ScheduleServiceImpl implements ScheduleService {
         // 删除与该排课相关的冲突记录
         scheduleConflictInitializer.removeConflictsForSchedule(scheduleUuid);
 
+        // 失效相关课表缓存
+        timetableCacheService.evictSchedule(schedule);
+
         // 更新教学班学时
         updateTeachingClassHours(schedule.getTeachingClassUuid());
 
@@ -354,17 +398,17 @@ public class ScheduleServiceImpl implements ScheduleService {
     public List<ScheduleInfoDTO> getTeacherTimetable(String teacherUuid, String semesterUuid) {
         log.info("查询教师课表 - 教师UUID: {}, 学期UUID: {}", teacherUuid, semesterUuid);
 
-        // 验证教师是否存在
-        TeacherDO teacherDO = teacherDAO.getById(teacherUuid);
-        if (teacherDO == null) {
-            throw new BusinessException("教师不存在: " + teacherUuid, ErrorCode.OPERATION_FAILED);
-        }
+        return timetableCacheService.getOrLoad(TimetableType.TEACHER, semesterUuid, teacherUuid, () -> {
+            // 验证教师是否存在
+            TeacherDO teacherDO = teacherDAO.getById(teacherUuid);
+            if (teacherDO == null) {
+                throw new BusinessException("教师不存在: " + teacherUuid, ErrorCode.OPERATION_FAILED);
+            }
 
-        // 查询课表
-        List<ScheduleDO> schedules = scheduleDAO.getTeacherTimetable(teacherUuid, semesterUuid);
-        return schedules.stream()
-                .map(this::convertToScheduleInfoDTO)
-                .collect(Collectors.toList());
+            // 查询课表
+            List<ScheduleDO> schedules = scheduleDAO.getTeacherTimetable(teacherUuid, semesterUuid);
+            return convertToScheduleInfoDTOs(schedules);
+        });
     }
 
     @Override
@@ -377,81 +421,142 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new BusinessException("学生不存在: " + studentUuid, ErrorCode.OPERATION_FAILED);
         }
 
-        // 查询学生所属行政班的所有教学班
-        List<TeachingClassClassDO> teachingClassClassList = teachingClassClassDAO.list(
-                teachingClassClassDAO.lambdaQuery()
-                        .eq(TeachingClassClassDO::getClassUuid, studentDO.getClassUuid())
-                        .getWrapper()
-        );
+        // 学生课表即所属行政班的课表
+        return loadClassTimetable(studentDO.getClassUuid(), semesterUuid);
+    }
 
-        if (teachingClassClassList.isEmpty()) {
-            return new ArrayList<>();
-        }
+    @Override
+    public List<ScheduleInfoDTO> getClassTimetable(String classUuid, String semesterUuid) {
+        log.info("查询行政班课表 - 行政班UUID: {}, 学期UUID: {}", classUuid, semesterUuid);
+        return loadClassTimetable(classUuid, semesterUuid);
+    }
 
-        // 获取所有教学班UUID
-        List<String> teachingClassUuids = teachingClassClassList.stream()
-                .map(TeachingClassClassDO::getTeachingClassUuid)
-                .collect(Collectors.toList());
+    /**
+     * 查询行政班课表（经课表缓存）
+     */
+    private List<ScheduleInfoDTO> loadClassTimetable(String classUuid, String semesterUuid) {
+        return timetableCacheService.getOrLoad(TimetableType.CLASS, semesterUuid, classUuid, () -> {
+            // 查询行政班的所有教学班关联
+            List<TeachingClassClassDO> teachingClassClassList = teachingClassClassDAO.list(
+                    teachingClassClassDAO.lambdaQuery()
+                            .eq(TeachingClassClassDO::getClassUuid, classUuid)
+                            .getWrapper()
+            );
+
+            if (teachingClassClassList.isEmpty()) {
+                return new ArrayList<>();
+            }
 
-        // 查询所有教学班的课表
-        List<ScheduleInfoDTO> result = new ArrayList<>();
-        for (String teachingClassUuid : teachingClassUuids) {
-            List<ScheduleDO> schedules = scheduleDAO.getTeachingClassTimetable(teachingClassUuid, semesterUuid);
-            result.addAll(schedules.stream()
-                    .map(this::convertToScheduleInfoDTO)
-                    .collect(Collectors.toList()));
-        }
+            // 获取所有教学班UUID
+            List<String> teachingClassUuids = teachingClassClassList.stream()
+                    .map(TeachingClassClassDO::getTeachingClassUuid)
+                    .collect(Collectors.toList());
 
-        return result;
+            // 一次查询所有教学班的课表
+            List<ScheduleDO> schedules = scheduleDAO.getTeachingClassesTimetable(teachingClassUuids, semesterUuid);
+            return convertToScheduleInfoDTOs(schedules);
+        });
     }
 
     @Override
-    public List<ScheduleInfoDTO> getClassTimetable(String classUuid, String semesterUuid) {
-        log.info("查询行政班课表 - 行政班UUID: {}, 学期UUID: {}", classUuid, semesterUuid);
-
-        // 查询行政班的所有教学班关联
-        List<TeachingClassClassDO> teachingClassClassList = teachingClassClassDAO.list(
-                teachingClassClassDAO.lambdaQuery()
-                        .eq(TeachingClassClassDO::getClassUuid, classUuid)
-                        .getWrapper()
-        );
+    public List<ScheduleInfoDTO> getClassroomTimetable(String classroomUuid, String semesterUuid) {
+        log.info("查询教室课表 - 教室UUID: {}, 学期UUID: {}", classroomUuid, semesterUuid);
 
-        if (teachingClassClassList.isEmpty()) {
-            return new ArrayList<>();
-        }
+        return timetableCacheService.getOrLoad(TimetableType.CLASSROOM, semesterUuid, classroomUuid, () -> {
+            // 验证教室是否存在
+            ClassroomDO classroomDO = classroomDAO.getById(classroomUuid);
+            if (classroomDO == null) {
+                throw new BusinessException("教室不存在: " + classroomUuid, ErrorCode.OPERATION_FAILED);
+            }
 
-        // 获取所有教学班UUID
-        List<String> teachingClassUuids = teachingClassClassList.stream()
-                .map(TeachingClassClassDO::getTeachingClassUuid)
-                .collect(Collectors.toList());
+            // 查询课表
+            List<ScheduleDO> schedules = scheduleDAO.getClassroomTimetable(classroomUuid, semesterUuid);
+            return convertToScheduleInfoDTOs(schedules);
+        });
+    }
 
-        // 查询所有教学班的课表
-        List<ScheduleInfoDTO> result = new ArrayList<>();
-        for (String teachingClassUuid : teachingClassUuids) {
-            List<ScheduleDO> schedules = scheduleDAO.getTeachingClassTimetable(teachingClassUuid, semesterUuid);
-            result.addAll(schedules.stream()
-                    .map(this::convertToScheduleInfoDTO)
-                    .collect(Collectors.toList()));
+    @Override
+    public String getExportFileName(String semesterUuid, ExportFormat format) {
+        SemesterDO semesterDO = semesterDAO.getById(semesterUuid);
+        if (semesterDO == null) {
+            throw new BusinessException("学期不存在: " + semesterUuid, ErrorCode.NOT_EXIST);
         }
-
-        return result;
+        return "排课-" + semesterDO.getSemesterName() + "." + format.getExtension();
     }
 
     @Override
-    public List<ScheduleInfoDTO> getClassroomTimetable(String classroomUuid, String semesterUuid) {
-        log.info("查询教室课表 - 教室UUID: {}, 学期UUID: {}", classroomUuid, semesterUuid);
+    @Transactional(readOnly = true, rollbackFor = Exception.class)
+    public long exportSchedules(String semesterUuid, Integer status, String buildingUuid, String teacherUuid,
+                                String departmentUuid, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出排课 - 学期: {}, 格式: {}, 状态: {}, 教学楼: {}, 教师: {}, 学院: {}",
+                semesterUuid, format, status, buildingUuid, teacherUuid, departmentUuid);
+        long startTime = System.currentTimeMillis();
+
+        // PostgreSQL 只在事务内按 fetchSize 分批读取游标，否则会一次性加载全部结果
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        long rowCount = 0;
+        try (Cursor<ScheduleExportRowDTO> cursor = scheduleDAO.openExportCursor(
+                semesterUuid, status, buildingUuid, teacherUuid, departmentUuid)) {
+            if (format == ExportFormat.CSV) {
+                // BOM 便于 Excel 识别 UTF-8
+                writer.write('\uFEFF');
+                writer.write(EXPORT_CSV_HEADER);
+                writer.write('\n');
+            }
+            for (ScheduleExportRowDTO row : cursor) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++rowCount % ScheduleMapper.EXPORT_FETCH_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
 
-        // 验证教室是否存在
-        ClassroomDO classroomDO = classroomDAO.getById(classroomUuid);
-        if (classroomDO == null) {
-            throw new BusinessException("教室不存在: " + classroomUuid, ErrorCode.OPERATION_FAILED);
+        log.info("导出排课完成 - 学期: {}, 行数: {}, 耗时: {}ms",
+                semesterUuid, rowCount, System.currentTimeMillis() - startTime);
+        return rowCount;
+    }
+
+    /**
+     * 写入一行CSV（列顺序与 EXPORT_CSV_HEADER 一致）
+     */
+    private void writeCsvRow(Writer writer, ScheduleExportRowDTO row) throws IOException {
+        Object[] values = {
+                row.getScheduleUuid(), row.getTeachingClassName(), row.getCourseNum(), row.getCourseName(),
+                row.getTeacherNum(), row.getTeacherName(), row.getDepartmentName(), row.getBuildingName(),
+                row.getClassroomName(), row.getDayOfWeek(), row.getSectionStart(), row.getSectionEnd(),
+                row.getWeeksJson(), row.getCreditHours(), row.getStatus()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
         }
+        writer.write('\n');
+    }
 
-        // 查询课表
-        List<ScheduleDO> schedules = scheduleDAO.getClassroomTimetable(classroomUuid, semesterUuid);
-        return schedules.stream()
-                .map(this::convertToScheduleInfoDTO)
-                .collect(Collectors.toList());
+    /**
+     * CSV字段转义：以 = + - @、制表符或回车开头的文本前加单引号，避免被 Excel 当作公式执行；
+     * 包含逗号、引号或换行时用双引号包裹，内部引号加倍
+     */
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
 
     /**
@@ -494,49 +599,83 @@ public class ScheduleServiceImpl implements ScheduleService {
     }
 
     /**
-     * 转换 ScheduleDO 为 ScheduleInfoDTO
+     * 批量转换 ScheduleDO 为 ScheduleInfoDTO
+     * <p>
+     * 学期、教学班、课程、教师、教室名称按 UUID 集合各批量查询一次，查询次数与记录数无关
      */
-    private ScheduleInfoDTO convertToScheduleInfoDTO(ScheduleDO scheduleDO) {
-        ScheduleInfoDTO dto = new ScheduleInfoDTO();
-        dto.setScheduleUuid(scheduleDO.getScheduleUuid());
-        dto.setDayOfWeek(scheduleDO.getDayOfWeek());
-        dto.setSectionStart(scheduleDO.getSectionStart());
-        dto.setSectionEnd(scheduleDO.getSectionEnd());
-        dto.setWeeksJson(scheduleDO.getWeeksJson());
-        dto.setCreditHours(scheduleDO.getCreditHours());  // 修复：添加学时字段映射
-        dto.setStatus(scheduleDO.getStatus());
-        dto.setUpdatedAt(scheduleDO.getUpdatedAt());
-
-        // 获取学期名称
-        SemesterDO semesterDO = semesterDAO.getById(scheduleDO.getSemesterUuid());
-        if (semesterDO != null) {
-            dto.setSemesterName(semesterDO.getSemesterName());
-        }
-
-        // 获取教学班名称
-        TeachingClassDO teachingClassDO = teachingClassDAO.getById(scheduleDO.getTeachingClassUuid());
-        if (teachingClassDO != null) {
-            dto.setTeachingClassName(teachingClassDO.getTeachingClassName());
-        }
-
-        // 获取课程名称
-        CourseDO courseDO = courseDAO.getById(scheduleDO.getCourseUuid());
-        if (courseDO != null) {
-            dto.setCourseName(courseDO.getCourseName());
-        }
-
-        // 获取教师名称
-        TeacherDO teacherDO = teacherDAO.getById(scheduleDO.getTeacherUuid());
-        if (teacherDO != null) {
-            dto.setTeacherName(teacherDO.getTeacherName());
+    private List<ScheduleInfoDTO> convertToScheduleInfoDTOs(List<ScheduleDO> schedules) {
+        if (schedules.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // 获取教室名称
-        ClassroomDO classroomDO = classroomDAO.getById(scheduleDO.getClassroomUuid());
-        if (classroomDO != null) {
-            dto.setClassroomName(classroomDO.getClassroomName());
+        Map<String, SemesterDO> semesterMap = mapByIds(semesterDAO, schedules, ScheduleDO::getSemesterUuid,
+                SemesterDO::getSemesterUuid);
+        Map<String, TeachingClassDO> teachingClassMap = mapByIds(teachingClassDAO, schedules,
+                ScheduleDO::getTeachingClassUuid, TeachingClassDO::getTeachingClassUuid);
+        Map<String, CourseDO> courseMap = mapByIds(courseDAO, schedules, ScheduleDO::getCourseUuid,
+                CourseDO::getCourseUuid);
+        Map<String, TeacherDO> teacherMap = mapByIds(teacherDAO, schedules, ScheduleDO::getTeacherUuid,
+                TeacherDO::getTeacherUuid);
+        Map<String, ClassroomDO> classroomMap = mapByIds(classroomDAO, schedules, ScheduleDO::getClassroomUuid,
+                ClassroomDO::getClassroomUuid);
+
+        List<ScheduleInfoDTO> result = new ArrayList<>(schedules.size());
+        for (ScheduleDO scheduleDO : schedules) {
+            ScheduleInfoDTO dto = new ScheduleInfoDTO();
+            dto.setScheduleUuid(scheduleDO.getScheduleUuid());
+            dto.setDayOfWeek(scheduleDO.getDayOfWeek());
+            dto.setSectionStart(scheduleDO.getSectionStart());
+            dto.setSectionEnd(scheduleDO.getSectionEnd());
+            dto.setWeeksJson(scheduleDO.getWeeksJson());
+            dto.setCreditHours(scheduleDO.getCreditHours());
+            dto.setStatus(scheduleDO.getStatus());
+            dto.setUpdatedAt(scheduleDO.getUpdatedAt());
+
+            SemesterDO semesterDO = semesterMap.get(scheduleDO.getSemesterUuid());
+            if (semesterDO != null) {
+                dto.setSemesterName(semesterDO.getSemesterName());
+            }
+            TeachingClassDO teachingClassDO = teachingClassMap.get(scheduleDO.getTeachingClassUuid());
+            if (teachingClassDO != null) {
+                dto.setTeachingClassName(teachingClassDO.getTeachingClassName());
+            }
+            CourseDO courseDO = courseMap.get(scheduleDO.getCourseUuid());
+            if (courseDO != null) {
+                dto.setCourseName(courseDO.getCourseName());
+            }
+            TeacherDO teacherDO = teacherMap.get(scheduleDO.getTeacherUuid());
+            if (teacherDO != null) {
+                dto.setTeacherName(teacherDO.getTeacherName());
+            }
+            ClassroomDO classroomDO = classroomMap.get(scheduleDO.getClassroomUuid());
+            if (classroomDO != null) {
+                dto.setClassroomName(classroomDO.getClassroomName());
+            }
+            result.add(dto);
         }
+        return result;
+    }
 
-        return dto;
+    /**
+     * 收集排课记录引用的 UUID 并一次性查询对应实体
+     *
+     * @param dao       实体DAO
+     * @param schedules 排课记录
+     * @param reference 排课记录中的引用UUID
+     * @param idGetter  实体主键
+     * @return 主键到实体的映射
+     */
+    private static <T> Map<String, T> mapByIds(IService<T> dao, List<ScheduleDO> schedules,
+                                               Function<ScheduleDO, String> reference,
+                                               Function<T, String> idGetter) {
+        Set<String> ids = schedules.stream()
+                .map(reference)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return dao.listByIds(ids).stream()
+                .collect(Collectors.toMap(idGetter, entity -> entity, (a, b) -> a));
     }
 }
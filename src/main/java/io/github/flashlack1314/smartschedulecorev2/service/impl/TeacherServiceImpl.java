@@ -15,6 +15,7 @@ import io.github.flashlack1314.smartschedulecorev2.model.dto.base.TeacherInfoDTO
 import io.github.flashlack1314.smartschedulecorev2.model.entity.DepartmentDO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.TeacherDO;
 import io.github.flashlack1314.smartschedulecorev2.service.TeacherService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,6 +37,7 @@ public class TeacherServiceImpl implements TeacherService {
     private final DepartmentDAO departmentDAO;
     private final TeachingClassDAO teachingClassDAO;
     private final CourseQualificationDAO courseQualificationDAO;
+    private final TimetableCacheService timetableCacheService;
 
     @Override
     public void addTeacher(String teacherNum, String teacherName, String title, String departmentUuid,
@@ -141,6 +143,8 @@ public class TeacherServiceImpl implements TeacherService {
         if (!updated) {
             throw new BusinessException("更新教师失败", ErrorCode.OPERATION_FAILED);
         }
+        // 课表中展示教师姓名
+        timetableCacheService.evictAll();
 
         log.info("教师更新成功 - UUID: {}, 工号: {}, 姓名: {}", teacherUuid, teacherNum, teacherName);
     }
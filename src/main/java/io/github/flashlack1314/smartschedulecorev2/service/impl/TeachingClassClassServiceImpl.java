@@ -9,6 +9,7 @@ import io.github.flashlack1314.smartschedulecorev2.model.dto.PageDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.base.TeachingClassClassInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.*;
 import io.github.flashlack1314.smartschedulecorev2.service.TeachingClassClassService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,7 @@ public class TeachingClassClassServiceImpl implements TeachingClassClassService
     private final TeacherDAO teacherDAO;
     private final MajorDAO majorDAO;
     private final DepartmentDAO departmentDAO;
+    private final TimetableCacheService timetableCacheService;
 
     @Override
     public void addTeachingClassClass(String teachingClassUuid, String classUuid) {
@@ -69,6 +71,8 @@ public class TeachingClassClassServiceImpl implements TeachingClassClassService
         if (!saved) {
             throw new BusinessException("保存教学班-行政班关联失败", ErrorCode.OPERATION_FAILED);
         }
+        // 行政班课表按教学班关联加载
+        timetableCacheService.evictSemester(teachingClass.getSemesterUuid());
 
         log.info("教学班-行政班关联添加成功 - 关联UUID: {}, 教学班: {}, 行政班: {}",
                 teachingClassClass.getTeachingClassClassUuid(),
@@ -226,6 +230,11 @@ public class TeachingClassClassServiceImpl implements TeachingClassClassService
         if (!deleted) {
             throw new BusinessException("删除教学班-行政班关联失败", ErrorCode.OPERATION_FAILED);
         }
+        // 行政班课表按教学班关联加载
+        TeachingClassDO teachingClass = teachingClassDAO.getById(teachingClassClass.getTeachingClassUuid());
+        if (teachingClass != null) {
+            timetableCacheService.evictSemester(teachingClass.getSemesterUuid());
+        }
 
         log.info("教学班-行政班关联删除成功 - 关联UUID: {}", teachingClassClassUuid);
     }
@@ -14,6 +14,7 @@ import io.github.flashlack1314.smartschedulecorev2.model.entity.TeacherDO;
 import io.github.flashlack1314.smartschedulecorev2.model.entity.TeachingClassDO;
 import io.github.flashlack1314.smartschedulecorev2.model.vo.AddTeachingClassVO;
 import io.github.flashlack1314.smartschedulecorev2.service.TeachingClassService;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,6 +39,7 @@ public class TeachingClassServiceImpl implements TeachingClassService {
     private final TeacherDAO teacherDAO;
     private final SemesterDAO semesterDAO;
     private final CourseQualificationDAO courseQualificationDAO;
+    private final TimetableCacheService timetableCacheService;
 
     @Override
     public String addTeachingClass(AddTeachingClassVO getData) {
@@ -205,6 +207,7 @@ public class TeachingClassServiceImpl implements TeachingClassService {
         }
 
         // 更新教学班信息
+        String previousSemesterUuid = teachingClass.getSemesterUuid();
         teachingClass.setCourseUuid(getData.getCourseUuid());
         teachingClass.setTeacherUuid(getData.getTeacherUuid());
         teachingClass.setSemesterUuid(getData.getSemesterUuid());
@@ -217,6 +220,11 @@ public class TeachingClassServiceImpl implements TeachingClassService {
         if (!updated) {
             throw new BusinessException("更新教学班失败", ErrorCode.OPERATION_FAILED);
         }
+        // 课表中展示教学班、课程与教师信息，原学期与新学期的课表都需失效
+        timetableCacheService.evictSemester(previousSemesterUuid);
+        if (!getData.getSemesterUuid().equals(previousSemesterUuid)) {
+            timetableCacheService.evictSemester(getData.getSemesterUuid());
+        }
 
         log.info("教学班更新成功 - UUID: {}, 名称: {}",
                 getData.getTeachingClassUuid(), getData.getTeachingClassName());
@@ -0,0 +1,370 @@
+package io.github.flashlack1314.smartschedulecorev2.service.impl;
+
+import io.github.flashlack1314.smartschedulecorev2.config.TimetableCacheProperties;
+import io.github.flashlack1314.smartschedulecorev2.dao.TeachingClassClassDAO;
+import io.github.flashlack1314.smartschedulecorev2.enums.TimetableType;
+import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleDO;
+import io.github.flashlack1314.smartschedulecorev2.service.TimetableCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 课表缓存服务实现
+ * <p>
+ * 缓存Key包含全局版本号与学期版本号：{前缀}{学期}:{类型}:{对象}:v{全局版本}.{学期版本}。
+ * 单条排课变更时精确删除相关Key；批量变更时递增学期版本号，教师、课程、教室名称等基础数据变更时递增全局版本号，
+ * 旧版本的条目不再被读取，随过期时间或LRU淘汰。
+ * 失效操作在事务提交后执行，避免并发读取在提交前回填旧数据。
+ * <p>
+ * 本地缓存有效期（local-ttl）短于Redis缓存。失效时除清除本节点的本地条目外，还通过Redis频道广播，
+ * 其他节点收到后清除各自的本地条目与学期版本号；广播丢失时，其他节点最多在本地缓存有效期内读到旧课表。
+ * 版本号在本地缓存 version-refresh-interval，命中本地缓存的读取不访问Redis。
+ * <p>
+ * 命中率指标：timetable.cache.requests（tier=local|redis, result=hit|miss）、
+ * timetable.cache.evictions（scope=schedule|semester|all），通过 /actuator/metrics 查看。
+ *
+ * @author flash
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimetableCacheServiceImpl implements TimetableCacheService {
+
+    /**
+     * 学期失效广播的消息前缀，其余消息为逗号分隔的缓存Key
+     */
+    private static final String SEMESTER_MESSAGE_PREFIX = "#semester:";
+
+    /**
+     * 全局失效广播的消息内容
+     */
+    private static final String ALL_MESSAGE = "#all";
+
+    /**
+     * 全局版本号的版本Key标识（学期UUID不含 #，不会冲突）
+     */
+    private static final String GLOBAL_VERSION = "#global";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final TeachingClassClassDAO teachingClassClassDAO;
+    private final TimetableCacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Map<String, LocalEntry> localCache;
+    private final Map<String, VersionEntry> versionCache = new ConcurrentHashMap<>();
+    private Counter localHits;
+    private Counter localMisses;
+    private Counter redisHits;
+    private Counter redisMisses;
+    private Counter scheduleEvictions;
+    private Counter semesterEvictions;
+    private Counter allEvictions;
+
+    @PostConstruct
+    public void init() {
+        int maxEntries = Math.max(1, cacheProperties.getLocalMaxEntries());
+        localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        localHits = requestCounter("local", "hit");
+        localMisses = requestCounter("local", "miss");
+        redisHits = requestCounter("redis", "hit");
+        redisMisses = requestCounter("redis", "miss");
+        scheduleEvictions = evictionCounter("schedule");
+        semesterEvictions = evictionCounter("semester");
+        allEvictions = evictionCounter("all");
+
+        // 其他节点变更排课时清除本地条目
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (ALL_MESSAGE.equals(body)) {
+                evictAllLocally();
+            } else if (body.startsWith(SEMESTER_MESSAGE_PREFIX)) {
+                evictSemesterLocally(body.substring(SEMESTER_MESSAGE_PREFIX.length()));
+            } else {
+                for (String key : body.split(",")) {
+                    localCache.remove(key);
+                }
+            }
+        }, new ChannelTopic(cacheProperties.getInvalidationChannel()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getOrLoad(TimetableType type, String semesterUuid, String ownerUuid, Supplier<List<T>> loader) {
+        if (!Boolean.TRUE.equals(cacheProperties.getEnabled())) {
+            return loader.get();
+        }
+
+        String key;
+        try {
+            key = entryKey(type, semesterUuid, ownerUuid,
+                    version(cachedVersion(GLOBAL_VERSION), cachedVersion(semesterUuid)));
+        } catch (Exception e) {
+            log.warn("读取课表缓存版本失败，直接查询数据库: {}", e.getMessage());
+            return loader.get();
+        }
+
+        // 1. 本地缓存
+        LocalEntry local = localCache.get(key);
+        if (local != null && local.expiresAt > System.currentTimeMillis()) {
+            localHits.increment();
+            return (List<T>) local.value;
+        }
+        localMisses.increment();
+
+        // 2. Redis
+        try {
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached instanceof List<?> list) {
+                redisHits.increment();
+                return (List<T>) putLocal(key, list);
+            }
+        } catch (Exception e) {
+            log.warn("读取课表缓存失败: {}", e.getMessage());
+        }
+        redisMisses.increment();
+
+        // 3. 数据库
+        List<T> value = loader.get();
+        try {
+            redisTemplate.opsForValue().set(key, new ArrayList<>(value), cacheProperties.getTtl());
+        } catch (Exception e) {
+            log.warn("写入课表缓存失败: {}", e.getMessage());
+        }
+        return (List<T>) putLocal(key, value);
+    }
+
+    @Override
+    public void evictSchedule(ScheduleDO schedule) {
+        if (schedule == null || !Boolean.TRUE.equals(cacheProperties.getEnabled())) {
+            return;
+        }
+        // 在调用时记录受影响的对象，调用方之后修改 schedule 不影响失效范围
+        String semesterUuid = schedule.getSemesterUuid();
+        String teacherUuid = schedule.getTeacherUuid();
+        String classroomUuid = schedule.getClassroomUuid();
+        List<String> classUuids = schedule.getTeachingClassUuid() == null ? List.of()
+                : teachingClassClassDAO.mapClassUuidsByTeachingClassUuids(List.of(schedule.getTeachingClassUuid()))
+                .getOrDefault(schedule.getTeachingClassUuid(), List.of());
+
+        runAfterCommit(() -> {
+            List<String> keys = new ArrayList<>();
+            long globalVersion = currentVersion(GLOBAL_VERSION);
+            if (semesterUuid != null) {
+                String version = version(globalVersion, currentVersion(semesterUuid));
+                addKey(keys, TimetableType.TEACHER, semesterUuid, teacherUuid, version);
+                addKey(keys, TimetableType.CLASSROOM, semesterUuid, classroomUuid, version);
+                for (String classUuid : classUuids) {
+                    addKey(keys, TimetableType.CLASS, semesterUuid, classUuid, version);
+                }
+            }
+            String allVersion = version(globalVersion, currentVersion(ALL_SEMESTERS));
+            for (int day = 1; day <= 7; day++) {
+                if (teacherUuid != null) {
+                    addKey(keys, TimetableType.TEACHER_TODAY, ALL_SEMESTERS,
+                            TimetableCacheService.dailyOwner(teacherUuid, day), allVersion);
+                }
+                for (String classUuid : classUuids) {
+                    addKey(keys, TimetableType.CLASS_TODAY, ALL_SEMESTERS,
+                            TimetableCacheService.dailyOwner(classUuid, day), allVersion);
+                }
+            }
+            keys.forEach(localCache::remove);
+            redisTemplate.delete(keys);
+            broadcast(String.join(",", keys));
+            scheduleEvictions.increment();
+            log.debug("失效课表缓存 {} 条，排课学期: {}", keys.size(), semesterUuid);
+        });
+    }
+
+    @Override
+    public void evictSemester(String semesterUuid) {
+        if (semesterUuid == null || !Boolean.TRUE.equals(cacheProperties.getEnabled())) {
+            return;
+        }
+        runAfterCommit(() -> {
+            stringRedisTemplate.opsForValue().increment(versionKey(semesterUuid));
+            stringRedisTemplate.opsForValue().increment(versionKey(ALL_SEMESTERS));
+            evictSemesterLocally(semesterUuid);
+            broadcast(SEMESTER_MESSAGE_PREFIX + semesterUuid);
+            semesterEvictions.increment();
+            log.info("学期课表缓存版本已更新，学期UUID: {}", semesterUuid);
+        });
+    }
+
+    @Override
+    public void evictAll() {
+        if (!Boolean.TRUE.equals(cacheProperties.getEnabled())) {
+            return;
+        }
+        runAfterCommit(() -> {
+            stringRedisTemplate.opsForValue().increment(versionKey(GLOBAL_VERSION));
+            evictAllLocally();
+            broadcast(ALL_MESSAGE);
+            allEvictions.increment();
+            log.info("课表缓存全局版本已更新");
+        });
+    }
+
+    /**
+     * 清除本节点全部本地条目与版本号
+     */
+    private void evictAllLocally() {
+        versionCache.clear();
+        localCache.clear();
+    }
+
+    /**
+     * 清除本节点该学期及跨学期的本地条目与版本号，下次读取时重新从Redis获取版本号
+     */
+    private void evictSemesterLocally(String semesterUuid) {
+        versionCache.remove(semesterUuid);
+        versionCache.remove(ALL_SEMESTERS);
+        String semesterPrefix = cacheProperties.getRedisKeyPrefix() + semesterUuid + ":";
+        String allPrefix = cacheProperties.getRedisKeyPrefix() + ALL_SEMESTERS + ":";
+        synchronized (localCache) {
+            localCache.keySet().removeIf(key -> key.startsWith(semesterPrefix) || key.startsWith(allPrefix));
+        }
+    }
+
+    /**
+     * 广播失效消息，失败只记录日志，由本地缓存有效期兜底
+     */
+    private void broadcast(String message) {
+        try {
+            stringRedisTemplate.convertAndSend(cacheProperties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            log.warn("广播课表缓存失效失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 在当前事务提交后执行（无事务时立即执行），失效失败只记录日志，由过期时间兜底
+     */
+    private void runAfterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("失效课表缓存失败: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    private List<?> putLocal(String key, List<?> value) {
+        List<?> unmodifiable = Collections.unmodifiableList(value);
+        long ttl = Math.min(cacheProperties.getLocalTtl().toMillis(), cacheProperties.getTtl().toMillis());
+        localCache.put(key, new LocalEntry(unmodifiable, System.currentTimeMillis() + ttl));
+        return unmodifiable;
+    }
+
+    /**
+     * 本地缓存的版本号，超过刷新间隔后重新从Redis读取
+     */
+    private long cachedVersion(String semesterUuid) {
+        long now = System.currentTimeMillis();
+        VersionEntry entry = versionCache.get(semesterUuid);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.version;
+        }
+        long version = currentVersion(semesterUuid);
+        versionCache.put(semesterUuid,
+                new VersionEntry(version, now + cacheProperties.getVersionRefreshInterval().toMillis()));
+        return version;
+    }
+
+    private long currentVersion(String semesterUuid) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey(semesterUuid));
+        return version != null ? Long.parseLong(version) : 0L;
+    }
+
+    private static String version(long globalVersion, long semesterVersion) {
+        return globalVersion + "." + semesterVersion;
+    }
+
+    private void addKey(List<String> keys, TimetableType type, String semesterUuid, String ownerUuid, String version) {
+        if (ownerUuid != null) {
+            keys.add(entryKey(type, semesterUuid, ownerUuid, version));
+        }
+    }
+
+    private String entryKey(TimetableType type, String semesterUuid, String ownerUuid, String version) {
+        return cacheProperties.getRedisKeyPrefix() + semesterUuid + ":" + type.name() + ":" + ownerUuid + ":v" + version;
+    }
+
+    private String versionKey(String semesterUuid) {
+        return cacheProperties.getRedisKeyPrefix() + "version:" + semesterUuid;
+    }
+
+    private Counter requestCounter(String tier, String result) {
+        return Counter.builder("timetable.cache.requests")
+                .description("课表缓存读取次数")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(String scope) {
+        return Counter.builder("timetable.cache.evictions")
+                .description("课表缓存失效次数")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本地缓存条目
+     */
+    private static class LocalEntry {
+        private final List<?> value;
+        private final long expiresAt;
+
+        LocalEntry(List<?> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 本地缓存的学期版本号
+     */
+    private static class VersionEntry {
+        private final long version;
+        private final long expiresAt;
+
+        VersionEntry(long version, long expiresAt) {
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -7,17 +7,41 @@ import io.github.flashlack1314.smartschedulecorev2.config.TokenProperties;
 import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
 import io.github.flashlack1314.smartschedulecorev2.model.dto.TokenInfoDTO;
 import io.github.flashlack1314.smartschedulecorev2.service.TokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Set;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Token服务实现
+ * <p>
+ * Redis之前有一层本地Token缓存：条目有效期取本地缓存有效期与Token过期时间的较小值，
+ * 命中时不访问Redis、不做反序列化。删除Token时清除本地条目，并通过Redis频道广播，
+ * 其他节点收到后清除各自的本地条目；广播丢失时，已删除的Token最多在本地缓存有效期内仍被接受。
+ * 命中率指标：auth.token.cache.requests（result=hit|miss）。
+ * <p>
+ * Token Key写入时即设置Redis过期时间，过期的会话由Redis自动删除。启用滑动会话时，
+ * 读取Token通过一个Lua脚本同时完成读取与续期（每个续期间隔内最多续期一次），
+ * 认证请求只需一次Redis往返。用户Token索引（Set）不设过期时间，由后台任务定期移除其中已过期的Token。
  *
  * @author flash
  */
@@ -27,7 +51,76 @@ import java.util.concurrent.TimeUnit;
 public class TokenServiceImpl implements TokenService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
     private final TokenProperties tokenProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 读取Token并按需续期，返回 {值, 剩余毫秒数}，Key不存在时返回 nil。
+     * ARGV[1] 为有效期毫秒数，剩余时间小于 ARGV[2] 毫秒时续期为 ARGV[1]；未设置过期时间的Key不续期。
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> GET_AND_TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            local value = redis.call('GET', KEYS[1])
+            if not value then
+                return nil
+            end
+            local ttl = redis.call('PTTL', KEYS[1])
+            if ttl >= 0 and ttl < tonumber(ARGV[2]) then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                ttl = tonumber(ARGV[1])
+            end
+            return {value, ttl}
+            """, List.class);
+
+    /**
+     * 清理用户Token索引时每次SCAN的建议数量
+     */
+    private static final int SWEEP_SCAN_COUNT = 500;
+
+    private Map<String, LocalEntry> localCache;
+    private Counter localHits;
+    private Counter localMisses;
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    public void init() {
+        int maxEntries = Math.max(1, tokenProperties.getLocalCacheMaxEntries());
+        localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        localHits = requestCounter("hit");
+        localMisses = requestCounter("miss");
+
+        // 其他节点删除Token时清除本地条目（消息内容为逗号分隔的Token）
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            for (String token : body.split(",")) {
+                localCache.remove(token);
+            }
+        }, new ChannelTopic(tokenProperties.getInvalidationChannel()));
+
+        if (Boolean.TRUE.equals(tokenProperties.getSweepEnabled())) {
+            long interval = Math.max(1000L, tokenProperties.getSweepInterval().toMillis());
+            sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "token-index-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::sweepUserTokenIndexes, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
 
     @Override
     public String generateToken(String userUuid, UserType userType) {
@@ -43,11 +136,12 @@ public class TokenServiceImpl implements TokenService {
                 tokenProperties.getExpiration().getSeconds()
         ));
 
-        // 存储到Redis
+        // 存储到Redis，过期时间与Token有效期一致
         String redisKey = tokenProperties.getRedisKeyPrefix() + token;
         redisTemplate.opsForValue().set(
                 redisKey,
-                tokenInfo
+                tokenInfo,
+                tokenProperties.getExpiration()
         );
 
         // 如果启用多设备登录，维护用户Token索引
@@ -75,41 +169,74 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public TokenInfoDTO getTokenInfo(String token) {
+        boolean localEnabled = Boolean.TRUE.equals(tokenProperties.getLocalCacheEnabled());
+        if (localEnabled) {
+            LocalEntry local = localCache.get(token);
+            if (local != null && local.expiresAt > System.currentTimeMillis()) {
+                localHits.increment();
+                return copyOf(local.tokenInfo);
+            }
+            localMisses.increment();
+        }
+
         String redisKey = tokenProperties.getRedisKeyPrefix() + token;
-        Object tokenObj = redisTemplate.opsForValue().get(redisKey);
+        List<Object> result;
+        try {
+            result = getAndTouch(redisKey);
+        } catch (SerializationException e) {
+            // 编解码器版本或类型标记不匹配、遗留的旧格式数据：无法还原的Token视为无效
+            log.warn("Token反序列化失败，按无效Token处理并删除 - Token前8位: {}..., 原因: {}",
+                    token.substring(0, 8), e.getMessage());
+            removeToken(token, null);
+            throw new BusinessException("Token不存在或已过期", ErrorCode.NOT_EXIST);
+        }
 
-        if (tokenObj == null) {
+        if (result == null || result.size() < 2) {
             throw new BusinessException("Token不存在或已过期", ErrorCode.NOT_EXIST);
         }
 
-        if (!(tokenObj instanceof TokenInfoDTO tokenInfo)) {
-            throw new BusinessException("Token解析失败", ErrorCode.OPERATION_ERROR);
+        if (!(result.get(0) instanceof TokenInfoDTO tokenInfo)) {
+            log.warn("Token内容不是Token信息，按无效Token处理并删除 - Token前8位: {}...",
+                    token.substring(0, 8));
+            removeToken(token, null);
+            throw new BusinessException("Token不存在或已过期", ErrorCode.NOT_EXIST);
         }
 
-        // 检查是否过期
-        if (LocalDateTime.now().isAfter(tokenInfo.getExpireTime())) {
-            deleteToken(token);
+        long ttl = ((Number) result.get(1)).longValue();
+        if (ttl >= 0) {
+            // 以Redis中的剩余有效期为准（滑动续期后晚于生成时记录的过期时间）
+            tokenInfo.setExpireTime(LocalDateTime.now().plus(Duration.ofMillis(ttl)));
+        } else if (LocalDateTime.now().isAfter(tokenInfo.getExpireTime())) {
+            // 未设置Redis过期时间的旧Token，按记录的过期时间判断
+            removeToken(token, tokenInfo);
             throw new BusinessException("Token已过期", ErrorCode.NOT_EXIST);
+        } else {
+            // 旧Token补设Redis过期时间
+            redisTemplate.expire(redisKey, Duration.between(LocalDateTime.now(), tokenInfo.getExpireTime()));
         }
 
+        if (localEnabled) {
+            long expireAt = tokenInfo.getExpireTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long expiresAt = Math.min(System.currentTimeMillis() + tokenProperties.getLocalCacheTtl().toMillis(), expireAt);
+            localCache.put(token, new LocalEntry(copyOf(tokenInfo), expiresAt));
+        }
         return tokenInfo;
     }
 
     @Override
     public void refreshToken(String token) {
         String redisKey = tokenProperties.getRedisKeyPrefix() + token;
-        Boolean exists = redisTemplate.hasKey(redisKey);
 
-        if (!exists) {
-            throw new BusinessException("Token不存在或已过期", ErrorCode.NOT_EXIST);
-        }
-
-        // 更新过期时间
-        redisTemplate.expire(
+        // 更新过期时间（Key不存在时返回false，无需先检查）
+        Boolean refreshed = redisTemplate.expire(
                 redisKey,
                 tokenProperties.getExpiration()
         );
 
+        if (!Boolean.TRUE.equals(refreshed)) {
+            throw new BusinessException("Token不存在或已过期", ErrorCode.NOT_EXIST);
+        }
+
         log.info("刷新Token成功 - Token前8位: {}...", token.substring(0, 8));
     }
 
@@ -118,21 +245,40 @@ public class TokenServiceImpl implements TokenService {
         String redisKey = tokenProperties.getRedisKeyPrefix() + token;
 
         // 获取Token信息（用于清理索引）- 直接从Redis获取，避免调用getTokenInfo导致递归
+        TokenInfoDTO tokenInfo = null;
         try {
             Object tokenObj = redisTemplate.opsForValue().get(redisKey);
+            if (tokenObj instanceof TokenInfoDTO info) {
+                tokenInfo = info;
+            }
+        } catch (Exception e) {
+            // 获取Token信息失败或Token不存在，忽略
+        }
+
+        removeToken(token, tokenInfo);
+    }
 
-            if (tokenObj instanceof TokenInfoDTO tokenInfo) {
+    /**
+     * 删除Token、清理用户Token索引并广播本地缓存失效
+     *
+     * @param token     Token字符串
+     * @param tokenInfo 已读取的Token信息（为 null 时不清理索引）
+     */
+    private void removeToken(String token, TokenInfoDTO tokenInfo) {
+        if (tokenInfo != null) {
+            try {
                 String userTokensKey = getUserTokensKey(
                         tokenInfo.getUserUuid(),
                         tokenInfo.getUserType()
                 );
                 redisTemplate.opsForSet().remove(userTokensKey, token);
+            } catch (Exception e) {
+                // 清理索引失败不影响删除Token
             }
-        } catch (Exception e) {
-            // 获取Token信息失败或Token不存在，忽略
         }
 
-        redisTemplate.delete(redisKey);
+        redisTemplate.delete(tokenProperties.getRedisKeyPrefix() + token);
+        evictLocal(List.of(token));
         log.info("删除Token成功 - Token前8位: {}...", token.substring(0, 8));
     }
 
@@ -141,17 +287,103 @@ public class TokenServiceImpl implements TokenService {
         String userTokensKey = getUserTokensKey(userUuid, userType);
         Set<Object> tokensObj = redisTemplate.opsForSet().members(userTokensKey);
 
+        List<String> tokens = new ArrayList<>();
+        List<String> redisKeys = new ArrayList<>();
         if (tokensObj != null) {
             tokensObj.forEach(token -> {
-                String redisKey = tokenProperties.getRedisKeyPrefix() + token;
-                redisTemplate.delete(redisKey);
+                redisKeys.add(tokenProperties.getRedisKeyPrefix() + token);
+                tokens.add(token.toString());
             });
         }
 
-        redisTemplate.delete(userTokensKey);
+        // Token与索引一次删除
+        redisKeys.add(userTokensKey);
+        redisTemplate.delete(redisKeys);
+        evictLocal(tokens);
         log.info("删除用户所有Token成功 - 用户类型: {}, 用户UUID: {}", userType, userUuid);
     }
 
+    /**
+     * 执行读取并续期脚本
+     *
+     * @param redisKey Token的Redis Key
+     * @return {Token信息, 剩余毫秒数}，Key不存在时为 null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Object> getAndTouch(String redisKey) {
+        long expiration = tokenProperties.getExpiration().toMillis();
+        // 剩余时间低于该值时续期；未启用滑动会话时为0，即不续期
+        long touchBelow = Boolean.TRUE.equals(tokenProperties.getSlidingEnabled())
+                ? expiration - tokenProperties.getSlidingInterval().toMillis()
+                : 0L;
+        return redisTemplate.execute(
+                GET_AND_TOUCH_SCRIPT,
+                StringRedisSerializer.UTF_8,
+                (RedisSerializer) redisTemplate.getValueSerializer(),
+                List.of(redisKey),
+                String.valueOf(expiration),
+                String.valueOf(touchBelow)
+        );
+    }
+
+    /**
+     * 清理所有用户Token索引中已过期的Token（索引为空时由Redis自动删除）。
+     * 多个节点同时清理时结果相同，无需加锁。
+     */
+    void sweepUserTokenIndexes() {
+        long start = System.currentTimeMillis();
+        int indexes = 0;
+        int removed = 0;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(tokenProperties.getUserTokensPrefix() + "*")
+                .count(SWEEP_SCAN_COUNT)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                removed += sweepUserTokenIndex(cursor.next());
+                indexes++;
+            }
+        } catch (Exception e) {
+            log.warn("清理用户Token索引失败: {}", e.getMessage());
+            return;
+        }
+        log.info("清理用户Token索引完成 - 索引数: {}, 移除过期Token: {}, 耗时: {}ms",
+                indexes, removed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 清理单个用户Token索引，Token是否存在通过一次管道批量查询
+     *
+     * @param userTokensKey 用户Token索引Key
+     * @return 移除的Token数
+     */
+    private int sweepUserTokenIndex(String userTokensKey) {
+        Set<Object> members = redisTemplate.opsForSet().members(userTokensKey);
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+        List<Object> tokens = new ArrayList<>(members);
+        List<Object> exists = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                tokens.forEach(token -> ops.hasKey(tokenProperties.getRedisKeyPrefix() + token));
+                return null;
+            }
+        });
+        List<Object> expired = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                expired.add(tokens.get(i));
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForSet().remove(userTokensKey, expired.toArray());
+        }
+        return expired.size();
+    }
+
     /**
      * 获取用户Token索引的Redis Key
      *
@@ -162,4 +394,49 @@ public class TokenServiceImpl implements TokenService {
     private String getUserTokensKey(String userUuid, UserType userType) {
         return tokenProperties.getUserTokensPrefix() + userType.name() + ":" + userUuid;
     }
-}
\ No newline at end of file
+
+    /**
+     * 清除本机的本地缓存条目，并广播给其他节点（广播失败只记录日志，由本地缓存有效期兜底）
+     *
+     * @param tokens Token列表
+     */
+    private void evictLocal(List<String> tokens) {
+        if (tokens.isEmpty() || !Boolean.TRUE.equals(tokenProperties.getLocalCacheEnabled())) {
+            return;
+        }
+        tokens.forEach(localCache::remove);
+        try {
+            stringRedisTemplate.convertAndSend(tokenProperties.getInvalidationChannel(), String.join(",", tokens));
+        } catch (Exception e) {
+            log.warn("广播Token失效失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 复制Token信息，避免调用方修改缓存中的对象
+     */
+    private static TokenInfoDTO copyOf(TokenInfoDTO tokenInfo) {
+        return new TokenInfoDTO(tokenInfo.getUserUuid(), tokenInfo.getUserType(),
+                tokenInfo.getLoginTime(), tokenInfo.getExpireTime());
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("auth.token.cache.requests")
+                .description("本地Token缓存读取次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 本地缓存条目
+     */
+    private static class LocalEntry {
+        private final TokenInfoDTO tokenInfo;
+        private final long expiresAt;
+
+        LocalEntry(TokenInfoDTO tokenInfo, long expiresAt) {
+            this.tokenInfo = tokenInfo;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
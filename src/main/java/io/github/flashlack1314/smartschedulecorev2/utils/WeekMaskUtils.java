@@ -0,0 +1,81 @@
+package io.github.flashlack1314.smartschedulecorev2.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 周次位图工具类
+ * 第 n 周对应第 n-1 位，一个 long 最多表示64周；数据库中对应 sc_schedule.week_mask（bigint）。
+ * 两个周次集合是否重叠：(a & b) != 0，SQL 中同样写作 (week_mask & ?) <> 0。
+ *
+ * @author flash
+ */
+public class WeekMaskUtils {
+
+    /**
+     * 周次位图支持的最大周数
+     */
+    public static final int MAX_WEEKS = 64;
+
+    /**
+     * 周次列表转位图，忽略超出 1-64 范围的周次
+     *
+     * @param weeks 周次列表
+     * @return 周次位图
+     */
+    public static long toMask(List<Integer> weeks) {
+        long mask = 0L;
+        if (weeks != null) {
+            for (Integer week : weeks) {
+                if (isValidWeek(week)) {
+                    mask |= 1L << (week - 1);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 位图转升序周次列表
+     *
+     * @param mask 周次位图（为 null 时返回空列表）
+     * @return 周次列表
+     */
+    public static List<Integer> toWeeks(Long mask) {
+        if (mask == null) {
+            return new ArrayList<>();
+        }
+        List<Integer> weeks = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) {
+            weeks.add(Long.numberOfTrailingZeros(m) + 1);
+        }
+        return weeks;
+    }
+
+    /**
+     * 前 n 周全部上课的位图
+     *
+     * @param weekCount 周数
+     * @return 第1至第 weekCount 周的位图
+     */
+    public static long firstWeeks(int weekCount) {
+        if (weekCount <= 0) {
+            return 0L;
+        }
+        return weekCount >= MAX_WEEKS ? -1L : (1L << weekCount) - 1;
+    }
+
+    /**
+     * 两个周次位图是否有重叠
+     */
+    public static boolean overlaps(long a, long b) {
+        return (a & b) != 0;
+    }
+
+    /**
+     * 周次是否在位图可表示的范围内
+     */
+    public static boolean isValidWeek(Integer week) {
+        return week != null && week >= 1 && week <= MAX_WEEKS;
+    }
+}
@@ -0,0 +1,65 @@
+-- 业务查询索引（由数据库初始化流程统一维护）
+-- 每次启动检查表结构后执行，语句均为 if not exists，可重复执行；
+-- 新增索引时在此追加，无需修改建表脚本。
+
+-- ============================================================================
+-- 排课表 sc_schedule
+-- ============================================================================
+
+-- 学期 + 状态：自动排课加载已有课表、预览/确认/清除方案、冲突检测
+create index if not exists sc_schedule_semester_status_index
+    on public.sc_schedule (semester_uuid, status);
+
+-- 教师课表、教师冲突检测（MCP checkTeacherConflict）、教师工作量统计（selectBalancedTeacher）
+create index if not exists sc_schedule_teacher_semester_day_index
+    on public.sc_schedule (teacher_uuid, semester_uuid, day_of_week);
+
+-- 教室课表、教室冲突检测（MCP checkClassroomConflict）
+create index if not exists sc_schedule_classroom_semester_day_index
+    on public.sc_schedule (classroom_uuid, semester_uuid, day_of_week);
+
+-- 教学班课表、班级课表（按教学班集合查询）、教学班学时统计
+create index if not exists sc_schedule_teaching_class_semester_index
+    on public.sc_schedule (teaching_class_uuid, semester_uuid);
+
+-- 首页今日课程（不限学期，只查正式排课）：部分索引只包含 status = 1 的记录
+-- 参数化查询走通用执行计划时无法匹配部分索引，此时由上面的全量索引兜底
+create index if not exists sc_schedule_teacher_day_active_index
+    on public.sc_schedule (teacher_uuid, day_of_week, section_start)
+    where status = 1;
+
+create index if not exists sc_schedule_teaching_class_day_active_index
+    on public.sc_schedule (teaching_class_uuid, day_of_week, section_start)
+    where status = 1;
+
+-- ============================================================================
+-- 教学班-行政班级关联表 sc_teaching_class_class
+-- （teaching_class_uuid 开头的查询已由唯一约束覆盖）
+-- ============================================================================
+
+-- 学生/班级课表：按行政班级查找教学班
+create index if not exists sc_teaching_class_class_class_index
+    on public.sc_teaching_class_class (class_uuid);
+
+-- ============================================================================
+-- 教学班表 sc_teaching_class
+-- ============================================================================
+
+-- 自动排课加载学期教学班
+create index if not exists sc_teaching_class_semester_index
+    on public.sc_teaching_class (semester_uuid);
+
+-- ============================================================================
+-- 排课冲突记录表 sc_schedule_conflict
+-- ============================================================================
+
+-- 按学期查询/清理冲突记录
+create index if not exists sc_schedule_conflict_semester_index
+    on public.sc_schedule_conflict (semester_uuid);
+
+-- 外键列：删除排课记录时检查引用，避免全表扫描
+create index if not exists sc_schedule_conflict_schedule_a_index
+    on public.sc_schedule_conflict (schedule_uuid_a);
+
+create index if not exists sc_schedule_conflict_schedule_b_index
+    on public.sc_schedule_conflict (schedule_uuid_b);
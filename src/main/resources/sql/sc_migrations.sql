@@ -0,0 +1,20 @@
+-- 表结构迁移（由数据库初始化流程统一维护）
+-- 每次启动检查表结构后、维护索引前执行，语句均可重复执行；
+-- 旧版本建表脚本缺少的字段与数据回填在此追加，建表脚本只描述最新结构。
+
+-- ============================================================================
+-- 排课表 sc_schedule：week_mask 上课周次位图
+-- ============================================================================
+
+-- 补齐字段；早期脚本曾定义为 not null default 0，改为可空且无默认值，NULL 表示尚未回填
+alter table public.sc_schedule add column if not exists week_mask bigint;
+alter table public.sc_schedule alter column week_mask drop not null;
+alter table public.sc_schedule alter column week_mask drop default;
+
+-- 按 weeks_json 回填：未回填（NULL）的记录，以及按旧默认值写入 0 但周次非空的记录
+update public.sc_schedule s
+set week_mask = (select coalesce(bit_or(1::bigint << (w::int - 1)), 0)
+                 from jsonb_array_elements_text(s.weeks_json::jsonb) as w
+                 where w::int between 1 and 64)
+where s.week_mask is null
+   or (s.week_mask = 0 and s.weeks_json <> '[]');
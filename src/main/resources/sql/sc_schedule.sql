@@ -22,6 +22,7 @@ create table public.sc_schedule
     section_start       integer     not null, -- 起始节次
     section_end         integer     not null, -- 结束节次
     weeks_json          varchar     not null, -- 上课周次 JSON数组字符串 如"[1,2,3]"
+    week_mask           bigint,               -- 上课周次位图，第n周对应第n-1位；NULL 表示尚未由 weeks_json 回填
 
     -- 学时信息
     credit_hours        integer     not null default 0, -- 累计学时 (单次学时 × 周次数)
@@ -33,4 +34,7 @@ create table public.sc_schedule
 
 comment on table public.sc_schedule is '排课表 (基于教学班进行排课)';
 comment on column public.sc_schedule.teaching_class_uuid is '教学班UUID (代替原逻辑分组ID)';
-comment on column public.sc_schedule.credit_hours is '累计学时 (单次学时 × 周次数)';
\ No newline at end of file
+comment on column public.sc_schedule.credit_hours is '累计学时 (单次学时 × 周次数)';
+comment on column public.sc_schedule.week_mask is '上课周次位图 (第n周对应第n-1位，与weeks_json同步维护；周次重叠: (a.week_mask & b.week_mask) <> 0)';
+
+-- 已存在的数据库缺少 week_mask 字段或尚未回填时，由 sc_migrations.sql 在每次启动时补齐（见 SchemaMigrator）
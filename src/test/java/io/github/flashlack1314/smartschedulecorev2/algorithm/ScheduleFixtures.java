@@ -0,0 +1,121 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 排课算法测试数据（测试用）：教室、教学班与排课上下文的构造方法，以及排课方案的规范化描述
+ *
+ * @author flash
+ */
+public final class ScheduleFixtures {
+
+    private ScheduleFixtures() {
+    }
+
+    /**
+     * 统一规模的排课上下文：16周学期，roomCount 间容量60的普通教室 r1..rN，
+     * teachingClassCount 个理论课教学班 tc1..tcN（40人、每周2次、16周）
+     *
+     * @param teacherOf 教学班序号 -> 教师编号，决定教师共用程度
+     * @param classOf   教学班序号 -> 行政班编号，决定行政班共用程度
+     */
+    public static ScheduleContext uniformContext(int teachingClassCount, int roomCount,
+                                                 IntUnaryOperator teacherOf, IntUnaryOperator classOf) {
+        ScheduleContext context = new ScheduleContext();
+        context.setSemesterUuid("semester");
+        context.setSemesterWeeks(16);
+
+        List<ScheduleContext.ClassroomInfo> rooms = new ArrayList<>();
+        for (int i = 1; i <= roomCount; i++) {
+            rooms.add(classroom("r" + i, 60, "normal"));
+        }
+        context.setAvailableClassrooms(Map.of("normal", rooms));
+        context.setCourseTypeToClassroomTypes(Map.of("theory", List.of("normal")));
+        context.setTeachingClassList(uniformTeachingClasses(teachingClassCount, teacherOf, classOf));
+        return context;
+    }
+
+    /**
+     * 统一规模的理论课教学班 tc1..tcN：40人、每周2次、16周，课程各不相同
+     */
+    public static List<ScheduleContext.TeachingClassInfo> uniformTeachingClasses(int count, IntUnaryOperator teacherOf,
+                                                                                 IntUnaryOperator classOf) {
+        List<ScheduleContext.TeachingClassInfo> teachingClasses = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            teachingClasses.add(teachingClass("tc" + i, "c" + i, "theory", "t" + teacherOf.applyAsInt(i),
+                    List.of("k" + classOf.applyAsInt(i)), 40, 2, 16));
+        }
+        return teachingClasses;
+    }
+
+    /**
+     * 按上下文建立索引，时间槽为每周5天、每天12节、第1-16周
+     */
+    public static ScheduleIndex index(ScheduleContext context) {
+        return new ScheduleIndex(context, slots());
+    }
+
+    /**
+     * 每周5天、每天12节、第1-16周的全部时间槽
+     */
+    public static List<TimeSlot> slots() {
+        return new TimeSlotGenerator().generateAllTimeSlots(5, 12, weeks(16));
+    }
+
+    /**
+     * 第1周至第 count 周
+     */
+    public static List<Integer> weeks(int count) {
+        return IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+    }
+
+    public static ScheduleContext.ClassroomInfo classroom(String uuid, int capacity, String type) {
+        ScheduleContext.ClassroomInfo info = new ScheduleContext.ClassroomInfo();
+        info.setClassroomUuid(uuid);
+        info.setClassroomName(uuid);
+        info.setCapacity(capacity);
+        info.setClassroomTypeUuid(type);
+        return info;
+    }
+
+    public static ScheduleContext.TeachingClassInfo teachingClass(String uuid, String courseUuid, String courseType,
+                                                                  String teacherUuid, List<String> classUuids,
+                                                                  int students, int weeklySessions, int requiredWeeks) {
+        ScheduleContext.TeachingClassInfo info = new ScheduleContext.TeachingClassInfo();
+        info.setTeachingClassUuid(uuid);
+        info.setTeachingClassName(uuid);
+        info.setCourseUuid(courseUuid);
+        info.setCourseName(courseUuid);
+        info.setCourseTypeUuid(courseType);
+        info.setTeacherUuid(teacherUuid);
+        info.setTeacherName(teacherUuid);
+        info.setClassUuids(classUuids);
+        info.setTotalStudents(students);
+        info.setWeeklySessions(weeklySessions);
+        info.setRequiredWeeks(requiredWeeks);
+        return info;
+    }
+
+    /**
+     * 排课方案的规范化描述：教学班@星期-起始节次-教室，按字典序排列
+     */
+    public static String describe(Chromosome chromosome) {
+        return chromosome.getGenes().values().stream()
+                .flatMap(List::stream)
+                .map(a -> a.getTeachingClassUuid() + "@" + a.getTimeSlot().getDayOfWeek() + "-"
+                        + a.getTimeSlot().getSectionStart() + "-" + a.getClassroomUuid())
+                .sorted()
+                .collect(Collectors.joining(",")) + " fitness=" + chromosome.getFitness();
+    }
+}
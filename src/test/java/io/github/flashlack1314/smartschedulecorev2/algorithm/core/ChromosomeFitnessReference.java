@@ -0,0 +1,160 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 适应度参考实现（测试用）：直接按完整编码 {@link Chromosome} 与 {@link ScheduleContext} 计算适应度，
+ * 作为 {@link FitnessCalculator} 紧凑编码评估的对照。冲突数量取自 {@link ConflictDetector#detectConflicts} 的报告，
+ * 惩罚与奖励权重与 FitnessCalculator 保持一致。
+ *
+ * @author flash
+ */
+final class ChromosomeFitnessReference {
+
+    private static final int TEACHER_PREFERENCE_REWARD = 1000;
+    private static final int WORKLOAD_BALANCE_REWARD = 500;
+    private static final int COURSE_DISTRIBUTION_REWARD = 300;
+    private static final int CLASSROOM_CONTINUITY_REWARD = 200;
+    private static final int INCOMPLETE_SCHEDULE_PENALTY = 2_000_000;
+    private static final double HARD_CONSTRAINT_WEIGHT = 0.8;
+    private static final double SOFT_CONSTRAINT_WEIGHT = 0.2;
+
+    private ChromosomeFitnessReference() {
+    }
+
+    /**
+     * 计算适应度，写入染色体的 fitness 与 hardConstraintViolations
+     */
+    static void evaluate(ConflictDetector conflictDetector, Chromosome chromosome, ScheduleContext context) {
+        List<Conflict> conflicts = conflictDetector.detectConflicts(chromosome, context).getHardConflicts();
+        double hardPenalty = 0;
+        for (Conflict conflict : conflicts) {
+            hardPenalty += penalty(conflict.getType());
+        }
+        int hardConstraintCount = conflicts.size();
+        int unscheduled = chromosome.getUnscheduledTeachingClasses().size();
+        hardPenalty += (double) unscheduled * INCOMPLETE_SCHEDULE_PENALTY;
+
+        double softReward = teacherPreferenceScore(chromosome, context)
+                + workloadBalanceScore(chromosome, context)
+                + courseDistributionScore(chromosome)
+                + classroomContinuityScore(chromosome);
+
+        double totalHardConstraints = hardConstraintCount + unscheduled;
+        double h = totalHardConstraints > 0 ? 1.0 - (hardConstraintCount / totalHardConstraints) : 1.0;
+        double s = softReward / Math.max(softReward + hardPenalty, 1.0);
+
+        chromosome.setFitness(HARD_CONSTRAINT_WEIGHT * h + SOFT_CONSTRAINT_WEIGHT * s);
+        chromosome.setHardConstraintViolations(hardConstraintCount);
+    }
+
+    private static int penalty(Conflict.ConflictType type) {
+        return switch (type) {
+            case TEACHER_TIME_CONFLICT, CLASSROOM_TIME_CONFLICT, CLASS_TIME_CONFLICT,
+                 TEACHER_QUALIFICATION_MISMATCH, EXISTING_SCHEDULE_CONFLICT -> 1_000_000;
+            case CAPACITY_INSUFFICIENT, CLASSROOM_TYPE_MISMATCH -> 500_000;
+            default -> 100_000;
+        };
+    }
+
+    /**
+     * 教师时间偏好：安排在偏好时间（星期与节次相同）的每次课给奖励
+     */
+    private static double teacherPreferenceScore(Chromosome chromosome, ScheduleContext context) {
+        if (context.getTeacherTimePreferences() == null || context.getTeacherTimePreferences().isEmpty()) {
+            return 0;
+        }
+        double score = 0;
+        for (Map.Entry<TimeSlot, List<CourseAppointment>> entry : chromosome.getGenes().entrySet()) {
+            for (CourseAppointment appt : entry.getValue()) {
+                List<TimeSlot> preferences = context.getTeacherTimePreferences().get(appt.getTeacherUuid());
+                if (preferences != null && preferences.stream().anyMatch(p -> entry.getKey().isSameTime(p))) {
+                    score += TEACHER_PREFERENCE_REWARD;
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * 教师工作量均衡：低于上限80%给全额奖励，80%-100%按比例递减，超过上限不奖励
+     */
+    private static double workloadBalanceScore(Chromosome chromosome, ScheduleContext context) {
+        if (context.getTeacherMaxHours() == null || context.getTeacherMaxHours().isEmpty()) {
+            return 0;
+        }
+        Map<String, Integer> teacherWorkload = new HashMap<>();
+        for (List<CourseAppointment> appointments : chromosome.getGenes().values()) {
+            for (CourseAppointment appt : appointments) {
+                teacherWorkload.merge(appt.getTeacherUuid(), appt.getTimeSlot().getTotalHours(), Integer::sum);
+            }
+        }
+        double score = 0;
+        for (Map.Entry<String, Integer> entry : teacherWorkload.entrySet()) {
+            Integer maxHours = context.getTeacherMaxHours().get(entry.getKey());
+            if (maxHours != null && maxHours > 0) {
+                double ratio = (double) entry.getValue() / maxHours;
+                if (ratio < 0.8) {
+                    score += WORKLOAD_BALANCE_REWARD;
+                } else if (ratio <= 1.0) {
+                    score += WORKLOAD_BALANCE_REWARD * (1.0 - ratio);
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * 课程分布：每天上课次数的标准差越小分数越高
+     */
+    private static double courseDistributionScore(Chromosome chromosome) {
+        Map<Integer, Integer> dayDistribution = new HashMap<>();
+        for (Map.Entry<TimeSlot, List<CourseAppointment>> entry : chromosome.getGenes().entrySet()) {
+            dayDistribution.merge(entry.getKey().getDayOfWeek(), entry.getValue().size(), Integer::sum);
+        }
+        if (dayDistribution.isEmpty()) {
+            return 0;
+        }
+        double avgPerDay = dayDistribution.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+        double variance = 0;
+        for (int count : dayDistribution.values()) {
+            variance += Math.pow(count - avgPerDay, 2);
+        }
+        variance /= dayDistribution.size();
+        return Math.max(0, COURSE_DISTRIBUTION_REWARD - Math.sqrt(variance) * 100);
+    }
+
+    /**
+     * 教室连续使用：每个 (教室, 天) 按节次排序，起始节次紧接上一次结束节次视为连续，奖励 课次数/连续段数
+     */
+    private static double classroomContinuityScore(Chromosome chromosome) {
+        Map<String, List<CourseAppointment>> byClassroom = chromosome.getGenes().values().stream()
+                .flatMap(List::stream)
+                .filter(appt -> appt.getClassroomUuid() != null)
+                .collect(Collectors.groupingBy(CourseAppointment::getClassroomUuid));
+        double totalScore = 0;
+        for (List<CourseAppointment> classroomAppts : byClassroom.values()) {
+            Map<Integer, List<CourseAppointment>> byDay = classroomAppts.stream()
+                    .collect(Collectors.groupingBy(appt -> appt.getTimeSlot().getDayOfWeek()));
+            for (List<CourseAppointment> dayAppts : byDay.values()) {
+                dayAppts.sort(Comparator.comparingInt(appt -> appt.getTimeSlot().getSectionStart()));
+                int segments = 0;
+                for (int i = 0; i < dayAppts.size(); i++) {
+                    if (i == 0 || dayAppts.get(i).getTimeSlot().getSectionStart()
+                            != dayAppts.get(i - 1).getTimeSlot().getSectionEnd()) {
+                        segments++;
+                    }
+                }
+                totalScore += CLASSROOM_CONTINUITY_REWARD * ((double) dayAppts.size() / segments);
+            }
+        }
+        return totalScore;
+    }
+}
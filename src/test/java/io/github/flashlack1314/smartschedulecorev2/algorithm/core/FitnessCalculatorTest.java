@@ -0,0 +1,230 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.Conflict;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static io.github.flashlack1314.smartschedulecorev2.algorithm.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FitnessCalculator 单元测试：紧凑编码的评估结果与完整编码参考实现一致
+ *
+ * @author flash
+ */
+class FitnessCalculatorTest {
+
+    private final ConflictDetector conflictDetector = new ConflictDetector();
+    private final FitnessCalculator calculator = new FitnessCalculator(conflictDetector);
+
+    private ScheduleContext context;
+    private ScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        context = new ScheduleContext();
+        context.setSemesterUuid("semester");
+        context.setSemesterWeeks(16);
+
+        // 教室：普通教室3间（一间容量不足），实验室1间
+        Map<String, List<ScheduleContext.ClassroomInfo>> classrooms = new HashMap<>();
+        classrooms.put("normal", new ArrayList<>(List.of(
+                classroom("r1", 60, "normal"),
+                classroom("r2", 60, "normal"),
+                classroom("r3", 20, "normal"))));
+        classrooms.put("lab", new ArrayList<>(List.of(classroom("lab1", 40, "lab"))));
+        context.setAvailableClassrooms(classrooms);
+        context.setCourseTypeToClassroomTypes(Map.of("theory", List.of("normal"), "practice", List.of("lab")));
+
+        // 教学班：共用教师与行政班，周次不同
+        context.setTeachingClassList(List.of(
+                teachingClass("tc1", "c1", "theory", "t1", List.of("k1"), 40, 2, 16),
+                teachingClass("tc2", "c2", "theory", "t1", List.of("k2"), 40, 2, 8),
+                teachingClass("tc3", "c3", "practice", "t2", List.of("k1", "k2"), 35, 1, 12),
+                teachingClass("tc4", "c4", "theory", "t3", List.of("k3"), 50, 3, 16)));
+        context.setCourseTeacherQualifications(Map.of(
+                "c1", List.of("t1"), "c2", List.of("t1"), "c3", List.of("t9"), "c4", List.of("t3")));
+
+        // 已有排课：周一1-2节，教师t3，教室r1，行政班k3
+        ScheduleContext.ExistingSchedule existing = new ScheduleContext.ExistingSchedule();
+        existing.setScheduleUuid("e1");
+        existing.setTeacherUuid("t3");
+        existing.setClassroomUuid("r1");
+        existing.setClassUuids(List.of("k3"));
+        existing.setTimeSlot(TimeSlot.of(1, 1, 2, weeks(16)));
+        context.setExistingSchedules(List.of(existing));
+
+        context.setTeacherTimePreferences(Map.of("t1", List.of(TimeSlot.of(1, 1, 2, List.of()))));
+        context.setTeacherMaxHours(Map.of("t1", 40, "t3", 200));
+
+        List<TimeSlot> slots = new TimeSlotGenerator().generateAllTimeSlots(5, 12, weeks(16));
+        index = new ScheduleIndex(context, slots);
+    }
+
+    @Test
+    void testIndexSessions() {
+        assertEquals(8, index.getSessionCount(), "4个教学班共2+2+1+3=8个课次");
+        assertEquals(30, index.getSlotCount(), "5天×6个时段=30个时间槽");
+        assertEquals(0xFFL, index.getTcWeekMask()[1], "8周对应低8位");
+        assertEquals(Set.of("r1", "r2"), candidateRoomUuids(0), "容量足够的普通教室只有r1、r2");
+    }
+
+    @Test
+    void testCompactFitnessMatchesFullChromosome() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            CompactChromosome compact = new CompactChromosome(index.getSessionCount());
+            for (int session = 0; session < index.getSessionCount(); session++) {
+                // 时间槽集中在前4个，制造大量冲突
+                compact.setGene(session, random.nextInt(4), random.nextInt(index.getRoomCount()));
+            }
+            calculator.calculateFitness(compact, index);
+
+            Chromosome full = index.decode(compact);
+            ChromosomeFitnessReference.evaluate(conflictDetector, full, context);
+
+            assertEquals(full.getHardConstraintViolations(), compact.getHardConstraintViolations(),
+                    "第" + round + "轮硬约束冲突数应一致");
+            assertEquals(full.getFitness(), compact.getFitness(), 1e-9, "第" + round + "轮适应度应一致");
+        }
+    }
+
+    @Test
+    void testTimeConflictsMatchPairwiseReference() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            CompactChromosome compact = new CompactChromosome(index.getSessionCount());
+            for (int session = 0; session < index.getSessionCount(); session++) {
+                compact.setGene(session, random.nextInt(3), random.nextInt(index.getRoomCount()));
+            }
+            Chromosome full = index.decode(compact);
+            List<CourseAppointment> appointments = full.getGenes().values().stream()
+                    .flatMap(List::stream)
+                    .toList();
+
+            // 参考实现：两两比较
+            int[] expected = new int[3];
+            for (int i = 0; i < appointments.size(); i++) {
+                for (int j = i + 1; j < appointments.size(); j++) {
+                    CourseAppointment a = appointments.get(i);
+                    CourseAppointment b = appointments.get(j);
+                    if (a.getTeachingClassUuid().equals(b.getTeachingClassUuid())
+                            || !a.getTimeSlot().isOverlap(b.getTimeSlot())) {
+                        continue;
+                    }
+                    expected[0] += a.getTeacherUuid().equals(b.getTeacherUuid()) ? 1 : 0;
+                    expected[1] += a.getClassroomUuid().equals(b.getClassroomUuid()) ? 1 : 0;
+                    expected[2] += Collections.disjoint(a.getClassUuids(), b.getClassUuids()) ? 0 : 1;
+                }
+            }
+
+            Map<Conflict.ConflictType, Long> reported = conflictDetector.detectConflicts(full, context)
+                    .getHardConflicts().stream()
+                    .collect(Collectors.groupingBy(Conflict::getType, Collectors.counting()));
+            int[] counted = conflictDetector.countConflicts(compact, index);
+            Conflict.ConflictType[] types = {
+                    Conflict.ConflictType.TEACHER_TIME_CONFLICT,
+                    Conflict.ConflictType.CLASSROOM_TIME_CONFLICT,
+                    Conflict.ConflictType.CLASS_TIME_CONFLICT};
+            for (int t = 0; t < types.length; t++) {
+                assertEquals(expected[t], reported.getOrDefault(types[t], 0L).intValue(),
+                        "第" + round + "轮冲突报告中" + types[t] + "数量应与两两比较一致");
+                assertEquals(expected[t], counted[types[t].ordinal()],
+                        "第" + round + "轮冲突计数中" + types[t] + "数量应与两两比较一致");
+            }
+        }
+    }
+
+    @Test
+    void testMoveMatchesFullEvaluation() {
+        // 增加与 tc1 合班的 tc5，覆盖合班约束的增量更新
+        List<ScheduleContext.TeachingClassInfo> teachingClasses = new ArrayList<>(context.getTeachingClassList());
+        teachingClasses.add(teachingClass("tc5", "c1", "theory", "t2", List.of("k1"), 30, 2, 16));
+        context.setTeachingClassList(teachingClasses);
+        context.setCourseClassMapping(Map.of("c1", List.of("k1")));
+        index = new ScheduleIndex(context, new TimeSlotGenerator().generateAllTimeSlots(5, 12, weeks(16)));
+        assertEquals(2, index.getCombinedPairs().length, "tc1 与 tc5 构成一对合班");
+
+        Random random = new Random(3);
+        CompactChromosome chromosome = new CompactChromosome(index.getSessionCount());
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            chromosome.setGene(session, random.nextInt(6), random.nextInt(index.getRoomCount()));
+        }
+        calculator.calculateFitness(chromosome, index);
+
+        for (int move = 0; move < 500; move++) {
+            int session = random.nextInt(index.getSessionCount());
+            calculator.applyMove(chromosome, index, session, random.nextInt(6), random.nextInt(index.getRoomCount()));
+            assertTrue(chromosome.isEvaluated(), "已评估的染色体移动后应保持评估状态");
+
+            // 参考染色体按基因重新构建，占用索引独立建立
+            CompactChromosome reference = new CompactChromosome(index.getSessionCount());
+            for (int s = 0; s < index.getSessionCount(); s++) {
+                reference.setGene(s, chromosome.getSlot(s), chromosome.getRoom(s));
+            }
+            calculator.calculateFitness(reference, index);
+            assertArrayEquals(reference.getConflictCounts(), chromosome.getConflictCounts(),
+                    "第" + move + "次移动后冲突计数应与完整评估一致");
+            assertEquals(reference.getFitness(), chromosome.getFitness(), 1e-9,
+                    "第" + move + "次移动后适应度应与完整评估一致");
+        }
+    }
+
+    @Test
+    void testSwapGeneKeepsOccupancy() {
+        Random random = new Random(5);
+        CompactChromosome child1 = new CompactChromosome(index.getSessionCount());
+        CompactChromosome child2 = new CompactChromosome(index.getSessionCount());
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            child1.setGene(session, random.nextInt(6), random.nextInt(index.getRoomCount()));
+            child2.setGene(session, random.nextInt(6), random.nextInt(index.getRoomCount()));
+        }
+        calculator.calculateFitness(child1, index);
+        calculator.calculateFitness(child2, index);
+        for (int session = 0; session < index.getSessionCount(); session += 2) {
+            child1.swapGene(child2, session);
+        }
+        calculator.calculateFitness(child1, index);
+
+        CompactChromosome reference = new CompactChromosome(index.getSessionCount());
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            reference.setGene(session, child1.getSlot(session), child1.getRoom(session));
+        }
+        calculator.calculateFitness(reference, index);
+        assertEquals(reference.getFitness(), child1.getFitness(), 1e-9, "交换基因后占用索引应与基因一致");
+    }
+
+    @Test
+    void testUnscheduledSessionCounted() {
+        CompactChromosome compact = new CompactChromosome(index.getSessionCount());
+        calculator.calculateFitness(compact, index);
+        assertEquals(4, compact.getUnscheduledCount(), "全部未安排时4个教学班都未完成");
+        assertEquals(4, index.decode(compact).getUnscheduledTeachingClasses().size(), "解码后未完成列表一致");
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        CompactChromosome original = new CompactChromosome(index.getSessionCount());
+        original.setGene(0, 3, 1);
+        CompactChromosome copy = original.copy();
+        copy.setGene(0, 5, 2);
+        assertEquals(3, original.getSlot(0), "修改副本不应影响原染色体");
+        assertEquals(5, copy.getSlot(0));
+    }
+
+    private Set<String> candidateRoomUuids(int tc) {
+        return Arrays.stream(index.getTcCandidateRooms()[tc])
+                .mapToObj(room -> index.getRooms().get(room).getClassroomUuid())
+                .collect(Collectors.toSet());
+    }
+}
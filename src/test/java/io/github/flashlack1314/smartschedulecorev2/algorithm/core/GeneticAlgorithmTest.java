@@ -0,0 +1,85 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.github.flashlack1314.smartschedulecorev2.algorithm.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GeneticAlgorithm 单元测试：固定种子的运行结果可复现（含岛屿模型），构造式初始种群满足硬约束
+ *
+ * @author flash
+ */
+class GeneticAlgorithmTest {
+
+    private ScheduleContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = uniformContext(6, 6, i -> i % 3, i -> i % 2);
+    }
+
+    @Test
+    void testSameSeedReproducesSchedule() {
+        String first = describe(run(42L, 1));
+        assertEquals(first, describe(run(42L, 1)), "相同种子的两次运行结果应一致");
+        assertEquals(first, describe(run(42L, 4)), "结果不应受并行线程数影响");
+    }
+
+    @Test
+    void testIslandModelReproducible() {
+        String first = describe(runIslands(42L, 1));
+        assertEquals(first, describe(runIslands(42L, 4)), "岛屿模型的结果不应受并行线程数影响");
+    }
+
+    @Test
+    void testSeedRecordedWhenNotSpecified() {
+        GeneticAlgorithm algorithm = newAlgorithm(1);
+        algorithm.schedule();
+        assertNotNull(algorithm.getSeed(), "未指定种子时应记录实际使用的种子");
+    }
+
+    @Test
+    void testConstructiveInitializationFeasible() {
+        // 40个教学班、80个课次，教师与行政班共用程度较高，随机生成几乎不可能没有冲突
+        context.setTeachingClassList(uniformTeachingClasses(40, i -> i % 10, i -> i % 8));
+
+        GeneticAlgorithm algorithm = newAlgorithm(1);
+        algorithm.setSeed(7L);
+        algorithm.setMaxGenerations(1);
+        Chromosome best = algorithm.schedule();
+
+        assertEquals(0, best.getHardConstraintViolations(), "构造式初始种群中应存在没有硬约束冲突的个体");
+        assertTrue(best.getUnscheduledTeachingClasses().isEmpty(), "所有教学班都应完成排课");
+    }
+
+    private Chromosome run(long seed, int parallelism) {
+        GeneticAlgorithm algorithm = newAlgorithm(parallelism);
+        algorithm.setSeed(seed);
+        return algorithm.schedule();
+    }
+
+    private Chromosome runIslands(long seed, int parallelism) {
+        GeneticAlgorithm algorithm = newAlgorithm(parallelism);
+        algorithm.setSeed(seed);
+        algorithm.setIslandCount(3);
+        algorithm.setMigrationInterval(5);
+        algorithm.setMigrationSize(1);
+        return algorithm.schedule();
+    }
+
+    private GeneticAlgorithm newAlgorithm(int parallelism) {
+        ConflictDetector conflictDetector = new ConflictDetector();
+        GeneticAlgorithm algorithm = new GeneticAlgorithm(context, new FitnessCalculator(conflictDetector),
+                conflictDetector, new TimeSlotGenerator(), new HoursCalculator());
+        algorithm.setPopulationSize(20);
+        algorithm.setMaxGenerations(30);
+        algorithm.setEliteSize(2);
+        algorithm.setParallelism(parallelism);
+        return algorithm;
+    }
+}
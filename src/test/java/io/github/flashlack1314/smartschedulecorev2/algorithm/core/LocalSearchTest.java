@@ -0,0 +1,79 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleIndex;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CompactChromosome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static io.github.flashlack1314.smartschedulecorev2.algorithm.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LocalSearch 单元测试：冲突驱动的局部搜索能消除硬约束冲突，增量评估结果与完整评估一致，
+ * 实际规模下在时间预算内结束
+ *
+ * @author flash
+ */
+class LocalSearchTest {
+
+    private final ConflictDetector conflictDetector = new ConflictDetector();
+    private final FitnessCalculator calculator = new FitnessCalculator(conflictDetector);
+
+    @Test
+    void testImproveResolvesHardConflicts() {
+        ScheduleIndex index = index(sharedContext(12, 6));
+
+        // 所有课次放在同一时间槽、同一教室
+        CompactChromosome chromosome = new CompactChromosome(index.getSessionCount());
+        int room = index.getTcCandidateRooms()[0][0];
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            chromosome.setGene(session, 0, room);
+        }
+        calculator.calculateFitness(chromosome, index);
+        int before = chromosome.getHardConstraintViolations();
+        assertTrue(before > 0, "初始方案应存在硬约束冲突");
+
+        LocalSearch localSearch = new LocalSearch(calculator, conflictDetector, index);
+        int moves = localSearch.improve(chromosome, new SplittableRandom(1L), 1000, Long.MAX_VALUE);
+
+        assertTrue(moves > 0, "应执行至少一次改进移动");
+        assertEquals(0, chromosome.getHardConstraintViolations(), "局部搜索后应没有硬约束冲突");
+        double fitness = chromosome.getFitness();
+        calculator.calculateFitness(chromosome, index);
+        assertEquals(chromosome.getFitness(), fitness, 1e-9, "局部搜索后的适应度应与完整评估一致");
+    }
+
+    @Test
+    void testImproveRespectsTimeBudget() {
+        // 400个教学班（800个课次）随机放置，步数不设上限，只靠时间预算结束
+        ScheduleIndex index = index(sharedContext(400, 40));
+        Random random = new Random(11);
+        CompactChromosome chromosome = new CompactChromosome(index.getSessionCount());
+        for (int session = 0; session < index.getSessionCount(); session++) {
+            int[] rooms = index.getTcCandidateRooms()[index.getSessionTc()[session]];
+            chromosome.setGene(session, random.nextInt(index.getSlotCount()), rooms[random.nextInt(rooms.length)]);
+        }
+        calculator.calculateFitness(chromosome, index);
+        double before = chromosome.getFitness();
+
+        LocalSearch localSearch = new LocalSearch(calculator, conflictDetector, index);
+        long budgetMillis = 100;
+        long start = System.nanoTime();
+        localSearch.improve(chromosome, new SplittableRandom(2L), Integer.MAX_VALUE,
+                start + budgetMillis * 1_000_000L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(elapsedMillis < budgetMillis + 400, "局部搜索应在时间预算附近结束，实际耗时 " + elapsedMillis + " ms");
+        assertTrue(chromosome.getFitness() >= before, "局部搜索不应降低适应度");
+    }
+
+    /**
+     * 指定数量的教学班，每6个共用一名教师、每4个共用一个行政班，教室容量均为60
+     */
+    private static ScheduleContext sharedContext(int teachingClassCount, int roomCount) {
+        return uniformContext(teachingClassCount, roomCount, i -> i / 6, i -> i / 4);
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.CourseAppointment;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SessionConflictScanner 单元测试
+ *
+ * @author flash
+ */
+class SessionConflictScannerTest {
+
+    private final SessionConflictScanner scanner = new SessionConflictScanner();
+
+    @Test
+    void testScan_SameTeacherOverlappingWeeks_ShouldReportConflict() {
+        List<CourseAppointment> previews = List.of(
+                preview("tc1", "t1", "r1", List.of("c1"), TimeSlot.of(1, 1, 2, List.of(1, 2, 3))),
+                preview("tc2", "t1", "r2", List.of("c2"), TimeSlot.of(1, 1, 2, List.of(3, 4))),
+                preview("tc3", "t1", "r3", List.of("c3"), TimeSlot.of(1, 1, 2, List.of(5, 6))));
+
+        SessionConflictScanner.ScanResult result = scanner.scan(previews, List.of());
+
+        assertEquals(1, result.getConflicts().size(), "只有第3周重叠的两门课冲突");
+        SessionConflictScanner.TimeConflict conflict = result.getConflicts().get(0);
+        assertEquals(0, conflict.getPreview());
+        assertEquals(1, conflict.getOther());
+        assertFalse(conflict.isWithExisting());
+        assertEquals(3, result.getExamined(), "检查的课次数");
+    }
+
+    @Test
+    void testScan_MultipleSharedClassesAndSections_ShouldReportOnce() {
+        List<CourseAppointment> previews = List.of(
+                preview("tc1", "t1", "r1", List.of("c1", "c2"), TimeSlot.of(2, 1, 3, List.of(1))),
+                preview("tc2", "t2", "r2", List.of("c1", "c2"), TimeSlot.of(2, 2, 4, List.of(1))));
+
+        SessionConflictScanner.ScanResult result = scanner.scan(previews, List.of());
+
+        assertEquals(1, result.getConflicts().size(), "共享多个班级、多个节次的两门课只记录一次班级冲突");
+    }
+
+    @Test
+    void testScan_RandomSessions_ShouldMatchPairwiseComparison() {
+        Random random = new Random(42);
+        List<CourseAppointment> previews = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            previews.add(preview("tc" + random.nextInt(120), "t" + random.nextInt(30), "r" + random.nextInt(25),
+                    List.of("c" + random.nextInt(40)), randomSlot(random)));
+        }
+        List<ScheduleContext.ExistingSchedule> existing = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ScheduleContext.ExistingSchedule es = new ScheduleContext.ExistingSchedule();
+            es.setScheduleUuid("s" + i);
+            es.setTeachingClassUuid("old" + i);
+            es.setTeacherUuid("t" + random.nextInt(30));
+            es.setClassroomUuid("r" + random.nextInt(25));
+            es.setClassUuids(List.of("c" + random.nextInt(40)));
+            es.setTimeSlot(randomSlot(random));
+            existing.add(es);
+        }
+
+        SessionConflictScanner.ScanResult result = scanner.scan(previews, existing);
+
+        assertEquals(pairwise(previews, existing), asKeys(result.getConflicts()), "扫描结果应与逐对比较一致");
+        assertTrue(result.getCompared() < 300L * 299 / 2 + 300L * 100, "比较次数应远少于逐对比较");
+    }
+
+    private static TimeSlot randomSlot(Random random) {
+        int start = 1 + random.nextInt(10);
+        long weekMask = random.nextInt(1 << 16) | 1L;
+        return TimeSlot.of(1 + random.nextInt(5), start, start + 1 + random.nextInt(2), weekMask);
+    }
+
+    private static CourseAppointment preview(String tc, String teacher, String room, List<String> classes, TimeSlot slot) {
+        CourseAppointment appt = new CourseAppointment();
+        appt.setTeachingClassUuid(tc);
+        appt.setTeacherUuid(teacher);
+        appt.setClassroomUuid(room);
+        appt.setClassUuids(classes);
+        appt.setTimeSlot(slot);
+        return appt;
+    }
+
+    private static Set<String> asKeys(List<SessionConflictScanner.TimeConflict> conflicts) {
+        Set<String> keys = new HashSet<>();
+        for (SessionConflictScanner.TimeConflict c : conflicts) {
+            assertTrue(keys.add(c.getPreview() + "-" + c.getOther() + "-" + c.isWithExisting() + "-" + c.getType()),
+                    "冲突不应重复记录");
+        }
+        return keys;
+    }
+
+    private static Set<String> pairwise(List<CourseAppointment> previews, List<ScheduleContext.ExistingSchedule> existing) {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < previews.size(); i++) {
+            CourseAppointment a = previews.get(i);
+            for (int j = i + 1; j < previews.size(); j++) {
+                CourseAppointment b = previews.get(j);
+                if (!a.getTeachingClassUuid().equals(b.getTeachingClassUuid()) && a.getTimeSlot().isOverlap(b.getTimeSlot())) {
+                    addKeys(keys, i, j, false, a.getTeacherUuid().equals(b.getTeacherUuid()),
+                            a.getClassroomUuid().equals(b.getClassroomUuid()), a.getClassUuids().equals(b.getClassUuids()));
+                }
+            }
+            for (int j = 0; j < existing.size(); j++) {
+                ScheduleContext.ExistingSchedule b = existing.get(j);
+                if (a.getTimeSlot().isOverlap(b.getTimeSlot())) {
+                    addKeys(keys, i, j, true, a.getTeacherUuid().equals(b.getTeacherUuid()),
+                            a.getClassroomUuid().equals(b.getClassroomUuid()), a.getClassUuids().equals(b.getClassUuids()));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static void addKeys(Set<String> keys, int i, int j, boolean withExisting,
+                                boolean teacher, boolean room, boolean clazz) {
+        String prefix = i + "-" + j + "-" + withExisting + "-";
+        if (teacher) {
+            keys.add(prefix + "TEACHER_TIME_CONFLICT");
+        }
+        if (room) {
+            keys.add(prefix + "CLASSROOM_TIME_CONFLICT");
+        }
+        if (clazz) {
+            keys.add(prefix + "CLASS_TIME_CONFLICT");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.core;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.dto.ScheduleContext;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.Chromosome;
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.TimeSlotGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.flashlack1314.smartschedulecorev2.algorithm.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SimulatedAnnealingSolver 单元测试：固定种子的运行结果可复现，得到没有硬约束冲突的方案，
+ * 没有可选教室的教学班保持未安排
+ *
+ * @author flash
+ */
+class SimulatedAnnealingSolverTest {
+
+    @Test
+    void testSameSeedReproducesSchedule() {
+        ScheduleContext context = buildContext();
+        String first = describe(run(context, 42L));
+        assertEquals(first, describe(run(context, 42L)), "相同种子的两次运行结果应一致");
+    }
+
+    @Test
+    void testScheduleWithoutHardConflicts() {
+        Chromosome best = run(buildContext(), 7L);
+
+        assertEquals(0, best.getHardConstraintViolations(), "模拟退火结果应没有硬约束冲突");
+        assertTrue(best.getUnscheduledTeachingClasses().isEmpty(), "所有教学班都应完成排课");
+    }
+
+    @Test
+    void testTeachingClassWithoutRoomsStaysUnscheduled() {
+        // 实验课只能使用实验室，但没有任何实验室
+        ScheduleContext context = buildContext();
+        ScheduleContext.TeachingClassInfo lab = teachingClass(
+                "lab", "lab", "experiment", "t-lab", List.of("k-lab"), 30, 1, 16);
+        List<ScheduleContext.TeachingClassInfo> teachingClasses = new ArrayList<>(context.getTeachingClassList());
+        teachingClasses.add(lab);
+        context.setTeachingClassList(teachingClasses);
+        context.setCourseTypeToClassroomTypes(Map.of("theory", List.of("normal"), "experiment", List.of("lab")));
+
+        Chromosome best = run(context, 3L);
+
+        assertEquals(List.of("lab"), best.getUnscheduledTeachingClasses(), "没有可选教室的教学班应保持未安排");
+        assertEquals(0, best.getHardConstraintViolations(), "其余教学班应没有硬约束冲突");
+    }
+
+    private static Chromosome run(ScheduleContext context, long seed) {
+        ConflictDetector conflictDetector = new ConflictDetector();
+        SimulatedAnnealingSolver solver = new SimulatedAnnealingSolver(context,
+                new FitnessCalculator(conflictDetector), conflictDetector, new TimeSlotGenerator());
+        solver.setSeed(seed);
+        solver.setMaxIterations(20_000);
+        return solver.schedule();
+    }
+
+    /**
+     * 24个教学班，教师与行政班多次共用，教室6间
+     */
+    private static ScheduleContext buildContext() {
+        return uniformContext(24, 6, i -> i % 6, i -> i % 4);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.flashlack1314.smartschedulecorev2.algorithm.dto;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.entity.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.flashlack1314.smartschedulecorev2.algorithm.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScheduleIndex 单元测试：可选教室按容量贴合程度排列，可选时间槽排除与已有排课冲突的时间槽
+ *
+ * @author flash
+ */
+class ScheduleIndexTest {
+
+    @Test
+    void testCandidateDomains() {
+        ScheduleContext context = new ScheduleContext();
+        context.setSemesterUuid("semester");
+        context.setSemesterWeeks(16);
+
+        List<ScheduleContext.ClassroomInfo> rooms = new ArrayList<>();
+        int[] capacities = {120, 45, 60, 30};
+        for (int i = 0; i < capacities.length; i++) {
+            rooms.add(classroom("r" + i, capacities[i], "normal"));
+        }
+        context.setAvailableClassrooms(Map.of("normal", rooms));
+        context.setCourseTypeToClassroomTypes(Map.of("theory", List.of("normal")));
+
+        context.setTeachingClassList(List.of(teachingClass("tc", "c", "theory", "t", List.of("k"), 40, 2, 16)));
+
+        // 教师周一1-2节、行政班周二1-2节已有正式排课
+        ScheduleContext.ExistingSchedule teacherBusy = new ScheduleContext.ExistingSchedule();
+        teacherBusy.setTeacherUuid("t");
+        teacherBusy.setClassUuids(List.of("other"));
+        teacherBusy.setTimeSlot(TimeSlot.of(1, 1, 2, List.of(3)));
+        ScheduleContext.ExistingSchedule classBusy = new ScheduleContext.ExistingSchedule();
+        classBusy.setTeacherUuid("other");
+        classBusy.setClassUuids(List.of("k"));
+        classBusy.setTimeSlot(TimeSlot.of(2, 1, 2, List.of(5)));
+        context.setExistingSchedules(List.of(teacherBusy, classBusy));
+
+        List<TimeSlot> slots = slots();
+        ScheduleIndex index = new ScheduleIndex(context, slots);
+
+        // 容量足够的教室按容量升序：45, 60, 120
+        int[] candidateRooms = index.getTcCandidateRooms()[0];
+        assertArrayEquals(new int[]{45, 60, 120},
+                Arrays.stream(candidateRooms).map(r -> index.getRoomCapacity()[r]).toArray());
+
+        int[] candidateSlots = index.getTcCandidateSlots()[0];
+        for (int s = 0; s < slots.size(); s++) {
+            TimeSlot slot = slots.get(s);
+            boolean blocked = slot.getSectionStart() <= 2
+                    && (slot.getDayOfWeek() == 1 || slot.getDayOfWeek() == 2);
+            assertEquals(!blocked, Arrays.binarySearch(candidateSlots, s) >= 0,
+                    "时间槽 " + slot.getDayOfWeek() + "-" + slot.getSectionStart() + " 的可选状态不正确");
+        }
+    }
+}
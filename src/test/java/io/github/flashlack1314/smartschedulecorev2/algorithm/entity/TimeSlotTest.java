@@ -15,32 +15,32 @@ class TimeSlotTest {
 
     @Test
     void testIsOverlap_SameDaySameTime_ShouldReturnTrue() {
-        TimeSlot slot1 = new TimeSlot(1, 1, 2, List.of(1, 2, 3));
-        TimeSlot slot2 = new TimeSlot(1, 1, 2, List.of(3, 4, 5));
+        TimeSlot slot1 = TimeSlot.of(1, 1, 2, List.of(1, 2, 3));
+        TimeSlot slot2 = TimeSlot.of(1, 1, 2, List.of(3, 4, 5));
 
         assertTrue(slot1.isOverlap(slot2), "同一时间有重叠周次应该返回true");
     }
 
     @Test
     void testIsOverlap_SameDayDifferentTime_ShouldReturnFalse() {
-        TimeSlot slot1 = new TimeSlot(1, 1, 2, List.of(1, 2, 3));
-        TimeSlot slot2 = new TimeSlot(1, 3, 4, List.of(2, 3, 4));
+        TimeSlot slot1 = TimeSlot.of(1, 1, 2, List.of(1, 2, 3));
+        TimeSlot slot2 = TimeSlot.of(1, 3, 4, List.of(2, 3, 4));
 
         assertFalse(slot1.isOverlap(slot2), "同一天不同时间应该返回false");
     }
 
     @Test
     void testIsOverlap_DifferentDay_ShouldReturnFalse() {
-        TimeSlot slot1 = new TimeSlot(1, 1, 2, List.of(1, 2, 3));
-        TimeSlot slot2 = new TimeSlot(2, 1, 2, List.of(1, 2, 3));
+        TimeSlot slot1 = TimeSlot.of(1, 1, 2, List.of(1, 2, 3));
+        TimeSlot slot2 = TimeSlot.of(2, 1, 2, List.of(1, 2, 3));
 
         assertFalse(slot1.isOverlap(slot2), "不同星期几应该返回false");
     }
 
     @Test
     void testIsOverlap_SameDayOverlappingSection_ShouldReturnTrue() {
-        TimeSlot slot1 = new TimeSlot(1, 1, 2, List.of(1, 2));
-        TimeSlot slot2 = new TimeSlot(1, 2, 3, List.of(2, 3));
+        TimeSlot slot1 = TimeSlot.of(1, 1, 2, List.of(1, 2));
+        TimeSlot slot2 = TimeSlot.of(1, 2, 3, List.of(2, 3));
 
         // 这里要注意：我们固定是2节连上，sectionEnd = sectionStart + 1
         // 所以 sectionStart=1, sectionEnd=2 和 sectionStart=2, sectionEnd=3 是不重叠的
@@ -51,29 +51,45 @@ class TimeSlotTest {
 
     @Test
     void testIsOverlap_SameDaySameSectionNoWeekOverlap_ShouldReturnFalse() {
-        TimeSlot slot1 = new TimeSlot(1, 1, 2, List.of(1, 2));
-        TimeSlot slot2 = new TimeSlot(1, 1, 2, List.of(3, 4));
+        TimeSlot slot1 = TimeSlot.of(1, 1, 2, List.of(1, 2));
+        TimeSlot slot2 = TimeSlot.of(1, 1, 2, List.of(3, 4));
 
         assertFalse(slot1.isOverlap(slot2), "同一时间但周次不重叠应该返回false");
     }
 
+    @Test
+    void testGetWeekMask() {
+        TimeSlot slot = TimeSlot.of(1, 1, 2, List.of(1, 3, 64));
+
+        assertEquals(0b101L | Long.MIN_VALUE, slot.getWeekMask(), "第n周对应第n-1位");
+    }
+
+    @Test
+    void testOf_SameParameters_ShouldReturnSameInstance() {
+        TimeSlot slot1 = TimeSlot.of(2, 3, 4, List.of(1, 2, 3));
+        TimeSlot slot2 = TimeSlot.of(2, 3, 4, List.of(3, 2, 1));
+
+        assertSame(slot1, slot2, "相同时间与周次应复用同一实例");
+        assertEquals(List.of(1, 2, 3), slot2.getWeeks(), "周次列表按升序返回");
+    }
+
     @Test
     void testGetTotalHours_2Weeks_ShouldReturn4() {
-        TimeSlot slot = new TimeSlot(1, 1, 2, List.of(1, 2));
+        TimeSlot slot = TimeSlot.of(1, 1, 2, List.of(1, 2));
 
         assertEquals(4, slot.getTotalHours(), "2周 × 2学时 = 4学时");
     }
 
     @Test
     void testGetTotalHours_5Weeks_ShouldReturn10() {
-        TimeSlot slot = new TimeSlot(1, 3, 4, List.of(1, 2, 3, 4, 5));
+        TimeSlot slot = TimeSlot.of(1, 3, 4, List.of(1, 2, 3, 4, 5));
 
         assertEquals(10, slot.getTotalHours(), "5周 × 2学时 = 10学时");
     }
 
     @Test
     void testGetUniqueId() {
-        TimeSlot slot = new TimeSlot(1, 1, 2, List.of(1, 2, 3));
+        TimeSlot slot = TimeSlot.of(1, 1, 2, List.of(1, 2, 3));
 
         String uniqueId = slot.getUniqueId();
         assertTrue(uniqueId.contains("1-"), "ID应该包含星期几");
@@ -0,0 +1,65 @@
+package io.github.flashlack1314.smartschedulecorev2.config.redis;
+
+import io.github.flashlack1314.smartschedulecorev2.config.RedisConfig;
+import io.github.flashlack1314.smartschedulecorev2.enums.UserType;
+import io.github.flashlack1314.smartschedulecorev2.mcp.dto.SchedulePreviewDTO;
+import io.github.flashlack1314.smartschedulecorev2.model.dto.TokenInfoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CompactRedisSerializer 单元测试
+ *
+ * @author flash
+ */
+class CompactRedisSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<Object> json = RedisConfig.jsonRedisSerializer();
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(
+            List.of(new TokenInfoCodec(), new SchedulePreviewCodec()), json);
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 9, 1, 8, 0, 0, 123456789);
+
+    @Test
+    void testTokenInfo_RoundTrip() {
+        TokenInfoDTO token = new TokenInfoDTO("3f6c1a2b9d8e4f70a1b2c3d4e5f60718", UserType.TEACHER, now, now.plusHours(12));
+
+        byte[] bytes = serializer.serialize(token);
+
+        assertEquals(CompactRedisSerializer.MAGIC, bytes[0], "已注册类型应使用二进制格式");
+        assertEquals(token, serializer.deserialize(bytes), "解码结果应与原对象一致");
+        assertTrue(bytes.length < json.serialize(token).length, "二进制格式应小于JSON");
+    }
+
+    @Test
+    void testSchedulePreview_RoundTripWithNulls() {
+        SchedulePreviewDTO preview = new SchedulePreviewDTO()
+                .setPreviewId("9a8b7c6d5e4f30211a2b3c4d5e6f7081")
+                .setOriginalSchedule(new SchedulePreviewDTO.ScheduleInfo()
+                        .setCourseName("数据结构")
+                        .setDayOfWeek(3)
+                        .setSectionStart(5)
+                        .setWeeksJson("[1,2,3]"))
+                .setConflictResult(new SchedulePreviewDTO.ConflictResult()
+                        .setHasConflict(true)
+                        .setConflictTypes(List.of("教室冲突")))
+                .setCreatedAt(now);
+
+        assertEquals(preview, serializer.deserialize(serializer.serialize(preview)), "空字段与嵌套对象应原样还原");
+    }
+
+    @Test
+    void testJsonData_ShouldStillBeReadable() {
+        TokenInfoDTO token = new TokenInfoDTO("u1", UserType.STUDENT, now, now.plusHours(1));
+        List<String> list = new ArrayList<>(List.of("a", "b"));
+
+        assertEquals(token, serializer.deserialize(json.serialize(token)), "启用前写入的JSON数据应能读取");
+        assertEquals(list, serializer.deserialize(serializer.serialize(list)), "未注册类型应使用JSON");
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.flashlack1314.smartschedulecorev2.dao;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleConflictDO;
+import io.github.flashlack1314.smartschedulecorev2.model.entity.ScheduleDO;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 热点查询执行计划检查：执行各DAO查询并记录实际SQL的 EXPLAIN 结果
+ * <p>
+ * 需要连接已按 FULL 模式初始化的数据库，默认跳过，运行方式：
+ * {@code mvn test -Dtest=QueryPlanTest -Dquery-plan=true}。
+ * 执行计划写入 target/query-plans.txt；检查时关闭顺序扫描，
+ * 计划中仍出现 Seq Scan 说明该查询没有可用索引（与测试数据量无关）。
+ *
+ * @author flash
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "query-plan", matches = "true")
+class QueryPlanTest {
+
+    private static final Path REPORT = Path.of("target", "query-plans.txt");
+    private static final List<String> WATCHED_TABLES = List.of(
+            "sc_schedule", "sc_teaching_class_class", "sc_teaching_class", "sc_schedule_conflict");
+
+    @Autowired
+    private MybatisPlusInterceptor mybatisPlusInterceptor;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ScheduleDAO scheduleDAO;
+    @Autowired
+    private TeachingClassClassDAO teachingClassClassDAO;
+    @Autowired
+    private ScheduleConflictDAO scheduleConflictDAO;
+
+    private final List<CapturedQuery> captured = new ArrayList<>();
+    private String currentLabel;
+
+    @Test
+    void testHotQueriesUseIndexes() throws Exception {
+        ScheduleDO sample = scheduleDAO.getOne(new LambdaQueryWrapper<ScheduleDO>()
+                .eq(ScheduleDO::getStatus, 1)
+                .last("limit 1"));
+        assumeTrue(sample != null, "数据库中没有正式排课记录，请先以 FULL 模式初始化数据库");
+        String semesterUuid = sample.getSemesterUuid();
+        String teacherUuid = sample.getTeacherUuid();
+        String classroomUuid = sample.getClassroomUuid();
+        String teachingClassUuid = sample.getTeachingClassUuid();
+        Integer dayOfWeek = sample.getDayOfWeek();
+        String classUuid = jdbcTemplate.queryForObject(
+                "select class_uuid from sc_teaching_class_class where teaching_class_uuid = ? limit 1",
+                String.class, teachingClassUuid);
+
+        mybatisPlusInterceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                                    ResultHandler resultHandler, BoundSql boundSql) {
+                if (currentLabel != null) {
+                    captured.add(new CapturedQuery(currentLabel, ms, parameter, boundSql));
+                }
+            }
+        });
+
+        // ScheduleDAO
+        capture("ScheduleDAO.getTeacherTimetable", () -> scheduleDAO.getTeacherTimetable(teacherUuid, semesterUuid));
+        capture("ScheduleDAO.getClassroomTimetable", () -> scheduleDAO.getClassroomTimetable(classroomUuid, semesterUuid));
+        capture("ScheduleDAO.getTeachingClassTimetable",
+                () -> scheduleDAO.getTeachingClassTimetable(teachingClassUuid, semesterUuid));
+        capture("ScheduleDAO.getTeachingClassesTimetable",
+                () -> scheduleDAO.getTeachingClassesTimetable(List.of(teachingClassUuid), semesterUuid));
+        capture("ScheduleDAO.countByClassroomUuid", () -> scheduleDAO.countByClassroomUuid(classroomUuid));
+        capture("ScheduleDAO.countByTeachingClassUuid", () -> scheduleDAO.countByTeachingClassUuid(teachingClassUuid));
+        capture("ScheduleDAO.getSchedulePage",
+                () -> scheduleDAO.getSchedulePage(1, 20, semesterUuid, null, null, null, null, 1));
+
+        // TeachingClassClassDAO
+        capture("TeachingClassClassDAO.mapClassUuidsByTeachingClassUuids",
+                () -> teachingClassClassDAO.mapClassUuidsByTeachingClassUuids(List.of(teachingClassUuid)));
+        capture("TeachingClassClassDAO.existsByClassUuid", () -> teachingClassClassDAO.existsByClassUuid(classUuid));
+
+        // 业务层直接构造的查询条件（与对应方法保持一致）
+        capture("AutoScheduleLogic 加载已有排课", () -> scheduleDAO.list(new QueryWrapper<ScheduleDO>()
+                .eq("semester_uuid", semesterUuid)
+                .eq("status", 1)));
+        capture("AutoScheduleLogic.selectBalancedTeacher", () -> scheduleDAO.list(new QueryWrapper<ScheduleDO>()
+                .eq("semester_uuid", semesterUuid)
+                .eq("teacher_uuid", teacherUuid)
+                .eq("status", 1)));
+        capture("HomeServiceImpl.getTeacherTodayCourses", () -> scheduleDAO.list(new LambdaQueryWrapper<ScheduleDO>()
+                .eq(ScheduleDO::getTeacherUuid, teacherUuid)
+                .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                .eq(ScheduleDO::getStatus, 1)
+                .orderByAsc(ScheduleDO::getSectionStart)));
+        capture("HomeServiceImpl.getStudentTodayCourses", () -> scheduleDAO.list(new LambdaQueryWrapper<ScheduleDO>()
+                .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                .eq(ScheduleDO::getStatus, 1)
+                .in(ScheduleDO::getTeachingClassUuid, List.of(teachingClassUuid))
+                .orderByAsc(ScheduleDO::getSectionStart)));
+        capture("EduScheduleTool.checkClassroomConflict", () -> scheduleDAO.list(new LambdaQueryWrapper<ScheduleDO>()
+                .eq(ScheduleDO::getClassroomUuid, classroomUuid)
+                .eq(ScheduleDO::getSemesterUuid, semesterUuid)
+                .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                .eq(ScheduleDO::getStatus, 1)));
+        capture("EduScheduleTool.checkTeacherConflict", () -> scheduleDAO.list(new LambdaQueryWrapper<ScheduleDO>()
+                .eq(ScheduleDO::getTeacherUuid, teacherUuid)
+                .eq(ScheduleDO::getSemesterUuid, semesterUuid)
+                .eq(ScheduleDO::getDayOfWeek, dayOfWeek)
+                .eq(ScheduleDO::getStatus, 1)));
+        capture("ScheduleConflictDAO 按学期查询", () -> scheduleConflictDAO.list(
+                new LambdaQueryWrapper<ScheduleConflictDO>().eq(ScheduleConflictDO::getSemesterUuid, semesterUuid)));
+
+        List<String> report = new ArrayList<>();
+        List<String> seqScans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("set enable_seqscan = off");
+            try {
+                for (CapturedQuery query : captured) {
+                    List<String> plan = explain(connection, query);
+                    report.add("== " + query.label);
+                    report.add(query.boundSql.getSql().replaceAll("\\s+", " "));
+                    report.addAll(plan);
+                    report.add("");
+                    for (String table : WATCHED_TABLES) {
+                        if (plan.stream().anyMatch(line -> line.contains("Seq Scan on " + table + " "))) {
+                            seqScans.add(query.label + " -> " + table);
+                        }
+                    }
+                }
+            } finally {
+                statement.execute("reset enable_seqscan");
+            }
+        }
+
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, report, StandardCharsets.UTF_8);
+        assertTrue(seqScans.isEmpty(), "以下查询没有可用索引（详见 " + REPORT + "）: " + seqScans);
+    }
+
+    private void capture(String label, Runnable query) {
+        currentLabel = label;
+        try {
+            query.run();
+        } finally {
+            currentLabel = null;
+        }
+    }
+
+    /**
+     * 使用 MyBatis 的参数处理器绑定实际参数后执行 EXPLAIN
+     */
+    private static List<String> explain(Connection connection, CapturedQuery query) throws Exception {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("explain " + query.boundSql.getSql())) {
+            new DefaultParameterHandler(query.mappedStatement, query.parameter, query.boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 拦截到的查询
+     */
+    private static class CapturedQuery {
+        private final String label;
+        private final MappedStatement mappedStatement;
+        private final Object parameter;
+        private final BoundSql boundSql;
+
+        CapturedQuery(String label, MappedStatement mappedStatement, Object parameter, BoundSql boundSql) {
+            this.label = label;
+            this.mappedStatement = mappedStatement;
+            this.parameter = parameter;
+            this.boundSql = boundSql;
+        }
+    }
+}
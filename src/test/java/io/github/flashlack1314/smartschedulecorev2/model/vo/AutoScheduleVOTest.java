@@ -0,0 +1,36 @@
+package io.github.flashlack1314.smartschedulecorev2.model.vo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AutoScheduleVO 参数校验单元测试：并行线程数必须在 1 到服务器CPU核数之间
+ *
+ * @author flash
+ */
+class AutoScheduleVOTest {
+
+    @Test
+    void testParallelismBounds() {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        assertDoesNotThrow(() -> params().setParallelism(1).validate(), "单线程应通过校验");
+        assertDoesNotThrow(() -> params().setParallelism(processors).validate(), "等于CPU核数应通过校验");
+        assertThrows(IllegalArgumentException.class, () -> params().setParallelism(0).validate(),
+                "并行线程数为0应被拒绝");
+        assertThrows(IllegalArgumentException.class, () -> params().setParallelism(processors + 1).validate(),
+                "超过CPU核数应被拒绝");
+        assertThrows(IllegalArgumentException.class, () -> params().setParallelism(10_000).validate(),
+                "过大的并行线程数应被拒绝");
+    }
+
+    private static AutoScheduleVO params() {
+        return new AutoScheduleVO()
+                .setSemesterUuid("semester")
+                .setCourseClassMapping(Map.of("course", List.of("class")));
+    }
+}
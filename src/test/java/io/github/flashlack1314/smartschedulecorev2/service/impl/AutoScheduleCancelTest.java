@@ -0,0 +1,81 @@
+package io.github.flashlack1314.smartschedulecorev2.service.impl;
+
+import io.github.flashlack1314.smartschedulecorev2.algorithm.util.ScheduleRunControl;
+import io.github.flashlack1314.smartschedulecorev2.model.vo.AutoScheduleVO;
+import io.github.flashlack1314.smartschedulecorev2.service.AutoScheduleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 自动排课取消测试：取消的任务不应留下新建的教学班、行政班关联或排课记录
+ * <p>
+ * 需要连接已按 FULL 模式初始化的数据库，默认跳过，运行方式：
+ * {@code mvn test -Dtest=AutoScheduleCancelTest -Dschedule-db=true}。
+ *
+ * @author flash
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "schedule-db", matches = "true")
+class AutoScheduleCancelTest {
+
+    @Autowired
+    private AutoScheduleService autoScheduleService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCancelledJobLeavesNoRows() {
+        // 选一个有资格教师的课程，以及尚未与该课程组成教学班的行政班，保证会新建教学班
+        List<Map<String, Object>> qualifications = jdbcTemplate.queryForList(
+                "select course_uuid, teacher_uuid from sc_course_qualification limit 1");
+        assumeTrue(!qualifications.isEmpty(), "数据库中没有课程教师资格，请先以 FULL 模式初始化数据库");
+        String courseUuid = (String) qualifications.get(0).get("course_uuid");
+        String teacherUuid = (String) qualifications.get(0).get("teacher_uuid");
+        List<String> semesters = jdbcTemplate.queryForList(
+                "select semester_uuid from sc_semester limit 1", String.class);
+        List<String> classes = jdbcTemplate.queryForList("""
+                select c.class_uuid from sc_class c
+                where not exists (select 1 from sc_teaching_class_class tcc
+                                  join sc_teaching_class tc on tc.teaching_class_uuid = tcc.teaching_class_uuid
+                                  where tcc.class_uuid = c.class_uuid and tc.course_uuid = ?)
+                limit 1""", String.class, courseUuid);
+        assumeTrue(!semesters.isEmpty() && !classes.isEmpty(), "没有可用于新建教学班的学期或行政班");
+
+        long teachingClassesBefore = count("sc_teaching_class");
+        long linksBefore = count("sc_teaching_class_class");
+        long schedulesBefore = count("sc_schedule");
+
+        AutoScheduleVO params = new AutoScheduleVO();
+        params.setSemesterUuid(semesters.get(0));
+        params.setCourseClassMapping(Map.of(courseUuid, List.of(classes.get(0))));
+        params.setTeacherAssignment(Map.of(courseUuid, teacherUuid));
+        params.setPopulationSize(10);
+        params.setMaxGenerations(5);
+        params.setSeed(1L);
+        ScheduleRunControl control = new ScheduleRunControl();
+        control.cancel();
+
+        assertThrows(CancellationException.class,
+                () -> autoScheduleService.executeWithControl(params, null, control));
+
+        assertEquals(teachingClassesBefore, count("sc_teaching_class"), "取消后不应留下新建的教学班");
+        assertEquals(linksBefore, count("sc_teaching_class_class"), "取消后不应留下教学班-行政班关联");
+        assertEquals(schedulesBefore, count("sc_schedule"), "取消后不应写入排课记录");
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count != null ? count : 0;
+    }
+}